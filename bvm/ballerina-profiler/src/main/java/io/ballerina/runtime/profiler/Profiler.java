@@ -61,6 +61,7 @@ public class Profiler {
     private String balJarArgs = null;
     private String balJarName = null;
     private String profilerDebugArg = null;
+    private Integer samplingInterval = null;
     private final List<String> instrumentedPaths = new ArrayList<>();
     private final List<String> instrumentedFiles = new ArrayList<>();
     private final List<String> utilInitPaths = new ArrayList<>();
@@ -141,6 +142,10 @@ public class Profiler {
                     this.profilerDebugArg = args[i + 1];
                     addToUsedArgs(args, usedArgs, i);
                 }
+                case "--sampling-interval" -> {
+                    this.samplingInterval = extractSamplingIntervalArg(args[i + 1]);
+                    addToUsedArgs(args, usedArgs, i);
+                }
                 default -> handleUnrecognizedArgument(args[i], usedArgs);
             }
         }
@@ -153,6 +158,19 @@ public class Profiler {
         return value;
     }
 
+    private Integer extractSamplingIntervalArg(String value) {
+        int interval;
+        try {
+            interval = Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new ProfilerException("Invalid sampling interval found: " + value, e);
+        }
+        if (interval <= 0) {
+            throw new ProfilerException("Invalid sampling interval found: " + value);
+        }
+        return interval;
+    }
+
     private String extractBalJarArgs(String value) {
         if (value == null || !value.startsWith("[") || !value.endsWith("]")) {
             throw new ProfilerException("Invalid JAR arguments found: " + value);
@@ -214,7 +232,8 @@ public class Profiler {
                 if (className.startsWith(mainClassPackage.split("/")[0]) || utilPaths.contains(className)) {
                     try (InputStream inputStream = jarFile.getInputStream(jarFile.getJarEntry(className))) {
                         String sourceClassName = className.replace(Constants.CLASS_SUFFIX, "");
-                        byte[] code = profilerMethodWrapper.modifyMethods(inputStream, sourceClassName);
+                        byte[] code = profilerMethodWrapper.modifyMethods(inputStream, sourceClassName,
+                                samplingInterval != null);
                         profilerClassLoader.loadClass(code);
                         profilerMethodWrapper.printCode(className, code, getFileNameWithoutExtension(balJarName));
                     }
@@ -244,7 +263,7 @@ public class Profiler {
             }
             Path filePath = Paths.get("io/ballerina/runtime/profiler/runtime");
             FileUtils.deleteDirectory(new File(filePath.toString()));
-            profilerMethodWrapper.invokeMethods(profilerDebugArg);
+            profilerMethodWrapper.invokeMethods(profilerDebugArg, samplingInterval);
         }
     }
 
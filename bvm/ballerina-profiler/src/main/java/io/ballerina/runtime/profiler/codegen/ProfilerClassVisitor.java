@@ -33,10 +33,12 @@ import static io.ballerina.runtime.profiler.util.Constants.STRAND_ARG;
 public class ProfilerClassVisitor extends ClassVisitor {
 
     private final String className;
+    private final boolean sampling;
 
-    public ProfilerClassVisitor(String className, ClassVisitor classVisitor) {
+    public ProfilerClassVisitor(String className, ClassVisitor classVisitor, boolean sampling) {
         super(Opcodes.ASM9, classVisitor);
         this.className = className;
+        this.sampling = sampling;
     }
 
     @Override
@@ -44,6 +46,10 @@ public class ProfilerClassVisitor extends ClassVisitor {
         MethodVisitor methodVisitor = super.visitMethod(access, name, desc, signature, exceptions);
         if (desc.startsWith(STRAND_ARG) && !name.contains("$gen$")) {
             Main.incrementBalFunctionCount();
+            if (sampling) {
+                return new SamplingAdapter(className, access, methodVisitor, name, desc,
+                        (access & Opcodes.ACC_STATIC));
+            }
             return new StrandCheckAdapter(className, access, methodVisitor, name, desc, (access & Opcodes.ACC_STATIC));
         }
         return methodVisitor;
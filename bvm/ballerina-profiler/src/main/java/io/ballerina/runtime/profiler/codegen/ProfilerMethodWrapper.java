@@ -43,6 +43,7 @@ import java.util.jar.Manifest;
 import static io.ballerina.runtime.profiler.util.Constants.CURRENT_DIR_KEY;
 import static io.ballerina.runtime.profiler.util.Constants.ERROR_STREAM;
 import static io.ballerina.runtime.profiler.util.Constants.OUT_STREAM;
+import static io.ballerina.runtime.profiler.util.Constants.SAMPLING_INTERVAL_PROPERTY;
 import static io.ballerina.runtime.profiler.util.Constants.USER_DIR;
 
 /**
@@ -54,7 +55,7 @@ public class ProfilerMethodWrapper extends ClassLoader {
 
     public static final String JAVA_OPTS = "JAVA_OPTS";
 
-    public void invokeMethods(String debugArg) throws IOException, InterruptedException {
+    public void invokeMethods(String debugArg, Integer samplingInterval) throws IOException, InterruptedException {
         String balJarArgs = Main.getBalJarArgs();
         List<String> commands = new ArrayList<>();
         String javaOpts = System.getenv().get(JAVA_OPTS);
@@ -62,6 +63,9 @@ public class ProfilerMethodWrapper extends ClassLoader {
         if (javaOpts != null) {
             commands.add(javaOpts.trim());
         }
+        if (samplingInterval != null) {
+            commands.add("-D" + SAMPLING_INTERVAL_PROPERTY + "=" + samplingInterval);
+        }
         commands.add("-jar");
         if (debugArg != null) {
             commands.add(debugArg);
@@ -97,13 +101,13 @@ public class ProfilerMethodWrapper extends ClassLoader {
         }
     }
 
-    public byte[] modifyMethods(InputStream inputStream, String className) {
+    public byte[] modifyMethods(InputStream inputStream, String className, boolean sampling) {
         byte[] code;
         try {
             ClassReader reader = new ClassReader(inputStream);
             ClassWriter classWriter = new ProfilerClassWriter(reader, ClassWriter.COMPUTE_MAXS |
                     ClassWriter.COMPUTE_FRAMES);
-            ClassVisitor change = new ProfilerClassVisitor(className, classWriter);
+            ClassVisitor change = new ProfilerClassVisitor(className, classWriter, sampling);
             reader.accept(change, ClassReader.EXPAND_FRAMES);
             code = classWriter.toByteArray();
             return code;
@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.runtime.profiler.codegen;
+
+import io.ballerina.runtime.internal.scheduling.Strand;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.commons.AdviceAdapter;
+
+import static io.ballerina.runtime.profiler.util.Constants.ENTER_FRAME_DESCRIPTOR;
+import static io.ballerina.runtime.profiler.util.Constants.EXIT_FRAME_DESCRIPTOR;
+import static io.ballerina.runtime.profiler.util.Constants.SAMPLING_PROFILER;
+
+/**
+ * This class is used as the advice adapter for the sampling mode of the Ballerina profiler.
+ * This will wrap the ballerina methods with
+ * {@link io.ballerina.runtime.profiler.runtime.SamplingProfiler#enter(Strand, String)} and
+ * {@link io.ballerina.runtime.profiler.runtime.SamplingProfiler#exit(Strand)} methods.
+ *
+ * @since 2201.10.0
+ */
+public class SamplingAdapter extends AdviceAdapter {
+
+    private final String stackElement;
+    private final Label tryStart = new Label();
+    private final int load;
+
+    public SamplingAdapter(String className, int access, MethodVisitor mv, String methodName, String description,
+                           int load) {
+        super(Opcodes.ASM9, mv, access, methodName, description);
+        this.stackElement = className + "." + methodName;
+        this.load = load == 0 ? 1 : 0;
+    }
+
+    // It adds a label to the try block of the wrapped method.
+    @Override
+    public void visitCode() {
+        super.visitCode();
+        mv.visitLabel(tryStart);
+    }
+
+    // It pushes the frame of the method to the profiler stack of the strand.
+    @Override
+    protected void onMethodEnter() {
+        mv.visitVarInsn(ALOAD, load);
+        mv.visitLdcInsn(stackElement);
+        mv.visitMethodInsn(INVOKESTATIC, SAMPLING_PROFILER, "enter", ENTER_FRAME_DESCRIPTOR, false);
+    }
+
+    // If the exit is not due to an exception, it calls the onFinally method.
+    @Override
+    protected void onMethodExit(int opcode) {
+        if (opcode != ATHROW) {
+            onFinally();
+        }
+    }
+
+    // It adds a try-catch block to the wrapped method and calls the onFinally method in the catch block.
+    @Override
+    public void visitMaxs(int maxStack, int maxLocals) {
+        Label tryEnd = new Label();
+        mv.visitTryCatchBlock(tryStart, tryEnd, tryEnd, null);
+        mv.visitLabel(tryEnd);
+        onFinally();
+        mv.visitInsn(ATHROW);
+        mv.visitMaxs(-1, -1);
+    }
+
+    // It pops the frame of the method from the profiler stack of the strand.
+    private void onFinally() {
+        mv.visitVarInsn(ALOAD, load);
+        mv.visitMethodInsn(INVOKESTATIC, SAMPLING_PROFILER, "exit", EXIT_FRAME_DESCRIPTOR, false);
+    }
+}
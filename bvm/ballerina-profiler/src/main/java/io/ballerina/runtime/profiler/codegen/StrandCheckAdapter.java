@@ -20,23 +20,40 @@ package io.ballerina.runtime.profiler.codegen;
 
 import io.ballerina.runtime.internal.scheduling.Strand;
 import io.ballerina.runtime.profiler.runtime.Data;
+import org.objectweb.asm.Handle;
 import org.objectweb.asm.Label;
 import org.objectweb.asm.MethodVisitor;
 import org.objectweb.asm.Opcodes;
 import org.objectweb.asm.Type;
 import org.objectweb.asm.commons.AdviceAdapter;
 
+import java.util.ArrayList;
+import java.util.List;
+
+import static io.ballerina.runtime.profiler.util.Constants.ARRAY_VALUE_IMPL_CLASS;
+import static io.ballerina.runtime.profiler.util.Constants.BMP_STRING_VALUE_CLASS;
+import static io.ballerina.runtime.profiler.util.Constants.B_STRING_CLASS;
 import static io.ballerina.runtime.profiler.util.Constants.DATA_CLASS;
+import static io.ballerina.runtime.profiler.util.Constants.DECIMAL_VALUE_CLASS;
 import static io.ballerina.runtime.profiler.util.Constants.GET_INSTANCE_DESCRIPTOR;
+import static io.ballerina.runtime.profiler.util.Constants.INSTANTIATE_METHOD;
+import static io.ballerina.runtime.profiler.util.Constants.MAP_VALUE_IMPL_CLASS;
+import static io.ballerina.runtime.profiler.util.Constants.NON_BMP_STRING_VALUE_CLASS;
 import static io.ballerina.runtime.profiler.util.Constants.PROFILE_ANALYZER;
+import static io.ballerina.runtime.profiler.util.Constants.RECORD_VALUE_DESCRIPTOR;
 import static io.ballerina.runtime.profiler.util.Constants.START_PROFILE_DESCRIPTOR;
 import static io.ballerina.runtime.profiler.util.Constants.STOP_PROFILE_DESCRIPTOR;
+import static io.ballerina.runtime.profiler.util.Constants.STRING_UTILS_CLASS;
+import static io.ballerina.runtime.profiler.util.Constants.TYPEDESC_VALUE_CLASS;
+import static io.ballerina.runtime.profiler.util.Constants.VALUE_CLASS_PREFIX;
 
 /**
  * This class is used as the advice adapter for the Ballerina profiler.
  * This will wrap the ballerina methods with
  * {@link io.ballerina.runtime.profiler.runtime.ProfileAnalyzer#start(Strand, String, String)} and
- * {@link io.ballerina.runtime.profiler.runtime.ProfileAnalyzer#stop(Strand, Data)} methods.
+ * {@link io.ballerina.runtime.profiler.runtime.ProfileAnalyzer#stop(Strand, Data)} methods, and count the Ballerina
+ * values created by them with
+ * {@link io.ballerina.runtime.profiler.runtime.ProfileAnalyzer#recordValue(Object, Strand)}.
  *
  * @since 2201.8.0
  */
@@ -48,6 +65,11 @@ public class StrandCheckAdapter extends AdviceAdapter {
     Label tryStart = new Label();
     int load;
     int stackKeyIndex;
+    // Whether each object created with a NEW instruction, innermost last, is a value to be counted once its
+    // constructor is called. The generated code duplicates such an object right after the NEW instruction to use it
+    // after the constructor call, and the duplicate is what gets counted.
+    private final List<Boolean> newValues = new ArrayList<>();
+    private boolean valueCreatedByLastInsn;
 
     public StrandCheckAdapter(String className, int access, MethodVisitor mv, String methodName,
                               String description, int load) {
@@ -101,6 +123,100 @@ public class StrandCheckAdapter extends AdviceAdapter {
         mv.visitMaxs(-1, -1);
     }
 
+    @Override
+    public void visitTypeInsn(int opcode, String type) {
+        super.visitTypeInsn(opcode, type);
+        if (opcode == NEW) {
+            newValues.add(false);
+            // Record values created by typedesc instantiate methods are counted where those methods are called.
+            valueCreatedByLastInsn = isValueClass(type) && !INSTANTIATE_METHOD.equals(methodName);
+        } else {
+            valueCreatedByLastInsn = false;
+        }
+    }
+
+    @Override
+    public void visitInsn(int opcode) {
+        super.visitInsn(opcode);
+        if (opcode == DUP && valueCreatedByLastInsn) {
+            newValues.set(newValues.size() - 1, true);
+        }
+        valueCreatedByLastInsn = false;
+    }
+
+    // It counts the values constructed after a NEW instruction, and the values returned by the runtime methods which
+    // create them.
+    @Override
+    public void visitMethodInsn(int opcode, String owner, String name, String descriptor, boolean isInterface) {
+        valueCreatedByLastInsn = false;
+        super.visitMethodInsn(opcode, owner, name, descriptor, isInterface);
+        if (opcode == INVOKESPECIAL && "<init>".equals(name)) {
+            if (!newValues.isEmpty() && newValues.remove(newValues.size() - 1)) {
+                recordValue();
+            }
+        } else if (createsValue(owner, name, descriptor)) {
+            recordValue();
+        }
+    }
+
+    @Override
+    public void visitVarInsn(int opcode, int varIndex) {
+        valueCreatedByLastInsn = false;
+        super.visitVarInsn(opcode, varIndex);
+    }
+
+    @Override
+    public void visitFieldInsn(int opcode, String owner, String name, String descriptor) {
+        valueCreatedByLastInsn = false;
+        super.visitFieldInsn(opcode, owner, name, descriptor);
+    }
+
+    @Override
+    public void visitIntInsn(int opcode, int operand) {
+        valueCreatedByLastInsn = false;
+        super.visitIntInsn(opcode, operand);
+    }
+
+    @Override
+    public void visitLdcInsn(Object value) {
+        valueCreatedByLastInsn = false;
+        super.visitLdcInsn(value);
+    }
+
+    @Override
+    public void visitInvokeDynamicInsn(String name, String descriptor, Handle bootstrapMethodHandle,
+                                       Object... bootstrapMethodArguments) {
+        valueCreatedByLastInsn = false;
+        super.visitInvokeDynamicInsn(name, descriptor, bootstrapMethodHandle, bootstrapMethodArguments);
+    }
+
+    private static boolean isValueClass(String type) {
+        return switch (type) {
+            case MAP_VALUE_IMPL_CLASS, ARRAY_VALUE_IMPL_CLASS, DECIMAL_VALUE_CLASS, BMP_STRING_VALUE_CLASS,
+                    NON_BMP_STRING_VALUE_CLASS -> true;
+            // Classes generated for record types, whose values are maps.
+            default -> type.startsWith(VALUE_CLASS_PREFIX, type.lastIndexOf('/') + 1);
+        };
+    }
+
+    private static boolean createsValue(String owner, String name, String descriptor) {
+        return switch (owner) {
+            case STRING_UTILS_CLASS -> "fromString".equals(name);
+            case B_STRING_CLASS -> "concat".equals(name);
+            // Decimal arithmetic and conversions return new decimal values.
+            case DECIMAL_VALUE_CLASS -> descriptor.endsWith(")L" + DECIMAL_VALUE_CLASS + ";");
+            case TYPEDESC_VALUE_CLASS -> INSTANTIATE_METHOD.equals(name);
+            default -> false;
+        };
+    }
+
+    // It passes a copy of the value on top of the operand stack to the profiler, along with the strand.
+    private void recordValue() {
+        mv.visitInsn(DUP);
+        mv.visitVarInsn(ALOAD, load);
+        mv.visitMethodInsn(INVOKESTATIC, PROFILE_ANALYZER, "recordValue", RECORD_VALUE_DESCRIPTOR, false);
+    }
+
     // This method stops the profiling for the wrapped method.
     // It retrieves the profiler instance, gets the strand state and id, and stops the profiling.
     private void onFinally() {
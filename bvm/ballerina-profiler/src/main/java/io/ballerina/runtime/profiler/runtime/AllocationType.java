@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.runtime.profiler.runtime;
+
+import io.ballerina.runtime.api.TypeTags;
+import io.ballerina.runtime.api.types.RecordType;
+import io.ballerina.runtime.api.types.Type;
+import io.ballerina.runtime.api.utils.TypeUtils;
+import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BDecimal;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BString;
+
+/**
+ * Kinds of Ballerina values whose allocations are counted by the Ballerina profiler.
+ * <p>
+ * The size of a value is estimated from its shape when it is created, assuming a 64-bit JVM with compressed object
+ * pointers, since the actual sizes of objects are not available without an agent.
+ *
+ * @since 2201.10.0
+ */
+public enum AllocationType {
+
+    MAP("MapValueImpl"),
+    ARRAY("ArrayValueImpl"),
+    STRING("BString"),
+    DECIMAL("DecimalValue");
+
+    // Shallow size of a map value, including the fields inherited from LinkedHashMap.
+    private static final long MAP_SIZE = 96;
+    // Size of a LinkedHashMap entry, and of its reference in the bucket table.
+    private static final long MAP_ENTRY_SIZE = 44;
+    private static final long ARRAY_SIZE = 64;
+    private static final long ARRAY_HEADER_SIZE = 16;
+    // Sizes of a string value, its Java string and the header of the character array of the Java string.
+    private static final long STRING_SIZE = 64;
+    // Sizes of a decimal value and its BigDecimal.
+    private static final long DECIMAL_SIZE = 64;
+    private static final long REFERENCE_SIZE = 4;
+
+    private final String valueClassName;
+
+    AllocationType(String valueClassName) {
+        this.valueClassName = valueClassName;
+    }
+
+    public String getValueClassName() {
+        return valueClassName;
+    }
+
+    /**
+     * Returns the kind of the given value, or null if values of its kind are not counted.
+     *
+     * @param value value created by a Ballerina function
+     * @return kind of the value
+     */
+    static AllocationType of(Object value) {
+        if (value instanceof BMap<?, ?>) {
+            return MAP;
+        }
+        if (value instanceof BArray array && TypeUtils.getImpliedType(array.getType()).getTag() ==
+                TypeTags.ARRAY_TAG) {
+            return ARRAY;
+        }
+        if (value instanceof BString) {
+            return STRING;
+        }
+        if (value instanceof BDecimal) {
+            return DECIMAL;
+        }
+        return null;
+    }
+
+    /**
+     * Returns the estimated number of bytes allocated for the given value of this kind.
+     *
+     * @param value value of this kind
+     * @return estimated size of the value in bytes
+     */
+    long estimateSize(Object value) {
+        return switch (this) {
+            case MAP -> {
+                // Records are populated after they are created, with at least their fields.
+                BMap<?, ?> map = (BMap<?, ?>) value;
+                long entries = map.size();
+                if (TypeUtils.getImpliedType(map.getType()) instanceof RecordType recordType) {
+                    entries = Math.max(entries, recordType.getFields().size());
+                }
+                yield MAP_SIZE + entries * MAP_ENTRY_SIZE;
+            }
+            case ARRAY -> {
+                BArray array = (BArray) value;
+                yield ARRAY_SIZE + ARRAY_HEADER_SIZE + array.size() * getElementSize(array.getElementType());
+            }
+            // Characters outside Latin-1 take two bytes each, which is assumed for all strings.
+            case STRING -> STRING_SIZE + 2L * ((BString) value).length();
+            case DECIMAL -> DECIMAL_SIZE;
+        };
+    }
+
+    private static long getElementSize(Type elementType) {
+        return switch (TypeUtils.getImpliedType(elementType).getTag()) {
+            case TypeTags.INT_TAG, TypeTags.FLOAT_TAG -> 8;
+            case TypeTags.BYTE_TAG, TypeTags.BOOLEAN_TAG -> 1;
+            default -> REFERENCE_SIZE;
+        };
+    }
+}
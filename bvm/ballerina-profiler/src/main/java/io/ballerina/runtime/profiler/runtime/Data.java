@@ -18,8 +18,11 @@
 
 package io.ballerina.runtime.profiler.runtime;
 
+import java.util.StringJoiner;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
 
 /**
  * This class is used as a custom data type class for the Ballerina profiler.
@@ -31,7 +34,13 @@ public class Data {
     protected final String stackIndex;
     protected String stackTrace = null;
     public long totalTime;
+    // Estimated bytes of the values created by the function, including the values created by the functions it called.
+    public long allocatedBytes;
     private final ConcurrentHashMap<String, Long> startTimes = new ConcurrentHashMap<>();
+    // Number of values of each AllocationType created directly by the function.
+    private final AtomicLongArray allocationCounts = new AtomicLongArray(AllocationType.values().length);
+    // Estimated bytes of the values created directly by the function.
+    private final AtomicLong createdBytes = new AtomicLong();
 
     public Data(String stackIndex, String stackKey) {
         this.stackIndex = stackIndex;
@@ -52,8 +61,28 @@ public class Data {
         this.totalTime += elapsed;
     }
 
+    void recordAllocation(AllocationType allocationType, long bytes) {
+        allocationCounts.incrementAndGet(allocationType.ordinal());
+        createdBytes.addAndGet(bytes);
+    }
+
+    long getCreatedBytes() {
+        return createdBytes.get();
+    }
+
+    private String getFormattedAllocations() {
+        StringJoiner sj = new StringJoiner(", ", "{", "}");
+        for (AllocationType allocationType : AllocationType.values()) {
+            sj.add("\"" + allocationType.getValueClassName() + "\": " +
+                    allocationCounts.get(allocationType.ordinal()));
+        }
+        return sj.toString();
+    }
+
     private String getFormattedStats() {
-        return "{" + "\"time\": \"" + this.totalTime + "\", " + "\"stackTrace\": " + this.stackTrace + "}";
+        return "{" + "\"time\": \"" + this.totalTime + "\", " + "\"allocatedBytes\": \"" + this.allocatedBytes +
+                "\", " + "\"allocations\": " + getFormattedAllocations() + ", " + "\"stackTrace\": " +
+                this.stackTrace + "}";
     }
 
     @Override
@@ -81,7 +81,51 @@ public class ProfileAnalyzer {
                 data.stackKey.length() - data.stackIndex.length()));
     }
 
+    /**
+     * Counts a value created by an instrumented function against the function the strand is running. The arguments
+     * are in this order so that the instrumented code can pass the value it has on top of the operand stack.
+     *
+     * @param value  value created by the function, which is not counted unless it is of an {@link AllocationType}
+     * @param strand strand running the function
+     */
+    public static void recordValue(Object value, Strand strand) {
+        AllocationType allocationType = AllocationType.of(value);
+        if (allocationType == null) {
+            return;
+        }
+        Object stackKey = strand.getProperty(STRAND_PROFILER_STACK_PROPERTY);
+        if (stackKey == null) {
+            return;
+        }
+        Data data = getInstance().profiles.get(stackKey);
+        if (data != null) {
+            data.recordAllocation(allocationType, allocationType.estimateSize(value));
+        }
+    }
+
+    // Adds the bytes of the values created by each function to the bytes allocated by it and by each of its callers,
+    // which are the profiles whose stack keys are prefixes of the stack key of the function.
+    private void countAllocatedBytes() {
+        for (Data data : this.profiles.values()) {
+            data.allocatedBytes = 0;
+        }
+        for (Data data : this.profiles.values()) {
+            long createdBytes = data.getCreatedBytes();
+            if (createdBytes == 0) {
+                continue;
+            }
+            String stackKey = data.stackKey;
+            for (int end = stackKey.indexOf('$'); end != -1; end = stackKey.indexOf('$', end + 1)) {
+                Data caller = this.profiles.get(stackKey.substring(0, end + 1));
+                if (caller != null) {
+                    caller.allocatedBytes += createdBytes;
+                }
+            }
+        }
+    }
+
     public final String getProfileStackString() {
+        countAllocatedBytes();
         StringBuilder sb = new StringBuilder("[");
         ArrayList<Data> dataList = new ArrayList<>(this.profiles.values());
         for (int i = 0; i < (dataList.size() - 1); i++) {
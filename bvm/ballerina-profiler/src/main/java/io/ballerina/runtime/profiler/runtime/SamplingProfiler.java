@@ -0,0 +1,223 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.runtime.profiler.runtime;
+
+import io.ballerina.runtime.internal.scheduling.Scheduler;
+import io.ballerina.runtime.internal.scheduling.State;
+import io.ballerina.runtime.internal.scheduling.Strand;
+
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static io.ballerina.runtime.profiler.util.Constants.CPU_PRE_JSON;
+import static io.ballerina.runtime.profiler.util.Constants.DEFAULT_SAMPLING_INTERVAL;
+import static io.ballerina.runtime.profiler.util.Constants.SAMPLING_INTERVAL_PROPERTY;
+import static io.ballerina.runtime.profiler.util.Constants.STRAND_PROFILER_STACK_PROPERTY;
+
+/**
+ * Profiler that periodically samples the call stacks of the running strands, as an alternative to
+ * {@link ProfileAnalyzer} which times every function call.
+ * <p>
+ * Instrumented functions only push and pop an interned frame id on a per-strand stack, without any locking or string
+ * building. A sampler thread walks the stacks of the runnable strands at a fixed interval and counts the samples in
+ * a call tree, so the time spent in a call path is estimated as its sample count multiplied by the interval.
+ *
+ * @since 2201.10.0
+ */
+public class SamplingProfiler {
+
+    private static final Map<Integer, FrameStack> FRAME_STACKS = new ConcurrentHashMap<>();
+    private static final SamplingProfiler PROFILER_INSTANCE = new SamplingProfiler();
+
+    static {
+        PROFILER_INSTANCE.start();
+    }
+
+    private final long samplingInterval;
+    private final CallTreeNode callTree = new CallTreeNode(-1);
+    private final Thread sampler;
+
+    private SamplingProfiler() {
+        this.samplingInterval = Long.getLong(SAMPLING_INTERVAL_PROPERTY, DEFAULT_SAMPLING_INTERVAL);
+        this.sampler = new Thread(this::sample, "jbal-profiler-sampler");
+        this.sampler.setDaemon(true);
+    }
+
+    private void start() {
+        sampler.start();
+        addProfilerShutDownHook();
+    }
+
+    public static void enter(Strand strand, String stackElement) {
+        getFrameStack(strand).push(StackTraceMap.getFrameId(stackElement));
+    }
+
+    public static void exit(Strand strand) {
+        getFrameStack(strand).pop();
+    }
+
+    private static FrameStack getFrameStack(Strand strand) {
+        // Strands inherit the properties of their parent, so the stack found may belong to the parent. In that case
+        // the new strand starts with a copy of it, to attribute its samples to the call path that started it.
+        Object stackObj = strand.getProperty(STRAND_PROFILER_STACK_PROPERTY);
+        if (stackObj instanceof FrameStack frameStack && frameStack.strandId == strand.getId()) {
+            return frameStack;
+        }
+        FrameStack frameStack = new FrameStack(strand.getId(), (FrameStack) stackObj);
+        strand.setProperty(STRAND_PROFILER_STACK_PROPERTY, frameStack);
+        FRAME_STACKS.put(strand.getId(), frameStack);
+        return frameStack;
+    }
+
+    private void sample() {
+        int[] frames = new int[0];
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                Thread.sleep(samplingInterval);
+            } catch (InterruptedException e) {
+                return;
+            }
+            Map<Integer, Strand> currentStrands = Scheduler.getCurrentStrands();
+            synchronized (callTree) {
+                for (Strand strand : currentStrands.values()) {
+                    FrameStack frameStack = FRAME_STACKS.get(strand.getId());
+                    if (frameStack == null || strand.getState() != State.RUNNABLE) {
+                        continue;
+                    }
+                    if (frames.length < frameStack.frames.length) {
+                        frames = new int[frameStack.frames.length];
+                    }
+                    callTree.addSample(frames, frameStack.copyTo(frames));
+                }
+            }
+            // Stacks of completed strands are no longer needed.
+            FRAME_STACKS.values().removeIf(frameStack -> frameStack.depth == 0 &&
+                    !currentStrands.containsKey(frameStack.strandId));
+        }
+    }
+
+    private String getProfileStackString() {
+        StringJoiner sj = new StringJoiner(",\n", "[", "\n]");
+        synchronized (callTree) {
+            for (CallTreeNode child : callTree.children.values()) {
+                child.appendProfiles("", samplingInterval, sj);
+            }
+        }
+        return sj.toString();
+    }
+
+    private void printProfilerOutput(String dataStream) {
+        try (Writer myWriter = new FileWriter(CPU_PRE_JSON, StandardCharsets.UTF_8)) {
+            myWriter.write(dataStream);
+        } catch (IOException e) {
+            throw new ProfilerRuntimeException("Error occurred while writing to the " + CPU_PRE_JSON + " file");
+        }
+    }
+
+    private void addProfilerShutDownHook() {
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            sampler.interrupt();
+            printProfilerOutput(getProfileStackString());
+        }));
+    }
+
+    /**
+     * Stack of the frame ids of the instrumented functions that a strand is executing. It is only updated by the
+     * strand, and read by the sampler thread without synchronization, which may at worst attribute a sample to a
+     * call path that has just been left.
+     */
+    private static class FrameStack {
+
+        private final int strandId;
+        private int[] frames;
+        private volatile int depth;
+
+        FrameStack(int strandId, FrameStack parentStack) {
+            this.strandId = strandId;
+            if (parentStack == null) {
+                this.frames = new int[16];
+            } else {
+                int parentDepth = parentStack.depth;
+                this.frames = Arrays.copyOf(parentStack.frames, Math.max(16, parentDepth * 2));
+                this.depth = parentDepth;
+            }
+        }
+
+        void push(int frameId) {
+            int currentDepth = depth;
+            if (currentDepth == frames.length) {
+                frames = Arrays.copyOf(frames, currentDepth * 2);
+            }
+            frames[currentDepth] = frameId;
+            depth = currentDepth + 1;
+        }
+
+        void pop() {
+            if (depth > 0) {
+                depth--;
+            }
+        }
+
+        // Copies the frames to the buffer and returns the number of frames copied.
+        int copyTo(int[] buffer) {
+            int[] currentFrames = frames;
+            int length = Math.min(depth, Math.min(currentFrames.length, buffer.length));
+            System.arraycopy(currentFrames, 0, buffer, 0, length);
+            return length;
+        }
+    }
+
+    /**
+     * Node of the call tree, holding the number of samples taken while its call path was on a strand stack.
+     */
+    private static class CallTreeNode {
+
+        private final int frameId;
+        private final Map<Integer, CallTreeNode> children = new HashMap<>();
+        private long samples;
+
+        CallTreeNode(int frameId) {
+            this.frameId = frameId;
+        }
+
+        void addSample(int[] frames, int depth) {
+            CallTreeNode node = this;
+            for (int i = 0; i < depth; i++) {
+                node = node.children.computeIfAbsent(frames[i], CallTreeNode::new);
+                node.samples++;
+            }
+        }
+
+        void appendProfiles(String parentStackKey, long samplingInterval, StringJoiner sj) {
+            String stackKey = parentStackKey + frameId + "$";
+            sj.add("{" + "\"time\": \"" + samples * samplingInterval + "\", " + "\"stackTrace\": " +
+                    StackTraceMap.getCallStackString(stackKey) + "}");
+            for (CallTreeNode child : children.values()) {
+                child.appendProfiles(stackKey, samplingInterval, sj);
+            }
+        }
+    }
+}
@@ -38,15 +38,19 @@ public class StackTraceMap {
     }
 
     static String getStackIndex(String stackElement) {
+        return String.valueOf(getFrameId(stackElement));
+    }
+
+    static int getFrameId(String stackElement) {
         Integer stackIndex = stackTraceIndexMap.get(stackElement);
         if (stackIndex != null) {
-            return String.valueOf(stackIndex);
+            return stackIndex;
         }
-        int index = localVarIndex.getAndIncrement();
-        stackTraceIndexMap.put(stackElement, index);
-        String indexStr = String.valueOf(index);
-        indexStackTraceMap.put(indexStr, stackElement);
-        return indexStr;
+        return stackTraceIndexMap.computeIfAbsent(stackElement, element -> {
+            int index = localVarIndex.getAndIncrement();
+            indexStackTraceMap.put(String.valueOf(index), element);
+            return index;
+        });
     }
 
     static String getCallStackString(String stackKey) {
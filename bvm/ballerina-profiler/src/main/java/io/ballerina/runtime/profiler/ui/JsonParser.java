@@ -28,6 +28,7 @@ import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 import static io.ballerina.runtime.profiler.util.Constants.OUT_STREAM;
 import static io.ballerina.runtime.profiler.util.Constants.PERFORMANCE_JSON;
@@ -45,32 +46,36 @@ public class JsonParser {
         try {
             String jsonInput = FileUtils.readFileAsString(cpuFilePath);
             List<StackTraceItem> input = populateStackTraceItems(jsonInput);
-            // Create a Data object to store the output
+            // Create Data objects to store the execution time and the allocation outputs
             Data output = new Data("Root", input.get(0).time, new ArrayList<>());
+            Data allocationOutput = new Data("Root", input.get(0).allocatedBytes, new ArrayList<>());
             for (StackTraceItem stackTraceItem : input) {
-                analyseStackTraceItems(stackTraceItem, output);
+                analyseStackTraceItems(stackTraceItem, output, stackTraceItem.time);
+                Data allocationNode = analyseStackTraceItems(stackTraceItem, allocationOutput,
+                        stackTraceItem.allocatedBytes);
+                allocationNode.allocations = stackTraceItem.allocations;
             }
-            writeToValueJson(output);
+            writePerformanceJson(getValueJson(output), getValueJson(allocationOutput));
         } catch (Exception throwable) {
             OUT_STREAM.println(throwable + "%n");
         }
     }
 
-    private int getTotalTime(JsonObject node) {
-        int totalTime = 0;
+    private long getTotalValue(JsonObject node) {
+        long totalValue = 0;
         JsonArray children = node.getAsJsonArray("children");
         if (children != null) {
             for (int i = 0; i < children.size(); i++) {
-                if (children.get(i).getAsJsonObject().get(VALUE_KEY).getAsInt() != -1) {
-                    totalTime += children.get(i).getAsJsonObject().get(VALUE_KEY).getAsInt();
+                if (children.get(i).getAsJsonObject().get(VALUE_KEY).getAsLong() != -1) {
+                    totalValue += children.get(i).getAsJsonObject().get(VALUE_KEY).getAsLong();
                 }
             }
         }
-        return totalTime;
+        return totalValue;
     }
 
-    private void writePerformanceJson(String parsedJson) {
-        parsedJson = "var data = " + parsedJson;
+    private void writePerformanceJson(String parsedJson, String parsedAllocationJson) {
+        parsedJson = "var data = " + parsedJson + ";\nvar allocationData = " + parsedAllocationJson + ";";
         try (FileWriter myWriter = new FileWriter(PERFORMANCE_JSON, StandardCharsets.UTF_8)) {
             myWriter.write(parsedJson);
             myWriter.flush();
@@ -79,31 +84,33 @@ public class JsonParser {
         }
     }
 
-    private void analyseStackTraceItems(StackTraceItem stackTraceItem, Data output) {
+    // Adds the call path of the item to the tree and returns the node of the item.
+    private Data analyseStackTraceItems(StackTraceItem stackTraceItem, Data output, long value) {
         Data current = output;
         for (int i = 1; i < stackTraceItem.stackTrace.size(); i++) {
-            current = populateChildNodes(stackTraceItem, current, stackTraceItem.stackTrace.get(i));
+            current = populateChildNodes(value, current, stackTraceItem.stackTrace.get(i));
         }
+        return current;
     }
 
-    private void writeToValueJson(Data output) {
+    private String getValueJson(Data output) {
         Gson gson = new Gson();
         String json = gson.toJson(output);
         JsonObject jsonObject = gson.fromJson(json, JsonObject.class);
-        int totalTime = getTotalTime(jsonObject);
+        long totalValue = getTotalValue(jsonObject);
         jsonObject.remove(VALUE_KEY);
-        jsonObject.addProperty(VALUE_KEY, totalTime);
-        writePerformanceJson(jsonObject.toString());
+        jsonObject.addProperty(VALUE_KEY, totalValue);
+        return jsonObject.toString();
     }
 
-    private Data populateChildNodes(StackTraceItem stackTraceItem, Data current, String stackTrace) {
+    private Data populateChildNodes(long value, Data current, String stackTrace) {
         for (Data child : current.children) {
             if (child.name.equals(stackTrace)) {
-                child.value = Math.max(child.value, stackTraceItem.time);
+                child.value = Math.max(child.value, value);
                 return child;
             }
         }
-        Data newChild = new Data(stackTrace, stackTraceItem.time, new ArrayList<>());
+        Data newChild = new Data(stackTrace, value, new ArrayList<>());
         current.children.add(newChild);
         return newChild;
     }
@@ -127,6 +134,8 @@ public class JsonParser {
     private static class StackTraceItem {
 
         int time;
+        long allocatedBytes;
+        Map<String, Long> allocations;
         List<String> stackTrace;
 
         public StackTraceItem(int time, List<String> stackTrace) {
@@ -143,10 +152,12 @@ public class JsonParser {
     private static class Data {
 
         String name;
-        int value;
+        long value;
+        // Number of values of each type created by the function, only set in the allocation output.
+        Map<String, Long> allocations;
         List<Data> children;
 
-        Data(String name, int value, List<Data> children) {
+        Data(String name, long value, List<Data> children) {
             this.name = name;
             this.value = value;
             this.children = children;
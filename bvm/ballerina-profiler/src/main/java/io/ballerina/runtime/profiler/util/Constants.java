@@ -50,6 +50,22 @@ public class Constants {
             "(L" + STRAND_CLASS + ";L" + DATA_CLASS + ";)V";
     public static final String PROFILE_ANALYZER = "io/ballerina/runtime/profiler/runtime/ProfileAnalyzer";
     public static final String GET_INSTANCE_DESCRIPTOR = "()L" + PROFILE_ANALYZER + ";";
+    public static final String RECORD_VALUE_DESCRIPTOR = "(Ljava/lang/Object;L" + STRAND_CLASS + ";)V";
+    public static final String MAP_VALUE_IMPL_CLASS = "io/ballerina/runtime/internal/values/MapValueImpl";
+    public static final String ARRAY_VALUE_IMPL_CLASS = "io/ballerina/runtime/internal/values/ArrayValueImpl";
+    public static final String DECIMAL_VALUE_CLASS = "io/ballerina/runtime/internal/values/DecimalValue";
+    public static final String BMP_STRING_VALUE_CLASS = "io/ballerina/runtime/internal/values/BmpStringValue";
+    public static final String NON_BMP_STRING_VALUE_CLASS = "io/ballerina/runtime/internal/values/NonBmpStringValue";
+    public static final String TYPEDESC_VALUE_CLASS = "io/ballerina/runtime/internal/values/TypedescValue";
+    public static final String B_STRING_CLASS = "io/ballerina/runtime/api/values/BString";
+    public static final String STRING_UTILS_CLASS = "io/ballerina/runtime/api/utils/StringUtils";
+    public static final String VALUE_CLASS_PREFIX = "$value$";
+    public static final String INSTANTIATE_METHOD = "instantiate";
+    public static final String SAMPLING_PROFILER = "io/ballerina/runtime/profiler/runtime/SamplingProfiler";
+    public static final String ENTER_FRAME_DESCRIPTOR = "(L" + STRAND_CLASS + ";L" + STRING_CLASS + ";)V";
+    public static final String EXIT_FRAME_DESCRIPTOR = "(L" + STRAND_CLASS + ";)V";
+    public static final String SAMPLING_INTERVAL_PROPERTY = "ballerina.profiler.samplingInterval";
+    public static final long DEFAULT_SAMPLING_INTERVAL = 10;
     public static final String BALLERINA_HOME = "ballerina.home";
     public static final String WORKING_DIRECTORY = "user.dir";
     public static final String PROFILE_DATA = "${profile_data}";
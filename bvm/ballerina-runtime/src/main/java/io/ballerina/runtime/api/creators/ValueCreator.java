@@ -732,7 +732,7 @@ public class ValueCreator {
      */
     @Deprecated
     public static BMap<BString, Object> createMapValue(Type mapType) {
-        return new MapValueImpl<>(mapType);
+        return ValueUtils.createMapValue(mapType);
     }
 
     /**
@@ -742,7 +742,7 @@ public class ValueCreator {
      * @return        map value
      */
     public static BMap<BString, Object> createMapValue(MapType mapType) {
-        return new MapValueImpl<>(mapType);
+        return ValueUtils.createMapValue(mapType);
     }
 
     /**
@@ -755,7 +755,7 @@ public class ValueCreator {
      */
     @Deprecated
     public static BMap<BString, Object> createMapValue(Type mapType, BMapInitialValueEntry[] keyValues) {
-        return new MapValueImpl<>(mapType, keyValues);
+        return ValueUtils.createMapValue(mapType, keyValues);
     }
 
     /**
@@ -766,7 +766,7 @@ public class ValueCreator {
      * @return          map value
      */
     public static BMap<BString, Object> createMapValue(MapType mapType, BMapInitialValueEntry[] keyValues) {
-        return new MapValueImpl<>(mapType, keyValues);
+        return ValueUtils.createMapValue(mapType, keyValues);
     }
 
     /**
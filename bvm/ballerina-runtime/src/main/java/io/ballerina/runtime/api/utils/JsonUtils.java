@@ -41,6 +41,7 @@ import io.ballerina.runtime.internal.commons.TypeValuePair;
 import io.ballerina.runtime.internal.errors.ErrorCodes;
 import io.ballerina.runtime.internal.errors.ErrorHelper;
 import io.ballerina.runtime.internal.values.ErrorValue;
+import io.ballerina.runtime.internal.values.LazyJsonValue;
 
 import java.io.IOException;
 import java.io.InputStream;
@@ -88,6 +89,24 @@ public class JsonUtils {
         return JsonParser.parse(in, charsetName, PredefinedTypes.TYPE_JSON);
     }
 
+    /**
+     * Parses the UTF-8 encoded contents in the given {@link InputStream} and returns a json, whose objects and arrays
+     * are only materialized when they are accessed. An object or an array that is never accessed is serialized as it
+     * was in the input, which makes this suitable for large payloads of which only a part is used.
+     *
+     * @param in input stream which contains the JSON content
+     * @return JSON structure
+     * @throws BError for any parsing error, which may only be reported when the invalid part of the input is accessed
+     * @since 2201.10.0
+     */
+    public static Object parseLazily(InputStream in) throws BError {
+        try {
+            return LazyJsonValue.parse(in.readAllBytes());
+        } catch (IOException e) {
+            throw new ErrorValue(StringUtils.fromString("error in parsing input stream: " + e.getMessage()), e);
+        }
+    }
+
     /**
      * Parses the contents in the given string and returns a json.
      *
@@ -235,7 +254,7 @@ public class JsonUtils {
      * @throws BError If error occur while serialize json construct.
      */
     public static void serialize(Object json, OutputStream out) throws BError {
-        try (JsonGenerator gen = new JsonGenerator(out)) {
+        try (JsonGenerator gen = JsonGenerator.create(out, Charset.defaultCharset())) {
             gen.serialize(json);
             gen.flush();
         } catch (IOException e) {
@@ -252,7 +271,7 @@ public class JsonUtils {
      * @throws BError If error occur while serialize json construct.
      */
     public static void serialize(Object json, OutputStream out, Charset charset) throws BError {
-        try (JsonGenerator gen = new JsonGenerator(out, charset)) {
+        try (JsonGenerator gen = JsonGenerator.create(out, charset)) {
             gen.serialize(json);
             gen.flush();
         } catch (IOException e) {
@@ -23,8 +23,8 @@ import io.ballerina.runtime.api.values.BArray;
 import io.ballerina.runtime.api.values.BError;
 import io.ballerina.runtime.api.values.BLink;
 import io.ballerina.runtime.api.values.BString;
-import io.ballerina.runtime.internal.JsonGenerator;
 import io.ballerina.runtime.internal.TypeChecker;
+import io.ballerina.runtime.internal.Utf8JsonGenerator;
 import io.ballerina.runtime.internal.errors.ErrorCodes;
 import io.ballerina.runtime.internal.errors.ErrorHelper;
 import io.ballerina.runtime.internal.values.ArrayValue;
@@ -254,11 +254,8 @@ public class StringUtils {
     }
 
     private static String stringToJson(BString value) {
-        try (ByteArrayOutputStream byteOut = new ByteArrayOutputStream();
-             JsonGenerator gen = new JsonGenerator(byteOut)) {
-            gen.writeString(value.getValue());
-            gen.flush();
-            return byteOut.toString();
+        try {
+            return Utf8JsonGenerator.toJsonString(value);
         } catch (IOException e) {
             throw ErrorCreator.createError(StringUtils.fromString(
                     "Error in converting string value to a json string: " + e.getMessage()), e);
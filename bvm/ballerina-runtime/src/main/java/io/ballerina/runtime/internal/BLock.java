@@ -21,53 +21,171 @@ import io.ballerina.runtime.internal.scheduling.State;
 import io.ballerina.runtime.internal.scheduling.Strand;
 
 import java.util.ArrayDeque;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * {@code VarLock} represents lock object for variables in jvm.
+ * <p>
+ * The lock is either held exclusively by a single strand, which may re-acquire it, or shared by strands executing
+ * lock statements that the compiler identified as read-only. An uncontended acquire or release is a single atomic
+ * operation on the lock state, and the monitor of the lock is only used to park and wake up waiting strands. New
+ * shared acquisitions wait while a strand is waiting for exclusive access, so that writers are not starved.
  *
  * @since 1.0.0
  */
 public class BLock {
 
-    private ArrayDeque<Strand> current;
+    private static final int EXCLUSIVE = -1;
+    private static final int FREE = 0;
 
-    private ArrayDeque<Strand> waitingForLock;
+    /**
+     * {@code EXCLUSIVE} if held exclusively, otherwise the number of shared holds.
+     */
+    private final AtomicInteger state = new AtomicInteger(FREE);
 
-    public BLock() {
-        this.current = new ArrayDeque<>();
-        this.waitingForLock = new ArrayDeque<>();
+    private volatile Strand owner;
+
+    /**
+     * Number of times the exclusive owner has acquired the lock. Only accessed by the owner.
+     */
+    private int holdCount;
+
+    private final ArrayDeque<Strand> waitingForLock = new ArrayDeque<>();
+
+    private final ArrayDeque<Strand> waitingForSharedLock = new ArrayDeque<>();
+
+    private final AtomicInteger waitingCount = new AtomicInteger();
+
+    private final AtomicInteger waitingSharedCount = new AtomicInteger();
+
+    public boolean lock(Strand strand) {
+        if (owner == strand) {
+            holdCount++;
+            strand.acquiredLockCount++;
+            return true;
+        }
+        if (tryLock(strand)) {
+            return true;
+        }
+        return lockOrWait(strand);
+    }
+
+    public boolean lockShared(Strand strand) {
+        if (owner == strand) {
+            // Already held exclusively by an enclosing lock statement.
+            holdCount++;
+            strand.acquiredLockCount++;
+            return true;
+        }
+        if (tryLockShared(strand)) {
+            return true;
+        }
+        return lockSharedOrWait(strand);
     }
 
-    public synchronized boolean lock(Strand strand) {
-        if (isLockFree() || lockedBySameContext(strand)) {
-            this.current.offerLast(strand);
+    private boolean tryLock(Strand strand) {
+        if (state.compareAndSet(FREE, EXCLUSIVE)) {
+            owner = strand;
+            holdCount = 1;
             strand.acquiredLockCount++;
             return true;
         }
+        return false;
+    }
+
+    private boolean tryLockShared(Strand strand) {
+        int current;
+        while ((current = state.get()) != EXCLUSIVE && waitingCount.get() == 0) {
+            if (state.compareAndSet(current, current + 1)) {
+                strand.acquiredLockCount++;
+                return true;
+            }
+        }
+        return false;
+    }
 
+    private synchronized boolean lockOrWait(Strand strand) {
         this.waitingForLock.offerLast(strand);
+        waitingCount.incrementAndGet();
 
+        // Re-check after registering as a waiter, since the lock may have been released without seeing this
+        // strand in the waiting list.
+        if (tryLock(strand)) {
+            this.waitingForLock.removeLastOccurrence(strand);
+            waitingCount.decrementAndGet();
+            return true;
+        }
+        block(strand);
+        return false;
+    }
+
+    private synchronized boolean lockSharedOrWait(Strand strand) {
+        this.waitingForSharedLock.offerLast(strand);
+        waitingSharedCount.incrementAndGet();
+
+        if (tryLockShared(strand)) {
+            this.waitingForSharedLock.removeLastOccurrence(strand);
+            waitingSharedCount.decrementAndGet();
+            return true;
+        }
+        block(strand);
+        return false;
+    }
+
+    private void block(Strand strand) {
         // Strand state change
         strand.setState(State.BLOCK_AND_YIELD);
         strand.blockedOnExtern = false;
-        return false;
     }
 
-    public synchronized void unlock() {
-        //current cannot be empty as unlock cannot be called without lock being called first.
-        Strand removedStrand = this.current.removeLast();
+    public void unlock() {
+        //owner cannot be null as unlock cannot be called without lock being called first.
+        Strand removedStrand = owner;
         removedStrand.acquiredLockCount--;
-        if (!waitingForLock.isEmpty()) {
-            Strand strand = this.waitingForLock.removeFirst();
+        if (--holdCount > 0) {
+            return;
+        }
+        owner = null;
+        state.set(FREE);
+        unblockWaitingStrands();
+    }
+
+    public void unlockShared(Strand strand) {
+        if (state.get() == EXCLUSIVE) {
+            // The shared lock was taken while the strand was holding the lock exclusively.
+            unlock();
+            return;
+        }
+        strand.acquiredLockCount--;
+        if (state.decrementAndGet() == FREE) {
+            unblockWaitingStrands();
+        }
+    }
+
+    private void unblockWaitingStrands() {
+        if (waitingCount.get() > 0 || waitingSharedCount.get() > 0) {
+            unblockWaitingStrandsInMonitor();
+        }
+    }
+
+    private synchronized void unblockWaitingStrandsInMonitor() {
+        Strand strand = this.waitingForLock.pollFirst();
+        if (strand != null) {
+            waitingCount.decrementAndGet();
+            strand.scheduler.unblockStrand(strand);
+            return;
+        }
+        while ((strand = this.waitingForSharedLock.pollFirst()) != null) {
+            waitingSharedCount.decrementAndGet();
             strand.scheduler.unblockStrand(strand);
         }
     }
 
     public boolean isLockFree() {
-        return this.current.isEmpty();
+        return state.get() == FREE;
     }
 
     public boolean lockedBySameContext(Strand ctx) {
-        return this.current.getLast() == ctx;
+        return owner == ctx;
     }
 }
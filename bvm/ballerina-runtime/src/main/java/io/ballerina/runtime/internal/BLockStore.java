@@ -22,6 +22,7 @@ import io.ballerina.runtime.api.creators.ErrorCreator;
 import io.ballerina.runtime.internal.errors.ErrorReasons;
 import io.ballerina.runtime.internal.scheduling.Strand;
 
+import java.util.Arrays;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -36,6 +37,12 @@ public class BLockStore {
      */
     private  Map<String, BLock> globalLockMap;
 
+    /**
+     * The locks inferred by the compiler, indexed by the lock id. A new array is published whenever a lock is
+     * added, hence the array is never modified once it is visible to readers.
+     */
+    private volatile BLock[] globalLocks = new BLock[0];
+
     public BLockStore() {
         globalLockMap = new ConcurrentHashMap<>();
     }
@@ -48,6 +55,29 @@ public class BLockStore {
         return globalLockMap.computeIfAbsent(lockName, (k) -> new BLock());
     }
 
+    public BLock getLock(int lockId) {
+        BLock[] locks = globalLocks;
+        if (lockId < locks.length) {
+            BLock lock = locks[lockId];
+            if (lock != null) {
+                return lock;
+            }
+        }
+        return createLock(lockId);
+    }
+
+    private synchronized BLock createLock(int lockId) {
+        BLock[] locks = globalLocks;
+        if (lockId < locks.length && locks[lockId] != null) {
+            return locks[lockId];
+        }
+        BLock[] newLocks = Arrays.copyOf(locks, Math.max(locks.length, lockId + 1));
+        BLock lock = new BLock();
+        newLocks[lockId] = lock;
+        globalLocks = newLocks;
+        return lock;
+    }
+
     public void panicIfInLock(Strand strand) {
         if (strand.acquiredLockCount > 0) {
             throw ErrorCreator.createError(ErrorReasons.ASYNC_CALL_INSIDE_LOCK);
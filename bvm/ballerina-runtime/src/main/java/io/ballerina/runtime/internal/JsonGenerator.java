@@ -22,6 +22,7 @@ import io.ballerina.runtime.api.utils.TypeUtils;
 import io.ballerina.runtime.api.values.BString;
 import io.ballerina.runtime.internal.values.ArrayValue;
 import io.ballerina.runtime.internal.values.DecimalValue;
+import io.ballerina.runtime.internal.values.LazyJsonValue;
 import io.ballerina.runtime.internal.values.MapValueImpl;
 import io.ballerina.runtime.internal.values.RefValue;
 import io.ballerina.runtime.internal.values.StreamingJsonValue;
@@ -34,6 +35,7 @@ import java.io.OutputStreamWriter;
 import java.io.Writer;
 import java.math.BigDecimal;
 import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.util.Map.Entry;
 
 /**
@@ -54,7 +56,7 @@ public class JsonGenerator implements Closeable {
 
     private boolean fieldActive;
 
-    private static boolean[] escChars = new boolean[93];
+    static final boolean[] escChars = new boolean[93];
 
     static {
         escChars['"'] = true;
@@ -77,6 +79,25 @@ public class JsonGenerator implements Closeable {
         this.writer = writer;
     }
 
+    /**
+     * Creates a generator that writes the JSON text to the given output stream in the given character set. UTF-8 is
+     * written by a {@link Utf8JsonGenerator}, which encodes the text itself.
+     *
+     * @param out     the output stream
+     * @param charset the character set
+     * @return the generator
+     */
+    public static JsonGenerator create(OutputStream out, Charset charset) {
+        return StandardCharsets.UTF_8.equals(charset) ? new Utf8JsonGenerator(out) : new JsonGenerator(out, charset);
+    }
+
+    /**
+     * Creates a generator that does not write to a {@link Writer}, for subclasses that override the methods which
+     * write out the text.
+     */
+    protected JsonGenerator() {
+    }
+
     private void setLevelInit(int index, boolean init) {
         this.checkAndResizeLevels(index);
         this.levelInit[index] = init;
@@ -98,7 +119,7 @@ public class JsonGenerator implements Closeable {
     private void processStartLevel() throws IOException {
         if (!this.fieldActive) {
             if (this.getLevelInit(this.currentLevel)) {
-                this.writer.write(", ");
+                this.write(", ");
             } else {
                 this.setLevelInit(this.currentLevel, true);
             }
@@ -116,7 +137,7 @@ public class JsonGenerator implements Closeable {
 
     private void processFieldInit() throws IOException {
         if (this.getLevelInit(this.currentLevel)) {
-            this.writer.write(", ");
+            this.write(", ");
         } else {
             this.setLevelInit(this.currentLevel, true);
         }
@@ -129,7 +150,7 @@ public class JsonGenerator implements Closeable {
             return;
         }
         if (this.getLevelInit(this.currentLevel)) {
-            this.writer.write(", ");
+            this.write(", ");
         } else {
             this.setLevelInit(this.currentLevel, true);
         }
@@ -137,22 +158,22 @@ public class JsonGenerator implements Closeable {
 
     public void startObject() throws IOException {
         this.processStartLevel();
-        this.writer.write('{');
+        this.write('{');
     }
 
     public void endObject() throws IOException {
-        this.writer.write('}');
+        this.write('}');
         this.processEndLevel();
     }
 
     public void writeFieldName(String fieldName) throws IOException {
         this.processFieldInit();
         this.writeStringValue(fieldName);
-        this.writer.write(":");
+        this.write(":");
     }
 
-    private void writeStringValue(String value) throws IOException {
-        this.writer.write("\"");
+    protected void writeStringValue(String value) throws IOException {
+        this.write("\"");
         int count = value.length();
         char ch;
         boolean escaped = false;
@@ -167,9 +188,9 @@ public class JsonGenerator implements Closeable {
         if (escaped) {
             this.writeStringEsc(chs);
         } else {
-            this.writer.write(chs);
+            this.write(chs, 0, count);
         }
-        this.writer.write("\"");
+        this.write("\"");
     }
 
     public void writeString(String value) throws IOException {
@@ -185,43 +206,43 @@ public class JsonGenerator implements Closeable {
             ch = chs[i];
             switch (ch) {
                 case '"':
-                    this.writer.write(chs, index, i - index);
-                    writer.write("\\\"");
+                    this.write(chs, index, i - index);
+                    this.write("\\\"");
                     index = i + 1;
                     break;
                 case '\\':
-                    this.writer.write(chs, index, i - index);
-                    writer.write("\\\\");
+                    this.write(chs, index, i - index);
+                    this.write("\\\\");
                     index = i + 1;
                     break;
                 case '/':
-                    this.writer.write(chs, index, i - index);
-                    writer.write("\\/");
+                    this.write(chs, index, i - index);
+                    this.write("\\/");
                     index = i + 1;
                     break;
                 case '\b':
-                    this.writer.write(chs, index, i - index);
-                    writer.write("\\b");
+                    this.write(chs, index, i - index);
+                    this.write("\\b");
                     index = i + 1;
                     break;
                 case '\n':
-                    this.writer.write(chs, index, i - index);
-                    writer.write("\\n");
+                    this.write(chs, index, i - index);
+                    this.write("\\n");
                     index = i + 1;
                     break;
                 case '\r':
-                    this.writer.write(chs, index, i - index);
-                    writer.write("\\r");
+                    this.write(chs, index, i - index);
+                    this.write("\\r");
                     index = i + 1;
                     break;
                 case '\f':
-                    this.writer.write(chs, index, i - index);
-                    writer.write("\\f");
+                    this.write(chs, index, i - index);
+                    this.write("\\f");
                     index = i + 1;
                     break;
                 case '\t':
-                    this.writer.write(chs, index, i - index);
-                    writer.write("\\t");
+                    this.write(chs, index, i - index);
+                    this.write("\\t");
                     index = i + 1;
                     break;
                 default:
@@ -230,46 +251,63 @@ public class JsonGenerator implements Closeable {
         }
 
         if (count - index > 0) {
-            this.writer.write(chs, index, count - index);
+            this.write(chs, index, count - index);
         }
 
     }
 
     public void writeNumber(long value) throws IOException {
         this.processValueInit();
-        this.writer.write(Long.toString(value));
+        this.write(Long.toString(value));
     }
 
     public void writeNumber(double value) throws IOException {
         this.processValueInit();
-        this.writer.write(Double.toString(value));
+        this.write(Double.toString(value));
     }
 
     public void writeNumber(BigDecimal value) throws IOException {
         this.processValueInit();
-        this.writer.write(value.toString());
+        this.write(value.toString());
     }
 
     public void writeBoolean(boolean value) throws IOException {
         this.processValueInit();
-        this.writer.write(Boolean.toString(value));
+        this.write(Boolean.toString(value));
     }
 
     public void writeNull() throws IOException {
         this.processValueInit();
-        this.writer.write("null");
+        this.write("null");
+    }
+
+    public void writeRaw(String json) throws IOException {
+        this.processValueInit();
+        this.write(json);
     }
 
     public void writeStartArray() throws IOException {
         this.processStartLevel();
-        this.writer.write("[");
+        this.write("[");
     }
 
     public void writeEndArray() throws IOException {
-        this.writer.write("]");
+        this.write("]");
         this.processEndLevel();
     }
 
+    protected void write(String text) throws IOException {
+        this.writer.write(text);
+    }
+
+    protected void write(char ch) throws IOException {
+        this.writer.write(ch);
+    }
+
+    protected void write(char[] chs, int offset, int length) throws IOException {
+        this.writer.write(chs, offset, length);
+    }
+
     public void flush() throws IOException {
         this.writer.flush();
     }
@@ -285,6 +323,15 @@ public class JsonGenerator implements Closeable {
             this.writeNull();
             return;
         }
+        // A lazy value that has not been read yet is written out as it was in the source text, which is checked
+        // before it is returned.
+        if (json instanceof LazyJsonValue lazyValue) {
+            String sourceText = lazyValue.getSourceText();
+            if (sourceText != null) {
+                this.writeRaw(sourceText);
+                return;
+            }
+        }
 
         switch (TypeUtils.getImpliedType(TypeChecker.getType(json)).getTag()) {
             case TypeTags.ARRAY_TAG:
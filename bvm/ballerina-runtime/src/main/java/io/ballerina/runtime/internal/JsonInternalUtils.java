@@ -261,7 +261,7 @@ public class JsonInternalUtils {
                                                            getComplexObjectTypeName(OBJECT), getTypeName(json));
         }
 
-        MapValueImpl<BString, Object> map = new MapValueImpl<>(mapType);
+        MapValueImpl<BString, Object> map = ValueUtils.createMapValue(mapType);
         Type mapConstraint = TypeUtils.getImpliedType(mapType.getConstrainedType());
         if (mapConstraint == null || mapConstraint.getTag() == TypeTags.ANY_TAG ||
                 mapConstraint.getTag() == TypeTags.JSON_TAG) {
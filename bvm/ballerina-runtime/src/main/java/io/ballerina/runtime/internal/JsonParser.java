@@ -64,6 +64,7 @@ import java.io.InputStreamReader;
 import java.io.Reader;
 import java.io.StringReader;
 import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -114,6 +115,9 @@ public class JsonParser {
      * @throws BError for any parsing error
      */
     public static Object parse(InputStream in, String charsetName, Type targetType) throws BError {
+        if (isUtf8(charsetName)) {
+            return Utf8JsonParser.parse(in, targetType, JsonUtils.NonStringValueProcessingMode.FROM_JSON_STRING);
+        }
         try {
             return parse(new InputStreamReader(new BufferedInputStream(in), charsetName), targetType);
         } catch (IOException e) {
@@ -190,6 +194,26 @@ public class JsonParser {
         return parse(reader, targetType, JsonUtils.NonStringValueProcessingMode.FROM_JSON_STRING);
     }
 
+    private static boolean isUtf8(String charsetName) {
+        try {
+            return StandardCharsets.UTF_8.equals(Charset.forName(charsetName));
+        } catch (IllegalArgumentException e) {
+            // unsupported charsets are reported when creating the reader
+            return false;
+        }
+    }
+
+    /**
+     * Converts a value parsed as JSON to the given target type.
+     *
+     * @param value      the JSON value
+     * @param targetType the target type
+     * @return the converted value
+     */
+    static Object convert(Object value, Type targetType) {
+        return JsonStateMachine.convert(value, targetType);
+    }
+
     private static Type getTargetType(JsonUtils.NonStringValueProcessingMode mode) {
         Type targetType;
         if (mode == FROM_JSON_DECIMAL_STRING) {
@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.ballerina.runtime.internal;
+
+import io.ballerina.runtime.api.types.Type;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <p>
+ * Bounded cache of the results of checking whether a type is a subtype of another, used by {@link TypeChecker} for
+ * the structural checks of types.
+ * </p>
+ * <p>
+ * The cache is a fixed size table indexed by the identity hash codes of the two types, where a new result replaces
+ * the one already in its slot. Entries are immutable, so the table is read and written without locking.
+ * </p>
+ * <p>
+ * <i>Note: This is an internal API and may change in future versions.</i>
+ * </p>
+ *
+ * @since 2201.10.0
+ */
+public final class TypeCheckCache {
+
+    private static final int CACHE_SIZE = 4096;
+
+    private static final Entry[] ENTRIES = new Entry[CACHE_SIZE];
+    private static final LongAdder HITS = new LongAdder();
+    private static final LongAdder MISSES = new LongAdder();
+
+    private TypeCheckCache() {
+    }
+
+    /**
+     * Returns the cached result of checking whether the source type is a subtype of the target type.
+     *
+     * @param sourceType the source type
+     * @param targetType the target type
+     * @return the cached result, or {@code null} if it is not cached
+     */
+    static Boolean get(Type sourceType, Type targetType) {
+        Entry entry = ENTRIES[getIndex(sourceType, targetType)];
+        if (entry != null && entry.sourceType == sourceType && entry.targetType == targetType) {
+            HITS.increment();
+            return entry.result;
+        }
+        MISSES.increment();
+        return null;
+    }
+
+    /**
+     * Caches the result of checking whether the source type is a subtype of the target type.
+     *
+     * @param sourceType the source type
+     * @param targetType the target type
+     * @param result     whether the source type is a subtype of the target type
+     */
+    static void put(Type sourceType, Type targetType, boolean result) {
+        ENTRIES[getIndex(sourceType, targetType)] = new Entry(sourceType, targetType, result);
+    }
+
+    private static int getIndex(Type sourceType, Type targetType) {
+        int hash = 31 * System.identityHashCode(sourceType) + System.identityHashCode(targetType);
+        return (hash ^ (hash >>> 16)) & (CACHE_SIZE - 1);
+    }
+
+    /**
+     * Returns the number of lookups that found a cached result.
+     *
+     * @return the number of cache hits
+     */
+    public static long getHitCount() {
+        return HITS.sum();
+    }
+
+    /**
+     * Returns the number of lookups that did not find a cached result.
+     *
+     * @return the number of cache misses
+     */
+    public static long getMissCount() {
+        return MISSES.sum();
+    }
+
+    /**
+     * Removes all cached results and resets the counters.
+     */
+    public static void clear() {
+        for (int i = 0; i < CACHE_SIZE; i++) {
+            ENTRIES[i] = null;
+        }
+        HITS.reset();
+        MISSES.reset();
+    }
+
+    private record Entry(Type sourceType, Type targetType, boolean result) {
+    }
+}
@@ -595,7 +595,7 @@ public class TypeChecker {
                 return checkIsType(PredefinedTypes.ANY_AND_READONLY_OR_ERROR_TYPE,
                         targetType, unresolvedTypes);
             case TypeTags.UNION_TAG:
-                return isUnionTypeMatch((BUnionType) sourceType, targetType, unresolvedTypes);
+                return checkIsStructuredType(sourceType, targetType, unresolvedTypes);
             case TypeTags.FINITE_TYPE_TAG:
                 if ((targetTypeTag == TypeTags.FINITE_TYPE_TAG || targetTypeTag <= TypeTags.NULL_TAG ||
                         targetTypeTag == TypeTags.XML_TEXT_TAG)) {
@@ -659,9 +659,31 @@ public class TypeChecker {
             case TypeTags.TYPE_REFERENCED_TYPE_TAG:
                 return checkIsType(sourceType, ((BTypeReferenceType) targetType).getReferredType(), unresolvedTypes);
             default:
-                return checkIsRecursiveType(sourceType, targetType,
-                        unresolvedTypes == null ? new ArrayList<>() : unresolvedTypes);
+                return checkIsStructuredType(sourceType, targetType, unresolvedTypes);
+        }
+    }
+
+    private static boolean checkIsStructuredType(Type sourceType, Type targetType, List<TypePair> unresolvedTypes) {
+        // The result of a check that does not assume any type pairs to be related only depends on the two types.
+        if (unresolvedTypes != null) {
+            return checkIsStructuredTypeUncached(sourceType, targetType, unresolvedTypes);
+        }
+        Boolean cachedResult = TypeCheckCache.get(sourceType, targetType);
+        if (cachedResult != null) {
+            return cachedResult;
+        }
+        boolean result = checkIsStructuredTypeUncached(sourceType, targetType, null);
+        TypeCheckCache.put(sourceType, targetType, result);
+        return result;
+    }
+
+    private static boolean checkIsStructuredTypeUncached(Type sourceType, Type targetType,
+                                                         List<TypePair> unresolvedTypes) {
+        if (sourceType.getTag() == TypeTags.UNION_TAG) {
+            return isUnionTypeMatch((BUnionType) sourceType, targetType, unresolvedTypes);
         }
+        return checkIsRecursiveType(sourceType, targetType,
+                unresolvedTypes == null ? new ArrayList<>() : unresolvedTypes);
     }
 
     private static boolean checkIsType(Object sourceVal, Type sourceType, Type targetType,
@@ -2070,7 +2092,7 @@ public class TypeChecker {
         return checkIsType(sourceConstraint, targetConstraint, unresolvedTypes);
     }
 
-    private static boolean isMutable(Object value, Type sourceType) {
+    static boolean isMutable(Object value, Type sourceType) {
         // All the value types are immutable
         sourceType = getImpliedType(sourceType);
         if (value == null || sourceType.getTag() < TypeTags.NULL_TAG ||
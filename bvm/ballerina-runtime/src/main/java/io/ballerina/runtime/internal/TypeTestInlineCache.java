@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.ballerina.runtime.internal;
+
+import io.ballerina.runtime.api.TypeTags;
+import io.ballerina.runtime.api.types.Type;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.ConstantCallSite;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.Arrays;
+
+import static io.ballerina.runtime.api.utils.TypeUtils.getImpliedType;
+
+/**
+ * <p>
+ * Inline cache of the results of a type test at a single site of the generated code. The generated code calls
+ * {@link #checkIsType(Object, Type)} through an {@code invokedynamic} instruction bootstrapped by
+ * {@link #bootstrap(MethodHandles.Lookup, String, MethodType)}, which binds each site to its own cache.
+ * </p>
+ * <p>
+ * The cache holds the results for the first few types of the values tested at the site, so a test of a value of one
+ * of these types is a reference comparison of its type. A result is only cached if it holds for every value of the
+ * type: a match if the type is a subtype of the tested type, and a mismatch for mutable values whose result does not
+ * depend on the values of their fields. Other tests are delegated to {@link TypeChecker#checkIsType(Object, Type)}.
+ * </p>
+ * <p>
+ * <i>Note: This is an internal API and may change in future versions.</i>
+ * </p>
+ *
+ * @since 2201.10.0
+ */
+public final class TypeTestInlineCache {
+
+    private static final int MAX_CACHED_TYPES = 4;
+    private static final Entry[] EMPTY = new Entry[0];
+    private static final MethodHandle CHECK_IS_TYPE;
+
+    static {
+        try {
+            CHECK_IS_TYPE = MethodHandles.lookup().findVirtual(TypeTestInlineCache.class, "checkIsType",
+                    MethodType.methodType(boolean.class, Object.class, Type.class));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    // Entries are never modified, the array is replaced when an entry is added.
+    private volatile Entry[] entries = EMPTY;
+
+    TypeTestInlineCache() {
+    }
+
+    /**
+     * Bootstrap method of the type test sites, which links each site to a new cache.
+     *
+     * @param lookup the lookup of the class of the site
+     * @param name   the name of the site
+     * @param type   the type of the site, which is {@code (Object, Type)boolean}
+     * @return the call site
+     */
+    public static CallSite bootstrap(MethodHandles.Lookup lookup, String name, MethodType type) {
+        return new ConstantCallSite(CHECK_IS_TYPE.bindTo(new TypeTestInlineCache()).asType(type));
+    }
+
+    /**
+     * Check whether a given value belongs to the given type.
+     *
+     * @param sourceVal  value to check the type
+     * @param targetType type to be test against
+     * @return true if the value belongs to the given type, false otherwise
+     */
+    public boolean checkIsType(Object sourceVal, Type targetType) {
+        Type sourceType = TypeChecker.getType(sourceVal);
+        Entry[] currentEntries = entries;
+        for (Entry entry : currentEntries) {
+            if (entry.sourceType == sourceType && entry.targetType == targetType) {
+                if (entry.result) {
+                    return true;
+                }
+                if (TypeChecker.isMutable(sourceVal, sourceType)) {
+                    return false;
+                }
+                return TypeChecker.checkIsType(sourceVal, targetType);
+            }
+        }
+
+        if (currentEntries.length == MAX_CACHED_TYPES) {
+            return TypeChecker.checkIsType(sourceVal, targetType);
+        }
+        if (TypeChecker.checkIsType(sourceType, targetType)) {
+            addEntry(currentEntries, new Entry(sourceType, targetType, true));
+            return true;
+        }
+        boolean result = TypeChecker.checkIsType(sourceVal, targetType);
+        if (!result && !isValueDependent(sourceType) && TypeChecker.isMutable(sourceVal, sourceType)) {
+            addEntry(currentEntries, new Entry(sourceType, targetType, false));
+        }
+        return result;
+    }
+
+    // The results of the tests of records, objects and XML sequences also depend on the values of their members.
+    private static boolean isValueDependent(Type sourceType) {
+        return switch (getImpliedType(sourceType).getTag()) {
+            case TypeTags.RECORD_TYPE_TAG, TypeTags.OBJECT_TYPE_TAG, TypeTags.XML_TAG -> true;
+            default -> false;
+        };
+    }
+
+    private void addEntry(Entry[] currentEntries, Entry entry) {
+        // A concurrent update may be lost, in which case the entry is added by a later test.
+        Entry[] newEntries = Arrays.copyOf(currentEntries, currentEntries.length + 1);
+        newEntries[currentEntries.length] = entry;
+        entries = newEntries;
+    }
+
+    private record Entry(Type sourceType, Type targetType, boolean result) {
+    }
+}
@@ -0,0 +1,278 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.ballerina.runtime.internal;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * {@link JsonGenerator} that encodes the JSON text to UTF-8 bytes itself, instead of going through a {@link
+ * java.io.Writer}.
+ * <p>
+ * The bytes are written to a buffer taken from a small pool shared by all threads, so that buffers are also reused by
+ * strands running on virtual threads. The buffer is written out to the output stream when it is full or flushed, and
+ * returned to the pool when the generator is closed. Characters are encoded in chunks in a single pass, where ASCII
+ * characters are copied as is, and strings are first copied to a character buffer chunk by chunk.
+ *
+ * @since 2201.10.0
+ */
+public class Utf8JsonGenerator extends JsonGenerator {
+
+    private static final int BUFFER_SIZE = 8192;
+    private static final int MAX_POOLED_BUFFER_SIZE = 256 * 1024;
+    // number of characters encoded at a time, so that an encoded chunk, along with the low surrogate of a pair that
+    // starts at its end, always fits in a buffer
+    private static final int CHUNK_SIZE = BUFFER_SIZE / 4;
+    private static final int POOL_SIZE = Runtime.getRuntime().availableProcessors();
+    private static final AtomicReferenceArray<Buffers> BUFFER_POOL = new AtomicReferenceArray<>(POOL_SIZE);
+    private static final byte[] ESCAPES = new byte[128];
+
+    static {
+        ESCAPES['"'] = '"';
+        ESCAPES['\\'] = '\\';
+        ESCAPES['/'] = '/';
+        ESCAPES['\b'] = 'b';
+        ESCAPES['\n'] = 'n';
+        ESCAPES['\r'] = 'r';
+        ESCAPES['\f'] = 'f';
+        ESCAPES['\t'] = 't';
+    }
+
+    private final OutputStream out;
+    private Buffers buffers;
+    private byte[] buffer;
+    private int position;
+
+    /**
+     * Creates a generator that writes the UTF-8 encoded JSON text to the given output stream.
+     *
+     * @param out the output stream
+     */
+    public Utf8JsonGenerator(OutputStream out) {
+        this.out = out;
+        this.buffers = acquireBuffers();
+        this.buffer = buffers.bytes;
+    }
+
+    /**
+     * Returns the JSON text of the given JSON value.
+     *
+     * @param json the JSON value
+     * @return the JSON text
+     * @throws IOException if the value cannot be serialized
+     */
+    public static String toJsonString(Object json) throws IOException {
+        // Without an output stream, the whole text is kept in the buffer.
+        try (Utf8JsonGenerator gen = new Utf8JsonGenerator(null)) {
+            gen.serialize(json);
+            return new String(gen.buffer, 0, gen.position, StandardCharsets.UTF_8);
+        }
+    }
+
+    @Override
+    protected void writeStringValue(String value) throws IOException {
+        int length = value.length();
+        boolean escaped = false;
+        for (int i = 0; i < length; i++) {
+            char ch = value.charAt(i);
+            if (ch < escChars.length && escChars[ch]) {
+                escaped = true;
+                break;
+            }
+        }
+        this.write('"');
+        this.writeChars(value, 0, length, escaped);
+        this.write('"');
+    }
+
+    @Override
+    public void writeStringEsc(char[] chs) throws IOException {
+        this.writeChars(chs, 0, chs.length, true);
+    }
+
+    @Override
+    protected void write(String text) throws IOException {
+        this.writeChars(text, 0, text.length(), false);
+    }
+
+    @Override
+    protected void write(char ch) throws IOException {
+        if (ch < 0x80) {
+            ensureCapacity(1);
+            buffer[position++] = (byte) ch;
+        } else {
+            char[] chars = buffers.chars;
+            chars[0] = ch;
+            this.encodeChunk(chars, 0, 1, false);
+        }
+    }
+
+    @Override
+    protected void write(char[] chs, int offset, int length) throws IOException {
+        this.writeChars(chs, offset, offset + length, false);
+    }
+
+    private void writeChars(String value, int start, int end, boolean escaped) throws IOException {
+        char[] chars = buffers.chars;
+        int index = start;
+        while (index < end) {
+            int chunkEnd = getChunkEnd(index, end, value.charAt(Math.min(end, index + CHUNK_SIZE) - 1));
+            value.getChars(index, chunkEnd, chars, 0);
+            encodeChunk(chars, 0, chunkEnd - index, escaped);
+            index = chunkEnd;
+        }
+    }
+
+    private void writeChars(char[] chs, int start, int end, boolean escaped) throws IOException {
+        int index = start;
+        while (index < end) {
+            int chunkEnd = getChunkEnd(index, end, chs[Math.min(end, index + CHUNK_SIZE) - 1]);
+            encodeChunk(chs, index, chunkEnd, escaped);
+            index = chunkEnd;
+        }
+    }
+
+    private static int getChunkEnd(int index, int end, char lastChar) {
+        int chunkEnd = Math.min(end, index + CHUNK_SIZE);
+        // A surrogate pair is kept in a single chunk.
+        return chunkEnd < end && Character.isHighSurrogate(lastChar) ? chunkEnd + 1 : chunkEnd;
+    }
+
+    private void encodeChunk(char[] chs, int start, int end, boolean escaped) throws IOException {
+        // Each character takes up to three bytes, and a surrogate pair takes four bytes.
+        ensureCapacity((end - start) * 3);
+        byte[] bytes = buffer;
+        int pos = position;
+        for (int index = start; index < end; index++) {
+            char ch = chs[index];
+            if (ch < 0x80) {
+                if (escaped && ESCAPES[ch] != 0) {
+                    bytes[pos++] = '\\';
+                    bytes[pos++] = ESCAPES[ch];
+                } else {
+                    bytes[pos++] = (byte) ch;
+                }
+            } else if (ch < 0x800) {
+                bytes[pos++] = (byte) (0xC0 | (ch >> 6));
+                bytes[pos++] = (byte) (0x80 | (ch & 0x3F));
+            } else if (!Character.isSurrogate(ch)) {
+                bytes[pos++] = (byte) (0xE0 | (ch >> 12));
+                bytes[pos++] = (byte) (0x80 | ((ch >> 6) & 0x3F));
+                bytes[pos++] = (byte) (0x80 | (ch & 0x3F));
+            } else if (Character.isHighSurrogate(ch) && index + 1 < end && Character.isLowSurrogate(chs[index + 1])) {
+                int codePoint = Character.toCodePoint(ch, chs[++index]);
+                bytes[pos++] = (byte) (0xF0 | (codePoint >> 18));
+                bytes[pos++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                bytes[pos++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                bytes[pos++] = (byte) (0x80 | (codePoint & 0x3F));
+            } else {
+                // An unpaired surrogate is replaced the same way as by the UTF-8 encoder of a writer.
+                bytes[pos++] = '?';
+            }
+        }
+        position = pos;
+    }
+
+    private void ensureCapacity(int length) throws IOException {
+        if (position + length <= buffer.length) {
+            return;
+        }
+        if (out != null) {
+            flushBuffer();
+            if (length <= buffer.length) {
+                return;
+            }
+        }
+        byte[] newBuffer = new byte[Math.max(buffer.length * 2, position + length)];
+        System.arraycopy(buffer, 0, newBuffer, 0, position);
+        buffer = newBuffer;
+    }
+
+    private void flushBuffer() throws IOException {
+        if (position > 0) {
+            out.write(buffer, 0, position);
+            position = 0;
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        if (out != null) {
+            flushBuffer();
+            out.flush();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (buffers == null) {
+            return;
+        }
+        try {
+            flush();
+            if (out != null) {
+                out.close();
+            }
+        } finally {
+            if (buffer.length <= MAX_POOLED_BUFFER_SIZE) {
+                buffers.bytes = buffer;
+                releaseBuffers(buffers);
+            }
+            buffers = null;
+            buffer = null;
+        }
+    }
+
+    private static Buffers acquireBuffers() {
+        int first = getFirstSlot();
+        for (int i = 0; i < POOL_SIZE; i++) {
+            int slot = (first + i) % POOL_SIZE;
+            Buffers pooledBuffers = BUFFER_POOL.get(slot);
+            if (pooledBuffers != null && BUFFER_POOL.compareAndSet(slot, pooledBuffers, null)) {
+                return pooledBuffers;
+            }
+        }
+        return new Buffers();
+    }
+
+    private static void releaseBuffers(Buffers buffers) {
+        int first = getFirstSlot();
+        for (int i = 0; i < POOL_SIZE; i++) {
+            int slot = (first + i) % POOL_SIZE;
+            if (BUFFER_POOL.get(slot) == null && BUFFER_POOL.compareAndSet(slot, null, buffers)) {
+                return;
+            }
+        }
+    }
+
+    private static int getFirstSlot() {
+        // Threads start looking for buffers at different slots of the pool.
+        return (int) (Thread.currentThread().getId() % POOL_SIZE);
+    }
+
+    /**
+     * Byte buffer of a generator, along with the character buffer that strings are copied to before being encoded.
+     */
+    private static final class Buffers {
+
+        private byte[] bytes = new byte[BUFFER_SIZE];
+        private final char[] chars = new char[CHUNK_SIZE + 1];
+    }
+}
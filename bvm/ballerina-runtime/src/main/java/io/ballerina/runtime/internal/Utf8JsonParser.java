@@ -0,0 +1,731 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.ballerina.runtime.internal;
+
+import io.ballerina.runtime.api.PredefinedTypes;
+import io.ballerina.runtime.api.TypeTags;
+import io.ballerina.runtime.api.creators.ErrorCreator;
+import io.ballerina.runtime.api.flags.SymbolFlags;
+import io.ballerina.runtime.api.types.ArrayType;
+import io.ballerina.runtime.api.types.Field;
+import io.ballerina.runtime.api.types.MapType;
+import io.ballerina.runtime.api.types.TupleType;
+import io.ballerina.runtime.api.types.Type;
+import io.ballerina.runtime.api.utils.JsonUtils;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.utils.TypeUtils;
+import io.ballerina.runtime.api.values.BError;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BString;
+import io.ballerina.runtime.internal.types.BArrayType;
+import io.ballerina.runtime.internal.types.BMapType;
+import io.ballerina.runtime.internal.types.BRecordType;
+import io.ballerina.runtime.internal.values.ArrayValueImpl;
+import io.ballerina.runtime.internal.values.DecimalValue;
+import io.ballerina.runtime.internal.values.MapValueImpl;
+import io.ballerina.runtime.internal.values.TupleValueImpl;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static io.ballerina.runtime.api.utils.JsonUtils.NonStringValueProcessingMode.FROM_JSON_DECIMAL_STRING;
+import static io.ballerina.runtime.api.utils.JsonUtils.NonStringValueProcessingMode.FROM_JSON_FLOAT_STRING;
+import static io.ballerina.runtime.internal.ValueUtils.createMapValue;
+import static io.ballerina.runtime.internal.ValueUtils.createRecordValueWithDefaultValues;
+
+/**
+ * Pull parser which reads UTF-8 encoded JSON directly from the bytes of an {@link InputStream} and creates a value of
+ * the target type in a single pass.
+ * <p>
+ * Unlike the {@link JsonParser} state machine, the characters are decoded while scanning the byte buffer, and the
+ * members of records are collected in a plain array and only copied once into the record value. Values whose target
+ * type is a union, a finite type or a table are still parsed as JSON and converted afterwards, since the member type
+ * cannot be selected before the whole value is read.
+ *
+ * @since 2201.10.0
+ */
+final class Utf8JsonParser {
+
+    private static final int BUFFER_SIZE = 8192;
+    private static final char REPLACEMENT_CHAR = '\uFFFD';
+    private static final String UNSUPPORTED_TYPE = "unsupported type: ";
+    private static final String ARRAY_SIZE_MISMATCH = "array size is not enough for the provided values";
+    private static final String TUPLE_SIZE_MISMATCH = "tuple size is not enough for the provided values";
+    private static final String UNEXPECTED_END_OF_THE_INPUT_STREAM = "unexpected end of the input stream";
+    private static final String UNRECOGNIZED_TOKEN = "unrecognized token '";
+    private static final Object ABSENT = new Object();
+
+    private static final BMapType JSON_MAP_TYPE = new BMapType(PredefinedTypes.TYPE_JSON);
+    private static final BMapType READONLY_JSON_MAP_TYPE = new BMapType(PredefinedTypes.TYPE_READONLY_JSON, true);
+    private static final BArrayType JSON_ARRAY_TYPE = new BArrayType(PredefinedTypes.TYPE_JSON);
+    private static final BArrayType READONLY_JSON_ARRAY_TYPE =
+            new BArrayType(PredefinedTypes.TYPE_READONLY_JSON, true);
+
+    private final InputStream in;
+    private final JsonUtils.NonStringValueProcessingMode mode;
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private int position;
+    private int limit;
+    // offset of the start of the buffer and of the current line in the input, used to report error locations
+    private long bufferOffset;
+    private long lineOffset;
+    private int line = 1;
+    private char[] chars = new char[256];
+    private int charCount;
+    private final Map<BRecordType, RecordLayout> recordLayouts = new IdentityHashMap<>();
+
+    private Utf8JsonParser(InputStream in, JsonUtils.NonStringValueProcessingMode mode) {
+        this.in = in;
+        this.mode = mode;
+    }
+
+    /**
+     * Parses the UTF-8 encoded content of the given {@link InputStream} and returns a value of the given target type.
+     *
+     * @param in         input stream which contains the content
+     * @param targetType the type of the value to be created
+     * @param mode       the mode to use when processing numeric values
+     * @return value of the given target type
+     * @throws BError for any parsing error
+     */
+    static Object parse(InputStream in, Type targetType, JsonUtils.NonStringValueProcessingMode mode) throws BError {
+        Utf8JsonParser parser = new Utf8JsonParser(in, mode);
+        try {
+            int ch = parser.nextNonWhitespace();
+            if (ch == -1) {
+                throw new ParserException("empty JSON document");
+            }
+            Object value = parser.readValue(TypeUtils.getImpliedType(targetType), ch);
+            if (parser.nextNonWhitespace() != -1) {
+                throw new ParserException("input stream has already ended");
+            }
+            return value;
+        } catch (IOException e) {
+            throw ErrorCreator.createError(StringUtils.fromString("Error reading JSON: " + e.getMessage()));
+        } catch (ParserException e) {
+            throw ErrorCreator.createError(StringUtils.fromString(e.getMessage() + " at line: " + parser.line
+                    + " column: " + (parser.bufferOffset + parser.position - parser.lineOffset)));
+        }
+    }
+
+    private Object readValue(Type targetType, int ch) throws IOException, ParserException {
+        switch (targetType.getTag()) {
+            case TypeTags.JSON_TAG, TypeTags.ANYDATA_TAG -> {
+                return readJson(ch, targetType.isReadOnly());
+            }
+            case TypeTags.UNION_TAG, TypeTags.FINITE_TYPE_TAG, TypeTags.TABLE_TAG -> {
+                if (ch == '"') {
+                    return getConvertedStringValue(readString(), targetType);
+                }
+                return JsonParser.convert(readJson(ch, false), targetType);
+            }
+            default -> {
+                return switch (ch) {
+                    case '{' -> readObject(targetType);
+                    case '[' -> readList(targetType);
+                    case '"' -> getConvertedStringValue(readString(), targetType);
+                    default -> convertToken(targetType, readToken(ch));
+                };
+            }
+        }
+    }
+
+    private Object readObject(Type targetType) throws IOException, ParserException {
+        return switch (targetType.getTag()) {
+            case TypeTags.MAP_TAG -> readMap((MapType) targetType);
+            case TypeTags.RECORD_TYPE_TAG -> readRecord((BRecordType) targetType);
+            default -> throw new ParserException(UNSUPPORTED_TYPE + targetType + "'");
+        };
+    }
+
+    private MapValueImpl<BString, Object> readMap(MapType mapType) throws IOException, ParserException {
+        MapValueImpl<BString, Object> map = createMapValue(mapType);
+        Type constrainedType = TypeUtils.getImpliedType(mapType.getConstrainedType());
+        int ch = nextNonWhitespace();
+        if (ch == '}') {
+            return map;
+        }
+        while (true) {
+            String fieldName = readFieldName(ch);
+            map.putForcefully(StringUtils.fromString(fieldName), readValue(constrainedType, readFieldValueStart()));
+            ch = nextNonWhitespace();
+            if (ch == '}') {
+                return map;
+            }
+            if (ch != ',') {
+                StateMachine.throwExpected(",", "}");
+            }
+            ch = nextNonWhitespace();
+            if (ch != '"') {
+                StateMachine.throwExpected("\"");
+            }
+        }
+    }
+
+    private BMap<BString, Object> readRecord(BRecordType recordType) throws IOException, ParserException {
+        RecordLayout layout = recordLayouts.computeIfAbsent(recordType, RecordLayout::new);
+        Object[] values = new Object[layout.fields.length];
+        Arrays.fill(values, ABSENT);
+        List<BString> restFieldNames = null;
+        List<Object> restFieldValues = null;
+        int ch = nextNonWhitespace();
+        while (ch != '}') {
+            String fieldName = readFieldName(ch);
+            Integer fieldIndex = layout.indices.get(fieldName);
+            if (fieldIndex != null) {
+                Type fieldType = TypeUtils.getImpliedType(layout.fields[fieldIndex].getFieldType());
+                values[fieldIndex] = readValue(fieldType, readFieldValueStart());
+            } else if (recordType.sealed) {
+                throw new ParserException("field '" + fieldName + "' cannot be added to the closed record '"
+                        + recordType + "'");
+            } else {
+                if (restFieldNames == null) {
+                    restFieldNames = new ArrayList<>();
+                    restFieldValues = new ArrayList<>();
+                }
+                restFieldNames.add(StringUtils.fromString(fieldName));
+                restFieldValues.add(readValue(TypeUtils.getImpliedType(recordType.restFieldType),
+                        readFieldValueStart()));
+            }
+            ch = nextNonWhitespace();
+            if (ch == '}') {
+                break;
+            }
+            if (ch != ',') {
+                StateMachine.throwExpected(",", "}");
+            }
+            ch = nextNonWhitespace();
+            if (ch != '"') {
+                StateMachine.throwExpected("\"");
+            }
+        }
+
+        List<String> notProvidedFields = new ArrayList<>();
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] != ABSENT) {
+                continue;
+            }
+            Field field = layout.fields[i];
+            long fieldFlags = field.getFlags();
+            if (SymbolFlags.isFlagOn(fieldFlags, SymbolFlags.REQUIRED)) {
+                throw new ParserException("missing required field '" + field.getFieldName() + "' of type '"
+                        + field.getFieldType().toString() + "' in record '" + recordType + "'");
+            } else if (!SymbolFlags.isFlagOn(fieldFlags, SymbolFlags.OPTIONAL)) {
+                notProvidedFields.add(field.getFieldName());
+            }
+        }
+        BMap<BString, Object> recordValue = createRecordValueWithDefaultValues(recordType.getPackage(),
+                recordType.getName(), notProvidedFields);
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] != ABSENT) {
+                recordValue.populateInitialValue(layout.fieldNames[i], values[i]);
+            }
+        }
+        if (restFieldNames != null) {
+            for (int i = 0; i < restFieldNames.size(); i++) {
+                recordValue.populateInitialValue(restFieldNames.get(i), restFieldValues.get(i));
+            }
+        }
+        if (recordType.isReadOnly()) {
+            recordValue.freezeDirect();
+        }
+        return recordValue;
+    }
+
+    private Object readList(Type targetType) throws IOException, ParserException {
+        return switch (targetType.getTag()) {
+            case TypeTags.ARRAY_TAG -> readArray((ArrayType) targetType);
+            case TypeTags.TUPLE_TAG -> readTuple((TupleType) targetType);
+            default -> throw new ParserException("target type is not array type");
+        };
+    }
+
+    private ArrayValueImpl readArray(ArrayType arrayType) throws IOException, ParserException {
+        ArrayValueImpl array = new ArrayValueImpl(arrayType);
+        Type elementType = TypeUtils.getImpliedType(arrayType.getElementType());
+        boolean closed = arrayType.getState() == ArrayType.ArrayState.CLOSED;
+        int index = 0;
+        int ch = nextNonWhitespace();
+        if (ch != ']') {
+            while (true) {
+                ch = checkArrayElementStart(ch);
+                if (ch == '"') {
+                    try {
+                        array.convertStringAndAddRefValue(index, StringUtils.fromString(readString()));
+                    } catch (BError e) {
+                        throw new ParserException(e.getMessage());
+                    }
+                } else {
+                    if ((ch == '{' || ch == '[') && closed && arrayType.getSize() <= index) {
+                        throw new ParserException("'" + arrayType + "' " + ARRAY_SIZE_MISMATCH);
+                    }
+                    array.addRefValue(index, readValue(elementType, ch));
+                }
+                index++;
+                if (nextArrayElement()) {
+                    break;
+                }
+                ch = nextNonWhitespace();
+            }
+        }
+        if (closed && arrayType.getSize() > index && !arrayType.hasFillerValue()) {
+            throw new ParserException("missing required number of values for the '" + arrayType +
+                    "' array which does not have a filler value");
+        }
+        return array;
+    }
+
+    private TupleValueImpl readTuple(TupleType tupleType) throws IOException, ParserException {
+        TupleValueImpl tuple = new TupleValueImpl(tupleType);
+        List<Type> memberTypes = tupleType.getTupleTypes();
+        Type restType = tupleType.getRestType();
+        int index = 0;
+        int ch = nextNonWhitespace();
+        if (ch != ']') {
+            while (true) {
+                ch = checkArrayElementStart(ch);
+                if (ch == '"') {
+                    try {
+                        tuple.convertStringAndAddRefValue(index, StringUtils.fromString(readString()));
+                    } catch (BError e) {
+                        throw new ParserException(e.getMessage());
+                    }
+                } else {
+                    Type memberType;
+                    if (index < memberTypes.size()) {
+                        memberType = memberTypes.get(index);
+                    } else if (restType != null) {
+                        memberType = restType;
+                    } else {
+                        throw new ParserException("'" + tupleType + "' " + TUPLE_SIZE_MISMATCH);
+                    }
+                    Object member = readValue(TypeUtils.getImpliedType(memberType), ch);
+                    if (ch == '{' || ch == '[') {
+                        tuple.addRefValue(index, member);
+                    } else {
+                        tuple.addRefValueForcefully(index, member);
+                    }
+                }
+                index++;
+                if (nextArrayElement()) {
+                    break;
+                }
+                ch = nextNonWhitespace();
+            }
+        }
+        if (memberTypes.size() > index) {
+            throw new ParserException("missing required number of values for the '" + tupleType + "' tuple");
+        }
+        return tuple;
+    }
+
+    private Object readJson(int ch, boolean readOnly) throws IOException, ParserException {
+        switch (ch) {
+            case '{' -> {
+                MapValueImpl<BString, Object> map = createMapValue(readOnly ? READONLY_JSON_MAP_TYPE : JSON_MAP_TYPE);
+                ch = nextNonWhitespace();
+                if (ch == '}') {
+                    return map;
+                }
+                while (true) {
+                    BString fieldName = StringUtils.fromString(readFieldName(ch));
+                    map.putForcefully(fieldName, readJson(readFieldValueStart(), readOnly));
+                    ch = nextNonWhitespace();
+                    if (ch == '}') {
+                        return map;
+                    }
+                    if (ch != ',') {
+                        StateMachine.throwExpected(",", "}");
+                    }
+                    ch = nextNonWhitespace();
+                    if (ch != '"') {
+                        StateMachine.throwExpected("\"");
+                    }
+                }
+            }
+            case '[' -> {
+                ArrayValueImpl array = new ArrayValueImpl(readOnly ? READONLY_JSON_ARRAY_TYPE : JSON_ARRAY_TYPE);
+                ch = nextNonWhitespace();
+                if (ch == ']') {
+                    return array;
+                }
+                while (true) {
+                    array.addRefValueForcefully(array.size(), readJson(checkArrayElementStart(ch), readOnly));
+                    if (nextArrayElement()) {
+                        return array;
+                    }
+                    ch = nextNonWhitespace();
+                }
+            }
+            case '"' -> {
+                return StringUtils.fromString(readString());
+            }
+            default -> {
+                return getNonStringValueAsJson(readToken(ch));
+            }
+        }
+    }
+
+    // Reads the field name starting at the given quote and the following colon.
+    private String readFieldName(int ch) throws IOException, ParserException {
+        if (ch != '"') {
+            StateMachine.throwExpected("\"", "}");
+        }
+        String fieldName = readString();
+        if (nextNonWhitespace() != ':') {
+            StateMachine.throwExpected(":");
+        }
+        return fieldName;
+    }
+
+    private int readFieldValueStart() throws IOException, ParserException {
+        int ch = nextNonWhitespace();
+        if (ch == '}' || ch == ']') {
+            throw new ParserException("expected a field value");
+        }
+        if (ch == -1) {
+            throw new ParserException(UNEXPECTED_END_OF_THE_INPUT_STREAM);
+        }
+        return ch;
+    }
+
+    private int checkArrayElementStart(int ch) throws ParserException {
+        if (ch == ']') {
+            throw new ParserException("expected an array element");
+        }
+        if (ch == -1) {
+            throw new ParserException(UNEXPECTED_END_OF_THE_INPUT_STREAM);
+        }
+        return ch;
+    }
+
+    // Consumes the separator after an array element and returns whether it was the end of the array.
+    private boolean nextArrayElement() throws IOException, ParserException {
+        int ch = nextNonWhitespace();
+        if (ch == ']') {
+            return true;
+        }
+        if (ch != ',') {
+            StateMachine.throwExpected(",", "]");
+        }
+        return false;
+    }
+
+    private Object convertToken(Type targetType, String token) throws ParserException {
+        return switch (targetType.getTag()) {
+            case TypeTags.INT_TAG, TypeTags.SIGNED32_INT_TAG, TypeTags.SIGNED16_INT_TAG,
+                    TypeTags.SIGNED8_INT_TAG, TypeTags.UNSIGNED32_INT_TAG, TypeTags.UNSIGNED16_INT_TAG,
+                    TypeTags.UNSIGNED8_INT_TAG -> {
+                try {
+                    long value = Long.parseLong(token);
+                    if (!TypeConverter.isConvertibleToIntRange(targetType, value)) {
+                        throw getConversionError(targetType, token);
+                    }
+                    yield value;
+                } catch (NumberFormatException e) {
+                    throw getConversionError(targetType, token);
+                }
+            }
+            case TypeTags.BYTE_TAG -> {
+                try {
+                    int value = Integer.parseInt(token);
+                    if (!TypeChecker.isByteLiteral(value)) {
+                        throw getConversionError(targetType, token);
+                    }
+                    yield value;
+                } catch (NumberFormatException e) {
+                    throw getConversionError(targetType, token);
+                }
+            }
+            case TypeTags.FLOAT_TAG -> {
+                try {
+                    yield Double.parseDouble(token);
+                } catch (NumberFormatException e) {
+                    throw getConversionError(targetType, token);
+                }
+            }
+            case TypeTags.DECIMAL_TAG -> {
+                try {
+                    yield new DecimalValue(token);
+                } catch (NumberFormatException e) {
+                    throw getConversionError(targetType, token);
+                }
+            }
+            case TypeTags.BOOLEAN_TAG -> {
+                if (StateMachine.TRUE.equals(token)) {
+                    yield Boolean.TRUE;
+                } else if (StateMachine.FALSE.equals(token)) {
+                    yield Boolean.FALSE;
+                }
+                throw getConversionError(targetType, token);
+            }
+            case TypeTags.NULL_TAG -> {
+                if (StateMachine.NULL.equals(token)) {
+                    yield null;
+                }
+                throw getConversionError(targetType, token);
+            }
+            case TypeTags.MAP_TAG, TypeTags.RECORD_TYPE_TAG, TypeTags.ARRAY_TAG, TypeTags.TUPLE_TAG ->
+                    throw new ParserException(UNRECOGNIZED_TOKEN + token + "'");
+            default -> throw getConversionError(targetType, token);
+        };
+    }
+
+    private Object getNonStringValueAsJson(String token) throws ParserException {
+        switch (token) {
+            case StateMachine.TRUE -> {
+                return Boolean.TRUE;
+            }
+            case StateMachine.FALSE -> {
+                return Boolean.FALSE;
+            }
+            case StateMachine.NULL -> {
+                return null;
+            }
+            default -> {
+                try {
+                    if (StateMachine.isNegativeZero(token) || mode == FROM_JSON_FLOAT_STRING) {
+                        return Double.parseDouble(token);
+                    } else if (token.indexOf('.') >= 0 || StateMachine.isExponential(token) ||
+                            mode == FROM_JSON_DECIMAL_STRING) {
+                        return new DecimalValue(token);
+                    } else {
+                        return Long.parseLong(token);
+                    }
+                } catch (NumberFormatException e) {
+                    throw new ParserException(UNRECOGNIZED_TOKEN + token + "'");
+                }
+            }
+        }
+    }
+
+    private static Object getConvertedStringValue(String value, Type targetType) throws ParserException {
+        try {
+            return ValueConverter.getConvertedStringValue(StringUtils.fromString(value), targetType);
+        } catch (BError e) {
+            throw new ParserException(e.getMessage());
+        }
+    }
+
+    private static ParserException getConversionError(Type targetType, String token) {
+        return new ParserException("value '" + token + "' cannot be converted to '" + targetType + "'");
+    }
+
+    // Reads a non-string value, which continues up to the next whitespace or structural character.
+    private String readToken(int first) throws IOException {
+        charCount = 0;
+        if (first < 0x80) {
+            appendChar((char) first);
+        } else {
+            decodeMultiByteChar(first);
+        }
+        while (true) {
+            if (position == limit && !fill()) {
+                break;
+            }
+            int ch = buffer[position];
+            if (ch == ',' || ch == '}' || ch == ']' || ch == ':' || ch == '{' || ch == '[' || ch == '"' ||
+                    StateMachine.isWhitespace((char) ch)) {
+                break;
+            }
+            position++;
+            if (ch >= 0) {
+                appendChar((char) ch);
+            } else {
+                decodeMultiByteChar(ch & 0xFF);
+            }
+        }
+        return new String(chars, 0, charCount);
+    }
+
+    // Reads the characters of a string up to the closing quote, the opening quote being already consumed.
+    private String readString() throws IOException, ParserException {
+        charCount = 0;
+        while (true) {
+            if (position == limit && !fill()) {
+                throw new ParserException(UNEXPECTED_END_OF_THE_INPUT_STREAM);
+            }
+            // ASCII characters other than quotes and escapes are copied without further checks.
+            int end = Math.min(limit, position + chars.length - charCount);
+            int ch = 0;
+            while (position < end && (ch = buffer[position]) >= 0 && ch != '"' && ch != '\\' && ch != '\n') {
+                chars[charCount++] = (char) ch;
+                position++;
+            }
+            if (position == end) {
+                if (charCount == chars.length) {
+                    chars = Arrays.copyOf(chars, chars.length * 2);
+                }
+                continue;
+            }
+            position++;
+            switch (ch) {
+                case '"' -> {
+                    return new String(chars, 0, charCount);
+                }
+                case '\\' -> appendChar(readEscapedChar());
+                case '\n' -> {
+                    newLine();
+                    appendChar('\n');
+                }
+                default -> decodeMultiByteChar(ch & 0xFF);
+            }
+        }
+    }
+
+    private char readEscapedChar() throws IOException, ParserException {
+        int ch = read();
+        return switch (ch) {
+            case '"' -> '"';
+            case '\\' -> '\\';
+            case '/' -> '/';
+            case 'b' -> '\b';
+            case 'f' -> '\f';
+            case 'n' -> '\n';
+            case 'r' -> '\r';
+            case 't' -> '\t';
+            case 'u' -> {
+                int value = 0;
+                for (int i = 0; i < 4; i++) {
+                    int digit = Character.digit(read(), 16);
+                    if (digit < 0) {
+                        throw new ParserException("expected the hexadecimal value of a unicode character");
+                    }
+                    value = (value << 4) | digit;
+                }
+                yield (char) value;
+            }
+            case -1 -> throw new ParserException(UNEXPECTED_END_OF_THE_INPUT_STREAM);
+            default -> throw new ParserException("expected escaped characters");
+        };
+    }
+
+    // Decodes a character encoded with more than one byte, replacing malformed sequences as a Reader would.
+    private void decodeMultiByteChar(int first) throws IOException {
+        int length;
+        int codePoint;
+        if (first >= 0xC2 && first <= 0xDF) {
+            length = 1;
+            codePoint = first & 0x1F;
+        } else if (first >= 0xE0 && first <= 0xEF) {
+            length = 2;
+            codePoint = first & 0x0F;
+        } else if (first >= 0xF0 && first <= 0xF4) {
+            length = 3;
+            codePoint = first & 0x07;
+        } else {
+            appendChar(REPLACEMENT_CHAR);
+            return;
+        }
+        for (int i = 0; i < length; i++) {
+            if (position == limit && !fill()) {
+                appendChar(REPLACEMENT_CHAR);
+                return;
+            }
+            int next = buffer[position];
+            if ((next & 0xC0) != 0x80) {
+                appendChar(REPLACEMENT_CHAR);
+                return;
+            }
+            position++;
+            codePoint = (codePoint << 6) | (next & 0x3F);
+        }
+        if ((length == 2 && (codePoint < 0x800 || Character.isSurrogate((char) codePoint))) ||
+                (length == 3 && (codePoint < Character.MIN_SUPPLEMENTARY_CODE_POINT ||
+                        codePoint > Character.MAX_CODE_POINT))) {
+            appendChar(REPLACEMENT_CHAR);
+        } else if (length == 3) {
+            appendChar(Character.highSurrogate(codePoint));
+            appendChar(Character.lowSurrogate(codePoint));
+        } else {
+            appendChar((char) codePoint);
+        }
+    }
+
+    private void appendChar(char ch) {
+        if (charCount == chars.length) {
+            chars = Arrays.copyOf(chars, chars.length * 2);
+        }
+        chars[charCount++] = ch;
+    }
+
+    private int nextNonWhitespace() throws IOException {
+        while (true) {
+            if (position == limit && !fill()) {
+                return -1;
+            }
+            int ch = buffer[position++] & 0xFF;
+            if (ch == '\n') {
+                newLine();
+            } else if (ch != ' ' && ch != '\t' && ch != '\r') {
+                return ch;
+            }
+        }
+    }
+
+    private int read() throws IOException {
+        if (position == limit && !fill()) {
+            return -1;
+        }
+        return buffer[position++] & 0xFF;
+    }
+
+    private void newLine() {
+        line++;
+        lineOffset = bufferOffset + position;
+    }
+
+    private boolean fill() throws IOException {
+        bufferOffset += limit;
+        position = 0;
+        limit = 0;
+        int count = in.read(buffer);
+        if (count <= 0) {
+            return false;
+        }
+        limit = count;
+        return true;
+    }
+
+    /**
+     * Fields of a record type in declaration order, with the index of each field by its name.
+     */
+    private static class RecordLayout {
+
+        private final Field[] fields;
+        private final BString[] fieldNames;
+        private final Map<String, Integer> indices;
+
+        RecordLayout(BRecordType recordType) {
+            Map<String, Field> recordFields = recordType.getFields();
+            this.fields = recordFields.values().toArray(new Field[0]);
+            this.fieldNames = new BString[fields.length];
+            this.indices = new HashMap<>();
+            for (int i = 0; i < fields.length; i++) {
+                fieldNames[i] = StringUtils.fromString(fields[i].getFieldName());
+                indices.put(fields[i].getFieldName(), i);
+            }
+        }
+    }
+}
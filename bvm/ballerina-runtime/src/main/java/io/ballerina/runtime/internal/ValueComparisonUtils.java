@@ -250,7 +250,7 @@ public class ValueComparisonUtils {
                 TypeChecker.getType(rhsValue));
     }
 
-    private static int codePointCompare(String str1, String str2) {
+    public static int codePointCompare(String str1, String str2) {
         PrimitiveIterator.OfInt iterator1 = str1.codePoints().iterator();
         PrimitiveIterator.OfInt iterator2 = str2.codePoints().iterator();
         while (iterator1.hasNext()) {
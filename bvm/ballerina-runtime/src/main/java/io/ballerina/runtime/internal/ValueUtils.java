@@ -27,6 +27,7 @@ import io.ballerina.runtime.api.utils.TypeUtils;
 import io.ballerina.runtime.api.values.BError;
 import io.ballerina.runtime.api.values.BFunctionPointer;
 import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BMapInitialValueEntry;
 import io.ballerina.runtime.api.values.BObject;
 import io.ballerina.runtime.api.values.BString;
 import io.ballerina.runtime.api.values.BTypedesc;
@@ -38,6 +39,7 @@ import io.ballerina.runtime.internal.scheduling.Strand;
 import io.ballerina.runtime.internal.types.BRecordType;
 import io.ballerina.runtime.internal.values.MapValue;
 import io.ballerina.runtime.internal.values.MapValueImpl;
+import io.ballerina.runtime.internal.values.PrimitiveMapValueImpl;
 import io.ballerina.runtime.internal.values.TypedescValueImpl;
 import io.ballerina.runtime.internal.values.ValueCreator;
 
@@ -236,6 +238,34 @@ public class ValueUtils {
         return mapValue;
     }
 
+    /**
+     * Create a runtime map value of the given map type, using unboxed member storage where the constraint allows it.
+     *
+     * @param mapType map type
+     * @return        map value
+     */
+    public static <K, V> MapValueImpl<K, V> createMapValue(Type mapType) {
+        if (PrimitiveMapValueImpl.isPrimitiveMapType(mapType)) {
+            return new PrimitiveMapValueImpl<>(mapType);
+        }
+        return new MapValueImpl<>(mapType);
+    }
+
+    /**
+     * Create a runtime map value of the given map type populated with the given initial values, using unboxed member
+     * storage where the constraint allows it.
+     *
+     * @param mapType       map type
+     * @param initialValues initial map values to be populated
+     * @return              map value
+     */
+    public static <K, V> MapValueImpl<K, V> createMapValue(Type mapType, BMapInitialValueEntry[] initialValues) {
+        if (PrimitiveMapValueImpl.isPrimitiveMapType(mapType)) {
+            return new PrimitiveMapValueImpl<>(mapType, initialValues);
+        }
+        return new MapValueImpl<>(mapType, initialValues);
+    }
+
     /**
      * Create an object value using the given package ID and object type name.
      *
@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.ballerina.runtime.internal.regexp;
+
+import java.util.regex.Pattern;
+
+/**
+ * <p>
+ * Regular expression compiled with a set of match flags. Matchers created for the expression match in linear time
+ * when the expression can be compiled to a {@link RegExpProgram}, and use the Java pattern of the expression
+ * otherwise.
+ * </p>
+ * <p>
+ * <i>Note: This is an internal API and may change in future versions.</i>
+ * </p>
+ *
+ * @since 2201.10.0
+ */
+public final class CompiledRegExp {
+
+    private final Pattern pattern;
+    private final int flags;
+    private final RegExpProgram program;
+
+    CompiledRegExp(Pattern pattern, int flags, RegExpProgram program) {
+        this.pattern = pattern;
+        this.flags = flags;
+        this.program = program;
+    }
+
+    public Pattern getPattern() {
+        return pattern;
+    }
+
+    public int getFlags() {
+        return flags;
+    }
+
+    public boolean isLinear() {
+        return program != null;
+    }
+
+    public RegExpMatcher matcher(String input) {
+        if (program != null) {
+            return new LinearRegExpMatcher(program, input);
+        }
+        return new JavaRegExpMatcher(pattern.matcher(input));
+    }
+}
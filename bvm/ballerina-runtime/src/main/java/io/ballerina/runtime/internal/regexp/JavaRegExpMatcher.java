@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.ballerina.runtime.internal.regexp;
+
+import java.util.regex.Matcher;
+
+/**
+ * Matcher of the regular expressions that are matched by their Java patterns.
+ *
+ * @since 2201.10.0
+ */
+final class JavaRegExpMatcher extends RegExpMatcher {
+
+    private final Matcher matcher;
+
+    JavaRegExpMatcher(Matcher matcher) {
+        this.matcher = matcher;
+    }
+
+    @Override
+    public boolean find(int start) {
+        return matcher.find(start);
+    }
+
+    @Override
+    public boolean find() {
+        return matcher.find();
+    }
+
+    @Override
+    public boolean matches() {
+        return matcher.matches();
+    }
+
+    @Override
+    public RegExpMatcher region(int start, int end) {
+        matcher.region(start, end);
+        return this;
+    }
+
+    @Override
+    public int start() {
+        return matcher.start();
+    }
+
+    @Override
+    public int start(int group) {
+        return matcher.start(group);
+    }
+
+    @Override
+    public int end() {
+        return matcher.end();
+    }
+
+    @Override
+    public int end(int group) {
+        return matcher.end(group);
+    }
+
+    @Override
+    public String group() {
+        return matcher.group();
+    }
+
+    @Override
+    public String group(int group) {
+        return matcher.group(group);
+    }
+
+    @Override
+    public int groupCount() {
+        return matcher.groupCount();
+    }
+}
@@ -0,0 +1,330 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.ballerina.runtime.internal.regexp;
+
+import java.util.Arrays;
+
+import static io.ballerina.runtime.internal.regexp.RegExpProgram.BOL;
+import static io.ballerina.runtime.internal.regexp.RegExpProgram.EOL;
+import static io.ballerina.runtime.internal.regexp.RegExpProgram.JMP;
+import static io.ballerina.runtime.internal.regexp.RegExpProgram.MATCH;
+import static io.ballerina.runtime.internal.regexp.RegExpProgram.SAVE;
+import static io.ballerina.runtime.internal.regexp.RegExpProgram.SPLIT;
+
+/**
+ * Matcher that simulates a {@link RegExpProgram} on all the paths through the program in lockstep, so the input is
+ * read once and the time taken is linear in the length of the input.
+ * <p>
+ * The threads of the simulation at each input position are kept in the order in which a backtracking matcher would
+ * try them, and a thread is dropped if a preceding thread is at the same instruction. The first thread to reach the
+ * end of the program is the match the Java pattern of the expression finds, including the spans of the groups.
+ *
+ * @since 2201.10.0
+ */
+final class LinearRegExpMatcher extends RegExpMatcher {
+
+    // Threads move ahead by one or two chars, so the threads of the next two positions are kept.
+    private static final int THREAD_LIST_COUNT = 3;
+
+    private final RegExpProgram program;
+    private final String input;
+    private final ThreadList[] threadLists;
+    private final int[] stackPcs;
+    private final int[][] stackSlots;
+    private final int slotCount;
+    private int from;
+    private int to;
+    private int[] groups;
+    private int first = -1;
+    private int last = 0;
+
+    LinearRegExpMatcher(RegExpProgram program, String input) {
+        this.program = program;
+        this.input = input;
+        this.to = input.length();
+        int size = program.size();
+        this.threadLists = new ThreadList[THREAD_LIST_COUNT];
+        for (int i = 0; i < THREAD_LIST_COUNT; i++) {
+            threadLists[i] = new ThreadList(size);
+        }
+        this.stackPcs = new int[size + 1];
+        this.stackSlots = new int[size + 1][];
+        this.slotCount = 2 * (program.groupCount + 1);
+    }
+
+    @Override
+    public boolean find(int start) {
+        if (start < 0 || start > input.length()) {
+            throw new IndexOutOfBoundsException("Illegal start index");
+        }
+        reset();
+        return search(start, false);
+    }
+
+    @Override
+    public boolean find() {
+        int next = last;
+        if (next == first) {
+            next++;
+        }
+        if (next < from) {
+            next = from;
+        }
+        if (next > to) {
+            groups = null;
+            return false;
+        }
+        return search(next, false);
+    }
+
+    @Override
+    public boolean matches() {
+        return search(from, true);
+    }
+
+    @Override
+    public RegExpMatcher region(int start, int end) {
+        if (start < 0 || start > input.length()) {
+            throw new IndexOutOfBoundsException("start");
+        }
+        if (end < 0 || end > input.length()) {
+            throw new IndexOutOfBoundsException("end");
+        }
+        if (start > end) {
+            throw new IndexOutOfBoundsException("start > end");
+        }
+        reset();
+        from = start;
+        to = end;
+        return this;
+    }
+
+    private void reset() {
+        from = 0;
+        to = input.length();
+        first = -1;
+        last = 0;
+        groups = null;
+    }
+
+    private boolean search(int start, boolean fullMatch) {
+        for (ThreadList threadList : threadLists) {
+            threadList.clear();
+        }
+        int[] matched = null;
+        for (int pos = start; pos <= to; pos++) {
+            ThreadList current = threadLists[pos % THREAD_LIST_COUNT];
+            if (matched == null && (!fullMatch || pos == start)) {
+                // A match starting at a later position has a lower priority than all the threads started before.
+                int[] slots = new int[slotCount];
+                Arrays.fill(slots, -1);
+                addThread(current, 0, pos, slots);
+            }
+            if (current.size == 0) {
+                current.clear();
+                if ((matched != null || fullMatch) && isIdleAfter(pos)) {
+                    break;
+                }
+                continue;
+            }
+
+            int codePoint = -1;
+            int width = 0;
+            if (pos < to) {
+                codePoint = Character.codePointAt(input, pos);
+                width = Character.charCount(codePoint);
+                if (pos + width > to) {
+                    width = 0;
+                }
+            }
+            ThreadList next = width == 0 ? null : threadLists[(pos + width) % THREAD_LIST_COUNT];
+            for (int i = 0; i < current.size; i++) {
+                int pc = current.pcs[i];
+                if (program.ops[pc] == MATCH) {
+                    if (fullMatch && pos != to) {
+                        continue;
+                    }
+                    // The threads after this one have a lower priority, and are dropped.
+                    matched = current.slots[i];
+                    break;
+                }
+                if (next != null && program.predicates[program.args[pc]].test(codePoint)) {
+                    addThread(next, pc + 1, pos + width, current.slots[i]);
+                }
+            }
+            current.clear();
+        }
+
+        if (matched == null) {
+            first = -1;
+            groups = null;
+            return false;
+        }
+        groups = matched;
+        first = matched[0];
+        last = matched[1];
+        return true;
+    }
+
+    private boolean isIdleAfter(int pos) {
+        return threadLists[(pos + 1) % THREAD_LIST_COUNT].size == 0 &&
+                threadLists[(pos + 2) % THREAD_LIST_COUNT].size == 0;
+    }
+
+    // Follows the epsilon transitions from the given instruction in priority order, adding the threads that reach an
+    // instruction which consumes a char or ends the program.
+    private void addThread(ThreadList threadList, int startPc, int pos, int[] startSlots) {
+        int[] ops = program.ops;
+        int[] args = program.args;
+        int top = 0;
+        stackPcs[top] = startPc;
+        stackSlots[top++] = startSlots;
+        while (top > 0) {
+            top--;
+            int pc = stackPcs[top];
+            int[] slots = stackSlots[top];
+            stackSlots[top] = null;
+            while (pc >= 0 && threadList.mark(pc)) {
+                switch (ops[pc]) {
+                    case JMP -> pc = args[pc];
+                    case SPLIT -> {
+                        stackPcs[top] = program.altArgs[pc];
+                        stackSlots[top++] = slots;
+                        pc = args[pc];
+                    }
+                    case SAVE -> {
+                        slots = slots.clone();
+                        slots[args[pc]] = pos;
+                        pc++;
+                    }
+                    case BOL -> pc = pos == from ? pc + 1 : -1;
+                    case EOL -> pc = isAtEndOfLine(pos) ? pc + 1 : -1;
+                    default -> {
+                        threadList.add(pc, slots);
+                        pc = -1;
+                    }
+                }
+            }
+        }
+    }
+
+    // Matches '$' as the Java pattern does without the multiline flag, at the end of the region or before a line
+    // terminator at the end of the region.
+    private boolean isAtEndOfLine(int pos) {
+        if (pos < to - 2) {
+            return false;
+        }
+        if (pos == to - 2) {
+            return input.charAt(pos) == '\r' && input.charAt(pos + 1) == '\n';
+        }
+        if (pos < to) {
+            char c = input.charAt(pos);
+            if (c == '\n') {
+                return pos == 0 || input.charAt(pos - 1) != '\r';
+            }
+            return c == '\r' || c == '\u0085' || (c | 1) == '\u2029';
+        }
+        return true;
+    }
+
+    private void checkGroup(int group) {
+        if (groups == null) {
+            throw new IllegalStateException("No match found");
+        }
+        if (group < 0 || group > program.groupCount) {
+            throw new IndexOutOfBoundsException("No group " + group);
+        }
+    }
+
+    @Override
+    public int start() {
+        return start(0);
+    }
+
+    @Override
+    public int start(int group) {
+        checkGroup(group);
+        return groups[2 * group];
+    }
+
+    @Override
+    public int end() {
+        return end(0);
+    }
+
+    @Override
+    public int end(int group) {
+        checkGroup(group);
+        return groups[2 * group + 1];
+    }
+
+    @Override
+    public String group() {
+        return group(0);
+    }
+
+    @Override
+    public String group(int group) {
+        checkGroup(group);
+        int start = groups[2 * group];
+        int end = groups[2 * group + 1];
+        return start == -1 || end == -1 ? null : input.substring(start, end);
+    }
+
+    @Override
+    public int groupCount() {
+        return program.groupCount;
+    }
+
+    private static final class ThreadList {
+
+        private final int[] pcs;
+        private final int[][] slots;
+        private final int[] marks;
+        private int size = 0;
+        private int stamp = 1;
+
+        ThreadList(int programSize) {
+            this.pcs = new int[programSize];
+            this.slots = new int[programSize][];
+            this.marks = new int[programSize];
+        }
+
+        boolean mark(int pc) {
+            if (marks[pc] == stamp) {
+                return false;
+            }
+            marks[pc] = stamp;
+            return true;
+        }
+
+        void add(int pc, int[] threadSlots) {
+            pcs[size] = pc;
+            slots[size++] = threadSlots;
+        }
+
+        void clear() {
+            Arrays.fill(slots, 0, size, null);
+            size = 0;
+            if (++stamp == 0) {
+                Arrays.fill(marks, 0);
+                stamp = 1;
+            }
+        }
+    }
+}
@@ -38,6 +38,10 @@ import io.ballerina.runtime.internal.values.RegExpSequence;
 import io.ballerina.runtime.internal.values.RegExpTerm;
 import io.ballerina.runtime.internal.values.RegExpValue;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
 /**
  * Common utility methods used for regular expression manipulation.
  *
@@ -45,6 +49,17 @@ import io.ballerina.runtime.internal.values.RegExpValue;
  */
 public class RegExpFactory {
 
+    private static final int MAX_CACHED_PATTERNS = 256;
+
+    // Compiled regular expressions built at runtime, which are new values even if they are equal.
+    private static final Map<PatternKey, CompiledRegExp> PATTERN_CACHE =
+            new LinkedHashMap<>(MAX_CACHED_PATTERNS, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<PatternKey, CompiledRegExp> eldest) {
+                    return size() > MAX_CACHED_PATTERNS;
+                }
+            };
+
     private RegExpFactory() {
     }
 
@@ -146,6 +161,64 @@ public class RegExpFactory {
         return new RegExpValue(disjunction);
     }
 
+    /**
+     * Returns the Java pattern of the given regular expression, compiled with the given flags.
+     *
+     * @param regExpValue the regular expression
+     * @param flags       the match flags of the pattern
+     * @return the compiled pattern
+     * @throws java.util.regex.PatternSyntaxException if the translated expression is not a valid Java pattern
+     */
+    public static Pattern getPattern(RegExpValue regExpValue, int flags) {
+        return getCompiledRegExp(regExpValue, flags).getPattern();
+    }
+
+    /**
+     * Returns a matcher of the given regular expression, compiled with the given flags, against the given input. The
+     * matcher matches in linear time unless the expression has constructs that are only matched by its Java pattern.
+     *
+     * @param regExpValue the regular expression
+     * @param flags       the match flags of the expression
+     * @param input       the input string
+     * @return the matcher
+     * @throws java.util.regex.PatternSyntaxException if the translated expression is not a valid Java pattern
+     */
+    public static RegExpMatcher getMatcher(RegExpValue regExpValue, int flags, String input) {
+        return getCompiledRegExp(regExpValue, flags).matcher(input);
+    }
+
+    /**
+     * Returns the given regular expression compiled with the given flags. The compiled expression is cached on the
+     * value, and in a bounded cache of the most recently used expressions for equal values created later.
+     *
+     * @param regExpValue the regular expression
+     * @param flags       the match flags of the expression
+     * @return the compiled expression
+     * @throws java.util.regex.PatternSyntaxException if the translated expression is not a valid Java pattern
+     */
+    public static CompiledRegExp getCompiledRegExp(RegExpValue regExpValue, int flags) {
+        CompiledRegExp compiledRegExp = regExpValue.getCompiledRegExp(flags);
+        if (compiledRegExp != null) {
+            return compiledRegExp;
+        }
+
+        PatternKey key = new PatternKey(regExpValue.stringValue(null), flags);
+        synchronized (PATTERN_CACHE) {
+            compiledRegExp = PATTERN_CACHE.get(key);
+        }
+        if (compiledRegExp == null) {
+            // Map the required ballerina regexp constructs to java.
+            RegExpValue translatedRegExpVal = translateRegExpConstructs(regExpValue);
+            Pattern pattern = Pattern.compile(StringUtils.getStringValue(translatedRegExpVal), flags);
+            compiledRegExp = new CompiledRegExp(pattern, flags, RegExpProgram.compile(translatedRegExpVal, flags));
+            synchronized (PATTERN_CACHE) {
+                PATTERN_CACHE.put(key, compiledRegExp);
+            }
+        }
+        regExpValue.setCompiledRegExp(compiledRegExp);
+        return compiledRegExp;
+    }
+
     private static RegExpDisjunction getNonCapturingGroupDisjunction() {
         // Create a disjunction for non-capturing group regex: (?:)
         RegExpFlagOnOff flagsOnOff = new RegExpFlagOnOff("");
@@ -238,4 +311,7 @@ public class RegExpFactory {
 
         return originalValue;
     }
+
+    private record PatternKey(String regExp, int flags) {
+    }
 }
@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.ballerina.runtime.internal.regexp;
+
+import java.util.regex.MatchResult;
+
+/**
+ * <p>
+ * Matcher of a regular expression against an input string, with the semantics of the corresponding operations of
+ * {@link java.util.regex.Matcher}. The state of the last match is exposed as a {@link MatchResult}.
+ * </p>
+ * <p>
+ * <i>Note: This is an internal API and may change in future versions.</i>
+ * </p>
+ *
+ * @since 2201.10.0
+ */
+public abstract class RegExpMatcher implements MatchResult {
+
+    /**
+     * Resets the matcher and finds the next match starting at the given index.
+     *
+     * @param start the index to start the search from
+     * @return true if a match is found
+     * @see java.util.regex.Matcher#find(int)
+     */
+    public abstract boolean find(int start);
+
+    /**
+     * Finds the next match in the region, starting after the previous match.
+     *
+     * @return true if a match is found
+     * @see java.util.regex.Matcher#find()
+     */
+    public abstract boolean find();
+
+    /**
+     * Matches the whole region against the regular expression.
+     *
+     * @return true if the region matches
+     * @see java.util.regex.Matcher#matches()
+     */
+    public abstract boolean matches();
+
+    /**
+     * Resets the matcher and sets the region to match in.
+     *
+     * @param start the start index of the region
+     * @param end   the end index of the region
+     * @return this matcher
+     * @see java.util.regex.Matcher#region(int, int)
+     */
+    public abstract RegExpMatcher region(int start, int end);
+}
@@ -0,0 +1,567 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.ballerina.runtime.internal.regexp;
+
+import io.ballerina.runtime.internal.values.RegExpAssertion;
+import io.ballerina.runtime.internal.values.RegExpAtomQuantifier;
+import io.ballerina.runtime.internal.values.RegExpCapturingGroup;
+import io.ballerina.runtime.internal.values.RegExpCharacterClass;
+import io.ballerina.runtime.internal.values.RegExpDisjunction;
+import io.ballerina.runtime.internal.values.RegExpLiteralCharOrEscape;
+import io.ballerina.runtime.internal.values.RegExpQuantifier;
+import io.ballerina.runtime.internal.values.RegExpSequence;
+import io.ballerina.runtime.internal.values.RegExpTerm;
+import io.ballerina.runtime.internal.values.RegExpValue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Program of the automaton that matches a regular expression in linear time, compiled from the tree of a translated
+ * regular expression. Each instruction of the program either consumes a single code point that satisfies a
+ * {@link CharPredicate} or is an epsilon transition, so the program is simulated by {@link LinearRegExpMatcher} without
+ * backtracking.
+ * <p>
+ * The program matches exactly as the Java pattern of the expression does, so it is only compiled for the expressions
+ * whose constructs can be matched this way. Expressions with insertions, the multiline and comment flags, repetitions
+ * of subexpressions that match the empty string or large counted repetitions are matched by the Java pattern.
+ *
+ * @since 2201.10.0
+ */
+final class RegExpProgram {
+
+    static final int CHAR = 0;
+    static final int SPLIT = 1;
+    static final int JMP = 2;
+    static final int SAVE = 3;
+    static final int BOL = 4;
+    static final int EOL = 5;
+    static final int MATCH = 6;
+
+    private static final int MAX_PROGRAM_SIZE = 10000;
+    private static final int MAX_REPETITIONS = 1000;
+    private static final int UNBOUNDED = -1;
+
+    final int[] ops;
+    final int[] args;
+    final int[] altArgs;
+    final CharPredicate[] predicates;
+    final int groupCount;
+
+    private RegExpProgram(int[] ops, int[] args, int[] altArgs, CharPredicate[] predicates, int groupCount) {
+        this.ops = ops;
+        this.args = args;
+        this.altArgs = altArgs;
+        this.predicates = predicates;
+        this.groupCount = groupCount;
+    }
+
+    int size() {
+        return ops.length;
+    }
+
+    /**
+     * Compiles the program of a translated regular expression.
+     *
+     * @param translatedRegExp the regular expression translated to the Java constructs
+     * @param flags            the match flags of the Java pattern of the expression
+     * @return the program, or {@code null} if the expression cannot be matched by a program
+     */
+    static RegExpProgram compile(RegExpValue translatedRegExp, int flags) {
+        Compiler compiler = new Compiler();
+        try {
+            Node node = compiler.readDisjunction(translatedRegExp.getRegExpDisjunction(), flags);
+            return node == null ? null : compiler.emit(node);
+        } catch (PatternSyntaxException e) {
+            // A construct that is only valid in the context of the whole pattern.
+            return null;
+        }
+    }
+
+    private interface Node {
+    }
+
+    private record CharNode(int predicate) implements Node {
+    }
+
+    private record SeqNode(List<Node> nodes) implements Node {
+    }
+
+    private record AltNode(List<Node> alternatives) implements Node {
+    }
+
+    private record GroupNode(int index, Node body) implements Node {
+    }
+
+    private record RepeatNode(Node body, int min, int max, boolean greedy) implements Node {
+    }
+
+    private record AssertionNode(int op) implements Node {
+    }
+
+    private static boolean isNullable(Node node) {
+        if (node instanceof CharNode) {
+            return false;
+        }
+        if (node instanceof SeqNode seq) {
+            return seq.nodes.stream().allMatch(RegExpProgram::isNullable);
+        }
+        if (node instanceof AltNode alt) {
+            return alt.alternatives.stream().anyMatch(RegExpProgram::isNullable);
+        }
+        if (node instanceof GroupNode group) {
+            return isNullable(group.body);
+        }
+        if (node instanceof RepeatNode repeat) {
+            return repeat.min == 0 || isNullable(repeat.body);
+        }
+        return true;
+    }
+
+    private static final class Compiler {
+
+        private final List<CharPredicate> predicates = new ArrayList<>();
+        private int groupCount = 0;
+        private int[] ops = new int[16];
+        private int[] args = new int[16];
+        private int[] altArgs = new int[16];
+        private int size = 0;
+
+        private Node readDisjunction(RegExpDisjunction disjunction, int flags) {
+            List<Node> alternatives = new ArrayList<>();
+            Node current = new SeqNode(List.of());
+            for (Object item : disjunction.getRegExpSeqList()) {
+                if (item == null) {
+                    break;
+                }
+                if (item instanceof RegExpSequence seq) {
+                    current = readSequence(seq, flags);
+                    if (current == null) {
+                        return null;
+                    }
+                } else if ("|".equals(item)) {
+                    alternatives.add(current);
+                    current = new SeqNode(List.of());
+                } else {
+                    return null;
+                }
+            }
+            alternatives.add(current);
+            return alternatives.size() == 1 ? alternatives.get(0) : new AltNode(alternatives);
+        }
+
+        private Node readSequence(RegExpSequence seq, int flags) {
+            List<Node> nodes = new ArrayList<>();
+            // Adjacent literals are read as the Java pattern reads their concatenation, which may join a surrogate
+            // pair split across them.
+            StringBuilder literals = new StringBuilder();
+            for (RegExpTerm term : seq.getRegExpTermsList()) {
+                if (term instanceof RegExpAtomQuantifier atomQuantifier &&
+                        atomQuantifier.getReAtom() instanceof RegExpLiteralCharOrEscape literal) {
+                    literals.append(literal.getCharOrEscape());
+                    RegExpQuantifier quantifier = atomQuantifier.getReQuantifier();
+                    if (quantifier.getQuantifier().isEmpty()) {
+                        continue;
+                    }
+                    if (!readLiterals(literals, quantifier, flags, nodes)) {
+                        return null;
+                    }
+                    continue;
+                }
+                if (!readLiterals(literals, null, flags, nodes)) {
+                    return null;
+                }
+                if (term instanceof RegExpAssertion assertion) {
+                    switch (assertion.getAssertion()) {
+                        case "^" -> nodes.add(new AssertionNode(BOL));
+                        case "$" -> nodes.add(new AssertionNode(EOL));
+                        default -> {
+                            return null;
+                        }
+                    }
+                } else if (term instanceof RegExpAtomQuantifier atomQuantifier) {
+                    if (!readAtomQuantifier(atomQuantifier, flags, nodes)) {
+                        return null;
+                    }
+                } else {
+                    return null;
+                }
+            }
+            if (!readLiterals(literals, null, flags, nodes)) {
+                return null;
+            }
+            return new SeqNode(nodes);
+        }
+
+        // Reads the pending literals, of which only the last character is quantified as in the Java pattern.
+        private boolean readLiterals(StringBuilder literals, RegExpQuantifier quantifier, int flags,
+                                     List<Node> nodes) {
+            if (literals.length() == 0) {
+                return true;
+            }
+            List<String> chars = splitLiteral(literals.toString());
+            literals.setLength(0);
+            if (chars == null) {
+                return false;
+            }
+            int last = chars.size() - 1;
+            for (int i = 0; i < last; i++) {
+                nodes.add(createCharNode(chars.get(i), flags));
+            }
+            Node node = createCharNode(chars.get(last), flags);
+            if (quantifier != null) {
+                node = applyQuantifier(node, quantifier);
+                if (node == null) {
+                    return false;
+                }
+            }
+            nodes.add(node);
+            return true;
+        }
+
+        private boolean readAtomQuantifier(RegExpAtomQuantifier atomQuantifier, int flags, List<Node> nodes) {
+            Object reAtom = atomQuantifier.getReAtom();
+            Node atom;
+            if (reAtom instanceof RegExpCharacterClass charClass) {
+                atom = createCharNode(charClass.stringValue(null), flags);
+            } else if (reAtom instanceof RegExpCapturingGroup group) {
+                atom = readCapturingGroup(group, flags);
+            } else {
+                // Insertions are matched by the Java pattern.
+                return false;
+            }
+            if (atom == null) {
+                return false;
+            }
+            Node node = applyQuantifier(atom, atomQuantifier.getReQuantifier());
+            if (node == null) {
+                return false;
+            }
+            nodes.add(node);
+            return true;
+        }
+
+        private Node readCapturingGroup(RegExpCapturingGroup group, int flags) {
+            String flagExpr = group.getFlagExpr().stringValue(null);
+            if (flagExpr.isEmpty()) {
+                // Groups are numbered in the order of their opening parentheses.
+                int index = ++groupCount;
+                Node body = readDisjunction(group.getReDisjunction(), flags);
+                return body == null ? null : new GroupNode(index, body);
+            }
+            String flagsOnOff = group.getFlagExpr().getFlagsOnOff().getFlags();
+            boolean on = true;
+            int groupFlags = flags;
+            for (int i = 0; i < flagsOnOff.length(); i++) {
+                char flag = flagsOnOff.charAt(i);
+                int mask;
+                switch (flag) {
+                    case '-' -> {
+                        on = false;
+                        continue;
+                    }
+                    case 'i' -> mask = Pattern.CASE_INSENSITIVE;
+                    case 's' -> mask = Pattern.DOTALL;
+                    default -> {
+                        return null;
+                    }
+                }
+                groupFlags = on ? groupFlags | mask : groupFlags & ~mask;
+            }
+            Node body = readDisjunction(group.getReDisjunction(), groupFlags);
+            return body == null ? null : new GroupNode(0, body);
+        }
+
+        private static Node applyQuantifier(Node atom, RegExpQuantifier reQuantifier) {
+            String quantifier = reQuantifier.getQuantifier();
+            boolean greedy = reQuantifier.getNonGreedyChar().isEmpty();
+            int min;
+            int max;
+            switch (quantifier) {
+                case "" -> {
+                    return atom;
+                }
+                case "?" -> {
+                    min = 0;
+                    max = 1;
+                }
+                case "*" -> {
+                    min = 0;
+                    max = UNBOUNDED;
+                }
+                case "+" -> {
+                    min = 1;
+                    max = UNBOUNDED;
+                }
+                default -> {
+                    if (!quantifier.startsWith("{") || !quantifier.endsWith("}")) {
+                        return null;
+                    }
+                    String bounds = quantifier.substring(1, quantifier.length() - 1);
+                    int comma = bounds.indexOf(',');
+                    min = parseBound(comma < 0 ? bounds : bounds.substring(0, comma));
+                    if (comma < 0) {
+                        max = min;
+                    } else if (comma == bounds.length() - 1) {
+                        max = UNBOUNDED;
+                    } else {
+                        max = parseBound(bounds.substring(comma + 1));
+                    }
+                    if (min < 0 || (comma >= 0 && comma < bounds.length() - 1 && max < min)) {
+                        return null;
+                    }
+                }
+            }
+            // The Java pattern exits the repetitions of a subexpression once it matches the empty string, which the
+            // program does not track.
+            if ((max == UNBOUNDED || max > 1) && isNullable(atom)) {
+                return null;
+            }
+            return new RepeatNode(atom, min, max, greedy);
+        }
+
+        private static int parseBound(String bound) {
+            if (bound.isEmpty() || bound.length() > 4) {
+                return -1;
+            }
+            for (int i = 0; i < bound.length(); i++) {
+                if (!Character.isDigit(bound.charAt(i))) {
+                    return -1;
+                }
+            }
+            int value = Integer.parseInt(bound);
+            return value > MAX_REPETITIONS ? -1 : value;
+        }
+
+        // Splits a translated literal into the Java constructs of its characters.
+        private static List<String> splitLiteral(String literal) {
+            List<String> chars = new ArrayList<>();
+            int i = 0;
+            while (i < literal.length()) {
+                char c = literal.charAt(i);
+                int end;
+                if (c == '\\') {
+                    if (i + 1 >= literal.length()) {
+                        return null;
+                    }
+                    char escaped = literal.charAt(i + 1);
+                    if (escaped == 'p' || escaped == 'P') {
+                        end = literal.indexOf('}', i) + 1;
+                        if (end == 0 || literal.charAt(i + 2) != '{') {
+                            return null;
+                        }
+                    } else if (Character.isLetterOrDigit(escaped) && "tnrfdDsSwW".indexOf(escaped) < 0) {
+                        return null;
+                    } else {
+                        end = i + 1 + Character.charCount(literal.codePointAt(i + 1));
+                    }
+                } else if ("()[]{}|*+?^$".indexOf(c) >= 0) {
+                    return null;
+                } else {
+                    end = i + Character.charCount(literal.codePointAt(i));
+                }
+                chars.add(literal.substring(i, end));
+                i = end;
+            }
+            return chars;
+        }
+
+        private Node createCharNode(String charPattern, int flags) {
+            predicates.add(CharPredicate.create(charPattern, flags));
+            return new CharNode(predicates.size() - 1);
+        }
+
+        private RegExpProgram emit(Node node) {
+            if (!emitInstruction(SAVE, 0, 0) || !emitNode(node) || !emitInstruction(SAVE, 1, 0) ||
+                    !emitInstruction(MATCH, 0, 0)) {
+                return null;
+            }
+            return new RegExpProgram(Arrays.copyOf(ops, size), Arrays.copyOf(args, size),
+                    Arrays.copyOf(altArgs, size), predicates.toArray(new CharPredicate[0]), groupCount);
+        }
+
+        private boolean emitNode(Node node) {
+            if (node instanceof CharNode charNode) {
+                return emitInstruction(CHAR, charNode.predicate, 0);
+            }
+            if (node instanceof SeqNode seq) {
+                for (Node child : seq.nodes) {
+                    if (!emitNode(child)) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+            if (node instanceof AltNode alt) {
+                return emitAlternatives(alt.alternatives);
+            }
+            if (node instanceof GroupNode group) {
+                if (group.index == 0) {
+                    return emitNode(group.body);
+                }
+                return emitInstruction(SAVE, 2 * group.index, 0) && emitNode(group.body) &&
+                        emitInstruction(SAVE, 2 * group.index + 1, 0);
+            }
+            if (node instanceof RepeatNode repeat) {
+                return emitRepeat(repeat);
+            }
+            return emitInstruction(((AssertionNode) node).op, 0, 0);
+        }
+
+        private boolean emitAlternatives(List<Node> alternatives) {
+            int[] jumps = new int[alternatives.size() - 1];
+            for (int i = 0; i < jumps.length; i++) {
+                int split = size;
+                if (!emitInstruction(SPLIT, split + 1, 0) || !emitNode(alternatives.get(i))) {
+                    return false;
+                }
+                jumps[i] = size;
+                if (!emitInstruction(JMP, 0, 0)) {
+                    return false;
+                }
+                altArgs[split] = size;
+            }
+            if (!emitNode(alternatives.get(jumps.length))) {
+                return false;
+            }
+            for (int jump : jumps) {
+                args[jump] = size;
+            }
+            return true;
+        }
+
+        private boolean emitRepeat(RepeatNode repeat) {
+            for (int i = 0; i < repeat.min; i++) {
+                if (!emitNode(repeat.body)) {
+                    return false;
+                }
+            }
+            if (repeat.max == UNBOUNDED) {
+                int split = size;
+                if (!emitInstruction(SPLIT, 0, 0) || !emitNode(repeat.body) || !emitInstruction(JMP, split, 0)) {
+                    return false;
+                }
+                patchSplit(split, split + 1, size, repeat.greedy);
+                return true;
+            }
+            // Optional repetitions are nested, so each of them exits to the end of the repetition.
+            int optionalCount = repeat.max - repeat.min;
+            int[] splits = new int[optionalCount];
+            for (int i = 0; i < optionalCount; i++) {
+                splits[i] = size;
+                if (!emitInstruction(SPLIT, 0, 0) || !emitNode(repeat.body)) {
+                    return false;
+                }
+            }
+            for (int split : splits) {
+                patchSplit(split, split + 1, size, repeat.greedy);
+            }
+            return true;
+        }
+
+        private void patchSplit(int split, int body, int exit, boolean greedy) {
+            args[split] = greedy ? body : exit;
+            altArgs[split] = greedy ? exit : body;
+        }
+
+        private boolean emitInstruction(int op, int arg, int altArg) {
+            if (size == MAX_PROGRAM_SIZE) {
+                return false;
+            }
+            if (size == ops.length) {
+                ops = Arrays.copyOf(ops, size * 2);
+                args = Arrays.copyOf(args, size * 2);
+                altArgs = Arrays.copyOf(altArgs, size * 2);
+            }
+            ops[size] = op;
+            args[size] = arg;
+            altArgs[size] = altArg;
+            size++;
+            return true;
+        }
+    }
+
+    /**
+     * Predicate of the code points matched by a single character construct of the Java pattern. The construct is
+     * compiled as a pattern of its own with the flags in effect, so it matches the same code points as in the pattern
+     * of the whole expression. The results are kept as bit sets of blocks of 256 code points. Those of the first block
+     * are computed upfront and those of any other block when a code point of it is first tested, so that the pattern
+     * is matched at most once for each code point.
+     */
+    static final class CharPredicate {
+
+        private static final int BLOCK_BITS = 8;
+        private static final int BLOCK_SIZE = 1 << BLOCK_BITS;
+        private static final int BLOCK_COUNT = (Character.MAX_CODE_POINT + 1) >> BLOCK_BITS;
+
+        private final Pattern pattern;
+        private final long[] firstBlockResults;
+        private volatile AtomicReferenceArray<long[]> blockResults = null;
+
+        private CharPredicate(Pattern pattern) {
+            this.pattern = pattern;
+            this.firstBlockResults = matchBlock(0);
+        }
+
+        static CharPredicate create(String charPattern, int flags) {
+            return new CharPredicate(Pattern.compile(charPattern, flags));
+        }
+
+        boolean test(int codePoint) {
+            long[] results = codePoint < BLOCK_SIZE ? firstBlockResults : getBlockResults(codePoint >> BLOCK_BITS);
+            int offset = codePoint & (BLOCK_SIZE - 1);
+            return (results[offset >> 6] & (1L << offset)) != 0;
+        }
+
+        private long[] getBlockResults(int block) {
+            AtomicReferenceArray<long[]> blocks = blockResults;
+            if (blocks == null) {
+                synchronized (this) {
+                    if (blockResults == null) {
+                        blockResults = new AtomicReferenceArray<>(BLOCK_COUNT);
+                    }
+                    blocks = blockResults;
+                }
+            }
+            long[] results = blocks.get(block);
+            if (results == null) {
+                // Threads testing the same block at once may both match it, with the same results.
+                results = matchBlock(block);
+                blocks.set(block, results);
+            }
+            return results;
+        }
+
+        private long[] matchBlock(int block) {
+            long[] results = new long[BLOCK_SIZE / Long.SIZE];
+            Matcher matcher = pattern.matcher("");
+            int firstCodePoint = block << BLOCK_BITS;
+            for (int offset = 0; offset < BLOCK_SIZE; offset++) {
+                if (matcher.reset(new String(Character.toChars(firstCodePoint + offset))).matches()) {
+                    results[offset >> 6] |= 1L << offset;
+                }
+            }
+            return results;
+        }
+    }
+}
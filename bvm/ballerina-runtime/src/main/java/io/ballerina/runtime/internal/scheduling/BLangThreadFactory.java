@@ -17,6 +17,7 @@
  */
 package io.ballerina.runtime.internal.scheduling;
 
+import java.lang.reflect.Method;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -51,4 +52,24 @@ public class BLangThreadFactory implements ThreadFactory {
         }
         return t;
     }
+
+    /**
+     * Creates a factory for virtual threads. Virtual threads are looked up reflectively since the runtime is
+     * compiled against a Java version which does not have them.
+     *
+     * @param namePrefix prefix of the thread names
+     * @return virtual thread factory or null if the current Java runtime does not support virtual threads
+     */
+    public static ThreadFactory newVirtualThreadFactory(String namePrefix) {
+        try {
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            Method name = builderClass.getMethod("name", String.class, long.class);
+            builder = name.invoke(builder, namePrefix + "-", 0L);
+            return (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+        } catch (ReflectiveOperationException | UnsupportedOperationException e) {
+            // virtual threads are not available, or are a preview feature which is not enabled
+            return null;
+        }
+    }
 }
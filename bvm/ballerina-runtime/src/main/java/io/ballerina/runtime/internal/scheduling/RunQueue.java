@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (https://www.wso2.com) All Rights Reserved.
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.runtime.internal.scheduling;
+
+/**
+ * Holds the {@link ItemGroup}s that are ready to be executed by the scheduler worker threads.
+ *
+ * @since 2201.10.0
+ */
+public interface RunQueue {
+
+    /**
+     * Registers the calling thread as the scheduler worker with the given index.
+     *
+     * @param workerId index of the worker thread
+     */
+    void register(int workerId);
+
+    /**
+     * Makes the given group available for execution.
+     *
+     * @param group group to be executed
+     */
+    void add(ItemGroup group);
+
+    /**
+     * Retrieves the next group to be executed by the given worker, waiting if none is available.
+     *
+     * @param workerId index of the calling worker thread
+     * @return next group to be executed
+     * @throws InterruptedException if interrupted while waiting
+     */
+    ItemGroup take(int workerId) throws InterruptedException;
+
+    /**
+     * Adds a {@link ItemGroup#POISON_PILL} for each worker so that all of them terminate.
+     *
+     * @param numThreads number of worker threads
+     */
+    void poison(int numThreads);
+
+    /**
+     * Checks whether there are no groups waiting to be executed.
+     *
+     * @return true if no group is waiting to be executed
+     */
+    boolean isEmpty();
+}
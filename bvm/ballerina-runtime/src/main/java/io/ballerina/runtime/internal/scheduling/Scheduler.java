@@ -36,10 +36,9 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
 import java.util.Stack;
-import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.LinkedBlockingDeque;
 import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
@@ -64,7 +63,7 @@ public class Scheduler {
     /**
      * Strands that are ready for execution.
      */
-    private final BlockingQueue<ItemGroup> runnableList = new LinkedBlockingDeque<>();
+    private final RunQueue runnableList;
 
     private static final ThreadLocal<StrandHolder> strandHolder = ThreadLocal.withInitial(StrandHolder::new);
     private static final ConcurrentHashMap<Integer, Strand> currentStrands = new ConcurrentHashMap<>();
@@ -74,12 +73,30 @@ public class Scheduler {
 
     private static String poolSizeConf = System.getenv(RuntimeConstants.BALLERINA_MAX_POOL_SIZE_ENV_VAR);
 
+    /**
+     * This can be changed by setting the BALLERINA_SCHEDULER_MODE system variable to `work-stealing` or
+     * `virtual-threads`. Default is a single run queue shared by all the threads.
+     */
+    private static final String schedulerMode = System.getenv(RuntimeConstants.BALLERINA_SCHEDULER_MODE_ENV_VAR);
+
+    /**
+     * Factory used to run each scheduled group on its own virtual thread. This is null unless the
+     * `virtual-threads` scheduler mode is enabled and the JVM supports virtual threads.
+     */
+    private static final ThreadFactory virtualThreadFactory = getVirtualThreadFactory();
+
     /**
      * This can be changed by setting the BALLERINA_MAX_POOL_SIZE system variable.
      * Default is 100.
      */
     private final int numThreads;
 
+    /**
+     * Number of threads that take groups from the runnable list. When virtual threads are used, a single
+     * thread dispatches the groups to virtual threads.
+     */
+    private final int numWorkers;
+
     private static int poolSize = Runtime.getRuntime().availableProcessors() * 2;
 
     private Semaphore mainBlockSem;
@@ -101,9 +118,12 @@ public class Scheduler {
 
     public Scheduler(int numThreads, boolean immortal) {
         this.numThreads = numThreads;
+        this.numWorkers = virtualThreadFactory != null ? 1 : numThreads;
         this.immortal = immortal;
+        this.runnableList = RuntimeConstants.SCHEDULER_MODE_WORK_STEALING.equalsIgnoreCase(schedulerMode) ?
+                new WorkStealingRunQueue(numWorkers) : new SharedRunQueue();
         this.runtimeRegistry = new RuntimeRegistry(this);
-        this.previousStrand = numThreads == 1 ? strandHolder.get().strand : null;
+        this.previousStrand = numThreads == 1 && virtualThreadFactory == null ? strandHolder.get().strand : null;
         ItemGroup group = new ItemGroup();
         objectGroup.set(group);
     }
@@ -267,11 +287,12 @@ public class Scheduler {
     }
 
     public void start() {
-        this.mainBlockSem = new Semaphore(-(numThreads - 1));
-        for (int i = 0; i < numThreads - 1; i++) {
-            new Thread(this::runSafely, "jbal-strand-exec-" + i).start();
+        this.mainBlockSem = new Semaphore(-(numWorkers - 1));
+        for (int i = 0; i < numWorkers - 1; i++) {
+            int workerId = i;
+            new Thread(() -> runSafely(workerId), "jbal-strand-exec-" + i).start();
         }
-        this.runSafely();
+        this.runSafely(numWorkers - 1);
         try {
             this.mainBlockSem.acquire();
         } catch (InterruptedException e) {
@@ -282,9 +303,9 @@ public class Scheduler {
     /**
      * Defensive programming to prevent unforeseen errors.
      */
-    private void runSafely() {
+    private void runSafely(int workerId) {
         try {
-            run();
+            run(workerId);
         } catch (Throwable t) {
             RuntimeUtils.printCrashLog(t);
         }
@@ -293,12 +314,12 @@ public class Scheduler {
     /**
      * Executes tasks that are submitted to the Scheduler.
      */
-    private void run() {
+    private void run(int workerId) {
+        runnableList.register(workerId);
         while (true) {
-            SchedulerItem item;
             ItemGroup group;
             try {
-                group = runnableList.take();
+                group = runnableList.take(workerId);
             } catch (InterruptedException ignored) {
                 continue;
             }
@@ -308,38 +329,60 @@ public class Scheduler {
                 break;
             }
 
-            boolean isItemsEmpty = group.items.isEmpty();
-            while (!isItemsEmpty) {
-                Object result = null;
-                Throwable panic = null;
+            if (virtualThreadFactory != null) {
+                // The group is the unit of thread affinity, hence it is run on its own virtual thread, which
+                // is parked by the JVM instead of holding a worker when a strand blocks on a Java call.
+                virtualThreadFactory.newThread(() -> runGroupSafely(group)).start();
+            } else {
+                runGroup(group);
+            }
+        }
+    }
+
+    private void runGroupSafely(ItemGroup group) {
+        try {
+            runGroup(group);
+        } catch (Throwable t) {
+            RuntimeUtils.printCrashLog(t);
+        }
+    }
 
-                item = group.get();
+    /**
+     * Executes the items of the given group until the group does not have any runnable items.
+     */
+    private void runGroup(ItemGroup group) {
+        SchedulerItem item;
+        boolean isItemsEmpty = group.items.isEmpty();
+        while (!isItemsEmpty) {
+            Object result = null;
+            Throwable panic = null;
 
-                try {
-                    strandHolder.get().strand = item.future.strand;
-                    result = item.execute();
-                } catch (Throwable e) {
-                    panic = createError(e);
-                    notifyChannels(item, panic);
+            item = group.get();
 
-                    if (!(panic instanceof BError)) {
-                        RuntimeUtils.printCrashLog(panic);
-                    }
-                    // Please refer #18763.
-                    // This logs cases where errors have occurred while strand is blocked.
-                    if (item.isYielded()) {
-                        RuntimeUtils.printCrashLog(panic);
-                    }
-                } finally {
-                    strandHolder.get().strand = previousStrand;
+            try {
+                strandHolder.get().strand = item.future.strand;
+                result = item.execute();
+            } catch (Throwable e) {
+                panic = createError(e);
+                notifyChannels(item, panic);
+
+                if (!(panic instanceof BError)) {
+                    RuntimeUtils.printCrashLog(panic);
                 }
-                postProcess(item, result, panic);
-                group.lock();
-                if ((isItemsEmpty = group.items.empty())) {
-                    group.scheduled.set(false);
+                // Please refer #18763.
+                // This logs cases where errors have occurred while strand is blocked.
+                if (item.isYielded()) {
+                    RuntimeUtils.printCrashLog(panic);
                 }
-                group.unlock();
+            } finally {
+                strandHolder.get().strand = previousStrand;
+            }
+            postProcess(item, result, panic);
+            group.lock();
+            if ((isItemsEmpty = group.items.empty())) {
+                group.scheduled.set(false);
             }
+            group.unlock();
         }
     }
 
@@ -518,9 +561,7 @@ public class Scheduler {
     }
 
     public void poison() {
-        for (int i = 0; i < numThreads; i++) {
-            runnableList.add(POISON_PILL);
-        }
+        runnableList.poison(numWorkers);
     }
 
     public void setListenerDeclarationFound(boolean listenerDeclarationFound) {
@@ -551,6 +592,18 @@ public class Scheduler {
         return poolSize;
     }
 
+    private static ThreadFactory getVirtualThreadFactory() {
+        if (!RuntimeConstants.SCHEDULER_MODE_VIRTUAL_THREADS.equalsIgnoreCase(schedulerMode)) {
+            return null;
+        }
+        ThreadFactory factory = BLangThreadFactory.newVirtualThreadFactory("jbal-strand-vexec");
+        if (factory == null) {
+            err.println("ballerina: virtual threads are not supported by the current Java runtime, " +
+                    "continuing with the default scheduler mode");
+        }
+        return factory;
+    }
+
     public void gracefulExit() {
         if (!this.immortal) {
             this.poison();
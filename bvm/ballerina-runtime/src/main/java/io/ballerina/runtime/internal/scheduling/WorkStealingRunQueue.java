@@ -0,0 +1,195 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (https://www.wso2.com) All Rights Reserved.
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.runtime.internal.scheduling;
+
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static io.ballerina.runtime.internal.scheduling.ItemGroup.POISON_PILL;
+
+/**
+ * Run queue which keeps a separate deque per scheduler worker thread.
+ * <p>
+ * Groups scheduled by a worker are pushed to the head of its own deque and popped from there (LIFO), so that a
+ * strand that yields is resumed on the same thread while its data is still warm. Groups scheduled from non-worker
+ * threads (i.e. callbacks from Java threads) go to a shared injection queue. Idle workers steal from the tail of
+ * the other workers' deques (FIFO), which picks the oldest and usually the largest pending work.
+ * <p>
+ * A worker whose deque never runs out of groups would otherwise never get to the injection queue, and a group that
+ * keeps rescheduling itself would keep the older groups of the deque waiting until they are stolen. Hence a worker
+ * checks the injection queue first on every {@value #INJECTION_CHECK_INTERVAL}th take, and takes the oldest group of
+ * its deque after {@value #MAX_LIFO_TAKES} consecutive LIFO takes. Since an
+ * {@link ItemGroup} is added to a run queue only while it is not already scheduled, the group ordering
+ * guarantees are the same as in the shared mode.
+ *
+ * @since 2201.10.0
+ */
+public class WorkStealingRunQueue implements RunQueue {
+
+    static final int INJECTION_CHECK_INTERVAL = 61;
+    static final int MAX_LIFO_TAKES = 3;
+
+    private final ConcurrentLinkedDeque<ItemGroup>[] localQueues;
+    // Counts of the takes and of the consecutive LIFO takes of each worker, only accessed by the worker itself.
+    private final int[] takes;
+    private final int[] lifoTakes;
+    private final ConcurrentLinkedQueue<ItemGroup> injectionQueue = new ConcurrentLinkedQueue<>();
+    private final ThreadLocal<Integer> currentWorker = new ThreadLocal<>();
+
+    private final AtomicInteger idleWorkers = new AtomicInteger();
+    private final ReentrantLock idleLock = new ReentrantLock();
+    private final Condition workAvailable = idleLock.newCondition();
+
+    @SuppressWarnings("unchecked")
+    public WorkStealingRunQueue(int numThreads) {
+        this.localQueues = new ConcurrentLinkedDeque[numThreads];
+        this.takes = new int[numThreads];
+        this.lifoTakes = new int[numThreads];
+        for (int i = 0; i < numThreads; i++) {
+            localQueues[i] = new ConcurrentLinkedDeque<>();
+        }
+    }
+
+    @Override
+    public void register(int workerId) {
+        currentWorker.set(workerId);
+    }
+
+    @Override
+    public void add(ItemGroup group) {
+        Integer workerId = currentWorker.get();
+        if (workerId != null) {
+            localQueues[workerId].offerFirst(group);
+        } else {
+            injectionQueue.offer(group);
+        }
+        signalIdleWorker();
+    }
+
+    @Override
+    public ItemGroup take(int workerId) throws InterruptedException {
+        while (true) {
+            ItemGroup group = poll(workerId);
+            if (group != null) {
+                return group;
+            }
+            idleLock.lockInterruptibly();
+            try {
+                // Producers check the idle count after publishing the group, hence a re-check after becoming idle
+                // is enough to not miss a wake-up.
+                idleWorkers.incrementAndGet();
+                try {
+                    group = poll(workerId);
+                    if (group != null) {
+                        return group;
+                    }
+                    workAvailable.await();
+                } finally {
+                    idleWorkers.decrementAndGet();
+                }
+            } finally {
+                idleLock.unlock();
+            }
+        }
+    }
+
+    @Override
+    public void poison(int numThreads) {
+        for (int i = 0; i < numThreads; i++) {
+            injectionQueue.offer(POISON_PILL);
+        }
+        idleLock.lock();
+        try {
+            workAvailable.signalAll();
+        } finally {
+            idleLock.unlock();
+        }
+    }
+
+    @Override
+    public boolean isEmpty() {
+        if (!injectionQueue.isEmpty()) {
+            return false;
+        }
+        for (ConcurrentLinkedDeque<ItemGroup> localQueue : localQueues) {
+            if (!localQueue.isEmpty()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private ItemGroup poll(int workerId) {
+        ItemGroup group;
+        if (++takes[workerId] % INJECTION_CHECK_INTERVAL == 0) {
+            group = injectionQueue.poll();
+            if (group != null) {
+                return group;
+            }
+        }
+        group = pollLocal(workerId);
+        if (group != null) {
+            return group;
+        }
+        group = injectionQueue.poll();
+        if (group != null) {
+            return group;
+        }
+        return steal(workerId);
+    }
+
+    private ItemGroup pollLocal(int workerId) {
+        ConcurrentLinkedDeque<ItemGroup> localQueue = localQueues[workerId];
+        if (lifoTakes[workerId] < MAX_LIFO_TAKES) {
+            ItemGroup group = localQueue.pollFirst();
+            if (group != null) {
+                lifoTakes[workerId]++;
+                return group;
+            }
+        }
+        lifoTakes[workerId] = 0;
+        return localQueue.pollLast();
+    }
+
+    private ItemGroup steal(int workerId) {
+        int numQueues = localQueues.length;
+        for (int i = 1; i < numQueues; i++) {
+            ItemGroup group = localQueues[(workerId + i) % numQueues].pollLast();
+            if (group != null) {
+                return group;
+            }
+        }
+        return null;
+    }
+
+    private void signalIdleWorker() {
+        if (idleWorkers.get() == 0) {
+            return;
+        }
+        idleLock.lock();
+        try {
+            workAvailable.signal();
+        } finally {
+            idleLock.unlock();
+        }
+    }
+}
@@ -25,6 +25,7 @@ import io.ballerina.runtime.api.types.IntersectionType;
 import io.ballerina.runtime.api.types.MapType;
 import io.ballerina.runtime.api.types.Type;
 import io.ballerina.runtime.api.values.BString;
+import io.ballerina.runtime.internal.ValueUtils;
 import io.ballerina.runtime.internal.values.MapValueImpl;
 import io.ballerina.runtime.internal.values.ReadOnlyUtils;
 
@@ -96,7 +97,7 @@ public class BMapType extends BType implements MapType {
 
     @Override
     public <V extends Object> V getZeroValue() {
-        return (V) new MapValueImpl<BString, V>(new BMapType(constraint));
+        return (V) ValueUtils.<BString, V>createMapValue(new BMapType(constraint));
     }
 
     @Override
@@ -31,19 +31,24 @@ import io.ballerina.runtime.api.values.BString;
          super(value, false);
      }
 
+     BmpStringValue(StringBuilder buffer, int charLength) {
+         super(buffer, charLength, false);
+     }
+
      @Override
      public int getCodePoint(int index) {
-         return value.charAt(index);
+         return getValue().charAt(index);
      }
 
      @Override
      public int length() {
-         return value.length();
+         return charLength;
      }
 
      @Override
      public BString concat(BString str) {
          StringValue stringValue = (StringValue) str;
+         int charLength = this.charLength + stringValue.charLength;
          if (stringValue.isNonBmp) {
              int[] otherSurrogates = ((NonBmpStringValue) str).getSurrogates();
              int[] newSurrogates = new int[otherSurrogates.length];
@@ -51,25 +56,31 @@ import io.ballerina.runtime.api.values.BString;
              for (int i = 0; i < otherSurrogates.length; i++) {
                  newSurrogates[i] = otherSurrogates[i] + length;
              }
-             return new NonBmpStringValue(this.value + str.getValue(), newSurrogates);
+             if (charLength < MIN_BUFFERED_LENGTH) {
+                 return new NonBmpStringValue(getValue() + str.getValue(), newSurrogates);
+             }
+             return new NonBmpStringValue(appendToBuffer(stringValue), charLength, newSurrogates);
+         }
+         if (charLength < MIN_BUFFERED_LENGTH) {
+             return new BmpStringValue(getValue() + str.getValue());
          }
-         return new BmpStringValue(this.value + str.getValue());
+         return new BmpStringValue(appendToBuffer(stringValue), charLength);
      }
 
      @Override
      public Long indexOf(BString str, int fromIndex) {
-         long index = value.indexOf(str.getValue(), fromIndex);
+         long index = getValue().indexOf(str.getValue(), fromIndex);
          return index >= 0 ? index : null;
      }
 
      @Override
      public Long lastIndexOf(BString str, int fromIndex) {
-         long index = value.lastIndexOf(str.getValue(), fromIndex);
+         long index = getValue().lastIndexOf(str.getValue(), fromIndex);
          return index >= 0 ? index : null;
      }
 
      @Override
      public BString substring(int beginIndex, int endIndex) {
-         return new BmpStringValue(value.substring(beginIndex, endIndex));
+         return new BmpStringValue(getValue().substring(beginIndex, endIndex));
      }
  }
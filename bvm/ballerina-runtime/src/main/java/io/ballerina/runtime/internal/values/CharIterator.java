@@ -29,6 +29,8 @@ public class CharIterator implements IteratorValue {
     long cursor = 0;
     long length;
     String stringValue;
+    // char offset of the next character of a string with non-BMP characters
+    int offset = 0;
 
     CharIterator(StringValue value) {
         this.value = value;
@@ -40,23 +42,17 @@ public class CharIterator implements IteratorValue {
     public Object next() {
         long currentIndex = this.cursor++;
         if (value.isNonBmp) {
-            return getNonBmpCharWithSurrogates(currentIndex);
+            return getNonBmpCharWithSurrogates();
         }
         return String.valueOf(stringValue.charAt((int) currentIndex));
     }
 
-    private String getNonBmpCharWithSurrogates(long currentIndex) {
-        int offset = (int) currentIndex;
-        for (int surrogate : ((NonBmpStringValue) value).getSurrogates()) {
-            if (surrogate < currentIndex) {
-                offset++;
-            } else if (surrogate > currentIndex) {
-                break;
-            } else {
-                return new String(new char[]{stringValue.charAt(offset), stringValue.charAt(offset + 1)});
-            }
-        }
-        return String.valueOf(stringValue.charAt(offset));
+    private String getNonBmpCharWithSurrogates() {
+        // A high surrogate starts a surrogate pair, as in the surrogate positions of the string.
+        int start = offset;
+        boolean pair = Character.isHighSurrogate(stringValue.charAt(start)) && start + 1 < stringValue.length();
+        offset += pair ? 2 : 1;
+        return stringValue.substring(start, offset);
     }
 
     @Override
@@ -40,6 +40,12 @@ import java.util.Map;
  * The {@link DecimalValue} represents a decimal value in Ballerina.
  * </p>
  * <p>
+ * A value whose unscaled value fits in a {@code long} is kept as the unscaled value and the scale, and its {@code
+ * BigDecimal} is only created when it is needed. Addition, subtraction and multiplication of such values is done on
+ * the {@code long}s when the exact result fits in a {@code long} as well, which is then also the result of the {@code
+ * BigDecimal} operation in {@link MathContext#DECIMAL128}, since no rounding is needed.
+ * </p>
+ * <p>
  * <i>Note: This is an internal API and may change in future versions.</i>
  * </p> 
  * @since 0.995.0
@@ -55,20 +61,45 @@ public class DecimalValue implements SimpleValue, BDecimal {
             new BigDecimal("-9.999999999999999999999999999999999e6144", MathContext.DECIMAL128);
     private static final BigDecimal MIN_DECIMAL_MAGNITUDE =
             new BigDecimal("1.000000000000000000000000000000000e-6143", MathContext.DECIMAL128);
+    // Unscaled value of a decimal that is only held as a BigDecimal.
+    private static final long INFLATED = Long.MIN_VALUE;
+    // Compact values are kept within this scale, so that they are always within the range of decimal values.
+    private static final int MAX_COMPACT_SCALE = 1000;
+    private static final long[] POWERS_OF_TEN = new long[19];
+
+    static {
+        POWERS_OF_TEN[0] = 1;
+        for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+        }
+    }
 
     // Variable used to track the kind of a decimal value.
     @Deprecated
     public DecimalValueKind valueKind = DecimalValueKind.OTHER;
 
-    private final BigDecimal value;
+    private final long unscaledValue;
+    private final int scale;
+    // Created on demand for compact values.
+    private BigDecimal value;
 
     public DecimalValue(BigDecimal value) {
         this.value = getValidDecimalValue(value);
+        this.unscaledValue = getCompactValue(this.value);
+        this.scale = this.value.scale();
         if (!this.booleanValue()) {
             this.valueKind = DecimalValueKind.ZERO;
         }
     }
 
+    private DecimalValue(long unscaledValue, int scale) {
+        this.unscaledValue = unscaledValue;
+        this.scale = scale;
+        if (unscaledValue == 0) {
+            this.valueKind = DecimalValueKind.ZERO;
+        }
+    }
+
     public DecimalValue(String value) {
         // Check whether the number provided is a hexadecimal value.
         BigDecimal bd;
@@ -84,6 +115,8 @@ public class DecimalValue implements SimpleValue, BDecimal {
             throw exception;
         }
         this.value = getValidDecimalValue(bd);
+        this.unscaledValue = getCompactValue(this.value);
+        this.scale = this.value.scale();
 
         if (!this.booleanValue()) {
             this.valueKind = DecimalValueKind.ZERO;
@@ -106,13 +139,67 @@ public class DecimalValue implements SimpleValue, BDecimal {
         return bd;
     }
 
+    private static long getCompactValue(BigDecimal bd) {
+        if (bd.precision() > 18 || Math.abs(bd.scale()) > MAX_COMPACT_SCALE) {
+            return INFLATED;
+        }
+        return bd.unscaledValue().longValue();
+    }
+
+    // Returns the compact decimal of the given unscaled value and scale, or null if it cannot be held compactly.
+    private static DecimalValue compactValueOf(long unscaledValue, long scale) {
+        if (unscaledValue == INFLATED || Math.abs(scale) > MAX_COMPACT_SCALE) {
+            return null;
+        }
+        return new DecimalValue(unscaledValue, (int) scale);
+    }
+
+    // Returns the given unscaled value scaled up by the given number of digits, or INFLATED if it does not fit.
+    private static long scaleUp(long unscaledValue, int digits) {
+        if (digits >= POWERS_OF_TEN.length) {
+            return INFLATED;
+        }
+        return multiplyUnscaled(unscaledValue, POWERS_OF_TEN[digits]);
+    }
+
+    // Returns the product of the given values, or INFLATED if it does not fit.
+    private static long multiplyUnscaled(long x, long y) {
+        long product = x * y;
+        return Math.multiplyHigh(x, y) == (product >> 63) ? product : INFLATED;
+    }
+
+    private static DecimalValue addCompact(long x, int xScale, long y, int yScale) {
+        if (xScale < yScale) {
+            x = scaleUp(x, yScale - xScale);
+        } else if (yScale < xScale) {
+            y = scaleUp(y, xScale - yScale);
+        }
+        if (x == INFLATED || y == INFLATED) {
+            return null;
+        }
+        long sum = x + y;
+        if (((x ^ sum) & (y ^ sum)) < 0) {
+            return null;
+        }
+        return compactValueOf(sum, Math.max(xScale, yScale));
+    }
+
+    private boolean isCompact() {
+        return this.unscaledValue != INFLATED;
+    }
+
     /**
      * Get value of the decimal.
      * @return the value
      */
     @Override
     public BigDecimal decimalValue() {
-        return this.value;
+        BigDecimal bd = this.value;
+        if (bd == null) {
+            bd = BigDecimal.valueOf(this.unscaledValue, this.scale);
+            this.value = bd;
+        }
+        return bd;
     }
 
     /**
@@ -127,7 +214,10 @@ public class DecimalValue implements SimpleValue, BDecimal {
             throw ErrorUtils.createNumericConversionError(this.stringValue(null), PredefinedTypes.TYPE_DECIMAL,
                                                           PredefinedTypes.TYPE_INT);
         }
-        return value.setScale(0, RoundingMode.HALF_EVEN).longValue();
+        if (isCompact() && this.scale == 0) {
+            return this.unscaledValue;
+        }
+        return decimalValue().setScale(0, RoundingMode.HALF_EVEN).longValue();
     }
 
     /**
@@ -136,7 +226,7 @@ public class DecimalValue implements SimpleValue, BDecimal {
      * @return true if the value is in int range
      */
     public static boolean isDecimalWithinIntRange(DecimalValue decimalValue) {
-        BigDecimal value = decimalValue.value;
+        BigDecimal value = decimalValue.decimalValue();
         return value.compareTo(RuntimeConstants.BINT_MAX_VALUE_BIG_DECIMAL_RANGE_MAX) < 0 &&
                value.compareTo(RuntimeConstants.BINT_MIN_VALUE_BIG_DECIMAL_RANGE_MIN) > 0;
     }
@@ -149,9 +239,9 @@ public class DecimalValue implements SimpleValue, BDecimal {
     @Override
     public int byteValue() {
 
-        int intVal = (int) Math.rint(this.value.doubleValue());
+        int intVal = (int) Math.rint(decimalValue().doubleValue());
         if (!isByteLiteral(intVal)) {
-            throw ErrorUtils.createNumericConversionError(value, PredefinedTypes.TYPE_DECIMAL,
+            throw ErrorUtils.createNumericConversionError(decimalValue(), PredefinedTypes.TYPE_DECIMAL,
                                                           PredefinedTypes.TYPE_BYTE);
         }
         return intVal;
@@ -167,7 +257,7 @@ public class DecimalValue implements SimpleValue, BDecimal {
      */
     @Override
     public double floatValue() {
-        return value.doubleValue();
+        return decimalValue().doubleValue();
     }
 
     /**
@@ -176,7 +266,10 @@ public class DecimalValue implements SimpleValue, BDecimal {
      */
     @Override
     public boolean booleanValue() {
-        return value.compareTo(BigDecimal.ZERO) != 0;
+        if (isCompact()) {
+            return this.unscaledValue != 0;
+        }
+        return this.value.compareTo(BigDecimal.ZERO) != 0;
     }
 
     @Override
@@ -199,7 +292,7 @@ public class DecimalValue implements SimpleValue, BDecimal {
         if (this.valueKind != DecimalValueKind.OTHER) {
             return this.valueKind.getValue();
         }
-        return value.toString();
+        return decimalValue().toString();
     }
 
     /**
@@ -212,7 +305,7 @@ public class DecimalValue implements SimpleValue, BDecimal {
         if (this.valueKind != DecimalValueKind.OTHER) {
             return this.valueKind.getValue() + "d";
         }
-        return value.toString() + "d";
+        return decimalValue().toString() + "d";
     }
 
     /**
@@ -221,7 +314,7 @@ public class DecimalValue implements SimpleValue, BDecimal {
      */
     @Override
     public BigDecimal value() {
-        return this.value;
+        return decimalValue();
     }
 
     /**
@@ -247,6 +340,12 @@ public class DecimalValue implements SimpleValue, BDecimal {
         if (augend.valueKind == DecimalValueKind.ZERO) {
             return this;
         }
+        if (this.isCompact() && augend.isCompact()) {
+            DecimalValue sum = addCompact(this.unscaledValue, this.scale, augend.unscaledValue, augend.scale);
+            if (sum != null) {
+                return sum;
+            }
+        }
         return new DecimalValue(this.decimalValue().add(augend.decimalValue(), MathContext.DECIMAL128));
     }
 
@@ -266,6 +365,14 @@ public class DecimalValue implements SimpleValue, BDecimal {
         if (subtrahend.valueKind == DecimalValueKind.ZERO) {
             return this;
         }
+        if (this.isCompact() && subtrahend.isCompact()) {
+            // The unscaled value of a compact value is never Long.MIN_VALUE, so it can always be negated.
+            DecimalValue difference = addCompact(this.unscaledValue, this.scale, -subtrahend.unscaledValue,
+                    subtrahend.scale);
+            if (difference != null) {
+                return difference;
+            }
+        }
         return new DecimalValue(this.decimalValue().subtract(subtrahend.decimalValue(),
                 MathContext.DECIMAL128));
     }
@@ -282,6 +389,13 @@ public class DecimalValue implements SimpleValue, BDecimal {
             return this;
         }
         if (multiplicand.valueKind == DecimalValueKind.OTHER) {
+            if (this.isCompact() && multiplicand.isCompact()) {
+                DecimalValue product = compactValueOf(multiplyUnscaled(this.unscaledValue, multiplicand.unscaledValue),
+                        (long) this.scale + multiplicand.scale);
+                if (product != null) {
+                    return product;
+                }
+            }
             return new DecimalValue(this.decimalValue().multiply(multiplicand.decimalValue(),
                     MathContext.DECIMAL128));
         }
@@ -333,6 +447,9 @@ public class DecimalValue implements SimpleValue, BDecimal {
     @Override
     public DecimalValue negate() {
         if (this.valueKind == DecimalValueKind.OTHER) {
+            if (isCompact()) {
+                return new DecimalValue(-this.unscaledValue, this.scale);
+            }
             return new DecimalValue(this.decimalValue().negate());
         }
         return this;
@@ -385,12 +502,18 @@ public class DecimalValue implements SimpleValue, BDecimal {
         }
 
         DecimalValue bDecimal = (DecimalValue) obj;
-        return ((value.compareTo(bDecimal.value) == 0) && (this.valueKind == bDecimal.valueKind));
+        if (this.valueKind != bDecimal.valueKind) {
+            return false;
+        }
+        if (this.isCompact() && bDecimal.isCompact() && this.scale == bDecimal.scale) {
+            return this.unscaledValue == bDecimal.unscaledValue;
+        }
+        return decimalValue().compareTo(bDecimal.decimalValue()) == 0;
     }
 
     @Override
     public int hashCode() {
-        return value.hashCode();
+        return decimalValue().hashCode();
     }
 
     /**
@@ -408,7 +531,7 @@ public class DecimalValue implements SimpleValue, BDecimal {
      * @return decimal value
      */
     public static DecimalValue valueOf(int value) {
-        return new DecimalValue(new BigDecimal(value, MathContext.DECIMAL128).setScale(1, RoundingMode.HALF_EVEN));
+        return valueOf((long) value);
     }
 
     /**
@@ -417,6 +540,11 @@ public class DecimalValue implements SimpleValue, BDecimal {
      * @return decimal value
      */
     public static DecimalValue valueOf(long value) {
+        // The value with a scale of one.
+        DecimalValue decimal = compactValueOf(multiplyUnscaled(value, 10), 1);
+        if (decimal != null) {
+            return decimal;
+        }
         return new DecimalValue(new BigDecimal(value, MathContext.DECIMAL128).setScale(1, RoundingMode.HALF_EVEN));
     }
 
@@ -0,0 +1,307 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.ballerina.runtime.internal.values;
+
+import io.ballerina.runtime.api.PredefinedTypes;
+import io.ballerina.runtime.api.values.BLink;
+import io.ballerina.runtime.api.values.BString;
+import io.ballerina.runtime.internal.types.BArrayType;
+
+import java.io.OutputStream;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * <p>
+ * JSON array whose members are read from the source JSON text when the array is first accessed. Nested objects and
+ * arrays are read as lazy values in turn, so only the part of a document that is accessed is ever materialized.
+ * </p>
+ * <p>
+ * <i>Note: This is an internal API and may change in future versions.</i>
+ * </p>
+ *
+ * @since 2201.10.0
+ */
+public class LazyJsonArrayValue extends ArrayValueImpl implements LazyJsonValue {
+
+    private static final BArrayType JSON_ARRAY_TYPE = new BArrayType(PredefinedTypes.TYPE_JSON);
+
+    private volatile LazyJsonSource source;
+    private final int container;
+
+    LazyJsonArrayValue(LazyJsonSource source, int container) {
+        super(new Object[0], JSON_ARRAY_TYPE);
+        this.source = source;
+        this.container = container;
+    }
+
+    @Override
+    public String getSourceText() {
+        LazyJsonSource currentSource = source;
+        return currentSource == null ? null : currentSource.getSourceText(container);
+    }
+
+    private void materialize() {
+        if (source != null) {
+            readMembers();
+        }
+    }
+
+    private synchronized void readMembers() {
+        LazyJsonSource currentSource = source;
+        if (currentSource == null) {
+            return;
+        }
+        currentSource.readArray(container, value -> LazyJsonArrayValue.super.addRefValueForcefully(size, value));
+        source = null;
+    }
+
+    @Override
+    public Object get(long index) {
+        materialize();
+        return super.get(index);
+    }
+
+    @Override
+    public Object getRefValue(int index) {
+        materialize();
+        return super.getRefValue(index);
+    }
+
+    @Override
+    public Object getRefValue(long index) {
+        materialize();
+        return super.getRefValue(index);
+    }
+
+    @Override
+    public Object fillAndGetRefValue(long index) {
+        materialize();
+        return super.fillAndGetRefValue(index);
+    }
+
+    @Override
+    public long getInt(long index) {
+        materialize();
+        return super.getInt(index);
+    }
+
+    @Override
+    public boolean getBoolean(long index) {
+        materialize();
+        return super.getBoolean(index);
+    }
+
+    @Override
+    public byte getByte(long index) {
+        materialize();
+        return super.getByte(index);
+    }
+
+    @Override
+    public double getFloat(long index) {
+        materialize();
+        return super.getFloat(index);
+    }
+
+    @Override
+    public String getString(long index) {
+        materialize();
+        return super.getString(index);
+    }
+
+    @Override
+    public BString getBString(long index) {
+        materialize();
+        return super.getBString(index);
+    }
+
+    @Override
+    public void add(long index, Object value) {
+        materialize();
+        super.add(index, value);
+    }
+
+    @Override
+    public void add(long index, long value) {
+        materialize();
+        super.add(index, value);
+    }
+
+    @Override
+    public void add(long index, boolean value) {
+        materialize();
+        super.add(index, value);
+    }
+
+    @Override
+    public void add(long index, byte value) {
+        materialize();
+        super.add(index, value);
+    }
+
+    @Override
+    public void add(long index, double value) {
+        materialize();
+        super.add(index, value);
+    }
+
+    @Override
+    public void add(long index, String value) {
+        materialize();
+        super.add(index, value);
+    }
+
+    @Override
+    public void add(long index, BString value) {
+        materialize();
+        super.add(index, value);
+    }
+
+    @Override
+    public void addRefValueForcefully(int index, Object value) {
+        materialize();
+        super.addRefValueForcefully(index, value);
+    }
+
+    @Override
+    public void convertStringAndAddRefValue(long index, Object value) {
+        materialize();
+        super.convertStringAndAddRefValue(index, value);
+    }
+
+    @Override
+    public void addRefValue(long index, Object value) {
+        materialize();
+        super.addRefValue(index, value);
+    }
+
+    @Override
+    public void setRefValueForcefully(int index, Object refValue) {
+        materialize();
+        super.setRefValueForcefully(index, refValue);
+    }
+
+    @Override
+    public void append(Object value) {
+        materialize();
+        super.append(value);
+    }
+
+    @Override
+    public Object shift(long index) {
+        materialize();
+        return super.shift(index);
+    }
+
+    @Override
+    protected void unshift(long index, Object[] vals) {
+        materialize();
+        super.unshift(index, vals);
+    }
+
+    @Override
+    public Object reverse() {
+        materialize();
+        return super.reverse();
+    }
+
+    @Override
+    public ArrayValueImpl slice(long startIndex, long endIndex) {
+        materialize();
+        return super.slice(startIndex, endIndex);
+    }
+
+    @Override
+    public void setLength(long length) {
+        materialize();
+        super.setLength(length);
+    }
+
+    @Override
+    public long getLength() {
+        materialize();
+        return super.getLength();
+    }
+
+    @Override
+    public int size() {
+        materialize();
+        return super.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        materialize();
+        return super.isEmpty();
+    }
+
+    @Override
+    public Object[] getValues() {
+        materialize();
+        return super.getValues();
+    }
+
+    @Override
+    public String stringValue(BLink parent) {
+        materialize();
+        return super.stringValue(parent);
+    }
+
+    @Override
+    public String expressionStringValue(BLink parent) {
+        materialize();
+        return super.expressionStringValue(parent);
+    }
+
+    @Override
+    public boolean equals(Object o, Set<ValuePair> visitedValues) {
+        materialize();
+        return super.equals(o, visitedValues);
+    }
+
+    @Override
+    public int hashCode() {
+        materialize();
+        return super.hashCode();
+    }
+
+    @Override
+    public Object copy(Map<Object, Object> refs) {
+        materialize();
+        return super.copy(refs);
+    }
+
+    @Override
+    public void freezeDirect() {
+        materialize();
+        super.freezeDirect();
+    }
+
+    @Override
+    public IteratorValue getIterator() {
+        materialize();
+        return super.getIterator();
+    }
+
+    @Override
+    public void serialize(OutputStream outputStream) {
+        materialize();
+        super.serialize(outputStream);
+    }
+}
@@ -0,0 +1,231 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.ballerina.runtime.internal.values;
+
+import io.ballerina.runtime.api.PredefinedTypes;
+import io.ballerina.runtime.api.values.BString;
+import io.ballerina.runtime.internal.types.BMapType;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * <p>
+ * JSON object whose fields are read from the source JSON text when the object is first accessed. Nested objects and
+ * arrays are read as lazy values in turn, so only the part of a document that is accessed is ever materialized.
+ * </p>
+ * <p>
+ * <i>Note: This is an internal API and may change in future versions.</i>
+ * </p>
+ *
+ * @since 2201.10.0
+ */
+public class LazyJsonMapValue extends MapValueImpl<BString, Object> implements LazyJsonValue {
+
+    private static final BMapType JSON_MAP_TYPE = new BMapType(PredefinedTypes.TYPE_JSON);
+
+    private volatile LazyJsonSource source;
+    private final int container;
+
+    LazyJsonMapValue(LazyJsonSource source, int container) {
+        super(JSON_MAP_TYPE);
+        this.source = source;
+        this.container = container;
+    }
+
+    @Override
+    public String getSourceText() {
+        LazyJsonSource currentSource = source;
+        return currentSource == null ? null : currentSource.getSourceText(container);
+    }
+
+    private void materialize() {
+        if (source != null) {
+            readFields();
+        }
+    }
+
+    private synchronized void readFields() {
+        LazyJsonSource currentSource = source;
+        if (currentSource == null) {
+            return;
+        }
+        currentSource.readObject(container, LazyJsonMapValue.super::putValue);
+        source = null;
+    }
+
+    @Override
+    public Object get(Object key) {
+        materialize();
+        return super.get(key);
+    }
+
+    @Override
+    public Object getOrDefault(Object key, Object defaultValue) {
+        materialize();
+        return super.getOrDefault(key, defaultValue);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        materialize();
+        return super.containsKey(key);
+    }
+
+    @Override
+    public boolean containsValue(Object value) {
+        materialize();
+        return super.containsValue(value);
+    }
+
+    @Override
+    protected Object putValue(BString key, Object value) {
+        materialize();
+        return super.putValue(key, value);
+    }
+
+    @Override
+    public Object putIfAbsent(BString key, Object value) {
+        materialize();
+        return super.putIfAbsent(key, value);
+    }
+
+    @Override
+    public void putAll(Map<? extends BString, ?> map) {
+        materialize();
+        super.putAll(map);
+    }
+
+    @Override
+    public Object remove(Object key) {
+        materialize();
+        return super.remove(key);
+    }
+
+    @Override
+    public boolean remove(Object key, Object value) {
+        materialize();
+        return super.remove(key, value);
+    }
+
+    @Override
+    public void clear() {
+        materialize();
+        super.clear();
+    }
+
+    @Override
+    public int size() {
+        materialize();
+        return super.size();
+    }
+
+    @Override
+    public BString[] getKeys() {
+        materialize();
+        return super.getKeys();
+    }
+
+    @Override
+    public Set<BString> keySet() {
+        materialize();
+        return super.keySet();
+    }
+
+    @Override
+    public Collection<Object> values() {
+        materialize();
+        return super.values();
+    }
+
+    @Override
+    public Set<Map.Entry<BString, Object>> entrySet() {
+        materialize();
+        return super.entrySet();
+    }
+
+    @Override
+    public void forEach(BiConsumer<? super BString, ? super Object> action) {
+        materialize();
+        super.forEach(action);
+    }
+
+    @Override
+    public Object computeIfAbsent(BString key, Function<? super BString, ?> mappingFunction) {
+        materialize();
+        return super.computeIfAbsent(key, mappingFunction);
+    }
+
+    @Override
+    public Object computeIfPresent(BString key, BiFunction<? super BString, ? super Object, ?> remappingFunction) {
+        materialize();
+        return super.computeIfPresent(key, remappingFunction);
+    }
+
+    @Override
+    public Object compute(BString key, BiFunction<? super BString, ? super Object, ?> remappingFunction) {
+        materialize();
+        return super.compute(key, remappingFunction);
+    }
+
+    @Override
+    public Object merge(BString key, Object value, BiFunction<? super Object, ? super Object, ?> remappingFunction) {
+        materialize();
+        return super.merge(key, value, remappingFunction);
+    }
+
+    @Override
+    public void replaceAll(BiFunction<? super BString, ? super Object, ?> function) {
+        materialize();
+        super.replaceAll(function);
+    }
+
+    @Override
+    public boolean replace(BString key, Object oldValue, Object newValue) {
+        materialize();
+        return super.replace(key, oldValue, newValue);
+    }
+
+    @Override
+    public Object replace(BString key, Object value) {
+        materialize();
+        return super.replace(key, value);
+    }
+
+    @Override
+    public Object clone() {
+        materialize();
+        return super.clone();
+    }
+
+    @Override
+    public Object copy(Map<Object, Object> refs) {
+        materialize();
+        return super.copy(refs);
+    }
+
+    @Override
+    public void freezeDirect() {
+        materialize();
+        super.freezeDirect();
+    }
+}
@@ -0,0 +1,426 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.ballerina.runtime.internal.values;
+
+import io.ballerina.runtime.api.creators.ErrorCreator;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BError;
+import io.ballerina.runtime.api.values.BString;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * UTF-8 encoded JSON text along with an index of the positions of its objects and arrays, from which the members of
+ * the lazy JSON values are read on demand.
+ * <p>
+ * The index is built by a single scan of the bytes, which only skips over strings and matches the brackets. Objects
+ * and arrays are numbered in the order they start in the text, so the first nested container of a container is the
+ * next one, and the container following a nested container is found by skipping its whole subtree. Everything else,
+ * including the separators between members, is checked when the members of a container are read.
+ *
+ * @since 2201.10.0
+ */
+final class LazyJsonSource {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final byte[] bytes;
+    // start and end positions of each container, and the number of the container following its subtree
+    private int[] starts = new int[INITIAL_CAPACITY];
+    private int[] ends = new int[INITIAL_CAPACITY];
+    private int[] next = new int[INITIAL_CAPACITY];
+    private int count;
+    // whether the whole text of each container has been checked, created when a container is first checked
+    private boolean[] checked;
+
+    private LazyJsonSource(byte[] bytes) {
+        this.bytes = bytes;
+    }
+
+    /**
+     * Indexes the given UTF-8 encoded JSON text and returns its value, which is a lazy value if it is an object or an
+     * array.
+     *
+     * @param bytes the JSON text
+     * @return the JSON value
+     * @throws BError if the text is not a single JSON value
+     */
+    static Object parse(byte[] bytes) throws BError {
+        LazyJsonSource source = new LazyJsonSource(bytes);
+        int start = source.skipWhitespace(0);
+        if (start == bytes.length) {
+            throw source.createError("empty JSON document", start);
+        }
+        int end = bytes[start] == '{' || bytes[start] == '[' ? source.index(start) : source.skipPrimitive(start);
+        if (source.skipWhitespace(end) != bytes.length) {
+            throw source.createError("JSON document has already ended", end);
+        }
+        return source.readValue(start, 0);
+    }
+
+    // Builds the index of the object or array starting at the given position and returns the position after it.
+    private int index(int start) {
+        int[] stack = new int[INITIAL_CAPACITY];
+        int depth = 0;
+        for (int position = start; position < bytes.length; position++) {
+            byte b = bytes[position];
+            switch (b) {
+                case '"' -> position = skipString(position);
+                case '{', '[' -> {
+                    if (count == starts.length) {
+                        int capacity = count * 2;
+                        starts = Arrays.copyOf(starts, capacity);
+                        ends = Arrays.copyOf(ends, capacity);
+                        next = Arrays.copyOf(next, capacity);
+                    }
+                    starts[count] = position;
+                    if (depth == stack.length) {
+                        stack = Arrays.copyOf(stack, depth * 2);
+                    }
+                    stack[depth++] = count++;
+                }
+                case '}', ']' -> {
+                    int container = depth == 0 ? -1 : stack[--depth];
+                    if (container == -1 || bytes[starts[container]] != (b == '}' ? '{' : '[')) {
+                        throw createError("unexpected '" + (char) b + "'", position);
+                    }
+                    ends[container] = position;
+                    next[container] = count;
+                    if (depth == 0) {
+                        return position + 1;
+                    }
+                }
+                default -> {
+                }
+            }
+        }
+        throw createError("unexpected end of the JSON document", bytes.length);
+    }
+
+    /**
+     * Reads the members of the given object, creating lazy values for the nested objects and arrays.
+     *
+     * @param container the number of the object
+     * @param consumer  the consumer of the field names and values
+     */
+    void readObject(int container, BiConsumer<BString, Object> consumer) throws BError {
+        int nested = container + 1;
+        int position = skipWhitespace(starts[container] + 1);
+        if (bytes[position] == '}') {
+            return;
+        }
+        while (true) {
+            if (bytes[position] != '"') {
+                throw createError("expected '\"'", position);
+            }
+            int end = skipString(position);
+            BString fieldName = readString(position, end);
+            position = skipWhitespace(end + 1);
+            if (bytes[position] != ':') {
+                throw createError("expected ':'", position);
+            }
+            position = skipWhitespace(position + 1);
+            consumer.accept(fieldName, readValue(position, nested));
+            if (bytes[position] == '{' || bytes[position] == '[') {
+                position = ends[nested] + 1;
+                nested = next[nested];
+            } else {
+                position = skipPrimitive(position);
+            }
+            position = skipWhitespace(position);
+            if (bytes[position] == '}') {
+                return;
+            }
+            if (bytes[position] != ',') {
+                throw createError("expected ',' or '}'", position);
+            }
+            position = skipWhitespace(position + 1);
+        }
+    }
+
+    /**
+     * Reads the members of the given array, creating lazy values for the nested objects and arrays.
+     *
+     * @param container the number of the array
+     * @param consumer  the consumer of the members
+     */
+    void readArray(int container, Consumer<Object> consumer) throws BError {
+        int nested = container + 1;
+        int position = skipWhitespace(starts[container] + 1);
+        if (bytes[position] == ']') {
+            return;
+        }
+        while (true) {
+            consumer.accept(readValue(position, nested));
+            if (bytes[position] == '{' || bytes[position] == '[') {
+                position = ends[nested] + 1;
+                nested = next[nested];
+            } else {
+                position = skipPrimitive(position);
+            }
+            position = skipWhitespace(position);
+            if (bytes[position] == ']') {
+                return;
+            }
+            if (bytes[position] != ',') {
+                throw createError("expected ',' or ']'", position);
+            }
+            position = skipWhitespace(position + 1);
+        }
+    }
+
+    /**
+     * Returns the source text of the given object or array, after checking all of it, including its nested objects
+     * and arrays, as it would be checked if all its members were read.
+     *
+     * @param container the number of the object or array
+     * @return the JSON text of the container
+     * @throws BError if the text of the container is not valid
+     */
+    String getSourceText(int container) throws BError {
+        checkSubtree(container);
+        return new String(bytes, starts[container], ends[container] - starts[container] + 1,
+                StandardCharsets.UTF_8);
+    }
+
+    // The containers of a subtree are numbered consecutively, so each of them is checked without recursion.
+    private synchronized void checkSubtree(int container) throws BError {
+        if (checked == null) {
+            checked = new boolean[count];
+        }
+        for (int nested = container; nested < next[container]; nested++) {
+            if (!checked[nested]) {
+                checkMembers(nested);
+                checked[nested] = true;
+            }
+        }
+    }
+
+    // Checks the members of the given container as they are checked when read, skipping the nested containers.
+    private void checkMembers(int container) throws BError {
+        boolean isObject = bytes[starts[container]] == '{';
+        byte closingBracket = (byte) (isObject ? '}' : ']');
+        int nested = container + 1;
+        int position = skipWhitespace(starts[container] + 1);
+        if (bytes[position] == closingBracket) {
+            return;
+        }
+        while (true) {
+            if (isObject) {
+                if (bytes[position] != '"') {
+                    throw createError("expected '\"'", position);
+                }
+                int end = skipString(position);
+                checkString(position, end);
+                position = skipWhitespace(end + 1);
+                if (bytes[position] != ':') {
+                    throw createError("expected ':'", position);
+                }
+                position = skipWhitespace(position + 1);
+            }
+            switch (bytes[position]) {
+                case '{', '[' -> {
+                    position = ends[nested] + 1;
+                    nested = next[nested];
+                }
+                case '"' -> {
+                    int end = skipString(position);
+                    checkString(position, end);
+                    position = end + 1;
+                }
+                default -> {
+                    int end = skipScalar(position);
+                    readScalar(position, end);
+                    position = end;
+                }
+            }
+            position = skipWhitespace(position);
+            if (bytes[position] == closingBracket) {
+                return;
+            }
+            if (bytes[position] != ',') {
+                throw createError(isObject ? "expected ',' or '}'" : "expected ',' or ']'", position);
+            }
+            position = skipWhitespace(position + 1);
+        }
+    }
+
+    // Checks the escape sequences of the string between the given quotes as readString does.
+    private void checkString(int start, int end) throws BError {
+        for (int position = start + 1; position < end; position++) {
+            if (bytes[position] != '\\') {
+                continue;
+            }
+            byte escaped = bytes[++position];
+            if (escaped == 'u') {
+                for (int i = 0; i < 4; i++) {
+                    position++;
+                    if (position >= end || Character.digit(bytes[position], 16) < 0) {
+                        throw createError("expected the hexadecimal value of a unicode character", position);
+                    }
+                }
+            } else if ("\"\\/bfnrt".indexOf(escaped) < 0) {
+                throw createError("expected escaped characters", position);
+            }
+        }
+    }
+
+    // Reads the value starting at the given position, the given container being the next one in the text.
+    private Object readValue(int position, int container) throws BError {
+        return switch (bytes[position]) {
+            case '{' -> new LazyJsonMapValue(this, container);
+            case '[' -> new LazyJsonArrayValue(this, container);
+            case '"' -> readString(position, skipString(position));
+            default -> readScalar(position, skipScalar(position));
+        };
+    }
+
+    private BString readString(int start, int end) {
+        int position = start + 1;
+        while (position < end && bytes[position] != '\\') {
+            position++;
+        }
+        if (position == end) {
+            return StringUtils.fromString(new String(bytes, start + 1, end - start - 1, StandardCharsets.UTF_8));
+        }
+        StringBuilder sb = new StringBuilder(end - start);
+        sb.append(new String(bytes, start + 1, position - start - 1, StandardCharsets.UTF_8));
+        while (position < end) {
+            int segmentStart = position;
+            while (position < end && bytes[position] != '\\') {
+                position++;
+            }
+            sb.append(new String(bytes, segmentStart, position - segmentStart, StandardCharsets.UTF_8));
+            if (position == end) {
+                break;
+            }
+            char escaped = (char) bytes[position + 1];
+            position += 2;
+            switch (escaped) {
+                case '"', '\\', '/' -> sb.append(escaped);
+                case 'b' -> sb.append('\b');
+                case 'f' -> sb.append('\f');
+                case 'n' -> sb.append('\n');
+                case 'r' -> sb.append('\r');
+                case 't' -> sb.append('\t');
+                case 'u' -> {
+                    int value = 0;
+                    for (int i = 0; i < 4; i++) {
+                        int digit = position < end ? Character.digit(bytes[position++], 16) : -1;
+                        if (digit < 0) {
+                            throw createError("expected the hexadecimal value of a unicode character", position);
+                        }
+                        value = (value << 4) | digit;
+                    }
+                    sb.append((char) value);
+                }
+                default -> throw createError("expected escaped characters", position - 1);
+            }
+        }
+        return StringUtils.fromString(sb.toString());
+    }
+
+    private Object readScalar(int start, int end) {
+        String token = new String(bytes, start, end - start, StandardCharsets.US_ASCII);
+        switch (token) {
+            case "true" -> {
+                return Boolean.TRUE;
+            }
+            case "false" -> {
+                return Boolean.FALSE;
+            }
+            case "null" -> {
+                return null;
+            }
+            default -> {
+                try {
+                    if (token.startsWith("-") && Double.parseDouble(token) == 0) {
+                        return Double.parseDouble(token);
+                    } else if (token.indexOf('.') >= 0 || token.indexOf('e') >= 0 || token.indexOf('E') >= 0) {
+                        return new DecimalValue(token);
+                    }
+                    return Long.parseLong(token);
+                } catch (NumberFormatException e) {
+                    throw createError("unrecognized token '" + token + "'", start);
+                }
+            }
+        }
+    }
+
+    // Returns the position of the closing quote of the string starting at the given position.
+    private int skipString(int start) {
+        for (int position = start + 1; position < bytes.length; position++) {
+            byte b = bytes[position];
+            if (b == '"') {
+                return position;
+            }
+            if (b == '\\') {
+                position++;
+            }
+        }
+        throw createError("unexpected end of the JSON document", bytes.length);
+    }
+
+    // Returns the position after the string or the scalar starting at the given position.
+    private int skipPrimitive(int start) {
+        return bytes[start] == '"' ? skipString(start) + 1 : skipScalar(start);
+    }
+
+    private int skipScalar(int start) {
+        int position = start;
+        while (position < bytes.length && !isDelimiter(bytes[position])) {
+            position++;
+        }
+        if (position == start) {
+            throw createError("expected a JSON value", start);
+        }
+        return position;
+    }
+
+    private int skipWhitespace(int start) {
+        int position = start;
+        while (position < bytes.length && isWhitespace(bytes[position])) {
+            position++;
+        }
+        return position;
+    }
+
+    private static boolean isWhitespace(byte b) {
+        return b == ' ' || b == '\n' || b == '\r' || b == '\t';
+    }
+
+    private static boolean isDelimiter(byte b) {
+        return isWhitespace(b) || b == ',' || b == ':' || b == '{' || b == '}' || b == '[' || b == ']' || b == '"';
+    }
+
+    private BError createError(String message, int position) {
+        int line = 1;
+        int lineStart = 0;
+        for (int i = 0; i < position && i < bytes.length; i++) {
+            if (bytes[i] == '\n') {
+                line++;
+                lineStart = i + 1;
+            }
+        }
+        return ErrorCreator.createError(StringUtils.fromString(message + " at line: " + line + " column: "
+                + (position - lineStart + 1)));
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.ballerina.runtime.internal.values;
+
+import io.ballerina.runtime.api.values.BError;
+
+/**
+ * <p>
+ * JSON object or array whose members are only read from the source JSON text when the value is first accessed.
+ * </p>
+ * <p>
+ * <i>Note: This is an internal API and may change in future versions.</i>
+ * </p>
+ *
+ * @since 2201.10.0
+ */
+public interface LazyJsonValue {
+
+    /**
+     * Returns the source JSON text of the value, if its members have not been read yet. The whole text is checked
+     * first, as it would be checked if all the members were read, so that a value that has not been accessed can be
+     * serialized by writing out its source text as is.
+     *
+     * @return the source JSON text, or {@code null} if the members of the value have been read
+     * @throws BError if the source text of the value is not valid
+     */
+    String getSourceText() throws BError;
+
+    /**
+     * Parses the given UTF-8 encoded JSON text into a JSON value, whose objects and arrays are lazy JSON values.
+     * Only the brackets and the strings of the text are checked up front, and the rest of an object or an array is
+     * checked when its members are first read.
+     *
+     * @param bytes the JSON text
+     * @return the JSON value
+     * @throws BError if the text is not a single JSON value
+     */
+    static Object parse(byte[] bytes) throws BError {
+        return LazyJsonSource.parse(bytes);
+    }
+}
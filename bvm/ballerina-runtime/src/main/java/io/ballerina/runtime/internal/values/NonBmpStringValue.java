@@ -24,55 +24,68 @@ import java.util.Arrays;
 
  /**
   * Represent ballerina strings containing at least one non basic multilingual plane unicode character.
+  * <p>
+  * The char offset of a code point is found from the number of surrogate pairs before it. For strings with many
+  * surrogate pairs, the number of pairs before each block of code points is kept in a table built on first use, so
+  * that only the pairs within a single block are scanned.
   *
   * @since 1.0.5
   */
  public class NonBmpStringValue extends StringValue {
 
+     // number of code points in a block of the offset table
+     private static final int BLOCK_SIZE = 32;
+
      private final int[] surrogates;
+     // number of surrogate pairs before the start of each block of code points
+     private int[] blockOffsets;
 
      public NonBmpStringValue(String value, int[] surrogatePairLocations) {
          super(value, true);
          surrogates = surrogatePairLocations;
      }
 
+     NonBmpStringValue(StringBuilder buffer, int charLength, int[] surrogatePairLocations) {
+         super(buffer, charLength, true);
+         surrogates = surrogatePairLocations;
+     }
+
     @Override
     public int getCodePoint(int index) {
-        if ((index < 0) || (index >= value.length() - surrogates.length)) {
+        if ((index < 0) || (index >= charLength - surrogates.length)) {
             throw new StringIndexOutOfBoundsException(index);
         }
-
-        int offset = index;
-        for (int surrogate : surrogates) {
-            if (surrogate < index) {
-                offset++;
-            } else if (surrogate > index) {
-                break;
-            } else {
-                return Character.toCodePoint(value.charAt(offset), value.charAt(offset + 1));
-            }
+        String value = getValue();
+        int pairs = countSurrogatesBefore(index);
+        int offset = index + pairs;
+        if (pairs < surrogates.length && surrogates[pairs] == index) {
+            return Character.toCodePoint(value.charAt(offset), value.charAt(offset + 1));
         }
         return value.charAt(offset);
     }
 
     @Override
     public int length() {
-        return value.length() - surrogates.length;
+        return charLength - surrogates.length;
     }
 
     @Override
     public BString concat(BString str) {
         StringValue stringValue = (StringValue) str;
+        int charLength = this.charLength + stringValue.charLength;
+        int[] newSurrogates = surrogates;
         if (stringValue.isNonBmp) {
             NonBmpStringValue other = (NonBmpStringValue) str;
-            int[] both = Arrays.copyOf(surrogates, surrogates.length + other.surrogates.length);
+            newSurrogates = Arrays.copyOf(surrogates, surrogates.length + other.surrogates.length);
             int length = length();
             for (int i = 0; i < other.surrogates.length; i++) {
-                both[i + surrogates.length] = other.surrogates[i] + length;
+                newSurrogates[i + surrogates.length] = other.surrogates[i] + length;
             }
-            return new NonBmpStringValue(this.value + other.value, both);
         }
-        return new NonBmpStringValue(this.value + str.getValue(), surrogates);
+        if (charLength < MIN_BUFFERED_LENGTH) {
+            return new NonBmpStringValue(getValue() + str.getValue(), newSurrogates);
+        }
+        return new NonBmpStringValue(appendToBuffer(stringValue), charLength, newSurrogates);
     }
 
      public int[] getSurrogates() {
@@ -82,50 +95,77 @@ import java.util.Arrays;
      @Override
      public Long indexOf(BString str, int fromIndex) {
          int offset = getOffset(fromIndex);
+         String value = getValue();
          long index = value.indexOf(str.getValue(), offset);
          if (index < 0) {
              return null;
          }
-         for (int i = 0; i < index; i++) {
-             char c = value.charAt(i);
-             if (Character.isHighSurrogate(c)) {
-                 index--;
-             }
-         }
-         return index;
+         return (long) getCodePointIndex((int) index);
      }
 
      @Override
      public Long lastIndexOf(BString str, int fromIndex) {
          int offset = getOffset(fromIndex);
+         String value = getValue();
          long index = value.lastIndexOf(str.getValue(), offset);
          if (index < 0) {
              return null;
          }
-         for (int i = 0; i < index; i++) {
-             char c = value.charAt(i);
-             if (Character.isHighSurrogate(c)) {
-                 index--;
-             }
-         }
-         return index;
+         return (long) getCodePointIndex((int) index);
      }
      @Override
      public BString substring(int beginIndex, int endIndex) {
          int beginOffset = getOffset(beginIndex);
          int endOffset = getOffset(endIndex);
-         return StringUtils.fromString(value.substring(beginOffset, endOffset));
+         return StringUtils.fromString(getValue().substring(beginOffset, endOffset));
      }
 
      private int getOffset(int fromIndex) {
-         int offset = fromIndex;
-         for (int surrogate : surrogates) {
-             if (surrogate < fromIndex) {
-                 offset++;
+         return fromIndex + countSurrogatesBefore(fromIndex);
+     }
+
+     // Returns the number of surrogate pairs before the code point at the given index.
+     private int countSurrogatesBefore(int index) {
+         int count = 0;
+         if (surrogates.length > BLOCK_SIZE && index > 0) {
+             count = getBlockOffsets()[Math.min(index, length()) / BLOCK_SIZE];
+         }
+         while (count < surrogates.length && surrogates[count] < index) {
+             count++;
+         }
+         return count;
+     }
+
+     private int[] getBlockOffsets() {
+         int[] offsets = blockOffsets;
+         if (offsets == null) {
+             offsets = new int[length() / BLOCK_SIZE + 1];
+             int count = 0;
+             for (int block = 0; block < offsets.length; block++) {
+                 int blockStart = block * BLOCK_SIZE;
+                 while (count < surrogates.length && surrogates[count] < blockStart) {
+                     count++;
+                 }
+                 offsets[block] = count;
+             }
+             blockOffsets = offsets;
+         }
+         return offsets;
+     }
+
+     // Returns the index of the code point at the given char offset, from the number of high surrogates before it.
+     private int getCodePointIndex(int offset) {
+         int low = 0;
+         int high = surrogates.length;
+         while (low < high) {
+             int mid = (low + high) >>> 1;
+             // the high surrogate of a pair is at the code point index of the pair plus the pairs before it
+             if (surrogates[mid] + mid < offset) {
+                 low = mid + 1;
              } else {
-                 break;
+                 high = mid;
              }
          }
-         return offset;
+         return offset - low;
      }
  }
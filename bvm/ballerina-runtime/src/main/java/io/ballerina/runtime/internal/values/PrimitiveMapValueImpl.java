@@ -0,0 +1,824 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.ballerina.runtime.internal.values;
+
+import io.ballerina.runtime.api.TypeTags;
+import io.ballerina.runtime.api.types.Type;
+import io.ballerina.runtime.api.values.BMapInitialValueEntry;
+import io.ballerina.runtime.api.values.BString;
+import io.ballerina.runtime.internal.types.BMapType;
+
+import java.util.AbstractCollection;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import static io.ballerina.runtime.api.utils.TypeUtils.getImpliedType;
+
+/**
+ * <p>
+ * Map value for {@code map<int>}, {@code map<float>} and {@code map<boolean>}. Members are kept unboxed in a
+ * {@code long[]} in insertion order, indexed by an open-addressing hash table, instead of as boxed values in
+ * {@code LinkedHashMap} nodes.
+ * </p>
+ * <p>
+ * If a value that cannot be stored unboxed is ever inserted (e.g. through a forceful update from native code), the
+ * map falls back to the generic {@link MapValueImpl} storage for the rest of its lifetime.
+ * </p>
+ * <p>
+ * <i>Note: This is an internal API and may change in future versions.</i>
+ * </p>
+ *
+ * @param <K> the type of keys maintained by this map
+ * @param <V> the type of mapped values
+ *
+ * @since 2201.10.0
+ */
+public class PrimitiveMapValueImpl<K, V> extends MapValueImpl<K, V> {
+
+    private static final int INITIAL_CAPACITY = 8;
+
+    private final int valueTag;
+    // Entries in insertion order. A removed entry leaves a null key behind until the next compaction.
+    private Object[] keys;
+    private long[] values;
+    // Open-addressing index into the entry arrays; 0 marks an empty slot, otherwise the slot holds position + 1.
+    private int[] table;
+    private int used;
+    private int count;
+    private int modCount;
+    private boolean boxed;
+
+    public PrimitiveMapValueImpl(Type type) {
+        super(type);
+        this.valueTag = getValueTag(type);
+    }
+
+    public PrimitiveMapValueImpl(Type type, BMapInitialValueEntry[] initialValues) {
+        // Populated here rather than through the super constructor, since the entry arrays are not yet set up
+        // while the super constructor is running.
+        super(type);
+        this.valueTag = getValueTag(type);
+        populateInitialValues(initialValues);
+    }
+
+    /**
+     * Checks whether maps of the given type can use unboxed member storage.
+     *
+     * @param type map type
+     * @return true if the implied constraint type is {@code int}, {@code float} or {@code boolean}
+     */
+    public static boolean isPrimitiveMapType(Type type) {
+        Type referredType = getImpliedType(type);
+        if (referredType.getTag() != TypeTags.MAP_TAG) {
+            return false;
+        }
+        return switch (getImpliedType(((BMapType) referredType).getConstrainedType()).getTag()) {
+            case TypeTags.INT_TAG, TypeTags.FLOAT_TAG, TypeTags.BOOLEAN_TAG -> true;
+            default -> false;
+        };
+    }
+
+    private static int getValueTag(Type type) {
+        return getImpliedType(((BMapType) getImpliedType(type)).getConstrainedType()).getTag();
+    }
+
+    @Override
+    public V get(Object key) {
+        if (boxed) {
+            return super.get(key);
+        }
+        int pos = find(key);
+        return pos < 0 ? null : box(values[pos]);
+    }
+
+    @Override
+    public V getOrDefault(Object key, V defaultValue) {
+        if (boxed) {
+            return super.getOrDefault(key, defaultValue);
+        }
+        int pos = find(key);
+        return pos < 0 ? defaultValue : box(values[pos]);
+    }
+
+    @Override
+    public long getUnboxedIntValue(BString key) {
+        int pos = valueTag == TypeTags.INT_TAG ? find(key) : -1;
+        if (pos < 0) {
+            return super.getUnboxedIntValue(key);
+        }
+        return values[pos];
+    }
+
+    @Override
+    public double getUnboxedFloatValue(BString key) {
+        int pos = valueTag == TypeTags.FLOAT_TAG ? find(key) : -1;
+        if (pos < 0) {
+            return super.getUnboxedFloatValue(key);
+        }
+        return Double.longBitsToDouble(values[pos]);
+    }
+
+    @Override
+    public boolean getUnboxedBooleanValue(BString key) {
+        int pos = valueTag == TypeTags.BOOLEAN_TAG ? find(key) : -1;
+        if (pos < 0) {
+            return super.getUnboxedBooleanValue(key);
+        }
+        return values[pos] != 0;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        if (boxed) {
+            return super.containsKey(key);
+        }
+        return find(key) >= 0;
+    }
+
+    @Override
+    public boolean containsValue(Object value) {
+        if (boxed) {
+            return super.containsValue(value);
+        }
+        if (!isUnboxable(value)) {
+            return false;
+        }
+        long bits = unbox(value);
+        for (int pos = 0; pos < used; pos++) {
+            if (keys[pos] != null && values[pos] == bits) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    protected V putValue(K key, V value) {
+        if (!boxed && (key == null || !isUnboxable(value))) {
+            inflate();
+        }
+        if (boxed) {
+            return super.putValue(key, value);
+        }
+
+        long bits = unbox(value);
+        int pos = find(key);
+        if (pos >= 0) {
+            V oldValue = box(values[pos]);
+            values[pos] = bits;
+            return oldValue;
+        }
+        insert(key, bits);
+        return null;
+    }
+
+    @Override
+    public V putIfAbsent(K key, V value) {
+        if (!boxed) {
+            int pos = find(key);
+            if (pos >= 0) {
+                return box(values[pos]);
+            }
+        }
+        if (boxed) {
+            return super.putIfAbsent(key, value);
+        }
+        putValue(key, value);
+        return null;
+    }
+
+    @Override
+    public void putAll(Map<? extends K, ? extends V> map) {
+        if (boxed) {
+            super.putAll(map);
+            return;
+        }
+        for (Map.Entry<? extends K, ? extends V> entry : map.entrySet()) {
+            putValue(entry.getKey(), entry.getValue());
+        }
+    }
+
+    @Override
+    public V remove(Object key) {
+        validateFreezeStatus();
+        if (boxed) {
+            return super.remove(key);
+        }
+        int pos = find(key);
+        if (pos < 0) {
+            return null;
+        }
+        V oldValue = box(values[pos]);
+        removeAt(pos);
+        return oldValue;
+    }
+
+    @Override
+    public void clear() {
+        validateFreezeStatus();
+        if (boxed) {
+            super.clear();
+            return;
+        }
+        keys = null;
+        values = null;
+        table = null;
+        used = 0;
+        count = 0;
+        modCount++;
+    }
+
+    @Override
+    public int size() {
+        return boxed ? super.size() : count;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public K[] getKeys() {
+        if (boxed) {
+            return super.getKeys();
+        }
+        BString[] keyArr = new BString[count];
+        int i = 0;
+        for (int pos = 0; pos < used; pos++) {
+            if (keys[pos] != null) {
+                keyArr[i++] = (BString) keys[pos];
+            }
+        }
+        return (K[]) keyArr;
+    }
+
+    @Override
+    public Set<K> keySet() {
+        return new KeySet();
+    }
+
+    @Override
+    public Collection<V> values() {
+        return new Values();
+    }
+
+    @Override
+    public Set<Map.Entry<K, V>> entrySet() {
+        return new EntrySet();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        if (boxed) {
+            super.forEach(action);
+            return;
+        }
+        int expectedModCount = modCount;
+        for (int pos = 0; pos < used; pos++) {
+            if (keys[pos] != null) {
+                action.accept((K) keys[pos], box(values[pos]));
+            }
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+    }
+
+    // The conditional updates work on the unboxed storage, and switch the map over to the generic storage only if the
+    // new value cannot be stored unboxed, as a put does.
+
+    @Override
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+        if (boxed) {
+            return super.computeIfAbsent(key, mappingFunction);
+        }
+        int pos = find(key);
+        if (pos >= 0) {
+            return box(values[pos]);
+        }
+        V newValue = mappingFunction.apply(key);
+        if (newValue != null) {
+            putValue(key, newValue);
+        }
+        return newValue;
+    }
+
+    @Override
+    public V computeIfPresent(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        if (boxed) {
+            return super.computeIfPresent(key, remappingFunction);
+        }
+        int pos = find(key);
+        if (pos < 0) {
+            return null;
+        }
+        return updateValue(key, remappingFunction.apply(key, box(values[pos])));
+    }
+
+    @Override
+    public V compute(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        if (boxed) {
+            return super.compute(key, remappingFunction);
+        }
+        int pos = find(key);
+        return updateValue(key, remappingFunction.apply(key, pos < 0 ? null : box(values[pos])));
+    }
+
+    @Override
+    public V merge(K key, V value, BiFunction<? super V, ? super V, ? extends V> remappingFunction) {
+        if (boxed) {
+            return super.merge(key, value, remappingFunction);
+        }
+        int pos = find(key);
+        return updateValue(key, pos < 0 ? value : remappingFunction.apply(box(values[pos]), value));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void replaceAll(BiFunction<? super K, ? super V, ? extends V> function) {
+        if (boxed) {
+            super.replaceAll(function);
+            return;
+        }
+        int expectedModCount = modCount;
+        Object[] newValues = new Object[used];
+        for (int pos = 0; pos < used; pos++) {
+            if (keys[pos] != null) {
+                newValues[pos] = function.apply((K) keys[pos], box(values[pos]));
+            }
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+        // Keys are read from a copy, since a value that cannot be stored unboxed clears the entry arrays.
+        Object[] oldKeys = keys;
+        for (int pos = 0; pos < newValues.length; pos++) {
+            if (oldKeys[pos] != null) {
+                putValue((K) oldKeys[pos], (V) newValues[pos]);
+            }
+        }
+    }
+
+    @Override
+    public boolean replace(K key, V oldValue, V newValue) {
+        if (boxed) {
+            return super.replace(key, oldValue, newValue);
+        }
+        int pos = find(key);
+        if (pos < 0 || !Objects.equals(box(values[pos]), oldValue)) {
+            return false;
+        }
+        putValue(key, newValue);
+        return true;
+    }
+
+    @Override
+    public V replace(K key, V value) {
+        if (boxed) {
+            return super.replace(key, value);
+        }
+        return find(key) < 0 ? null : putValue(key, value);
+    }
+
+    @Override
+    public boolean remove(Object key, Object value) {
+        if (boxed) {
+            return super.remove(key, value);
+        }
+        int pos = find(key);
+        if (pos < 0 || !Objects.equals(box(values[pos]), value)) {
+            return false;
+        }
+        removeAt(pos);
+        return true;
+    }
+
+    @Override
+    public Object clone() {
+        if (boxed) {
+            return super.clone();
+        }
+        return copyEntries();
+    }
+
+    @Override
+    public Object copy(Map<Object, Object> refs) {
+        if (boxed || isFrozen()) {
+            return super.copy(refs);
+        }
+
+        if (refs.containsKey(this)) {
+            return refs.get(this);
+        }
+
+        PrimitiveMapValueImpl<K, V> newMap = copyEntries();
+        refs.put(this, newMap);
+        return newMap;
+    }
+
+    // Copies the entry arrays into a new map without changing this map, so that it is safe alongside other readers.
+    private PrimitiveMapValueImpl<K, V> copyEntries() {
+        PrimitiveMapValueImpl<K, V> newMap = new PrimitiveMapValueImpl<>(getType());
+        if (count > 0) {
+            newMap.keys = Arrays.copyOf(keys, keys.length);
+            newMap.values = Arrays.copyOf(values, values.length);
+            newMap.table = Arrays.copyOf(table, table.length);
+            newMap.used = used;
+            newMap.count = count;
+        }
+        return newMap;
+    }
+
+    // Stores the result of a conditional update, where a null value removes the key.
+    private V updateValue(K key, V newValue) {
+        if (newValue != null) {
+            putValue(key, newValue);
+            return newValue;
+        }
+        int pos = find(key);
+        if (pos >= 0) {
+            removeAt(pos);
+        }
+        return null;
+    }
+
+    private boolean isUnboxable(Object value) {
+        return switch (valueTag) {
+            case TypeTags.INT_TAG -> value instanceof Long;
+            case TypeTags.FLOAT_TAG -> value instanceof Double;
+            default -> value instanceof Boolean;
+        };
+    }
+
+    private long unbox(Object value) {
+        return switch (valueTag) {
+            case TypeTags.INT_TAG -> (Long) value;
+            case TypeTags.FLOAT_TAG -> Double.doubleToRawLongBits((Double) value);
+            default -> (Boolean) value ? 1 : 0;
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private V box(long bits) {
+        return (V) switch (valueTag) {
+            case TypeTags.INT_TAG -> (Object) bits;
+            case TypeTags.FLOAT_TAG -> (Object) Double.longBitsToDouble(bits);
+            default -> (Object) (bits != 0);
+        };
+    }
+
+    private static int hash(Object key) {
+        int h = key.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    private int find(Object key) {
+        if (table == null || key == null) {
+            return -1;
+        }
+        int mask = table.length - 1;
+        for (int i = hash(key) & mask; ; i = (i + 1) & mask) {
+            int slot = table[i];
+            if (slot == 0) {
+                return -1;
+            }
+            Object candidate = keys[slot - 1];
+            if (candidate == key || candidate.equals(key)) {
+                return slot - 1;
+            }
+        }
+    }
+
+    private void insert(Object key, long bits) {
+        if (keys == null) {
+            keys = new Object[INITIAL_CAPACITY];
+            values = new long[INITIAL_CAPACITY];
+            table = new int[INITIAL_CAPACITY * 2];
+        } else if (used == keys.length) {
+            if (count <= used / 2) {
+                compact();
+            } else {
+                keys = Arrays.copyOf(keys, keys.length * 2);
+                values = Arrays.copyOf(values, values.length * 2);
+                table = new int[keys.length * 2];
+                rehash();
+            }
+        }
+        keys[used] = key;
+        values[used] = bits;
+        addToTable(used);
+        used++;
+        count++;
+        modCount++;
+    }
+
+    private void addToTable(int pos) {
+        int mask = table.length - 1;
+        int i = hash(keys[pos]) & mask;
+        while (table[i] != 0) {
+            i = (i + 1) & mask;
+        }
+        table[i] = pos + 1;
+    }
+
+    private void rehash() {
+        Arrays.fill(table, 0);
+        for (int pos = 0; pos < used; pos++) {
+            if (keys[pos] != null) {
+                addToTable(pos);
+            }
+        }
+    }
+
+    private void compact() {
+        int newUsed = 0;
+        for (int pos = 0; pos < used; pos++) {
+            if (keys[pos] != null) {
+                keys[newUsed] = keys[pos];
+                values[newUsed] = values[pos];
+                newUsed++;
+            }
+        }
+        Arrays.fill(keys, newUsed, used, null);
+        used = newUsed;
+        rehash();
+    }
+
+    private void removeAt(int pos) {
+        int mask = table.length - 1;
+        int i = hash(keys[pos]) & mask;
+        while (table[i] != pos + 1) {
+            i = (i + 1) & mask;
+        }
+        // Backward-shift deletion, so that lookups never need to skip over tombstones.
+        for (int j = (i + 1) & mask; table[j] != 0; j = (j + 1) & mask) {
+            int home = hash(keys[table[j] - 1]) & mask;
+            boolean reachable = i <= j ? (i < home && home <= j) : (i < home || home <= j);
+            if (!reachable) {
+                table[i] = table[j];
+                i = j;
+            }
+        }
+        table[i] = 0;
+        keys[pos] = null;
+        count--;
+        modCount++;
+        if (count == 0) {
+            used = 0;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void inflate() {
+        if (boxed) {
+            return;
+        }
+        Object[] oldKeys = keys;
+        long[] oldValues = values;
+        int oldUsed = used;
+        boxed = true;
+        keys = null;
+        values = null;
+        table = null;
+        used = 0;
+        count = 0;
+        modCount++;
+        for (int pos = 0; pos < oldUsed; pos++) {
+            if (oldKeys[pos] != null) {
+                super.putValue((K) oldKeys[pos], box(oldValues[pos]));
+            }
+        }
+    }
+
+    /**
+     * Iterates over the live entry positions in insertion order.
+     */
+    private abstract class PositionIterator<T> implements Iterator<T> {
+
+        private int next = advance(0);
+        private int last = -1;
+        private int expectedModCount = modCount;
+
+        private int advance(int pos) {
+            while (pos < used && keys[pos] == null) {
+                pos++;
+            }
+            return pos;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next < used;
+        }
+
+        @Override
+        public T next() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (next >= used) {
+                throw new NoSuchElementException();
+            }
+            last = next;
+            next = advance(next + 1);
+            return valueAt(last);
+        }
+
+        @Override
+        public void remove() {
+            if (last < 0) {
+                throw new IllegalStateException();
+            }
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            validateFreezeStatus();
+            removeAt(last);
+            last = -1;
+            // Removing the last live entry resets the positions.
+            next = advance(count == 0 ? 0 : next);
+            expectedModCount = modCount;
+        }
+
+        abstract T valueAt(int pos);
+    }
+
+    private final class KeySet extends AbstractSet<K> {
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Iterator<K> iterator() {
+            if (boxed) {
+                return PrimitiveMapValueImpl.super.keySet().iterator();
+            }
+            return new PositionIterator<>() {
+                @Override
+                K valueAt(int pos) {
+                    return (K) keys[pos];
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return PrimitiveMapValueImpl.this.size();
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return containsKey(o);
+        }
+
+        @Override
+        public boolean remove(Object o) {
+            if (!containsKey(o)) {
+                return false;
+            }
+            PrimitiveMapValueImpl.this.remove(o);
+            return true;
+        }
+
+        @Override
+        public void clear() {
+            PrimitiveMapValueImpl.this.clear();
+        }
+    }
+
+    private final class Values extends AbstractCollection<V> {
+
+        @Override
+        public Iterator<V> iterator() {
+            if (boxed) {
+                return PrimitiveMapValueImpl.super.values().iterator();
+            }
+            return new PositionIterator<>() {
+                @Override
+                V valueAt(int pos) {
+                    return box(values[pos]);
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return PrimitiveMapValueImpl.this.size();
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return containsValue(o);
+        }
+
+        @Override
+        public void clear() {
+            PrimitiveMapValueImpl.this.clear();
+        }
+    }
+
+    private final class EntrySet extends AbstractSet<Map.Entry<K, V>> {
+
+        @Override
+        public Iterator<Map.Entry<K, V>> iterator() {
+            if (boxed) {
+                return PrimitiveMapValueImpl.super.entrySet().iterator();
+            }
+            return new PositionIterator<>() {
+                @Override
+                Map.Entry<K, V> valueAt(int pos) {
+                    return new Entry(pos);
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return PrimitiveMapValueImpl.this.size();
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            if (!(o instanceof Map.Entry<?, ?> entry) || !containsKey(entry.getKey())) {
+                return false;
+            }
+            return Objects.equals(get(entry.getKey()), entry.getValue());
+        }
+
+        @Override
+        public void clear() {
+            PrimitiveMapValueImpl.this.clear();
+        }
+    }
+
+    /**
+     * Entry view over a position in the entry arrays. Updates write through to the map as long as the key is still
+     * present.
+     */
+    private final class Entry implements Map.Entry<K, V> {
+
+        private final K key;
+        private V value;
+
+        @SuppressWarnings("unchecked")
+        Entry(int pos) {
+            this.key = (K) keys[pos];
+            this.value = box(values[pos]);
+        }
+
+        @Override
+        public K getKey() {
+            return key;
+        }
+
+        @Override
+        public V getValue() {
+            return value;
+        }
+
+        @Override
+        public V setValue(V value) {
+            V oldValue = this.value;
+            putValue(key, value);
+            this.value = value;
+            return oldValue;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Map.Entry<?, ?> entry && Objects.equals(key, entry.getKey()) &&
+                    Objects.equals(value, entry.getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(key) ^ Objects.hashCode(value);
+        }
+
+        @Override
+        public String toString() {
+            return key + "=" + value;
+        }
+    }
+}
@@ -36,6 +36,10 @@ public class RegExpAssertion extends RegExpCommonValue implements RegExpTerm {
         this.assertion = assertion;
     }
 
+    public String getAssertion() {
+        return this.assertion;
+    }
+
     @Override
     public String stringValue(BLink parent) {
         return this.assertion;
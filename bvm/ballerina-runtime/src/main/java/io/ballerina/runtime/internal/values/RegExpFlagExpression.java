@@ -40,6 +40,10 @@ public class RegExpFlagExpression extends RegExpCommonValue {
         this.colon = colon;
     }
 
+    public RegExpFlagOnOff getFlagsOnOff() {
+        return this.flagsOnOff;
+    }
+
     @Override
     public String stringValue(BLink parent) {
         return this.questionMark + this.flagsOnOff.stringValue(parent) + this.colon;
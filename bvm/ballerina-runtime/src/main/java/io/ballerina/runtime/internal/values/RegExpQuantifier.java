@@ -38,6 +38,14 @@ public class RegExpQuantifier extends RegExpCommonValue {
         this.nonGreedyChar = nonGreedyChar;
     }
 
+    public String getQuantifier() {
+        return this.quantifier;
+    }
+
+    public String getNonGreedyChar() {
+        return this.nonGreedyChar;
+    }
+
     @Override
     public String stringValue(BLink parent) {
         return this.quantifier + this.nonGreedyChar;
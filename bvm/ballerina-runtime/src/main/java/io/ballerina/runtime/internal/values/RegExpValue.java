@@ -20,6 +20,7 @@ import io.ballerina.runtime.api.types.Type;
 import io.ballerina.runtime.api.values.BLink;
 import io.ballerina.runtime.api.values.BRegexpValue;
 import io.ballerina.runtime.api.values.BTypedesc;
+import io.ballerina.runtime.internal.regexp.CompiledRegExp;
 
 import java.util.Map;
 import java.util.Objects;
@@ -40,6 +41,7 @@ import static io.ballerina.runtime.internal.ValueUtils.getTypedescValue;
 public class RegExpValue implements BRegexpValue, RefValue {
     private final RegExpDisjunction regExpDisjunction;
     private BTypedesc typedesc;
+    private volatile CompiledRegExp compiledRegExp;
     private static final Type type = PredefinedTypes.TYPE_READONLY_ANYDATA;
 
     public RegExpValue(RegExpDisjunction regExpDisjunction) {
@@ -51,6 +53,22 @@ public class RegExpValue implements BRegexpValue, RefValue {
         return this.regExpDisjunction;
     }
 
+    /**
+     * Returns the compiled form of this regular expression for the given flags, which is cached as the value is
+     * immutable.
+     *
+     * @param flags the match flags of the compiled expression
+     * @return the cached compiled expression, or {@code null} if none is cached for the flags
+     */
+    public CompiledRegExp getCompiledRegExp(int flags) {
+        CompiledRegExp cached = this.compiledRegExp;
+        return cached != null && cached.getFlags() == flags ? cached : null;
+    }
+
+    public void setCompiledRegExp(CompiledRegExp compiledRegExp) {
+        this.compiledRegExp = compiledRegExp;
+    }
+
     @Override
     public String stringValue(BLink parent) {
         return this.regExpDisjunction.stringValue(parent);
@@ -29,6 +29,7 @@ import io.ballerina.runtime.internal.types.BMapType;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.io.Writer;
+import java.nio.charset.Charset;
 import java.util.Map;
 
 /**
@@ -125,7 +126,7 @@ public class StreamingJsonValue extends ArrayValueImpl implements BStreamingJson
 
     @Override
     public void serialize(OutputStream outputStream) {
-        try (JsonGenerator gen = new JsonGenerator(outputStream)) {
+        try (JsonGenerator gen = JsonGenerator.create(outputStream, Charset.defaultCharset())) {
             serialize(gen);
         } catch (IOException e) {
             throw JsonInternalUtils.createJsonConversionError(e, "error occurred while serializing data");
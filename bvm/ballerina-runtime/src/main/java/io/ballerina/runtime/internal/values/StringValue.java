@@ -26,19 +26,69 @@ import java.util.Map;
 
 /**
  * Class representing ballerina strings.
+ * <p>
+ * A long string created by concatenation does not copy the text of its operands. Its text is appended to a buffer
+ * shared with the left operand, if the buffer ends with that operand, and is only copied out of the buffer when the
+ * text of the string is needed. So a string built by repeatedly concatenating to the previous result is built in
+ * linear time.
  *
  * @since 1.0.5
  */
 public abstract class StringValue implements BString, SimpleValue {
 
-    final String value;
+    // Strings shorter than this are concatenated by copying the text of both strings.
+    static final int MIN_BUFFERED_LENGTH = 256;
+
+    private String value;
+    // Buffer that starts with the text of the string, until the text is copied out of it.
+    private StringBuilder buffer;
+    final int charLength;
     final boolean isNonBmp;
 
     protected StringValue(String value, boolean isNonBmp) {
         this.value = value;
+        this.charLength = value.length();
+        this.isNonBmp = isNonBmp;
+    }
+
+    StringValue(StringBuilder buffer, int charLength, boolean isNonBmp) {
+        this.buffer = buffer;
+        this.charLength = charLength;
         this.isNonBmp = isNonBmp;
     }
 
+    /**
+     * Returns a buffer that starts with the text of this string followed by the text of the given string. This is
+     * the buffer of this string if no other text has been appended to it yet.
+     *
+     * @param str the string to be appended
+     * @return the buffer
+     */
+    StringBuilder appendToBuffer(StringValue str) {
+        String text = str.getValue();
+        StringBuilder currentBuffer = this.buffer;
+        if (currentBuffer != null) {
+            synchronized (currentBuffer) {
+                if (currentBuffer.length() == charLength) {
+                    return currentBuffer.append(text);
+                }
+            }
+        }
+        int length = charLength + text.length();
+        return new StringBuilder(Math.max(length, MIN_BUFFERED_LENGTH) * 2).append(getValue()).append(text);
+    }
+
+    private synchronized String flatten() {
+        if (value == null) {
+            StringBuilder currentBuffer = buffer;
+            synchronized (currentBuffer) {
+                value = currentBuffer.substring(0, charLength);
+            }
+            buffer = null;
+        }
+        return value;
+    }
+
     @Override
     public Type getType() {
         return PredefinedTypes.TYPE_STRING;
@@ -61,12 +111,13 @@ public abstract class StringValue implements BString, SimpleValue {
 
     @Override
     public String getValue() {
-        return value;
+        String currentValue = value;
+        return currentValue != null ? currentValue : flatten();
     }
 
     @Override
     public String stringValue(BLink parent) {
-        return value;
+        return getValue();
     }
 
     @Override
@@ -81,12 +132,12 @@ public abstract class StringValue implements BString, SimpleValue {
 
     @Override
     public String toString() {
-        return value;
+        return getValue();
     }
 
     @Override
     public int hashCode() {
-        return value.hashCode();
+        return getValue().hashCode();
     }
 
     @Override
@@ -95,7 +146,7 @@ public abstract class StringValue implements BString, SimpleValue {
             return true;
         }
         if (str instanceof BString) {
-            return ((BString) str).getValue().equals(value);
+            return ((BString) str).getValue().equals(getValue());
         }
         return false;
     }
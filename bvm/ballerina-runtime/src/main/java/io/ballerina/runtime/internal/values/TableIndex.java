@@ -0,0 +1,221 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.ballerina.runtime.internal.values;
+
+import io.ballerina.runtime.api.values.BString;
+import io.ballerina.runtime.internal.ValueComparisonUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Secondary index over a column of a table. Only columns whose values cannot change while the member is in the table
+ * are indexed, so the index only has to be maintained when members are added to or removed from the table.
+ * <p>
+ * Each indexed member is kept along with its position in the iteration order of the table, so that lookups can
+ * return the matching members in table order. Members may be added to a table by several strands at once, so the
+ * operations on an index are synchronized on the index.
+ *
+ * @param <V> the type of the table members
+ *
+ * @since 2201.10.0
+ */
+abstract class TableIndex<V> {
+
+    /**
+     * Condition on the indexed column that can be answered by an index.
+     */
+    enum Operator {
+        EQUAL,
+        LESS_THAN,
+        LESS_EQUAL,
+        GREATER_THAN,
+        GREATER_EQUAL;
+
+        static Operator fromString(String operator) {
+            return switch (operator) {
+                case "==" -> EQUAL;
+                case "<" -> LESS_THAN;
+                case "<=" -> LESS_EQUAL;
+                case ">" -> GREATER_THAN;
+                case ">=" -> GREATER_EQUAL;
+                default -> null;
+            };
+        }
+    }
+
+    record Row<V>(long position, V member) {
+    }
+
+    final BString fieldName;
+
+    TableIndex(BString fieldName) {
+        this.fieldName = fieldName;
+    }
+
+    synchronized void add(long position, V member, Object columnValue) {
+        getBucket(columnValue, true).add(new Row<>(position, member));
+    }
+
+    synchronized void remove(V member, Object columnValue) {
+        List<Row<V>> bucket = getBucket(columnValue, false);
+        if (bucket == null) {
+            return;
+        }
+        for (int i = 0; i < bucket.size(); i++) {
+            if (bucket.get(i).member() == member) {
+                bucket.remove(i);
+                break;
+            }
+        }
+        if (bucket.isEmpty()) {
+            removeBucket(columnValue);
+        }
+    }
+
+    /**
+     * Returns the members whose column value satisfies {@code column <operator> value}, in table order.
+     */
+    synchronized List<V> lookup(Operator operator, Object value) {
+        List<Row<V>> rows = new ArrayList<>();
+        collect(operator, value, rows);
+        rows.sort(Comparator.comparingLong(Row::position));
+        List<V> members = new ArrayList<>(rows.size());
+        for (Row<V> row : rows) {
+            members.add(row.member());
+        }
+        return members;
+    }
+
+    abstract boolean supports(Operator operator);
+
+    abstract void clear();
+
+    abstract List<Row<V>> getBucket(Object columnValue, boolean create);
+
+    abstract void removeBucket(Object columnValue);
+
+    abstract void collect(Operator operator, Object value, List<Row<V>> rows);
+
+    /**
+     * Hash index, answering equality conditions.
+     *
+     * @param <V> the type of the table members
+     */
+    static class HashIndex<V> extends TableIndex<V> {
+
+        private final Map<Object, List<Row<V>>> buckets = new HashMap<>();
+
+        HashIndex(BString fieldName) {
+            super(fieldName);
+        }
+
+        @Override
+        boolean supports(Operator operator) {
+            return operator == Operator.EQUAL;
+        }
+
+        @Override
+        synchronized void clear() {
+            buckets.clear();
+        }
+
+        @Override
+        List<Row<V>> getBucket(Object columnValue, boolean create) {
+            return create ? buckets.computeIfAbsent(columnValue, k -> new ArrayList<>()) : buckets.get(columnValue);
+        }
+
+        @Override
+        void removeBucket(Object columnValue) {
+            buckets.remove(columnValue);
+        }
+
+        @Override
+        void collect(Operator operator, Object value, List<Row<V>> rows) {
+            List<Row<V>> bucket = buckets.get(value);
+            if (bucket != null) {
+                rows.addAll(bucket);
+            }
+        }
+    }
+
+    /**
+     * Sorted index, answering equality and range conditions.
+     *
+     * @param <V> the type of the table members
+     */
+    static class SortedIndex<V> extends TableIndex<V> {
+
+        // Strings are ordered by code point, as the relational operators do.
+        private static final Comparator<Object> COLUMN_ORDER = (lhs, rhs) -> lhs instanceof BString ?
+                ValueComparisonUtils.codePointCompare(lhs.toString(), rhs.toString()) :
+                ((Comparable<Object>) lhs).compareTo(rhs);
+
+        private final TreeMap<Object, List<Row<V>>> buckets = new TreeMap<>(COLUMN_ORDER);
+
+        SortedIndex(BString fieldName) {
+            super(fieldName);
+        }
+
+        @Override
+        boolean supports(Operator operator) {
+            return true;
+        }
+
+        @Override
+        synchronized void clear() {
+            buckets.clear();
+        }
+
+        @Override
+        List<Row<V>> getBucket(Object columnValue, boolean create) {
+            return create ? buckets.computeIfAbsent(columnValue, k -> new ArrayList<>()) : buckets.get(columnValue);
+        }
+
+        @Override
+        void removeBucket(Object columnValue) {
+            buckets.remove(columnValue);
+        }
+
+        @Override
+        void collect(Operator operator, Object value, List<Row<V>> rows) {
+            if (operator == Operator.EQUAL) {
+                List<Row<V>> bucket = buckets.get(value);
+                if (bucket != null) {
+                    rows.addAll(bucket);
+                }
+                return;
+            }
+            NavigableMap<Object, List<Row<V>>> range = switch (operator) {
+                case LESS_THAN -> buckets.headMap(value, false);
+                case LESS_EQUAL -> buckets.headMap(value, true);
+                case GREATER_THAN -> buckets.tailMap(value, false);
+                default -> buckets.tailMap(value, true);
+            };
+            for (Collection<Row<V>> bucket : range.values()) {
+                rows.addAll(bucket);
+            }
+        }
+    }
+}
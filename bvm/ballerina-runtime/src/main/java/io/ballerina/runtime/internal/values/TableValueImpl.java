@@ -20,6 +20,7 @@ package io.ballerina.runtime.internal.values;
 import io.ballerina.runtime.api.TypeTags;
 import io.ballerina.runtime.api.creators.ErrorCreator;
 import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.flags.SymbolFlags;
 import io.ballerina.runtime.api.types.Field;
 import io.ballerina.runtime.api.types.TableType;
 import io.ballerina.runtime.api.types.Type;
@@ -32,6 +33,7 @@ import io.ballerina.runtime.api.values.BMap;
 import io.ballerina.runtime.api.values.BObject;
 import io.ballerina.runtime.api.values.BRefValue;
 import io.ballerina.runtime.api.values.BString;
+import io.ballerina.runtime.api.values.BTable;
 import io.ballerina.runtime.api.values.BTypedesc;
 import io.ballerina.runtime.internal.CycleUtils;
 import io.ballerina.runtime.internal.IteratorUtils;
@@ -47,22 +49,24 @@ import io.ballerina.runtime.internal.types.BTupleType;
 import io.ballerina.runtime.internal.types.BTypeReferenceType;
 import io.ballerina.runtime.internal.types.BUnionType;
 
-import java.util.AbstractMap;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
-import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.StringJoiner;
-import java.util.TreeMap;
-import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.StampedLock;
 
 import static io.ballerina.runtime.api.constants.RuntimeConstants.TABLE_LANG_LIB;
 import static io.ballerina.runtime.api.utils.TypeUtils.getImpliedType;
@@ -89,32 +93,36 @@ public class TableValueImpl<K, V> implements TableValue<K, V> {
     private Type type;
     private TableType tableType;
     private Type iteratorNextReturnType;
-    private ConcurrentHashMap<Long, List<Map.Entry<K, V>>> entries;
-    private LinkedHashMap<Long, List<V>> values;
+    // Members grouped by the hash of their key. Buckets are immutable lists that are replaced within
+    // ConcurrentHashMap#compute, so updates to different buckets do not contend with each other. The iteration
+    // order, the indexes and the member count are brought up to date with an entry after its bucket is updated.
+    private final ConcurrentHashMap<Long, List<TableEntry<K, V>>> entries;
     private String[] fieldNames;
     private ValueHolder valueHolder;
-    private long maxIntKey = 0;
+    private final AtomicLong maxIntKey = new AtomicLong(Long.MIN_VALUE);
 
     //These are required to achieve the iterator behavior
-    private Map<Long, K> indexToKeyMap;
-    private Map<K, Long> keyToIndexMap;
-    private Map<K, V> keyValues;
-    private long noOfAddedEntries = 0;
+    private final ConcurrentSkipListMap<Long, TableEntry<K, V>> entriesInOrder;
+    private final AtomicLong noOfAddedEntries = new AtomicLong();
+    private final LongAdder noOfEntries = new LongAdder();
+
+    // Held in shared mode by member updates and in exclusive mode by operations on the whole table.
+    private final StampedLock structureLock = new StampedLock();
 
     private boolean nextKeySupported;
 
     private final Map<String, Object> nativeData = new HashMap<>();
     private BTypedesc typedesc;
 
+    // Secondary indexes on columns, created on demand.
+    private final List<TableIndex<V>> indexes = new CopyOnWriteArrayList<>();
+
     public TableValueImpl(TableType tableType) {
         this.type = this.tableType = tableType;
 
         this.entries = new ConcurrentHashMap<>();
-        this.values = new LinkedHashMap<>();
-        this.keyToIndexMap = new LinkedHashMap<>();
-        this.indexToKeyMap = new TreeMap<>();
+        this.entriesInOrder = new ConcurrentSkipListMap<>();
         this.fieldNames = tableType.getFieldNames();
-        this.keyValues = new LinkedHashMap<>();
         if (tableType.getFieldNames().length > 0) {
             this.valueHolder = new KeyHashValueHolder();
         } else {
@@ -199,10 +207,8 @@ public class TableValueImpl<K, V> implements TableValue<K, V> {
     }
 
     protected void handleFrozenTableValue() {
-        synchronized (this) {
-            if (this.tableType.isReadOnly()) {
-                ReadOnlyUtils.handleInvalidUpdate(TABLE_LANG_LIB);
-            }
+        if (this.tableType.isReadOnly()) {
+            ReadOnlyUtils.handleInvalidUpdate(TABLE_LANG_LIB);
         }
     }
 
@@ -252,7 +258,7 @@ public class TableValueImpl<K, V> implements TableValue<K, V> {
     @Override
     public Set<Map.Entry<K, V>> entrySet() {
         LinkedHashSet<Map.Entry<K, V>> entrySet = new LinkedHashSet<>();
-        for (List<Map.Entry<K, V>> entry: entries.values()) {
+        for (List<TableEntry<K, V>> entry: entries.values()) {
             entrySet.addAll(entry);
         }
         return new LinkedHashSet(entries.values());
@@ -261,9 +267,8 @@ public class TableValueImpl<K, V> implements TableValue<K, V> {
     @Override
     public Collection<V> values() {
         ArrayList<V> newValues = new ArrayList<>();
-        Set<Long> keys = values.keySet();
-        for (long key: keys) {
-            newValues.addAll(values.get(key));
+        for (TableEntry<K, V> entry : entriesInOrder.values()) {
+            newValues.add(entry.getValue());
         }
         return newValues;
     }
@@ -271,11 +276,17 @@ public class TableValueImpl<K, V> implements TableValue<K, V> {
     @Override
     public void clear() {
         handleFrozenTableValue();
-        entries.clear();
-        values.clear();
-        keyToIndexMap.clear();
-        indexToKeyMap.clear();
-        noOfAddedEntries = 0;
+        long stamp = structureLock.writeLock();
+        try {
+            entries.clear();
+            entriesInOrder.clear();
+            noOfEntries.reset();
+            noOfAddedEntries.set(0);
+            maxIntKey.set(Long.MIN_VALUE);
+            indexes.forEach(TableIndex::clear);
+        } finally {
+            structureLock.unlockWrite(stamp);
+        }
     }
 
     @Override
@@ -306,7 +317,7 @@ public class TableValueImpl<K, V> implements TableValue<K, V> {
                                                                         + "The key sequence should only have an " +
                                                                            "Integer field."));
         }
-        return indexToKeyMap.isEmpty() ? 0 : (this.maxIntKey + 1);
+        return entriesInOrder.isEmpty() ? 0 : (this.maxIntKey.get() + 1);
     }
 
     @Override
@@ -335,12 +346,16 @@ public class TableValueImpl<K, V> implements TableValue<K, V> {
 
     @Override
     public K[] getKeys() {
-        return (K[]) indexToKeyMap.values().toArray();
+        List<K> keys = new ArrayList<>();
+        for (TableEntry<K, V> entry : entriesInOrder.values()) {
+            keys.add(entry.getKey());
+        }
+        return (K[]) keys.toArray();
     }
 
     @Override
     public int size() {
-        return values().size();
+        return noOfEntries.intValue();
     }
 
     @Override
@@ -374,7 +389,7 @@ public class TableValueImpl<K, V> implements TableValue<K, V> {
 
     @Override
     public String stringValue(BLink parent) {
-        Iterator<Map.Entry<Long, List<V>>> itr = values.entrySet().iterator();
+        Iterator<TableEntry<K, V>> itr = entriesInOrder.values().iterator();
         return createStringValueDataEntry(itr, parent);
     }
 
@@ -385,28 +400,19 @@ public class TableValueImpl<K, V> implements TableValue<K, V> {
 
     @Override
     public String expressionStringValue(BLink parent) {
-        Iterator<Map.Entry<Long, List<V>>> itr = values.entrySet().iterator();
+        Iterator<TableEntry<K, V>> itr = entriesInOrder.values().iterator();
         return createExpressionStringValueDataEntry(itr, parent);
     }
 
-    private String createStringValueDataEntry(Iterator<Map.Entry<Long, List<V>>> itr, BLink parent) {
+    private String createStringValueDataEntry(Iterator<TableEntry<K, V>> itr, BLink parent) {
         StringJoiner sj = new StringJoiner(",");
         while (itr.hasNext()) {
-            Map.Entry<Long, List<V>> struct = itr.next();
-            if (struct.getValue().size() > 1) {
-                for (V data: struct.getValue()) {
-                    sj.add(getStringVal(data,
-                            new CycleUtils.Node(this, parent)));
-                }
-            } else {
-                sj.add(getStringVal(struct.getValue().get(0),
-                        new CycleUtils.Node(this, parent)));
-            }
+            sj.add(getStringVal(itr.next().getValue(), new CycleUtils.Node(this, parent)));
         }
         return "[" + sj + "]";
     }
 
-    private String createExpressionStringValueDataEntry(Iterator<Map.Entry<Long, List<V>>> itr, BLink parent) {
+    private String createExpressionStringValueDataEntry(Iterator<TableEntry<K, V>> itr, BLink parent) {
         StringJoiner sj = new StringJoiner(",");
         StringJoiner keyJoiner = new StringJoiner(",");
         String[] keysList = tableType.getFieldNames();
@@ -414,14 +420,7 @@ public class TableValueImpl<K, V> implements TableValue<K, V> {
             keyJoiner.add(keysList[i]);
         }
         while (itr.hasNext()) {
-            Map.Entry<Long, List<V>> struct = itr.next();
-            if (struct.getValue().size() > 1) {
-                for (V data: struct.getValue()) {
-                    sj.add(getExpressionStringVal(data, new CycleUtils.Node(this, parent)));
-                }
-            } else {
-                sj.add(getExpressionStringVal(struct.getValue().get(0), new CycleUtils.Node(this, parent)));
-            }
+            sj.add(getExpressionStringVal(itr.next().getValue(), new CycleUtils.Node(this, parent)));
         }
         return "table key(" + keyJoiner + ") [" + sj + "]";
     }
@@ -510,38 +509,105 @@ public class TableValueImpl<K, V> implements TableValue<K, V> {
         return true;
     }
 
+    /**
+     * Iterates over a snapshot of the members of the table in insertion order, taken when the iterator is created.
+     * Updates made to the table after that, by this or other strands, are not seen by the iterator.
+     */
     private class TableIterator implements IteratorValue {
-        private long cursor;
+        private final Object[] keys;
+        private final Object[] values;
+        private int cursor;
 
         TableIterator() {
-            this.cursor = 0;
+            // Members are not updated while the snapshot is taken, so that it has each update completely or not at all.
+            long stamp = structureLock.writeLock();
+            try {
+                int size = noOfEntries.intValue();
+                this.keys = new Object[size];
+                this.values = new Object[size];
+                int i = 0;
+                for (TableEntry<K, V> entry : entriesInOrder.values()) {
+                    this.keys[i] = entry.getKey();
+                    this.values[i] = entry.getValue();
+                    i++;
+                }
+            } finally {
+                structureLock.unlockWrite(stamp);
+            }
         }
 
         @Override
         public Object next() {
-            if (indexToKeyMap.containsKey(cursor)) {
-                K key = indexToKeyMap.get(cursor);
-                V value = keyValues.get(key);
-
-                List<Type> types = new ArrayList<>();
-                types.add(TypeChecker.getType(key));
-                types.add(TypeChecker.getType(value));
-                BTupleType tupleType = new BTupleType(types);
-
-                TupleValueImpl tuple = new TupleValueImpl(tupleType);
-                tuple.add(0, key);
-                tuple.add(1, value);
-                cursor++;
-                return tuple;
-            } else {
-                cursor++;
-                return next();
-            }
+            Object key = keys[cursor];
+            Object value = values[cursor];
+            cursor++;
+
+            List<Type> types = new ArrayList<>();
+            types.add(TypeChecker.getType(key));
+            types.add(TypeChecker.getType(value));
+            BTupleType tupleType = new BTupleType(types);
+
+            TupleValueImpl tuple = new TupleValueImpl(tupleType);
+            tuple.add(0, key);
+            tuple.add(1, value);
+            return tuple;
         }
 
         @Override
         public boolean hasNext() {
-           return cursor < noOfAddedEntries && !values.isEmpty();
+            return cursor < keys.length;
+        }
+    }
+
+    /**
+     * Entry of a member in the table, along with its position in the iteration order. Putting a member with the key
+     * of the entry replaces the member in place, so that the new member keeps the position.
+     *
+     * @param <K> the type of the key
+     * @param <V> the type of the member
+     */
+    private static final class TableEntry<K, V> implements Map.Entry<K, V> {
+
+        private final K key;
+        private final long position;
+        // Only replaced while the bucket of the entry is being updated.
+        private volatile V value;
+
+        // State of the entry in the iteration order and the indexes, guarded by the entry.
+        private boolean removed;
+        private boolean inOrder;
+        private V indexedValue;
+
+        TableEntry(K key, V value, long position) {
+            this.key = key;
+            this.value = value;
+            this.position = position;
+        }
+
+        @Override
+        public K getKey() {
+            return key;
+        }
+
+        @Override
+        public V getValue() {
+            return value;
+        }
+
+        @Override
+        public V setValue(V value) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Map.Entry<?, ?> entry && Objects.equals(key, entry.getKey()) &&
+                    Objects.equals(value, entry.getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(key) ^ Objects.hashCode(value);
         }
     }
 
@@ -564,17 +630,16 @@ public class TableValueImpl<K, V> implements TableValue<K, V> {
         public V putData(V data) {
             checkInherentTypeViolation((MapValue) data, tableType);
 
-            ArrayList<V> newData = new ArrayList<>();
-            newData.add(data);
-
-            Map.Entry<K, V> entry = new AbstractMap.SimpleEntry(data, data);
-            List<Map.Entry<K, V>> entryList = new ArrayList<>();
-            entryList.add(entry);
-            UUID uuid = UUID.randomUUID();
-            Long hash = (long) uuid.hashCode();
-            updateIndexKeyMappings(hash, (K) data, data);
-            entries.put(hash, entryList);
-            values.put(hash, newData);
+            long stamp = structureLock.readLock();
+            try {
+                // Members of a keyless table are never looked up, so each one gets a bucket of its own.
+                long position = noOfAddedEntries.getAndIncrement();
+                TableEntry<K, V> entry = new TableEntry<>((K) data, data, position);
+                entries.put(position, List.of(entry));
+                syncEntry(entry, false);
+            } finally {
+                structureLock.unlockRead(stamp);
+            }
             return data;
         }
 
@@ -611,48 +676,44 @@ public class TableValueImpl<K, V> implements TableValue<K, V> {
             MapValue dataMap = (MapValue) data;
             checkInherentTypeViolation(dataMap, tableType);
             K key = this.keyWrapper.wrapKey(dataMap);
-
-            if (containsKey(key)) {
-                throw ErrorCreator.createError(TABLE_HAS_A_VALUE_FOR_KEY_ERROR,
-                        ErrorHelper.getErrorDetails(ErrorCodes.TABLE_HAS_A_VALUE_FOR_KEY, key));
-            }
-
-            if (nextKeySupported && (indexToKeyMap.isEmpty() || maxIntKey < TypeChecker.anyToInt(key))) {
-                maxIntKey = ((Long) TypeChecker.anyToInt(key)).intValue();
-            }
-
-            Map.Entry<K, V> entry = new AbstractMap.SimpleEntry(key, data);
             Long hash = TableUtils.hash(key, null);
 
-            if (entries.containsKey(hash)) {
-                updateIndexKeyMappings(hash, key, data);
-                List<Map.Entry<K, V>> extEntries = entries.get(hash);
-                extEntries.add(entry);
-                List<V> extValues = values.get(hash);
-                extValues.add(data);
-                return;
+            // The next key starts over from a member added to an empty table, so the table must stay empty until the
+            // member is added.
+            boolean mayBeEmpty = nextKeySupported && entriesInOrder.isEmpty();
+            long stamp = mayBeEmpty ? structureLock.writeLock() : structureLock.readLock();
+            try {
+                if (nextKeySupported) {
+                    // Updated before the member is added, so that the next key is never the key of a member.
+                    long intKey = ((Long) TypeChecker.anyToInt(key)).intValue();
+                    if (mayBeEmpty && entriesInOrder.isEmpty()) {
+                        maxIntKey.set(intKey);
+                    } else {
+                        maxIntKey.accumulateAndGet(intKey, Math::max);
+                    }
+                }
+                TableEntry<K, V> entry = new TableEntry<>(key, data, noOfAddedEntries.getAndIncrement());
+                entries.compute(hash, (h, entryList) -> {
+                    if (findEntry(entryList, key) != null) {
+                        throw ErrorCreator.createError(TABLE_HAS_A_VALUE_FOR_KEY_ERROR,
+                                ErrorHelper.getErrorDetails(ErrorCodes.TABLE_HAS_A_VALUE_FOR_KEY, key));
+                    }
+                    return withEntry(entryList, null, entry);
+                });
+                syncEntry(entry, false);
+            } finally {
+                structureLock.unlock(stamp);
             }
-
-            putNewData(key, data, entry, hash);
         }
 
         @Override
         public V getData(K key) {
-            List<Map.Entry<K, V>> entryList = entries.get(TableUtils.hash(key, null));
-            if (entryList == null) {
-                return null;
-            }
-            for (Map.Entry<K, V> entry: entryList) {
-                if (isEqual(key, entry.getKey())) {
-                    return entry.getValue();
-                }
-            }
-            return null;
+            TableEntry<K, V> entry = findEntry(entries.get(TableUtils.hash(key, null)), key);
+            return entry == null ? null : entry.getValue();
         }
 
         @Override
         public V putData(K key, V data) {
-            Map.Entry<K, V> entry = new AbstractMap.SimpleEntry(key, data);
             Object actualKey = this.keyWrapper.wrapKey((MapValue) data);
             Long actualHash = TableUtils.hash(actualKey, null);
             Long hash = TableUtils.hash(key, null);
@@ -661,22 +722,7 @@ public class TableValueImpl<K, V> implements TableValue<K, V> {
                 throw ErrorCreator.createError(TABLE_KEY_NOT_FOUND_ERROR,
                         ErrorHelper.getErrorDetails(ErrorCodes.KEY_NOT_FOUND_IN_VALUE, key, data));
             }
-
-            if (entries.containsKey(hash)) {
-                return updateExistingEntry(key, data, entry, hash);
-            }
-            return putNewData(key, data, entry, hash);
-        }
-
-        private V putNewData(K key, V value, Map.Entry<K, V> entry, Long hash) {
-            List<V> data = new ArrayList<>();
-            data.add(value);
-            updateIndexKeyMappings(hash, key, value);
-            List<Map.Entry<K, V>> entryList = new ArrayList<>();
-            entryList.add(entry);
-            entries.put(hash, entryList);
-            values.put(hash, data);
-            return data.get(0);
+            return putEntry(key, data, hash);
         }
 
         @Override
@@ -684,78 +730,61 @@ public class TableValueImpl<K, V> implements TableValue<K, V> {
             MapValue dataMap = (MapValue) data;
             checkInherentTypeViolation(dataMap, tableType);
             K key = this.keyWrapper.wrapKey(dataMap);
-            Map.Entry<K, V> entry = new AbstractMap.SimpleEntry<>(key, data);
-            Long hash = TableUtils.hash(key, null);
+            return putEntry(key, data, TableUtils.hash(key, null));
+        }
 
-            if (entries.containsKey(hash)) {
-                return updateExistingEntry(key, data, entry, hash);
-            }
-            return putNewData(key, data, entry, hash);
-        }
-
-        private V updateExistingEntry(K key, V data, Map.Entry<K, V> entry, Long hash) {
-            updateIndexKeyMappings(hash, key, data);
-            List<V> valueList = values.get(hash);
-            List<Map.Entry<K, V>> entryList = entries.get(hash);
-            for (Map.Entry<K, V> extEntry: entryList) {
-                // Handle hash-collided entries
-                if (TypeChecker.isEqual(key, extEntry.getKey())) {
-                    entryList.remove(extEntry);
-                    valueList.remove(extEntry.getValue());
-                    break;
-                }
+        private V putEntry(K key, V data, Long hash) {
+            List<TableEntry<K, V>> updatedEntry = new ArrayList<>(1);
+
+            long stamp = structureLock.readLock();
+            try {
+                entries.compute(hash, (h, entryList) -> {
+                    TableEntry<K, V> existingEntry = findEntry(entryList, key);
+                    if (existingEntry != null) {
+                        existingEntry.value = data;
+                        updatedEntry.add(existingEntry);
+                        return entryList;
+                    }
+                    TableEntry<K, V> entry = new TableEntry<>(key, data, noOfAddedEntries.getAndIncrement());
+                    updatedEntry.add(entry);
+                    return withEntry(entryList, null, entry);
+                });
+                syncEntry(updatedEntry.get(0), false);
+            } finally {
+                structureLock.unlockRead(stamp);
             }
-            entryList.add(entry);
-            values.get(hash).add(data);
             return data;
         }
 
         @Override
         public V remove(K key) {
-            keyValues.remove(key);
             Long hash = TableUtils.hash(key, null);
-            List<Map.Entry<K, V>> entryList = entries.get(hash);
-            if (entryList != null && entryList.size() > 1) {
-                for (Map.Entry<K, V> entry: entryList) {
-                    if (isEqual(key, entry.getKey())) {
-                        List<V> valueList = values.get(hash);
-                        valueList.remove(entry.getValue());
-                        entryList.remove(entry);
-                        Long index = keyToIndexMap.remove(key);
-                        indexToKeyMap.remove(index);
-                        if (index != null && index == noOfAddedEntries - 1) {
-                            noOfAddedEntries--;
-                        }
-                        return entry.getValue();
+            List<TableEntry<K, V>> removedEntry = new ArrayList<>(1);
+
+            long stamp = structureLock.readLock();
+            try {
+                entries.computeIfPresent(hash, (h, entryList) -> {
+                    TableEntry<K, V> entry = findEntry(entryList, key);
+                    if (entry == null) {
+                        return entryList;
                     }
+                    removedEntry.add(entry);
+                    return withEntry(entryList, entry, null);
+                });
+                if (removedEntry.isEmpty()) {
+                    return null;
                 }
+                syncEntry(removedEntry.get(0), true);
+            } finally {
+                structureLock.unlockRead(stamp);
             }
-            if (entryList != null) {
-                Long index = keyToIndexMap.remove(entryList.get(0).getKey());
-                indexToKeyMap.remove(index);
-                if (index != null && index == noOfAddedEntries - 1) {
-                    noOfAddedEntries--;
-                }
-            }
-            entries.remove(hash);
-            List<V> removedValue = values.remove(hash);
-            if (removedValue == null) {
-                return null;
-            }
-            return removedValue.get(0);
+            // The member of an entry is not replaced once the entry is out of its bucket.
+            return removedEntry.get(0).getValue();
         }
 
         @Override
         public boolean containsKey(K key) {
-            if (entries.containsKey(TableUtils.hash(key, null))) {
-                List<Map.Entry<K, V>> entryList = entries.get(TableUtils.hash(key, null));
-                for (Map.Entry<K, V> entry: entryList) {
-                    if (isEqual(entry.getKey(), key)) {
-                        return true;
-                    }
-                }
-            }
-            return false;
+            return findEntry(entries.get(TableUtils.hash(key, null)), key) != null;
         }
 
         @Override
@@ -763,6 +792,37 @@ public class TableValueImpl<K, V> implements TableValue<K, V> {
             return keyType;
         }
 
+        private TableEntry<K, V> findEntry(List<TableEntry<K, V>> entryList, K key) {
+            if (entryList == null) {
+                return null;
+            }
+            // Handle hash-collided entries
+            for (TableEntry<K, V> entry : entryList) {
+                if (isEqual(key, entry.getKey())) {
+                    return entry;
+                }
+            }
+            return null;
+        }
+
+        // Returns a copy of the bucket with oldEntry replaced by newEntry, or null if the bucket becomes empty.
+        private List<TableEntry<K, V>> withEntry(List<TableEntry<K, V>> entryList, TableEntry<K, V> oldEntry,
+                                                 TableEntry<K, V> newEntry) {
+            if (entryList == null) {
+                return List.of(newEntry);
+            }
+            List<TableEntry<K, V>> newEntryList = new ArrayList<>(entryList.size() + 1);
+            for (TableEntry<K, V> entry : entryList) {
+                if (entry != oldEntry) {
+                    newEntryList.add(entry);
+                }
+            }
+            if (newEntry != null) {
+                newEntryList.add(newEntry);
+            }
+            return newEntryList.isEmpty() ? null : List.copyOf(newEntryList);
+        }
+
         private class DefaultKeyWrapper {
 
             public DefaultKeyWrapper() {
@@ -808,25 +868,167 @@ public class TableValueImpl<K, V> implements TableValue<K, V> {
         }
     }
 
-    // This method updates the indexes and the order required by the iterators
-    private void updateIndexKeyMappings(Long hash, K key, V value) {
-        if (entries.containsKey(hash)) {
-            List<Map.Entry<K, V>> entryList = entries.get(hash);
-            for (Map.Entry<K, V> entry: entryList) {
-                if (TypeChecker.isEqual(entry.getKey(), key)) {
-                    long index = keyToIndexMap.remove(entry.getKey());
-                    keyToIndexMap.put(key, index);
-                    indexToKeyMap.put(index, key);
-                    keyValues.remove(entry.getKey());
-                    keyValues.put(key, value);
-                    return;
+    /**
+     * Creates a secondary index on the given column, unless one already exists. Only required {@code int},
+     * {@code string} and {@code boolean} fields that are read-only in the member type can be indexed, since the index
+     * is maintained only when members are added or removed.
+     *
+     * @param fieldName name of the column
+     * @param sorted    whether the index should also answer range conditions
+     * @return true if the column is indexed
+     */
+    public boolean createIndex(String fieldName, boolean sorted) {
+        return getIndexableColumnType(fieldName) != null && getOrCreateIndex(StringUtils.fromString(fieldName),
+                sorted) != null;
+    }
+
+    /**
+     * Returns the members whose value for the given column satisfies {@code column <operator> value}, as a table of
+     * the same type, looking them up through the primary key or a secondary index created on the column with
+     * {@link #createIndex(String, boolean)}. Indexes are never created here. If the condition cannot be answered
+     * that way, this table itself is returned, so callers must still apply the condition to the members of the
+     * result.
+     *
+     * @param fieldName name of the column
+     * @param operator  one of {@code ==}, {@code <}, {@code <=}, {@code >} and {@code >=}
+     * @param value     value to compare the column with
+     * @return table with the matching members, or this table
+     */
+    public BTable<K, V> scanIndex(BString fieldName, BString operator, Object value) {
+        TableIndex.Operator indexOperator = TableIndex.Operator.fromString(operator.getValue());
+        Type columnType = getIndexableColumnType(fieldName.getValue());
+        if (indexOperator == null || columnType == null) {
+            return this;
+        }
+        Object lookupValue = getLookupValue(columnType, value);
+        if (lookupValue == null) {
+            return this;
+        }
+
+        List<V> members;
+        if (indexOperator == TableIndex.Operator.EQUAL && fieldNames.length == 1 &&
+                fieldNames[0].equals(fieldName.getValue())) {
+            V member = valueHolder.getData((K) lookupValue);
+            members = member == null ? List.of() : List.of(member);
+        } else {
+            TableIndex<V> index = findIndex(fieldName, indexOperator != TableIndex.Operator.EQUAL);
+            if (index == null) {
+                return this;
+            }
+            members = index.lookup(indexOperator, lookupValue);
+        }
+
+        TableValueImpl<K, V> result = new TableValueImpl<>(tableType, new ArrayValueImpl(fieldNames, false));
+        result.type = type;
+        for (V member : members) {
+            result.valueHolder.addData(member);
+        }
+        return result;
+    }
+
+    private Type getIndexableColumnType(String fieldName) {
+        Type constraintType = getImpliedType(tableType.getConstrainedType());
+        if (constraintType.getTag() != TypeTags.RECORD_TYPE_TAG) {
+            return null;
+        }
+        Field field = ((BRecordType) constraintType).getFields().get(fieldName);
+        if (field == null || SymbolFlags.isFlagOn(field.getFlags(), SymbolFlags.OPTIONAL) ||
+                !(constraintType.isReadOnly() || SymbolFlags.isFlagOn(field.getFlags(), SymbolFlags.READONLY))) {
+            return null;
+        }
+        Type fieldType = getImpliedType(field.getFieldType());
+        return switch (fieldType.getTag()) {
+            case TypeTags.INT_TAG, TypeTags.STRING_TAG, TypeTags.BOOLEAN_TAG -> fieldType;
+            default -> null;
+        };
+    }
+
+    private static Object getLookupValue(Type columnType, Object value) {
+        return switch (columnType.getTag()) {
+            case TypeTags.INT_TAG -> value instanceof Integer byteValue ? (Object) byteValue.longValue() :
+                    value instanceof Long ? value : null;
+            case TypeTags.STRING_TAG -> value instanceof BString ? value : null;
+            default -> value instanceof Boolean ? value : null;
+        };
+    }
+
+    private TableIndex<V> getOrCreateIndex(BString fieldName, boolean sorted) {
+        TableIndex<V> index = findIndex(fieldName, sorted);
+        if (index != null) {
+            return index;
+        }
+
+        // Members are not updated while the index is being built, so that none of them is missed.
+        long stamp = structureLock.writeLock();
+        try {
+            index = findIndex(fieldName, sorted);
+            if (index != null) {
+                return index;
+            }
+            index = sorted ? new TableIndex.SortedIndex<>(fieldName) : new TableIndex.HashIndex<>(fieldName);
+            for (TableEntry<K, V> entry : entriesInOrder.values()) {
+                index.add(entry.position, entry.getValue(), getColumnValue(entry.getValue(), fieldName));
+            }
+            indexes.add(index);
+            return index;
+        } finally {
+            structureLock.unlockWrite(stamp);
+        }
+    }
+
+    private TableIndex<V> findIndex(BString fieldName, boolean sorted) {
+        for (TableIndex<V> index : indexes) {
+            if (index.fieldName.equals(fieldName) && (!sorted || index instanceof TableIndex.SortedIndex)) {
+                return index;
+            }
+        }
+        return null;
+    }
+
+    private static Object getColumnValue(Object member, BString fieldName) {
+        return ((MapValue<?, ?>) member).get(fieldName);
+    }
+
+    private void addToIndexes(long position, V member) {
+        for (TableIndex<V> index : indexes) {
+            index.add(position, member, getColumnValue(member, index.fieldName));
+        }
+    }
+
+    private void removeFromIndexes(V member) {
+        for (TableIndex<V> index : indexes) {
+            index.remove(member, getColumnValue(member, index.fieldName));
+        }
+    }
+
+    // Brings the iteration order, the indexes and the member count up to date with an entry after it is added to,
+    // updated in or removed from its bucket. The latest member of the entry is synced each time, so concurrent
+    // updates of the same entry may be synced in any order.
+    private void syncEntry(TableEntry<K, V> entry, boolean removed) {
+        synchronized (entry) {
+            if (removed) {
+                entry.removed = true;
+            }
+            V member = entry.removed ? null : entry.value;
+            if (entry.indexedValue != member) {
+                if (entry.indexedValue != null) {
+                    removeFromIndexes(entry.indexedValue);
                 }
+                if (member != null) {
+                    addToIndexes(entry.position, member);
+                }
+                entry.indexedValue = member;
+            }
+            if (entry.removed && entry.inOrder) {
+                entriesInOrder.remove(entry.position);
+                noOfEntries.decrement();
+                entry.inOrder = false;
+            } else if (!entry.removed && !entry.inOrder) {
+                entriesInOrder.put(entry.position, entry);
+                noOfEntries.increment();
+                entry.inOrder = true;
             }
         }
-        keyToIndexMap.put(key, noOfAddedEntries);
-        indexToKeyMap.put(noOfAddedEntries, key);
-        keyValues.put(key, value);
-        noOfAddedEntries++;
     }
 
     // This method checks for inherent table type violation
@@ -0,0 +1,187 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.ballerina.runtime.test;
+
+import io.ballerina.runtime.api.async.Callback;
+import io.ballerina.runtime.api.constants.RuntimeConstants;
+import io.ballerina.runtime.api.values.BError;
+import io.ballerina.runtime.internal.scheduling.BLangThreadFactory;
+import io.ballerina.runtime.internal.scheduling.Scheduler;
+import io.ballerina.runtime.internal.scheduling.State;
+import io.ballerina.runtime.internal.scheduling.Strand;
+import org.testng.Assert;
+import org.testng.SkipException;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Test cases for the virtual threads used by the `virtual-threads` scheduler mode.
+ */
+public class BLangThreadFactoryTests {
+
+    private static final boolean VIRTUAL_THREADS_SUPPORTED = Runtime.version().feature() >= 21;
+
+    @Test
+    void testVirtualThreadFactory() throws Exception {
+        ThreadFactory factory = BLangThreadFactory.newVirtualThreadFactory("test-vexec");
+        if (!VIRTUAL_THREADS_SUPPORTED) {
+            // The scheduler falls back to the default mode.
+            Assert.assertNull(factory);
+            return;
+        }
+        Assert.assertNotNull(factory);
+        Thread thread = factory.newThread(() -> { });
+        Assert.assertEquals(thread.getName(), "test-vexec-0");
+        Assert.assertTrue((Boolean) Thread.class.getMethod("isVirtual").invoke(thread));
+        Assert.assertEquals(factory.newThread(() -> { }).getName(), "test-vexec-1");
+    }
+
+    @Test(timeOut = 60000)
+    void testBlockedVirtualThreadsDoNotHoldCarrierThreads() throws InterruptedException {
+        ThreadFactory factory = BLangThreadFactory.newVirtualThreadFactory("test-vexec");
+        if (factory == null) {
+            return;
+        }
+        // Many more threads than carrier threads block at once, as strands blocked in Java calls do.
+        int threadCount = Runtime.getRuntime().availableProcessors() * 100;
+        CountDownLatch allBlocked = new CountDownLatch(threadCount);
+        CountDownLatch release = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < threadCount; i++) {
+            Thread thread = factory.newThread(() -> {
+                allBlocked.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        Assert.assertTrue(allBlocked.await(30, TimeUnit.SECONDS));
+        release.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+    }
+
+    @Test(timeOut = 120000)
+    void testSchedulerInVirtualThreadsMode() throws IOException, InterruptedException {
+        if (!VIRTUAL_THREADS_SUPPORTED) {
+            throw new SkipException("virtual threads are not supported by the current Java runtime");
+        }
+        // The scheduler mode is read from the environment once, hence the scheduler is run in a JVM of its own.
+        ProcessBuilder processBuilder = new ProcessBuilder(
+                System.getProperty("java.home") + File.separator + "bin" + File.separator + "java",
+                "-cp", System.getProperty("java.class.path"), VirtualThreadsSchedulerRun.class.getName());
+        processBuilder.environment().put(RuntimeConstants.BALLERINA_SCHEDULER_MODE_ENV_VAR,
+                RuntimeConstants.SCHEDULER_MODE_VIRTUAL_THREADS);
+        processBuilder.redirectErrorStream(true);
+        Process process = processBuilder.start();
+        String output = new String(process.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+        Assert.assertTrue(process.waitFor(60, TimeUnit.SECONDS), output);
+        Assert.assertEquals(process.exitValue(), 0, output);
+        Assert.assertTrue(output.contains("completed strands: " + VirtualThreadsSchedulerRun.STRANDS), output);
+    }
+
+    /**
+     * Runs strands that block in a Java call and then yield until a Java thread resumes them, as a strand does with
+     * an asynchronous interop call.
+     */
+    static class VirtualThreadsSchedulerRun {
+
+        static final int STRANDS = 200;
+
+        public static void main(String[] args) throws Exception {
+            Scheduler scheduler = new Scheduler(2, false);
+            // Each strand waits until all of them are blocked, which needs a thread per strand.
+            CountDownLatch allBlocked = new CountDownLatch(STRANDS);
+            AtomicInteger completed = new AtomicInteger();
+            List<String> failures = new ArrayList<>();
+            Callback callback = new Callback() {
+                @Override
+                public void notifySuccess(Object result) {
+                    completed.incrementAndGet();
+                }
+
+                @Override
+                public void notifyFailure(BError error) {
+                    addFailure(failures, error.getMessage());
+                }
+            };
+            for (int i = 0; i < STRANDS; i++) {
+                Function<Object[], Object> function = params -> {
+                    Strand strand = (Strand) params[0];
+                    if (!isVirtual(Thread.currentThread())) {
+                        addFailure(failures, "strand did not run on a virtual thread");
+                    }
+                    if (strand.returnValue != null) {
+                        // Resumed after the Java thread completed the call.
+                        return strand.returnValue;
+                    }
+                    allBlocked.countDown();
+                    try {
+                        if (!allBlocked.await(30, TimeUnit.SECONDS)) {
+                            addFailure(failures, "strands were not blocked at the same time");
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    strand.blockedOnExtern = true;
+                    strand.setState(State.BLOCK_AND_YIELD);
+                    new Thread(() -> {
+                        strand.returnValue = 1L;
+                        scheduler.unblockStrand(strand);
+                    }).start();
+                    return null;
+                };
+                scheduler.schedule(new Object[1], function, null, callback, "test-" + i, null);
+            }
+            scheduler.start();
+
+            failures.forEach(System.out::println);
+            System.out.println("completed strands: " + completed.get());
+            System.exit(failures.isEmpty() ? 0 : 1);
+        }
+
+        private static void addFailure(List<String> failures, String failure) {
+            synchronized (failures) {
+                failures.add(failure);
+            }
+        }
+
+        private static boolean isVirtual(Thread thread) {
+            try {
+                return (Boolean) Thread.class.getMethod("isVirtual").invoke(thread);
+            } catch (ReflectiveOperationException e) {
+                return false;
+            }
+        }
+    }
+}
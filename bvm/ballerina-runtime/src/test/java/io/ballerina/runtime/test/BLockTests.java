@@ -0,0 +1,241 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.ballerina.runtime.test;
+
+import io.ballerina.runtime.internal.BLock;
+import io.ballerina.runtime.internal.BLockStore;
+import io.ballerina.runtime.internal.scheduling.Scheduler;
+import io.ballerina.runtime.internal.scheduling.State;
+import io.ballerina.runtime.internal.scheduling.Strand;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Test cases for {@link BLock} and {@link BLockStore}.
+ */
+public class BLockTests {
+
+    private final Scheduler scheduler = new Scheduler(1, false);
+
+    private Strand createStrand() {
+        Function<Object[], Object> function = params -> null;
+        return scheduler.schedule(new Object[1], function, null, null, "test", null).strand;
+    }
+
+    // Acquires the lock as the generated code does, where a strand that failed to acquire it retries once it is
+    // unblocked.
+    private static void acquire(BLock lock, Strand strand, boolean shared) {
+        while (!(shared ? lock.lockShared(strand) : lock.lock(strand))) {
+            while (strand.getState() != State.YIELD) {
+                Thread.onSpinWait();
+            }
+            strand.setState(State.RUNNABLE);
+        }
+    }
+
+    @Test
+    void testReentrantLock() {
+        BLock lock = new BLock();
+        Strand owner = createStrand();
+        Strand other = createStrand();
+
+        Assert.assertTrue(lock.lock(owner));
+        Assert.assertTrue(lock.lock(owner));
+        Assert.assertEquals(owner.acquiredLockCount, 2);
+        Assert.assertFalse(lock.lock(other));
+        lock.unlock();
+        // The lock is held until the owner releases each of its holds.
+        Assert.assertEquals(other.getState(), State.BLOCK_AND_YIELD);
+        Assert.assertFalse(lock.isLockFree());
+        lock.unlock();
+        Assert.assertEquals(other.getState(), State.YIELD);
+        Assert.assertTrue(lock.lock(other));
+        Assert.assertTrue(lock.lockedBySameContext(other));
+        lock.unlock();
+        Assert.assertTrue(lock.isLockFree());
+        Assert.assertEquals(owner.acquiredLockCount, 0);
+        Assert.assertEquals(other.acquiredLockCount, 0);
+    }
+
+    @Test(timeOut = 60000)
+    void testConcurrentExclusiveHolds() throws InterruptedException {
+        BLock lock = new BLock();
+        long[] counter = new long[1];
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            Strand strand = createStrand();
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int j = 0; j < 10000; j++) {
+                    acquire(lock, strand, false);
+                    // A nested lock statement of the same lock.
+                    acquire(lock, strand, false);
+                    counter[0]++;
+                    lock.unlock();
+                    lock.unlock();
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        Assert.assertEquals(counter[0], 80000L);
+        Assert.assertTrue(lock.isLockFree());
+    }
+
+    @Test
+    void testLockStore() throws InterruptedException {
+        BLockStore lockStore = new BLockStore();
+        BLock[] locks = new BLock[8];
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < locks.length; i++) {
+            int lockId = locks.length - 1 - i;
+            Thread thread = new Thread(() -> locks[lockId] = lockStore.getLock(lockId));
+            thread.start();
+            threads.add(thread);
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        for (int lockId = 0; lockId < locks.length; lockId++) {
+            Assert.assertSame(lockStore.getLock(lockId), locks[lockId]);
+            for (int otherId = 0; otherId < lockId; otherId++) {
+                Assert.assertNotSame(locks[lockId], locks[otherId]);
+            }
+        }
+    }
+
+    @Test
+    void testWaitingWriterIsPreferred() {
+        BLock lock = new BLock();
+        Strand reader1 = createStrand();
+        Strand reader2 = createStrand();
+        Strand writer = createStrand();
+        Strand reader3 = createStrand();
+
+        Assert.assertTrue(lock.lockShared(reader1));
+        Assert.assertTrue(lock.lockShared(reader2));
+        Assert.assertFalse(lock.lock(writer));
+        Assert.assertEquals(writer.getState(), State.BLOCK_AND_YIELD);
+        // New shared holds wait behind the waiting writer.
+        Assert.assertFalse(lock.lockShared(reader3));
+
+        lock.unlockShared(reader1);
+        Assert.assertEquals(writer.getState(), State.BLOCK_AND_YIELD);
+        lock.unlockShared(reader2);
+        Assert.assertEquals(writer.getState(), State.YIELD);
+        Assert.assertEquals(reader3.getState(), State.BLOCK_AND_YIELD);
+        Assert.assertTrue(lock.lock(writer));
+        Assert.assertTrue(lock.lockedBySameContext(writer));
+
+        lock.unlock();
+        Assert.assertEquals(reader3.getState(), State.YIELD);
+        Assert.assertTrue(lock.lockShared(reader3));
+        lock.unlockShared(reader3);
+        Assert.assertTrue(lock.isLockFree());
+        Assert.assertEquals(reader3.acquiredLockCount, 0);
+        Assert.assertEquals(writer.acquiredLockCount, 0);
+    }
+
+    @Test
+    void testSharedHoldWithinExclusiveHold() {
+        BLock lock = new BLock();
+        Strand owner = createStrand();
+        Strand reader = createStrand();
+
+        Assert.assertTrue(lock.lock(owner));
+        // A read-only lock statement nested in a lock statement of the same lock re-acquires it exclusively.
+        Assert.assertTrue(lock.lockShared(owner));
+        Assert.assertFalse(lock.lockShared(reader));
+        lock.unlockShared(owner);
+        Assert.assertTrue(lock.lockedBySameContext(owner));
+        lock.unlock();
+        Assert.assertEquals(reader.getState(), State.YIELD);
+        Assert.assertTrue(lock.lockShared(reader));
+        lock.unlockShared(reader);
+        Assert.assertTrue(lock.isLockFree());
+        Assert.assertEquals(owner.acquiredLockCount, 0);
+    }
+
+    @Test(timeOut = 60000)
+    void testConcurrentSharedAndExclusiveHolds() throws InterruptedException {
+        BLock lock = new BLock();
+        AtomicInteger writers = new AtomicInteger();
+        AtomicInteger readers = new AtomicInteger();
+        AtomicInteger violations = new AtomicInteger();
+        long[] writes = new long[1];
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            boolean writer = i % 4 == 0;
+            Strand strand = createStrand();
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int j = 0; j < 10000; j++) {
+                    acquire(lock, strand, !writer);
+                    if (writer) {
+                        if (writers.incrementAndGet() != 1 || readers.get() != 0) {
+                            violations.incrementAndGet();
+                        }
+                        writes[0]++;
+                        writers.decrementAndGet();
+                        lock.unlock();
+                    } else {
+                        readers.incrementAndGet();
+                        if (writers.get() != 0) {
+                            violations.incrementAndGet();
+                        }
+                        readers.decrementAndGet();
+                        lock.unlockShared(strand);
+                    }
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        Assert.assertEquals(violations.get(), 0);
+        Assert.assertEquals(writes[0], 20000L);
+        Assert.assertTrue(lock.isLockFree());
+    }
+}
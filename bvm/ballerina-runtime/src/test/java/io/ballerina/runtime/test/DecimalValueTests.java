@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.ballerina.runtime.test;
+
+import io.ballerina.runtime.api.values.BError;
+import io.ballerina.runtime.internal.values.DecimalValue;
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.Random;
+import java.util.function.BinaryOperator;
+
+/**
+ * Test cases for the arithmetic of {@link DecimalValue}s, which must give the results of the {@link BigDecimal}
+ * operations in {@link MathContext#DECIMAL128} whether or not the values are held compactly.
+ */
+public class DecimalValueTests {
+
+    private static final String[] VALUES = {"0", "0.00", "1", "-1", "0.1", "12.50", "-3.333", "1e3", "1E-400",
+            "999999999999999999", "-999999999999999999", "9223372036854775807", "123456789.123456789",
+            "1.000000000000000000000000000000001", "9.999999999999999999999999999999999e6144", "5e-6140"};
+
+    @DataProvider
+    public Object[][] operations() {
+        return new Object[][]{
+                {"+", (BinaryOperator<DecimalValue>) DecimalValue::add,
+                        (BinaryOperator<BigDecimal>) (x, y) -> x.add(y, MathContext.DECIMAL128)},
+                {"-", (BinaryOperator<DecimalValue>) DecimalValue::subtract,
+                        (BinaryOperator<BigDecimal>) (x, y) -> x.subtract(y, MathContext.DECIMAL128)},
+                {"*", (BinaryOperator<DecimalValue>) DecimalValue::multiply,
+                        (BinaryOperator<BigDecimal>) (x, y) -> x.multiply(y, MathContext.DECIMAL128)},
+        };
+    }
+
+    @Test(dataProvider = "operations")
+    void testOperationsMatchBigDecimal(String operator, BinaryOperator<DecimalValue> operation,
+                                       BinaryOperator<BigDecimal> expectedOperation) {
+        Random random = new Random(42);
+        for (int i = 0; i < 20000; i++) {
+            String x = i < VALUES.length * VALUES.length ? VALUES[i / VALUES.length] : randomDecimal(random);
+            String y = i < VALUES.length * VALUES.length ? VALUES[i % VALUES.length] : randomDecimal(random);
+            assertOperation(x + " " + operator + " " + y, operation, expectedOperation, x, y);
+        }
+    }
+
+    private static void assertOperation(String expression, BinaryOperator<DecimalValue> operation,
+                                        BinaryOperator<BigDecimal> expectedOperation, String x, String y) {
+        DecimalValue lhs = new DecimalValue(x);
+        DecimalValue rhs = new DecimalValue(y);
+        if (!lhs.booleanValue() || !rhs.booleanValue()) {
+            // Operations with zero return one of the operands as is.
+            return;
+        }
+        Object expected;
+        try {
+            expected = new DecimalValue(expectedOperation.apply(lhs.decimalValue(), rhs.decimalValue()))
+                    .decimalValue();
+        } catch (RuntimeException e) {
+            expected = e.getMessage();
+        }
+        Object actual;
+        try {
+            // The negation of the negation is held compactly whenever the value fits.
+            actual = operation.apply(lhs.negate().negate(), rhs).decimalValue();
+        } catch (RuntimeException e) {
+            actual = e.getMessage();
+        }
+        // BigDecimal equality compares the unscaled values and the scales.
+        Assert.assertEquals(actual, expected, expression);
+    }
+
+    private static String randomDecimal(Random random) {
+        long unscaledValue = switch (random.nextInt(3)) {
+            case 0 -> random.nextInt(100000) - 50000;
+            case 1 -> random.nextLong() / (1L << random.nextInt(63));
+            default -> random.nextLong();
+        };
+        return BigDecimal.valueOf(unscaledValue, random.nextInt(40) - 10).toString();
+    }
+
+    @Test
+    void testValueOfLong() {
+        for (long value : new long[]{0, 7, -7, Long.MAX_VALUE, Long.MIN_VALUE, Long.MAX_VALUE / 10 + 1}) {
+            DecimalValue decimal = DecimalValue.valueOf(value);
+            Assert.assertEquals(decimal.decimalValue(), BigDecimal.valueOf(value).setScale(1));
+            Assert.assertEquals(decimal, new DecimalValue(BigDecimal.valueOf(value).setScale(1)));
+            Assert.assertEquals(decimal.hashCode(), new DecimalValue(decimal.decimalValue()).hashCode());
+        }
+    }
+
+    @Test
+    void testByteConversionErrorOfCompactValue() {
+        BError error = Assert.expectThrows(BError.class, () -> new DecimalValue("300.0").byteValue());
+        Assert.assertEquals(error.getDetails().toString(),
+                "{\"message\":\"'decimal' value '300' cannot be converted to 'byte'\"}");
+    }
+}
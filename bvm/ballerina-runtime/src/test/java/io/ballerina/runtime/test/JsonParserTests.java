@@ -0,0 +1,282 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.ballerina.runtime.test;
+
+import io.ballerina.runtime.api.Module;
+import io.ballerina.runtime.api.PredefinedTypes;
+import io.ballerina.runtime.api.creators.TypeCreator;
+import io.ballerina.runtime.api.flags.SymbolFlags;
+import io.ballerina.runtime.api.types.Field;
+import io.ballerina.runtime.api.types.Type;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.utils.ValueUtils;
+import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BError;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BObject;
+import io.ballerina.runtime.api.values.BString;
+import io.ballerina.runtime.internal.JsonParser;
+import io.ballerina.runtime.internal.TypeChecker;
+import io.ballerina.runtime.internal.scheduling.Scheduler;
+import io.ballerina.runtime.internal.scheduling.Strand;
+import io.ballerina.runtime.internal.types.BRecordType;
+import io.ballerina.runtime.internal.values.FPValue;
+import io.ballerina.runtime.internal.values.MapValue;
+import io.ballerina.runtime.internal.values.MapValueImpl;
+import io.ballerina.runtime.internal.values.PrimitiveMapValueImpl;
+import io.ballerina.runtime.internal.values.ReadOnlyUtils;
+import io.ballerina.runtime.internal.values.ValueCreator;
+import org.testng.Assert;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Test cases for parsing UTF-8 encoded JSON input streams with {@link JsonParser}.
+ */
+public class JsonParserTests {
+
+    private static final Module RECORD_MODULE = new Module("testorg", "json_parser_records", "1");
+    private final Map<String, BRecordType> recordTypes = new HashMap<>();
+    private BRecordType closedRecord;
+    private BRecordType openRecord;
+    private BRecordType readonlyRecord;
+
+    @BeforeClass
+    public void registerRecordTypes() {
+        // record {| int id; string name = "unknown"; string tag?; |}
+        Map<String, Field> closedFields = new LinkedHashMap<>();
+        closedFields.put("id", TypeCreator.createField(PredefinedTypes.TYPE_INT, "id", SymbolFlags.REQUIRED));
+        closedFields.put("name", TypeCreator.createField(PredefinedTypes.TYPE_STRING, "name", 0));
+        closedFields.put("tag", TypeCreator.createField(PredefinedTypes.TYPE_STRING, "tag", SymbolFlags.OPTIONAL));
+        closedRecord = registerRecordType("ClosedRecord", closedFields, null, true);
+        closedRecord.setDefaultValue("name",
+                new FPValue<>(args -> StringUtils.fromString("unknown"), PredefinedTypes.TYPE_STRING, null, false));
+
+        // record { float score; int...; }
+        Map<String, Field> openFields = new LinkedHashMap<>();
+        openFields.put("score", TypeCreator.createField(PredefinedTypes.TYPE_FLOAT, "score", SymbolFlags.REQUIRED));
+        openRecord = registerRecordType("OpenRecord", openFields, PredefinedTypes.TYPE_INT, false);
+
+        // record {| int[] values; |} & readonly
+        Map<String, Field> readonlyFields = new LinkedHashMap<>();
+        readonlyFields.put("values", TypeCreator.createField(TypeCreator.createArrayType(PredefinedTypes.TYPE_INT),
+                "values", SymbolFlags.REQUIRED));
+        BRecordType mutableRecord = registerRecordType("ReadonlyRecord", readonlyFields, null, true);
+        readonlyRecord = (BRecordType) ReadOnlyUtils.setImmutableTypeAndGetEffectiveType(mutableRecord);
+        recordTypes.put(readonlyRecord.getName(), readonlyRecord);
+
+        ValueCreator.addValueCreator(RECORD_MODULE.getOrg(), RECORD_MODULE.getName(),
+                RECORD_MODULE.getMajorVersion(), false, new ValueCreator() {
+                    @Override
+                    public MapValue<BString, Object> createRecordValue(String recordTypeName) {
+                        return new MapValueImpl<>(recordTypes.get(recordTypeName));
+                    }
+
+                    @Override
+                    public BObject createObjectValue(String objectTypeName, Scheduler scheduler, Strand parent,
+                                                     Map<String, Object> properties, Object[] args) {
+                        throw new UnsupportedOperationException();
+                    }
+
+                    @Override
+                    public BError createErrorValue(String errorTypeName, BString message, BError cause,
+                                                   Object details) {
+                        throw new UnsupportedOperationException();
+                    }
+
+                    @Override
+                    public Type getAnonType(int typeHash, String typeShape) {
+                        throw new UnsupportedOperationException();
+                    }
+                });
+    }
+
+    private BRecordType registerRecordType(String name, Map<String, Field> fields, Type restFieldType,
+                                           boolean sealed) {
+        BRecordType recordType = (BRecordType) TypeCreator.createRecordType(name, RECORD_MODULE, 0, fields,
+                restFieldType, sealed, 0);
+        recordTypes.put(name, recordType);
+        return recordType;
+    }
+
+    private static InputStream utf8(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @DataProvider
+    public Object[][] jsonInputs() {
+        Type intMap = TypeCreator.createMapType(PredefinedTypes.TYPE_INT);
+        Type intArrayMap = TypeCreator.createMapType(TypeCreator.createArrayType(PredefinedTypes.TYPE_INT));
+        Type tuple = TypeCreator.createTupleType(List.of(PredefinedTypes.TYPE_STRING, PredefinedTypes.TYPE_FLOAT),
+                PredefinedTypes.TYPE_BOOLEAN, 0, false);
+        Type union = TypeCreator.createUnionType(PredefinedTypes.TYPE_INT, PredefinedTypes.TYPE_STRING);
+        return new Object[][]{
+                {"{\"a\": 1, \"b\": {\"c\": [true, null, 1.5, -0.0, 2e3]}}", PredefinedTypes.TYPE_JSON},
+                {" [\"x\\ty\\u00e9\\\"\", \"日本語\", \"😀\"] ", PredefinedTypes.TYPE_JSON},
+                {"{\"a\":1,\"b\":-2,\"c\":9223372036854775807}", intMap},
+                {"{\"a\":[1,2],\n\"b\":[]}", intArrayMap},
+                {"[\"s\", 1.25, true, false]", tuple},
+                {"[1, \"two\", 3]", TypeCreator.createArrayType(union)},
+                {"\"text\"", PredefinedTypes.TYPE_STRING},
+                {"42", PredefinedTypes.TYPE_DECIMAL},
+                {"200", PredefinedTypes.TYPE_BYTE},
+        };
+    }
+
+    @Test(dataProvider = "jsonInputs")
+    void testStreamMatchesReaderParsing(String json, Type targetType) {
+        Object expected = JsonParser.parse(new StringReader(json), targetType);
+        Object actual = JsonParser.parse(utf8(json), "UTF-8", targetType);
+        Assert.assertTrue(TypeChecker.isEqual(actual, expected), actual + " != " + expected);
+        Assert.assertEquals(TypeChecker.getType(actual), TypeChecker.getType(expected));
+    }
+
+    @Test
+    void testLongStringsAcrossBuffers() {
+        String value = "éa😀".repeat(5000);
+        Object parsed = JsonParser.parse(utf8("{\"k\": [\"" + value + "\"]}"), "UTF-8", PredefinedTypes.TYPE_JSON);
+        BArray array = (BArray) ((BMap<?, ?>) parsed).get(StringUtils.fromString("k"));
+        Assert.assertEquals(array.getBString(0).getValue(), value);
+    }
+
+    @Test
+    void testPrimitiveMapStorage() {
+        Object parsed = JsonParser.parse(utf8("{\"a\": 1, \"b\": 2}"), "UTF-8",
+                TypeCreator.createMapType(PredefinedTypes.TYPE_INT));
+        Assert.assertTrue(parsed instanceof PrimitiveMapValueImpl);
+        Assert.assertEquals(((PrimitiveMapValueImpl<?, ?>) parsed).getUnboxedIntValue(StringUtils.fromString("b")), 2L);
+    }
+
+    @Test
+    void testInvalidUtf8IsReplaced() {
+        byte[] bytes = {'"', 'a', (byte) 0xC3, 'b', (byte) 0xFF, '"'};
+        Object parsed = JsonParser.parse(new ByteArrayInputStream(bytes), "UTF-8", PredefinedTypes.TYPE_STRING);
+        Assert.assertEquals(parsed.toString(), "a\uFFFDb\uFFFD");
+    }
+
+    @DataProvider
+    public Object[][] invalidInputs() {
+        Type intArray = TypeCreator.createArrayType(PredefinedTypes.TYPE_INT);
+        return new Object[][]{
+                {"", PredefinedTypes.TYPE_JSON, "empty JSON document at line: 1 column: 0"},
+                {"{\"a\": 1,\n \"b\" 2}", PredefinedTypes.TYPE_JSON, "expected ':' at line: 2 column: 6"},
+                {"[1, 2", PredefinedTypes.TYPE_JSON, "expected ',' or ']' at line: 1 column: 5"},
+                {"{\"a\": 300}", TypeCreator.createMapType(PredefinedTypes.TYPE_BYTE),
+                        "value '300' cannot be converted to 'byte' at line: 1 column: 9"},
+                {"[1] 2", PredefinedTypes.TYPE_JSON, "input stream has already ended at line: 1 column: 5"},
+                {"[[1], [2], [3]]", TypeCreator.createArrayType(intArray, 2),
+                        "'int[2][]' array size is not enough for the provided values"},
+        };
+    }
+
+    @Test(dataProvider = "invalidInputs")
+    void testInvalidInputs(String json, Type targetType, String message) {
+        try {
+            JsonParser.parse(utf8(json), "UTF-8", targetType);
+            Assert.fail("expected an error for " + json);
+        } catch (BError e) {
+            Assert.assertTrue(e.getMessage().startsWith(message), e.getMessage());
+        }
+    }
+
+    @DataProvider
+    public Object[][] recordInputs() {
+        return new Object[][]{
+                {"{\"id\": 1, \"name\": \"a\", \"tag\": \"t\"}", closedRecord},
+                {"{\"id\": 2}", closedRecord},
+                {"{\"tag\": \"t\", \"id\": 3}", closedRecord},
+                {"{\"score\": 1.5}", openRecord},
+                {"{\"count\": 4, \"score\": 2.5, \"total\": -1}", openRecord},
+                {"{\"values\": [1, 2, 3]}", readonlyRecord},
+        };
+    }
+
+    @Test(dataProvider = "recordInputs")
+    void testStreamMatchesReaderParsingForRecords(String json, BRecordType recordType) {
+        Object expected = JsonParser.parse(new StringReader(json), recordType);
+        Object converted = ValueUtils.convert(JsonParser.parse(new StringReader(json), PredefinedTypes.TYPE_JSON),
+                recordType);
+        Object actual = JsonParser.parse(utf8(json), "UTF-8", recordType);
+        Assert.assertTrue(TypeChecker.isEqual(actual, expected), actual + " != " + expected);
+        Assert.assertTrue(TypeChecker.isEqual(actual, converted), actual + " != " + converted);
+        Assert.assertEquals(TypeChecker.getType(actual), TypeChecker.getType(expected));
+        Assert.assertEquals(((BMap<?, ?>) actual).isFrozen(), recordType.isReadOnly());
+        Assert.assertEquals(((BMap<?, ?>) actual).isFrozen(), ((BMap<?, ?>) expected).isFrozen());
+        Assert.assertEquals(((BMap<?, ?>) actual).isFrozen(), ((BMap<?, ?>) converted).isFrozen());
+    }
+
+    @Test
+    void testRecordFieldDefaultsAndRestFields() {
+        BMap<?, ?> closed = (BMap<?, ?>) JsonParser.parse(utf8("{\"id\": 7}"), "UTF-8", closedRecord);
+        Assert.assertEquals(closed.get(StringUtils.fromString("name")).toString(), "unknown");
+        Assert.assertFalse(closed.containsKey(StringUtils.fromString("tag")));
+
+        BMap<?, ?> open = (BMap<?, ?>) JsonParser.parse(utf8("{\"score\": 1, \"extra\": 5}"), "UTF-8",
+                openRecord);
+        Assert.assertEquals(open.get(StringUtils.fromString("score")), 1.0d);
+        Assert.assertEquals(open.get(StringUtils.fromString("extra")), 5L);
+
+        BMap<?, ?> readonly = (BMap<?, ?>) JsonParser.parse(utf8("{\"values\": [1]}"), "UTF-8", readonlyRecord);
+        Assert.assertTrue(((BArray) readonly.get(StringUtils.fromString("values"))).isFrozen());
+    }
+
+    @DataProvider
+    public Object[][] invalidRecordInputs() {
+        return new Object[][]{
+                {"{\"name\": \"a\"}", closedRecord},
+                {"{\"id\": 1, \"other\": true}", closedRecord},
+                {"{\"id\": \"1\"}", closedRecord},
+                {"{\"score\": 1.5, \"extra\": \"x\"}", openRecord},
+                {"{\"count\": 1}", openRecord},
+                {"{\"values\": [1, \"2\"]}", readonlyRecord},
+        };
+    }
+
+    @Test(dataProvider = "invalidRecordInputs")
+    void testInvalidRecordInputs(String json, BRecordType recordType) {
+        String expected = parseError(() -> JsonParser.parse(new StringReader(json), recordType));
+        String actual = parseError(() -> JsonParser.parse(utf8(json), "UTF-8", recordType));
+        Assert.assertEquals(withoutPosition(actual), withoutPosition(expected));
+        Assert.assertThrows(BError.class, () -> ValueUtils.convert(
+                JsonParser.parse(new StringReader(json), PredefinedTypes.TYPE_JSON), recordType));
+    }
+
+    private static String parseError(Runnable parse) {
+        try {
+            parse.run();
+        } catch (BError e) {
+            return e.getMessage();
+        }
+        throw new AssertionError("expected a parse error");
+    }
+
+    private static String withoutPosition(String message) {
+        int index = message.indexOf(" at line: ");
+        return index < 0 ? message : message.substring(0, index);
+    }
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.ballerina.runtime.test;
+
+import io.ballerina.runtime.api.utils.JsonUtils;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BError;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BString;
+import io.ballerina.runtime.internal.TypeChecker;
+import io.ballerina.runtime.internal.values.LazyJsonValue;
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Test cases for the lazily materialized JSON values created by {@link JsonUtils#parseLazily}.
+ */
+public class LazyJsonValueTests {
+
+    private static final String JSON = "{\"id\": 7, \"name\": \"caf\\u00e9 日本\",\n" +
+            " \"items\": [ {\"price\": 1.50, \"tags\": [\"a\", \"b\"]}, null, true, -0.0, 2e3 ],\n" +
+            " \"empty\": {}, \"none\": []}";
+
+    private static Object parseLazily(String json) {
+        return JsonUtils.parseLazily(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static String serialize(Object json) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        JsonUtils.serialize(json, out, StandardCharsets.UTF_8);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private static BString key(String key) {
+        return StringUtils.fromString(key);
+    }
+
+    @DataProvider
+    public Object[][] jsonInputs() {
+        return new Object[][]{
+                {JSON},
+                {" [1, [2, [3, {\"a\": [\"}\", \"]\"]}]], \"\\\"\"] "},
+                {"\"text\""},
+                {"42"},
+                {"null"},
+        };
+    }
+
+    @Test(dataProvider = "jsonInputs")
+    void testLazyValueMatchesParsedValue(String json) {
+        Object expected = JsonUtils.parse(json);
+        Object actual = parseLazily(json);
+        Assert.assertTrue(TypeChecker.isEqual(actual, expected), actual + " != " + expected);
+        Assert.assertTrue(TypeChecker.isEqual(expected, parseLazily(json)));
+        Assert.assertEquals(StringUtils.getJsonString(parseLazily(json)), StringUtils.getJsonString(expected));
+        Assert.assertEquals(serialize(parseLazily(json)), json.strip());
+    }
+
+    @Test
+    void testOnlyAccessedValuesAreMaterialized() {
+        BMap<?, ?> root = (BMap<?, ?>) parseLazily(JSON);
+        Assert.assertNotNull(((LazyJsonValue) root).getSourceText());
+        BArray items = (BArray) root.get(key("items"));
+        Assert.assertNull(((LazyJsonValue) root).getSourceText());
+        Assert.assertEquals(((LazyJsonValue) items).getSourceText(),
+                "[ {\"price\": 1.50, \"tags\": [\"a\", \"b\"]}, null, true, -0.0, 2e3 ]");
+        Assert.assertEquals(items.size(), 5);
+        BMap<?, ?> item = (BMap<?, ?>) items.get(0);
+        Assert.assertEquals(((LazyJsonValue) item).getSourceText(), "{\"price\": 1.50, \"tags\": [\"a\", \"b\"]}");
+        Assert.assertEquals(serialize(item), "{\"price\": 1.50, \"tags\": [\"a\", \"b\"]}");
+        Assert.assertEquals(root.get(key("name")).toString(), "café 日本");
+    }
+
+    @Test
+    void testMutationMaterializesValue() {
+        BMap<BString, Object> root = (BMap<BString, Object>) parseLazily("{\"a\": {\"b\": 1}, \"c\": [ 1 ]}");
+        root.put(key("d"), 2L);
+        BArray array = (BArray) root.get(key("c"));
+        array.append(3L);
+        Assert.assertEquals(serialize(root), "{\"a\":{\"b\": 1}, \"c\":[1, 3], \"d\":2}");
+    }
+
+    @DataProvider
+    public Object[][] invalidInputs() {
+        return new Object[][]{
+                {"", "empty JSON document at line: 1 column: 1"},
+                {"{\"a\": [1, 2}", "unexpected '}' at line: 1 column: 12"},
+                {"[1, \"a]", "unexpected end of the JSON document at line: 1 column: 8"},
+                {"[1] 2", "JSON document has already ended at line: 1 column: 4"},
+        };
+    }
+
+    @Test(dataProvider = "invalidInputs")
+    void testInvalidInputs(String json, String message) {
+        try {
+            parseLazily(json);
+            Assert.fail("expected an error for " + json);
+        } catch (BError e) {
+            Assert.assertEquals(e.getMessage(), message);
+        }
+    }
+
+    @Test
+    void testInvalidMembersAreReportedWhenRead() {
+        BMap<?, ?> root = (BMap<?, ?>) parseLazily("{\"a\": 1,\n \"b\": [1 2]}");
+        BArray array = (BArray) root.get(key("b"));
+        try {
+            array.size();
+            Assert.fail("expected an error for the invalid array");
+        } catch (BError e) {
+            Assert.assertEquals(e.getMessage(), "expected ',' or ']' at line: 2 column: 10");
+        }
+    }
+
+    @DataProvider
+    public Object[][] invalidMembers() {
+        return new Object[][]{
+                {"{\"a\": {\"b\": [1, tru]}}", "unrecognized token 'tru' at line: 1 column: 17"},
+                {"[{\"a\": \"\\x\"}]", "expected escaped characters at line: 1 column: 10"},
+                {"[[1], {\"a\" 1}]", "expected ':' at line: 1 column: 12"},
+                {"{\"a\": [\"\\u12\"]}",
+                        "expected the hexadecimal value of a unicode character at line: 1 column: 13"},
+        };
+    }
+
+    @Test(dataProvider = "invalidMembers")
+    void testInvalidMembersAreReportedWhenSerialized(String json, String message) {
+        Object value = parseLazily(json);
+        try {
+            serialize(value);
+            Assert.fail("expected an error for " + json);
+        } catch (BError e) {
+            Assert.assertEquals(e.getMessage(), message);
+        }
+        try {
+            StringUtils.getJsonString(parseLazily(json));
+            Assert.fail("expected an error for " + json);
+        } catch (BError e) {
+            Assert.assertEquals(e.getMessage(), message);
+        }
+    }
+}
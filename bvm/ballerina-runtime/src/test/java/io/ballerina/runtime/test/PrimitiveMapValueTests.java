@@ -0,0 +1,216 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.ballerina.runtime.test;
+
+import io.ballerina.runtime.api.PredefinedTypes;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BString;
+import io.ballerina.runtime.internal.ValueUtils;
+import io.ballerina.runtime.internal.types.BMapType;
+import io.ballerina.runtime.internal.values.MapValueImpl;
+import io.ballerina.runtime.internal.values.PrimitiveMapValueImpl;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Test cases for {@link PrimitiveMapValueImpl}.
+ */
+public class PrimitiveMapValueTests {
+
+    private static BString key(int i) {
+        return StringUtils.fromString("k" + i);
+    }
+
+    @Test
+    void testFactorySelectsImplementation() {
+        Assert.assertTrue(ValueUtils.createMapValue(new BMapType(PredefinedTypes.TYPE_INT))
+                instanceof PrimitiveMapValueImpl);
+        Assert.assertTrue(ValueUtils.createMapValue(new BMapType(PredefinedTypes.TYPE_FLOAT))
+                instanceof PrimitiveMapValueImpl);
+        Assert.assertTrue(ValueUtils.createMapValue(new BMapType(PredefinedTypes.TYPE_BOOLEAN))
+                instanceof PrimitiveMapValueImpl);
+        Assert.assertFalse(ValueUtils.createMapValue(new BMapType(PredefinedTypes.TYPE_STRING))
+                instanceof PrimitiveMapValueImpl);
+    }
+
+    @Test
+    void testPutGetRemoveKeepsInsertionOrder() {
+        MapValueImpl<BString, Object> map = ValueUtils.createMapValue(new BMapType(PredefinedTypes.TYPE_INT));
+        Map<BString, Object> expected = new HashMap<>();
+        for (int i = 0; i < 1000; i++) {
+            map.put(key(i), (long) i);
+            expected.put(key(i), (long) i);
+        }
+        for (int i = 0; i < 1000; i += 3) {
+            Assert.assertEquals(map.remove(key(i)), (long) i);
+            expected.remove(key(i));
+        }
+        map.put(key(1), 42L);
+        expected.put(key(1), 42L);
+
+        Assert.assertEquals(map.size(), expected.size());
+        Assert.assertNull(map.get(key(0)));
+        Assert.assertFalse(map.containsKey(key(3)));
+        Assert.assertEquals(map.getUnboxedIntValue(key(1)), 42L);
+
+        List<Object> keys = new ArrayList<>(map.keySet());
+        int previous = -1;
+        for (Object k : keys) {
+            int index = Integer.parseInt(k.toString().substring(1));
+            Assert.assertTrue(index > previous);
+            Assert.assertEquals(map.get(k), expected.get(k));
+            previous = index;
+        }
+        Assert.assertEquals(map.getKeys().length, expected.size());
+    }
+
+    @Test
+    void testReuseOfRemovedPositions() {
+        MapValueImpl<BString, Object> map = ValueUtils.createMapValue(new BMapType(PredefinedTypes.TYPE_FLOAT));
+        for (int round = 0; round < 50; round++) {
+            for (int i = 0; i < 10; i++) {
+                map.put(key(i), round + i / 10.0);
+            }
+            for (int i = 0; i < 10; i++) {
+                Assert.assertEquals(map.getUnboxedFloatValue(key(i)), round + i / 10.0);
+                map.remove(key(i));
+            }
+            Assert.assertTrue(map.isEmpty());
+        }
+    }
+
+    @Test
+    void testEntryViewsWriteThrough() {
+        MapValueImpl<BString, Object> map = ValueUtils.createMapValue(new BMapType(PredefinedTypes.TYPE_BOOLEAN));
+        for (int i = 0; i < 4; i++) {
+            map.put(key(i), i % 2 == 0);
+        }
+        for (Map.Entry<BString, Object> entry : map.entrySet()) {
+            entry.setValue(!(Boolean) entry.getValue());
+        }
+        Iterator<BString> iterator = map.keySet().iterator();
+        iterator.next();
+        iterator.remove();
+
+        Assert.assertEquals(map.size(), 3);
+        Assert.assertTrue(map.getUnboxedBooleanValue(key(1)));
+        Assert.assertFalse(map.getUnboxedBooleanValue(key(2)));
+        Assert.assertFalse(map.containsKey(key(0)));
+    }
+
+    @Test
+    void testFallbackToBoxedStorage() {
+        MapValueImpl<BString, Object> map = ValueUtils.createMapValue(new BMapType(PredefinedTypes.TYPE_INT));
+        map.put(key(0), 1L);
+        map.put(key(1), 2);
+        map.put(key(2), 3L);
+
+        Assert.assertEquals(map.size(), 3);
+        Assert.assertEquals(map.get(key(0)), 1L);
+        Assert.assertEquals(map.get(key(1)), 2);
+        Assert.assertEquals(map.getUnboxedIntValue(key(2)), 3L);
+        Assert.assertEquals(new ArrayList<>(map.keySet()), List.of(key(0), key(1), key(2)));
+    }
+
+    @Test
+    void testCopyIsIndependent() {
+        MapValueImpl<BString, Object> map = ValueUtils.createMapValue(new BMapType(PredefinedTypes.TYPE_INT));
+        map.put(key(0), 1L);
+        @SuppressWarnings("unchecked")
+        MapValueImpl<BString, Object> copy = (MapValueImpl<BString, Object>) map.copy(new HashMap<>());
+        copy.put(key(0), 2L);
+        copy.put(key(1), 3L);
+
+        Assert.assertEquals(map.get(key(0)), 1L);
+        Assert.assertEquals(map.size(), 1);
+        Assert.assertEquals(copy.get(key(0)), 2L);
+        Assert.assertEquals(copy.size(), 2);
+    }
+
+    @Test
+    void testConditionalUpdatesMatchLinkedHashMap() {
+        MapValueImpl<BString, Object> map = ValueUtils.createMapValue(new BMapType(PredefinedTypes.TYPE_INT));
+        Map<BString, Object> expected = new LinkedHashMap<>();
+        for (Map<BString, Object> m : List.of(map, expected)) {
+            for (int i = 0; i < 6; i++) {
+                m.put(key(i), (long) i);
+            }
+            m.computeIfAbsent(key(6), k -> 60L);
+            m.computeIfAbsent(key(0), k -> 70L);
+            m.computeIfPresent(key(1), (k, v) -> (Long) v + 10);
+            m.computeIfPresent(key(2), (k, v) -> null);
+            m.compute(key(3), (k, v) -> v == null ? 0L : (Long) v * 2);
+            m.compute(key(7), (k, v) -> v == null ? 7L : (Long) v * 2);
+            m.merge(key(4), 5L, (v1, v2) -> (Long) v1 + (Long) v2);
+            m.merge(key(8), 8L, (v1, v2) -> (Long) v1 + (Long) v2);
+            m.remove(key(5), 4L);
+            m.remove(key(6), 60L);
+            m.replace(key(7), 7L, 17L);
+            m.replace(key(9), 9L);
+            m.replaceAll((k, v) -> (Long) v + 100);
+        }
+
+        Assert.assertEquals(new ArrayList<>(map.entrySet()), new ArrayList<>(expected.entrySet()));
+        Assert.assertEquals(map.getUnboxedIntValue(key(7)), 117L);
+    }
+
+    @Test
+    void testCloneDoesNotChangeMap() throws Exception {
+        MapValueImpl<BString, Object> map = ValueUtils.createMapValue(new BMapType(PredefinedTypes.TYPE_INT));
+        for (int i = 0; i < 100; i++) {
+            map.put(key(i), (long) i);
+        }
+        // Clones are reads, which may run alongside other reads of the same map.
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int round = 0; round < 1000; round++) {
+                        @SuppressWarnings("unchecked")
+                        MapValueImpl<BString, Object> clone = (MapValueImpl<BString, Object>) map.clone();
+                        Assert.assertEquals(clone.size(), 100);
+                        Assert.assertEquals(map.get(key(round % 100)), (long) (round % 100));
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        @SuppressWarnings("unchecked")
+        MapValueImpl<BString, Object> clone = (MapValueImpl<BString, Object>) map.clone();
+        clone.put(key(0), -1L);
+        Assert.assertEquals(map.get(key(0)), 0L);
+        Assert.assertTrue(clone instanceof PrimitiveMapValueImpl);
+        Assert.assertEquals(clone.getUnboxedIntValue(key(0)), -1L);
+    }
+}
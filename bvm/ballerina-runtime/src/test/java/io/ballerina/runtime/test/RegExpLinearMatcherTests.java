@@ -0,0 +1,194 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.ballerina.runtime.test;
+
+import io.ballerina.runtime.internal.regexp.CompiledRegExp;
+import io.ballerina.runtime.internal.regexp.RegExpFactory;
+import io.ballerina.runtime.internal.regexp.RegExpMatcher;
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.MatchResult;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Test cases for the regular expressions matched in linear time, whose matches must be the same as those of their
+ * Java patterns.
+ */
+public class RegExpLinearMatcherTests {
+
+    private static final String[] INPUTS = {"", "a", "abc", "aaab", "AbCabc", "ab\nab\r\n", "x😀y😀😀", "1a2b33c",
+            "hello world", "aaaaaaaaaaaaaaaaaaaab", "\t é É  "};
+
+    @DataProvider
+    public Object[][] linearRegExps() {
+        return new Object[][]{
+                {"abc"}, {"a|b|"}, {"a*b"}, {"a+?b"}, {"(a|ab)(c|bcd)?"}, {"(a)|(b)|(c)"}, {"[a-c]{2,3}"},
+                {"(?:ab){1,}"}, {"^a"}, {"b$"}, {"^$"}, {"."}, {"\\d+"}, {"\\s\\S"}, {"\\w+"}, {"(?i:abc)"},
+                {"(?i:a(?-i:b)c)"}, {"(?s:.)"}, {"[^a]*"}, {"😀+"}, {"x😀?"}, {"(\\p{Lu}\\p{Ll}*) (\\w+)"}, {"é"},
+                {"(a*b|c)+"}, {"((a)|b)+"}, {"(.*a){3}b"}, {""}, {"a??"}, {"(a|b)*?b"}, {"\\u{61}"}, {"&"}
+        };
+    }
+
+    @Test(dataProvider = "linearRegExps")
+    void testLinearMatchesOfJavaPattern(String regExp) {
+        for (int flags : new int[]{0, Pattern.UNICODE_CHARACTER_CLASS}) {
+            CompiledRegExp compiledRegExp = RegExpFactory.getCompiledRegExp(RegExpFactory.parse(regExp), flags);
+            Assert.assertTrue(compiledRegExp.isLinear(), regExp);
+            for (String input : INPUTS) {
+                assertSameMatches(compiledRegExp, input);
+            }
+        }
+    }
+
+    @Test
+    void testJavaPatternFallback() {
+        // Repetitions of subexpressions that match the empty string and the multiline flag use the Java pattern.
+        for (String regExp : new String[]{"(a*)*b", "(a|)+", "(?m:^a$)", "a{2000}"}) {
+            CompiledRegExp compiledRegExp = RegExpFactory.getCompiledRegExp(RegExpFactory.parse(regExp), 0);
+            Assert.assertFalse(compiledRegExp.isLinear(), regExp);
+            for (String input : INPUTS) {
+                assertSameMatches(compiledRegExp, input);
+            }
+        }
+    }
+
+    @Test(timeOut = 10000)
+    void testNoBacktracking() {
+        // Takes exponential time with a backtracking matcher.
+        CompiledRegExp compiledRegExp = RegExpFactory.getCompiledRegExp(RegExpFactory.parse("(.*a){12}b"), 0);
+        RegExpMatcher matcher = compiledRegExp.matcher("a".repeat(100000));
+        Assert.assertFalse(matcher.find(0));
+        Assert.assertFalse(matcher.region(0, 100000).matches());
+    }
+
+    @Test
+    void testNonAsciiCodePoints() {
+        for (String regExp : new String[]{"\\p{Lu}", "\\w", "[^a-z]", "(?i:é)", "[α-ω]", "."}) {
+            for (int flags : new int[]{0, Pattern.UNICODE_CHARACTER_CLASS}) {
+                CompiledRegExp compiledRegExp = RegExpFactory.getCompiledRegExp(RegExpFactory.parse(regExp), flags);
+                Assert.assertTrue(compiledRegExp.isLinear(), regExp);
+                // Each code point is matched twice, of which the second is looked up in the results of its block.
+                for (int i = 0; i < 2; i++) {
+                    for (int codePoint = 0x80; codePoint <= Character.MAX_CODE_POINT; codePoint += 61) {
+                        String input = Character.toString(codePoint);
+                        Assert.assertEquals(compiledRegExp.matcher(input).matches(),
+                                compiledRegExp.getPattern().matcher(input).matches(), regExp + " on " + codePoint);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void testConcurrentNonAsciiMatches() throws InterruptedException {
+        CompiledRegExp compiledRegExp =
+                RegExpFactory.getCompiledRegExp(RegExpFactory.parse("[\\p{Lu}\\p{Ll}\\p{Lo}]+"), 0);
+        Assert.assertTrue(compiledRegExp.isLinear());
+        String input = "ÀÉÎõü αβγ Жизнь 日本語 😀 " + "\u0100\u0250\u1E00".repeat(100);
+        List<String> expected = findAll(compiledRegExp.getPattern().matcher(input));
+        List<Thread> threads = new ArrayList<>();
+        List<List<String>> results = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            List<String> result = new ArrayList<>();
+            results.add(result);
+            Thread thread = new Thread(() -> result.addAll(findAll(compiledRegExp.matcher(input))));
+            thread.start();
+            threads.add(thread);
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        for (List<String> result : results) {
+            Assert.assertEquals(result, expected);
+        }
+    }
+
+    @Test
+    void testMatchResult() {
+        RegExpMatcher matcher = RegExpFactory.getMatcher(RegExpFactory.parse("(a)|(b)"), 0, "xb");
+        Assert.assertThrows(IllegalStateException.class, matcher::group);
+        Assert.assertTrue(matcher.find(0));
+        Assert.assertEquals(matcher.groupCount(), 2);
+        Assert.assertEquals(matcher.group(), "b");
+        Assert.assertEquals(matcher.start(), 1);
+        Assert.assertEquals(matcher.end(), 2);
+        Assert.assertNull(matcher.group(1));
+        Assert.assertEquals(matcher.start(1), -1);
+        Assert.assertEquals(matcher.group(2), "b");
+        Assert.assertThrows(IndexOutOfBoundsException.class, () -> matcher.group(3));
+        Assert.assertFalse(matcher.find());
+    }
+
+    private static void assertSameMatches(CompiledRegExp compiledRegExp, String input) {
+        String message = compiledRegExp.getPattern() + " on '" + input + "'";
+        for (int start = 0; start <= input.length(); start++) {
+            Matcher expected = compiledRegExp.getPattern().matcher(input);
+            RegExpMatcher actual = compiledRegExp.matcher(input);
+            Assert.assertEquals(getMatch(actual, actual.find(start)), getMatch(expected, expected.find(start)),
+                    message);
+
+            expected.region(start, input.length());
+            actual.region(start, input.length());
+            Assert.assertEquals(getMatch(actual, actual.matches()), getMatch(expected, expected.matches()), message);
+
+            expected.region(start, input.length());
+            actual.region(start, input.length());
+            List<String> expectedMatches = new ArrayList<>();
+            while (expected.find()) {
+                expectedMatches.add(getMatch(expected, true));
+            }
+            List<String> actualMatches = new ArrayList<>();
+            while (actual.find()) {
+                actualMatches.add(getMatch(actual, true));
+            }
+            Assert.assertEquals(actualMatches, expectedMatches, message);
+        }
+    }
+
+    private static List<String> findAll(RegExpMatcher matcher) {
+        List<String> matches = new ArrayList<>();
+        while (matcher.find()) {
+            matches.add(getMatch(matcher, true));
+        }
+        return matches;
+    }
+
+    private static List<String> findAll(Matcher matcher) {
+        List<String> matches = new ArrayList<>();
+        while (matcher.find()) {
+            matches.add(getMatch(matcher, true));
+        }
+        return matches;
+    }
+
+    private static String getMatch(MatchResult result, boolean found) {
+        if (!found) {
+            return "no match";
+        }
+        StringBuilder match = new StringBuilder();
+        for (int group = 0; group <= result.groupCount(); group++) {
+            match.append('[').append(result.start(group)).append(',').append(result.end(group)).append(']');
+        }
+        return match.toString();
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.ballerina.runtime.test;
+
+import io.ballerina.runtime.internal.regexp.RegExpFactory;
+import io.ballerina.runtime.internal.values.RegExpValue;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.regex.Pattern;
+
+/**
+ * Test cases for the cached Java patterns of regular expressions.
+ */
+public class RegExpPatternCacheTests {
+
+    @Test
+    void testPatternIsCachedOnValue() {
+        RegExpValue regExp = RegExpFactory.parse("[a-z]+\\s.");
+        Pattern pattern = RegExpFactory.getPattern(regExp, Pattern.UNICODE_CHARACTER_CLASS);
+        Assert.assertSame(regExp.getCompiledRegExp(Pattern.UNICODE_CHARACTER_CLASS).getPattern(), pattern);
+        Assert.assertNull(regExp.getCompiledRegExp(0));
+        Assert.assertSame(RegExpFactory.getPattern(regExp, Pattern.UNICODE_CHARACTER_CLASS), pattern);
+        Assert.assertTrue(pattern.matcher("abc\tx").matches());
+        Assert.assertFalse(pattern.matcher("abc \n").matches());
+    }
+
+    @Test
+    void testPatternIsSharedByEqualValues() {
+        Pattern pattern = RegExpFactory.getPattern(RegExpFactory.parse("(\\d+)-(\\d+)"), 0);
+        Assert.assertSame(RegExpFactory.getPattern(RegExpFactory.parse("(\\d+)-(\\d+)"), 0), pattern);
+        Assert.assertNotSame(RegExpFactory.getPattern(RegExpFactory.parse("(\\d+)-(\\d+)"),
+                Pattern.UNICODE_CHARACTER_CLASS), pattern);
+    }
+
+    @Test
+    void testEmptyRegExp() {
+        Pattern pattern = RegExpFactory.getPattern(RegExpFactory.parse(""), 0);
+        Assert.assertTrue(pattern.matcher("").matches());
+        Assert.assertEquals(pattern.split("ab", -1), "ab".split("", -1));
+    }
+}
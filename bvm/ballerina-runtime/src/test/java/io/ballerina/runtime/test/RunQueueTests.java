@@ -0,0 +1,197 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.ballerina.runtime.test;
+
+import io.ballerina.runtime.internal.scheduling.ItemGroup;
+import io.ballerina.runtime.internal.scheduling.RunQueue;
+import io.ballerina.runtime.internal.scheduling.SharedRunQueue;
+import io.ballerina.runtime.internal.scheduling.WorkStealingRunQueue;
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Test cases for the run queues of the scheduler.
+ */
+public class RunQueueTests {
+
+    private static final int WORKERS = 4;
+
+    @DataProvider
+    public Object[][] runQueues() {
+        return new Object[][]{{new SharedRunQueue()}, {new WorkStealingRunQueue(WORKERS)}};
+    }
+
+    @Test
+    void testLocalGroupsAreTakenLastInFirstOut() throws InterruptedException {
+        WorkStealingRunQueue runQueue = new WorkStealingRunQueue(2);
+        ItemGroup first = new ItemGroup();
+        ItemGroup second = new ItemGroup();
+        ItemGroup injected = new ItemGroup();
+        Thread external = new Thread(() -> runQueue.add(injected));
+        external.start();
+        external.join();
+
+        runQueue.register(0);
+        runQueue.add(first);
+        runQueue.add(second);
+        Assert.assertFalse(runQueue.isEmpty());
+        Assert.assertSame(runQueue.take(0), second);
+        Assert.assertSame(runQueue.take(0), first);
+        Assert.assertSame(runQueue.take(0), injected);
+        Assert.assertTrue(runQueue.isEmpty());
+    }
+
+    @Test
+    void testIdleWorkerStealsOldestGroup() throws InterruptedException {
+        WorkStealingRunQueue runQueue = new WorkStealingRunQueue(2);
+        ItemGroup first = new ItemGroup();
+        ItemGroup second = new ItemGroup();
+        runQueue.register(0);
+        runQueue.add(first);
+        runQueue.add(second);
+
+        Assert.assertSame(runQueue.take(1), first);
+        Assert.assertSame(runQueue.take(0), second);
+    }
+
+    @Test
+    void testInjectedGroupRunsWhileLocalWorkRemains() throws InterruptedException {
+        WorkStealingRunQueue runQueue = new WorkStealingRunQueue(1);
+        ItemGroup local = new ItemGroup();
+        ItemGroup injected = new ItemGroup();
+        runQueue.register(0);
+        runQueue.add(local);
+        Thread external = new Thread(() -> runQueue.add(injected));
+        external.start();
+        external.join();
+
+        // The local group reschedules itself each time it runs, so the local deque never runs out of groups.
+        int takes = 0;
+        ItemGroup group;
+        while ((group = runQueue.take(0)) != injected) {
+            Assert.assertSame(group, local);
+            Assert.assertTrue(++takes < 1000, "injected group did not run");
+            runQueue.add(local);
+        }
+        Assert.assertSame(runQueue.take(0), local);
+        Assert.assertTrue(runQueue.isEmpty());
+    }
+
+    @Test
+    void testOlderLocalGroupRunsWhileNewerGroupReschedules() throws InterruptedException {
+        WorkStealingRunQueue runQueue = new WorkStealingRunQueue(1);
+        ItemGroup older = new ItemGroup();
+        ItemGroup rescheduling = new ItemGroup();
+        runQueue.register(0);
+        runQueue.add(older);
+        runQueue.add(rescheduling);
+
+        int takes = 0;
+        ItemGroup group;
+        while ((group = runQueue.take(0)) != older) {
+            Assert.assertSame(group, rescheduling);
+            Assert.assertTrue(++takes < 100, "older group did not run");
+            runQueue.add(rescheduling);
+        }
+        Assert.assertSame(runQueue.take(0), rescheduling);
+        Assert.assertTrue(runQueue.isEmpty());
+    }
+
+    @Test(dataProvider = "runQueues", timeOut = 60000)
+    void testPoisonTerminatesWaitingWorkers(RunQueue runQueue) throws InterruptedException {
+        List<Thread> workers = new ArrayList<>();
+        AtomicInteger terminated = new AtomicInteger();
+        for (int i = 0; i < WORKERS; i++) {
+            int workerId = i;
+            Thread worker = new Thread(() -> {
+                runQueue.register(workerId);
+                try {
+                    if (runQueue.take(workerId) == ItemGroup.POISON_PILL) {
+                        terminated.incrementAndGet();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            worker.start();
+            workers.add(worker);
+        }
+        runQueue.poison(WORKERS);
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        Assert.assertEquals(terminated.get(), WORKERS);
+        Assert.assertTrue(runQueue.isEmpty());
+    }
+
+    @Test(dataProvider = "runQueues", timeOut = 60000)
+    void testGroupsAddedUnderLoadAreTakenOnce(RunQueue runQueue) throws InterruptedException {
+        int groupsPerWorker = 20000;
+        Set<ItemGroup> taken = Collections.synchronizedSet(Collections.newSetFromMap(new IdentityHashMap<>()));
+        int[] takenByWorker = new int[WORKERS];
+        AtomicInteger remaining = new AtomicInteger(groupsPerWorker * WORKERS);
+        List<Thread> workers = new ArrayList<>();
+        for (int i = 0; i < WORKERS; i++) {
+            int workerId = i;
+            Thread worker = new Thread(() -> {
+                runQueue.register(workerId);
+                try {
+                    // All the groups are added by the first worker, as by a strand that starts many others, so
+                    // that with work stealing the other workers only get groups by stealing them.
+                    if (workerId == 0) {
+                        for (int j = 0; j < groupsPerWorker * WORKERS; j++) {
+                            runQueue.add(new ItemGroup());
+                        }
+                    }
+                    while (true) {
+                        ItemGroup group = runQueue.take(workerId);
+                        if (group == ItemGroup.POISON_PILL) {
+                            return;
+                        }
+                        taken.add(group);
+                        takenByWorker[workerId]++;
+                        if (remaining.decrementAndGet() == 0) {
+                            runQueue.poison(WORKERS);
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            worker.start();
+            workers.add(worker);
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        Assert.assertEquals(taken.size(), groupsPerWorker * WORKERS);
+        Assert.assertTrue(runQueue.isEmpty());
+        for (int workerId = 1; workerId < WORKERS; workerId++) {
+            Assert.assertTrue(takenByWorker[workerId] > 0, "worker " + workerId + " did not take any group");
+        }
+    }
+}
@@ -1,5 +1,8 @@
 package io.ballerina.runtime.test;
 
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BIterator;
+import io.ballerina.runtime.api.values.BString;
 import io.ballerina.runtime.internal.values.NonBmpStringValue;
 import org.testng.Assert;
 import org.testng.annotations.Test;
@@ -40,4 +43,62 @@ public class StringValueTests {
         Assert.assertEquals(SUBJECT.length(), 16);
     }
 
+    @Test
+    void testRepeatedConcatenation() {
+        BString built = StringUtils.fromString("");
+        StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < 2000; i++) {
+            String part = i % 100 == 0 ? "\uD83D\uDC7D" + i : "part" + i + ",";
+            built = built.concat(StringUtils.fromString(part));
+            expected.append(part);
+        }
+        BString flat = StringUtils.fromString(expected.toString());
+        Assert.assertEquals(built.length(), flat.length());
+        Assert.assertEquals(built.getValue(), expected.toString());
+        Assert.assertEquals(built, flat);
+        Assert.assertEquals(built.hashCode(), flat.hashCode());
+        for (int i = 0; i < flat.length(); i += 97) {
+            Assert.assertEquals(built.getCodePoint(i), flat.getCodePoint(i), "code point at " + i);
+        }
+    }
+
+    @Test
+    void testConcatenationOfSharedPrefix() {
+        BString prefix = StringUtils.fromString("a".repeat(300)).concat(StringUtils.fromString("b"));
+        BString first = prefix.concat(StringUtils.fromString("c"));
+        BString second = prefix.concat(StringUtils.fromString("d"));
+        BString doubled = prefix.concat(prefix);
+        Assert.assertEquals(first.getValue(), "a".repeat(300) + "bc");
+        Assert.assertEquals(second.getValue(), "a".repeat(300) + "bd");
+        Assert.assertEquals(prefix.getValue(), "a".repeat(300) + "b");
+        Assert.assertEquals(doubled.getValue(), prefix.getValue() + prefix.getValue());
+        Assert.assertEquals(first.concat(StringUtils.fromString("e")).length(), 303);
+    }
+
+    @Test
+    void testIndexingWithManySurrogatePairs() {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 500; i++) {
+            sb.append(i % 3 == 0 ? "x" : "\uD83D\uDE00").append(i % 7 == 0 ? "\uD83D\uDC7D" : "ab");
+        }
+        String text = sb.toString();
+        int[] codePoints = text.codePoints().toArray();
+        BString subject = StringUtils.fromString(text);
+        Assert.assertEquals(subject.length(), codePoints.length);
+        for (int i = 0; i < codePoints.length; i++) {
+            Assert.assertEquals(subject.getCodePoint(i), codePoints[i], "code point at " + i);
+        }
+        for (int begin = 0; begin < codePoints.length; begin += 37) {
+            int end = Math.min(codePoints.length, begin + 101);
+            Assert.assertEquals(subject.substring(begin, end).getValue(),
+                    new String(codePoints, begin, end - begin), "substring from " + begin);
+            BString part = StringUtils.fromString(new String(codePoints, begin, 5));
+            Assert.assertEquals(subject.indexOf(part, begin), Long.valueOf(begin));
+        }
+        BIterator<?> iterator = subject.getIterator();
+        for (int codePoint : codePoints) {
+            Assert.assertEquals(iterator.next().toString(), Character.toString(codePoint));
+        }
+        Assert.assertFalse(iterator.hasNext());
+    }
 }
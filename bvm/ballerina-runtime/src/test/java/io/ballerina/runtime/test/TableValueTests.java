@@ -0,0 +1,345 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.ballerina.runtime.test;
+
+import io.ballerina.runtime.api.Module;
+import io.ballerina.runtime.api.PredefinedTypes;
+import io.ballerina.runtime.api.creators.TypeCreator;
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.flags.SymbolFlags;
+import io.ballerina.runtime.api.types.Field;
+import io.ballerina.runtime.api.types.MapType;
+import io.ballerina.runtime.api.types.RecordType;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BError;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BString;
+import io.ballerina.runtime.internal.values.ArrayValue;
+import io.ballerina.runtime.internal.values.IteratorValue;
+import io.ballerina.runtime.internal.values.MapValueImpl;
+import io.ballerina.runtime.internal.values.TableValueImpl;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Test cases for {@link TableValueImpl}.
+ */
+public class TableValueTests {
+
+    private static final BString ID = StringUtils.fromString("id");
+    private static final BString THREAD = StringUtils.fromString("thread");
+    private static final MapType MEMBER_TYPE = TypeCreator.createMapType(PredefinedTypes.TYPE_INT);
+    private static final BString GROUP = StringUtils.fromString("group");
+    private static final RecordType RECORD_MEMBER_TYPE = createRecordMemberType();
+
+    private static RecordType createRecordMemberType() {
+        Map<String, Field> fields = new LinkedHashMap<>();
+        long readonlyFlags = SymbolFlags.REQUIRED | SymbolFlags.READONLY;
+        fields.put("id", TypeCreator.createField(PredefinedTypes.TYPE_INT, "id", readonlyFlags));
+        fields.put("group", TypeCreator.createField(PredefinedTypes.TYPE_INT, "group", readonlyFlags));
+        fields.put("thread", TypeCreator.createField(PredefinedTypes.TYPE_INT, "thread", SymbolFlags.REQUIRED));
+        return TypeCreator.createRecordType("Member", new Module("testorg", "test", "1"), 0, fields, null, true, 0);
+    }
+
+    private static TableValueImpl<Object, BMap<BString, Object>> createTable() {
+        return new TableValueImpl<>(TypeCreator.createTableType(MEMBER_TYPE, new String[]{"id"}, false));
+    }
+
+    private static BMap<BString, Object> member(long id, long thread) {
+        BMap<BString, Object> member = ValueCreator.createMapValue(MEMBER_TYPE);
+        member.put(ID, id);
+        member.put(THREAD, thread);
+        return member;
+    }
+
+    private static TableValueImpl<Object, BMap<BString, Object>> createRecordTable() {
+        return new TableValueImpl<>(TypeCreator.createTableType(RECORD_MEMBER_TYPE, new String[]{"id"}, false));
+    }
+
+    private static BMap<BString, Object> recordMember(long id, long group) {
+        BMap<BString, Object> member = new MapValueImpl<>(RECORD_MEMBER_TYPE);
+        member.put(ID, id);
+        member.put(GROUP, group);
+        member.put(THREAD, 0L);
+        return member;
+    }
+
+    private static List<Long> iterateIds(TableValueImpl<?, ?> table) {
+        List<Long> ids = new ArrayList<>();
+        IteratorValue iterator = table.getIterator();
+        while (iterator.hasNext()) {
+            ids.add((Long) ((ArrayValue) iterator.next()).get(0));
+        }
+        return ids;
+    }
+
+    private static void runConcurrently(int threads, ThreadTask task) throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> workers = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            int thread = i;
+            Thread worker = new Thread(() -> {
+                try {
+                    start.await();
+                    task.run(thread);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            worker.start();
+            workers.add(worker);
+        }
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+    }
+
+    @Test
+    void testConcurrentAdd() throws InterruptedException {
+        TableValueImpl<Object, BMap<BString, Object>> table = createTable();
+        runConcurrently(8, thread -> {
+            for (long i = 0; i < 1000; i++) {
+                table.add(member(thread * 1000L + i, thread));
+            }
+        });
+
+        Assert.assertEquals(table.size(), 8000);
+        long[] lastIdOfThread = new long[8];
+        Arrays.fill(lastIdOfThread, -1);
+        for (long id : iterateIds(table)) {
+            int thread = (int) (id / 1000);
+            // Members added by each thread are iterated in the order they were added.
+            Assert.assertTrue(id > lastIdOfThread[thread]);
+            lastIdOfThread[thread] = id;
+            Assert.assertEquals(table.get(id).get(THREAD), (long) thread);
+        }
+        Assert.assertEquals(table.getNextKey(), 8000L);
+    }
+
+    @Test
+    void testConcurrentAddOfSameKeys() throws InterruptedException {
+        TableValueImpl<Object, BMap<BString, Object>> table = createTable();
+        AtomicInteger rejected = new AtomicInteger();
+        runConcurrently(4, thread -> {
+            for (long i = 0; i < 1000; i++) {
+                try {
+                    table.add(member(i, thread));
+                } catch (BError e) {
+                    rejected.incrementAndGet();
+                }
+            }
+        });
+
+        Assert.assertEquals(table.size(), 1000);
+        Assert.assertEquals(rejected.get(), 3000);
+        Assert.assertEquals(iterateIds(table).size(), 1000);
+    }
+
+    @Test
+    void testConcurrentAddOfFirstKeys() throws InterruptedException {
+        for (int round = 0; round < 200; round++) {
+            TableValueImpl<Object, BMap<BString, Object>> table = createTable();
+            runConcurrently(4, thread -> table.add(member(thread * 10L, thread)));
+            Assert.assertEquals(table.getNextKey(), 31L);
+        }
+    }
+
+    @Test
+    void testConcurrentPutAndRemove() throws InterruptedException {
+        TableValueImpl<Object, BMap<BString, Object>> table = createTable();
+        runConcurrently(4, thread -> {
+            for (long i = 0; i < 1000; i++) {
+                table.put(member(i % 100, thread));
+                if (i % 3 == thread % 3) {
+                    table.remove(i % 100);
+                }
+            }
+        });
+
+        List<Long> ids = iterateIds(table);
+        Assert.assertEquals(table.size(), ids.size());
+        Assert.assertEquals(ids.stream().distinct().count(), ids.size());
+        for (long id : ids) {
+            Assert.assertEquals(table.get(id).get(ID), id);
+        }
+    }
+
+    @Test
+    void testIteratorIsSnapshot() {
+        TableValueImpl<Object, BMap<BString, Object>> table = createTable();
+        for (long i = 0; i < 3; i++) {
+            table.add(member(i, 0));
+        }
+        IteratorValue iterator = table.getIterator();
+        Assert.assertTrue(iterator.hasNext());
+        table.remove(1L);
+        table.put(member(0, 1));
+        table.add(member(3, 0));
+
+        // Updates made after the iterator is created are not seen by it.
+        List<BMap<BString, Object>> members = new ArrayList<>();
+        while (iterator.hasNext()) {
+            members.add((BMap<BString, Object>) ((ArrayValue) iterator.next()).get(1));
+        }
+        Assert.assertEquals(members.stream().map(member -> member.get(ID)).toList(), List.of(0L, 1L, 2L));
+        Assert.assertEquals(members.get(0).get(THREAD), 0L);
+        // A replaced member keeps its position.
+        Assert.assertEquals(iterateIds(table), List.of(0L, 2L, 3L));
+        Assert.assertEquals(table.get(0L).get(THREAD), 1L);
+    }
+
+    @Test
+    void testIteratorDuringConcurrentUpdates() throws InterruptedException {
+        TableValueImpl<Object, BMap<BString, Object>> table = createTable();
+        AtomicInteger inconsistentSnapshots = new AtomicInteger();
+        runConcurrently(2, thread -> {
+            if (thread == 0) {
+                for (int i = 0; i < 200; i++) {
+                    // Each member is added before the previous one is removed, so every snapshot has one or two
+                    // members with consecutive ids.
+                    List<Long> ids = iterateIds(table);
+                    if (!ids.isEmpty() && (ids.size() > 2 || ids.get(ids.size() - 1) != ids.get(0) + ids.size() - 1)) {
+                        inconsistentSnapshots.incrementAndGet();
+                    }
+                }
+                return;
+            }
+            table.add(member(0, thread));
+            for (long i = 1; i < 5000; i++) {
+                table.add(member(i, thread));
+                table.remove(i - 1);
+            }
+        });
+
+        Assert.assertEquals(inconsistentSnapshots.get(), 0);
+        Assert.assertEquals(iterateIds(table), List.of(4999L));
+    }
+
+    @Test
+    void testNextKeyAfterTableIsEmptied() {
+        TableValueImpl<Object, BMap<BString, Object>> table = createTable();
+        Assert.assertEquals(table.getNextKey(), 0L);
+        table.add(member(10, 0));
+        Assert.assertEquals(table.getNextKey(), 11L);
+        table.remove(10L);
+        Assert.assertEquals(table.getNextKey(), 0L);
+        // The next key starts over from the keys added to the empty table.
+        table.add(member(1, 0));
+        Assert.assertEquals(table.getNextKey(), 2L);
+        table.add(member(5, 0));
+        table.remove(5L);
+        Assert.assertEquals(table.getNextKey(), 6L);
+        table.clear();
+        table.add(member(3, 0));
+        Assert.assertEquals(table.getNextKey(), 4L);
+    }
+
+    @Test
+    void testScanIndexWithoutIndex() {
+        TableValueImpl<Object, BMap<BString, Object>> table = createRecordTable();
+        for (long i = 0; i < 10; i++) {
+            table.add(recordMember(i, i % 3));
+        }
+
+        // Indexes are not created by lookups, so other columns are not looked up and the key is looked up directly.
+        Assert.assertSame(table.scanIndex(GROUP, StringUtils.fromString("=="), 1L), table);
+        Assert.assertSame(table.scanIndex(GROUP, StringUtils.fromString("<"), 1L), table);
+        Assert.assertSame(table.scanIndex(ID, StringUtils.fromString("<"), 5L), table);
+        Assert.assertEquals(iterateIds((TableValueImpl<?, ?>) table.scanIndex(ID, StringUtils.fromString("=="), 5L)),
+                List.of(5L));
+        Assert.assertEquals(iterateIds((TableValueImpl<?, ?>) table.scanIndex(ID, StringUtils.fromString("=="), 50L)),
+                List.of());
+    }
+
+    @Test
+    void testScanIndexWithIndex() {
+        TableValueImpl<Object, BMap<BString, Object>> table = createRecordTable();
+        for (long i = 0; i < 30; i++) {
+            table.add(recordMember(i, i % 7));
+        }
+        Assert.assertFalse(table.createIndex("thread", false));
+        Assert.assertTrue(table.createIndex("group", false));
+        Assert.assertSame(table.scanIndex(GROUP, StringUtils.fromString("<"), 3L), table);
+        Assert.assertTrue(table.createIndex("group", true));
+        table.remove(10L);
+        table.put(recordMember(3L, 4L));
+        table.add(recordMember(30L, 3L));
+
+        for (String operator : List.of("==", "<", "<=", ">", ">=")) {
+            List<Long> expected = new ArrayList<>();
+            for (long id : iterateIds(table)) {
+                long group = (Long) table.get(id).get(GROUP);
+                boolean matches = switch (operator) {
+                    case "==" -> group == 3;
+                    case "<" -> group < 3;
+                    case "<=" -> group <= 3;
+                    case ">" -> group > 3;
+                    default -> group >= 3;
+                };
+                if (matches) {
+                    expected.add(id);
+                }
+            }
+            TableValueImpl<?, ?> result =
+                    (TableValueImpl<?, ?>) table.scanIndex(GROUP, StringUtils.fromString(operator), 3L);
+            Assert.assertNotSame(result, table);
+            Assert.assertEquals(iterateIds(result), expected, operator);
+        }
+    }
+
+    @Test
+    void testIndexAfterConcurrentUpdates() throws InterruptedException {
+        TableValueImpl<Object, BMap<BString, Object>> table = createRecordTable();
+        Assert.assertTrue(table.createIndex("group", false));
+        runConcurrently(4, thread -> {
+            for (long i = 0; i < 1000; i++) {
+                table.put(recordMember(i % 50, (i + thread) % 5));
+                if (i % 4 == thread) {
+                    table.remove(i % 50);
+                }
+            }
+        });
+
+        List<Long> indexedIds = new ArrayList<>();
+        for (long group = 0; group < 5; group++) {
+            for (long id : iterateIds((TableValueImpl<?, ?>) table.scanIndex(GROUP, StringUtils.fromString("=="),
+                    group))) {
+                Assert.assertEquals(table.get(id).get(GROUP), group);
+                indexedIds.add(id);
+            }
+        }
+        indexedIds.sort(null);
+        List<Long> ids = iterateIds(table);
+        ids.sort(null);
+        Assert.assertEquals(indexedIds, ids);
+    }
+
+    private interface ThreadTask {
+
+        void run(int thread);
+    }
+}
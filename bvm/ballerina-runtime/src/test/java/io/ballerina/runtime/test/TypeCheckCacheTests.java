@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.ballerina.runtime.test;
+
+import io.ballerina.runtime.api.PredefinedTypes;
+import io.ballerina.runtime.api.creators.TypeCreator;
+import io.ballerina.runtime.api.types.Type;
+import io.ballerina.runtime.internal.TypeCheckCache;
+import io.ballerina.runtime.internal.TypeChecker;
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.util.List;
+
+/**
+ * Test cases for the cached results of the structural type checks of {@link TypeChecker}.
+ */
+public class TypeCheckCacheTests {
+
+    @DataProvider
+    public Object[][] typePairs() {
+        Type intOrString = TypeCreator.createUnionType(PredefinedTypes.TYPE_INT, PredefinedTypes.TYPE_STRING);
+        Type intOrStringOrNil = TypeCreator.createUnionType(PredefinedTypes.TYPE_INT, PredefinedTypes.TYPE_STRING,
+                PredefinedTypes.TYPE_NULL);
+        Type tuple = TypeCreator.createTupleType(List.of(PredefinedTypes.TYPE_INT, PredefinedTypes.TYPE_STRING));
+        return new Object[][]{
+                {intOrString, intOrStringOrNil, true},
+                {intOrStringOrNil, intOrString, false},
+                {TypeCreator.createArrayType(PredefinedTypes.TYPE_BYTE),
+                        TypeCreator.createArrayType(intOrString), true},
+                {TypeCreator.createMapType(intOrStringOrNil), TypeCreator.createMapType(intOrString), false},
+                {tuple, TypeCreator.createArrayType(intOrString), true},
+                {TypeCreator.createArrayType(intOrString), tuple, false},
+        };
+    }
+
+    @Test(dataProvider = "typePairs")
+    void testCachedResults(Type sourceType, Type targetType, boolean expected) {
+        long hits = TypeCheckCache.getHitCount();
+        long misses = TypeCheckCache.getMissCount();
+        Assert.assertEquals(TypeChecker.checkIsType(sourceType, targetType), expected);
+        Assert.assertTrue(TypeCheckCache.getMissCount() > misses);
+        for (int i = 0; i < 3; i++) {
+            Assert.assertEquals(TypeChecker.checkIsType(sourceType, targetType), expected);
+        }
+        Assert.assertEquals(TypeCheckCache.getHitCount(), hits + 3);
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.ballerina.runtime.test;
+
+import io.ballerina.runtime.api.PredefinedTypes;
+import io.ballerina.runtime.api.creators.TypeCreator;
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.types.Type;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.internal.TypeChecker;
+import io.ballerina.runtime.internal.TypeTestInlineCache;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.List;
+
+/**
+ * Test cases for the type test sites linked to a {@link TypeTestInlineCache}.
+ */
+public class TypeTestInlineCacheTests {
+
+    private static MethodHandle createTypeTestSite() {
+        MethodType type = MethodType.methodType(boolean.class, Object.class, Type.class);
+        return TypeTestInlineCache.bootstrap(MethodHandles.lookup(), "checkIsType", type).dynamicInvoker();
+    }
+
+    private static void assertTypeTests(Object[] values, Type targetType) throws Throwable {
+        MethodHandle site = createTypeTestSite();
+        for (int i = 0; i < 3; i++) {
+            for (Object value : values) {
+                boolean expected = TypeChecker.checkIsType(value, targetType);
+                Assert.assertEquals((boolean) site.invokeExact(value, targetType), expected, value + " is " +
+                        targetType);
+            }
+        }
+    }
+
+    @Test
+    void testCachedTypes() throws Throwable {
+        Type intOrString = TypeCreator.createUnionType(PredefinedTypes.TYPE_INT, PredefinedTypes.TYPE_STRING);
+        Object[] values = {1L, StringUtils.fromString("a"), 2.5, null, true};
+        assertTypeTests(values, intOrString);
+        assertTypeTests(values, PredefinedTypes.TYPE_ANYDATA);
+    }
+
+    @Test
+    void testValueDependentResults() throws Throwable {
+        // The shapes of immutable values are tested, so the results differ for values of the same type.
+        assertTypeTests(new Object[]{300L, 5L, -1L, 255L}, PredefinedTypes.TYPE_BYTE);
+
+        BArray mutable = ValueCreator.createArrayValue(new long[]{1, 2});
+        BArray immutable = ValueCreator.createArrayValue(new long[]{1, 2});
+        immutable.freezeDirect();
+        Type tuple = TypeCreator.createTupleType(List.of(PredefinedTypes.TYPE_INT, PredefinedTypes.TYPE_INT));
+        assertTypeTests(new Object[]{mutable, immutable}, tuple);
+        assertTypeTests(new Object[]{mutable, immutable}, PredefinedTypes.TYPE_READONLY);
+    }
+
+    @Test
+    void testUncachedTypes() throws Throwable {
+        Object[] values = {1L, StringUtils.fromString("a"), 2.5, null, true, (byte) 1,
+                ValueCreator.createArrayValue(new long[]{1})};
+        assertTypeTests(values, PredefinedTypes.TYPE_JSON);
+        assertTypeTests(values, PredefinedTypes.TYPE_STRING);
+    }
+}
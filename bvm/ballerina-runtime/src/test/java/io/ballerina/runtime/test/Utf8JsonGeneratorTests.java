@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.ballerina.runtime.test;
+
+import io.ballerina.runtime.api.utils.JsonUtils;
+import io.ballerina.runtime.internal.JsonGenerator;
+import io.ballerina.runtime.internal.Utf8JsonGenerator;
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Test cases for serializing JSON values with {@link Utf8JsonGenerator}.
+ */
+public class Utf8JsonGeneratorTests {
+
+    private static String serializeWithWriter(Object json) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (JsonGenerator gen = new JsonGenerator(out, StandardCharsets.UTF_8)) {
+            gen.serialize(json);
+        }
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private static String serializeWithStream(Object json) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (JsonGenerator gen = new Utf8JsonGenerator(out)) {
+            gen.serialize(json);
+        }
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    @DataProvider
+    public Object[][] jsonValues() {
+        return new Object[][]{
+                {"{\"a\": 1, \"b\": {\"c\": [true, null, 1.5, -0.0, 2e3, 12345678901234]}, \"d\": {}, \"e\": []}"},
+                {"[\"plain/text\", \"tab\\tand/slash\", \"quote\\\"\\\\\", \"\\b\\f\\n\\r\", \"\\u0001\"]"},
+                {"{\"caf\\u00e9\": \"日本語\", \"emoji\": \"😀 ok\", \"lone\": \"\\ud83d x\"}"},
+                {"[\"" + "ascii".repeat(3000) + "\", \"" + "é😀\\n".repeat(3000) + "\"]"},
+                {"[\"" + "a".repeat(2047) + "😀\", \"" + "\\n".repeat(2047) + "😀\\n\"]"},
+                {"\"text\""},
+                {"null"},
+        };
+    }
+
+    @Test(dataProvider = "jsonValues")
+    void testOutputMatchesWriterGenerator(String jsonText) throws IOException {
+        Object json = JsonUtils.parse(jsonText);
+        String expected = serializeWithWriter(json);
+        Assert.assertEquals(serializeWithStream(json), expected);
+        Assert.assertEquals(Utf8JsonGenerator.toJsonString(json), expected);
+    }
+
+    @Test
+    void testNestedGeneratorsUseSeparateBuffers() throws IOException {
+        Object json = JsonUtils.parse("{\"a\": [\"x\", \"y\"]}");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (Utf8JsonGenerator gen = new Utf8JsonGenerator(out)) {
+            gen.startObject();
+            gen.writeFieldName("inner");
+            gen.writeString(Utf8JsonGenerator.toJsonString(json));
+            gen.endObject();
+        }
+        Assert.assertEquals(out.toString(StandardCharsets.UTF_8), "{\"inner\":\"{\\\"a\\\":[\\\"x\\\", \\\"y\\\"]}\"}");
+    }
+
+    @Test
+    void testEscapedCharacters() throws IOException {
+        char[] chars = ("\"/\t" + "b".repeat(2046) + "😀\\").toCharArray();
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        try (JsonGenerator gen = new JsonGenerator(expected, StandardCharsets.UTF_8)) {
+            gen.writeStringEsc(chars);
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (JsonGenerator gen = new Utf8JsonGenerator(out)) {
+            gen.writeStringEsc(chars);
+        }
+        Assert.assertEquals(out.toString(StandardCharsets.UTF_8), expected.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testConcurrentGenerators() throws Exception {
+        Object json = JsonUtils.parse("{\"a\": [\"" + "é😀".repeat(5000) + "\", 1, {\"b\": null}]}");
+        String expected = serializeWithWriter(json);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < 64; i++) {
+                boolean toStream = i % 2 == 0;
+                results.add(executor.submit(() -> toStream ? serializeWithStream(json) :
+                        Utf8JsonGenerator.toJsonString(json)));
+            }
+            for (Future<String> result : results) {
+                Assert.assertEquals(result.get(), expected);
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
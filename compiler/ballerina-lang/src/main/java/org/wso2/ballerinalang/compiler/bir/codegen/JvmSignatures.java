@@ -233,8 +233,7 @@ public class JvmSignatures {
     public static final String GET_STRING_ARRAY = "()[L" + STRING_VALUE + ";";
     public static final String GET_RUNTIME_REGISTRY = "L" + RUNTIME_REGISTRY_CLASS + ";";
     public static final String GET_RUNTIME_REGISTRY_CLASS = "()L" + RUNTIME_REGISTRY_CLASS + ";";
-    public static final String GET_LOCK_FROM_MAP = "(L" + STRING_VALUE + ";)L" + LOCK_VALUE + ";";
-    public static final String GET_LOCK_MAP = "(L" + STRING_VALUE + ";)L" + LOCK_VALUE + ";";
+    public static final String GET_LOCK = "(I)L" + LOCK_VALUE + ";";
     public static final String GET_MAIN_ARGS = "()[L" + OBJECT + ";";
     public static final String GET_MAP_ARRAY = "[L" + MAP_VALUE + ";";
     public static final String GET_MAP_VALUE = "L" + MAP_VALUE + ";";
@@ -472,6 +471,7 @@ public class JvmSignatures {
     public static final String TYPE_DESC_CONSTRUCTOR_WITH_ANNOTATIONS =
                                                              "(L" + TYPE + ";[L" + MAP_VALUE + ";L" + MAP_VALUE + ";)V";
     public static final String TYPE_PARAMETER = "(L" + TYPE + ";)V";
+    public static final String UNLOCK_SHARED = "(L" + STRAND_CLASS + ";)V";
     public static final String UPDATE_CHANNEL_DETAILS = "([L" + CHANNEL_DETAILS + ";)V";
     public static final String VALUE_OF_JSTRING = "(L" + OBJECT + ";)L" + STRING_VALUE + ";";
     public static final String WAIT_RESULT = STRAND_CLASS + "$WaitResult";
@@ -486,6 +486,8 @@ public class JvmSignatures {
     public static final String HANDLE_DESCRIPTOR_FOR_STRING_CONCAT = "(Ljava/lang/invoke/MethodHandles$Lookup;" +
             GET_STRING + "Ljava/lang/invoke/MethodType;" + GET_STRING + "[" + GET_OBJECT + ")" +
             "Ljava/lang/invoke/CallSite;";
+    public static final String HANDLE_DESCRIPTOR_FOR_TYPE_TEST = "(Ljava/lang/invoke/MethodHandles$Lookup;" +
+            GET_STRING + "Ljava/lang/invoke/MethodType;)Ljava/lang/invoke/CallSite;";
     public static final String CREATE_REGEXP = "(L" + REG_EXP_DISJUNCTION + ";)L" + REG_EXP_VALUE + ";";
     public static final String CREATE_RE_DISJUNCTION = "(L" + ARRAY_VALUE + ";)L" + REG_EXP_DISJUNCTION + ";";
     public static final String CREATE_RE_SEQUENCE = "(L" + ARRAY_VALUE + ";)L" + REG_EXP_SEQUENCE + ";";
@@ -18,6 +18,7 @@
 
 package org.wso2.ballerinalang.compiler.bir.codegen;
 
+import org.objectweb.asm.Handle;
 import org.objectweb.asm.Label;
 import org.objectweb.asm.MethodVisitor;
 import org.wso2.ballerinalang.compiler.bir.model.BIRNonTerminator;
@@ -27,17 +28,18 @@ import org.wso2.ballerinalang.compiler.semantics.model.types.BUnionType;
 import org.wso2.ballerinalang.compiler.util.TypeTags;
 
 import static org.objectweb.asm.Opcodes.GOTO;
+import static org.objectweb.asm.Opcodes.H_INVOKESTATIC;
 import static org.objectweb.asm.Opcodes.ICONST_0;
 import static org.objectweb.asm.Opcodes.ICONST_1;
 import static org.objectweb.asm.Opcodes.IFNE;
 import static org.objectweb.asm.Opcodes.IFNONNULL;
 import static org.objectweb.asm.Opcodes.IFNULL;
 import static org.objectweb.asm.Opcodes.INSTANCEOF;
-import static org.objectweb.asm.Opcodes.INVOKESTATIC;
 import static org.wso2.ballerinalang.compiler.bir.codegen.JvmConstants.BERROR;
 import static org.wso2.ballerinalang.compiler.bir.codegen.JvmConstants.MAIN_ARG_VAR_PREFIX;
-import static org.wso2.ballerinalang.compiler.bir.codegen.JvmConstants.TYPE_CHECKER;
+import static org.wso2.ballerinalang.compiler.bir.codegen.JvmConstants.TYPE_TEST_INLINE_CACHE;
 import static org.wso2.ballerinalang.compiler.bir.codegen.JvmSignatures.CHECK_IS_TYPE;
+import static org.wso2.ballerinalang.compiler.bir.codegen.JvmSignatures.HANDLE_DESCRIPTOR_FOR_TYPE_TEST;
 
 /**
  * BIR Type checking instructions to JVM byte code generation class.
@@ -45,6 +47,9 @@ import static org.wso2.ballerinalang.compiler.bir.codegen.JvmSignatures.CHECK_IS
  * @since 2.0.0
  */
 public class JvmTypeTestGen {
+    private static final Handle TYPE_TEST_BOOTSTRAP = new Handle(H_INVOKESTATIC, TYPE_TEST_INLINE_CACHE, "bootstrap",
+                                                                 HANDLE_DESCRIPTOR_FOR_TYPE_TEST, false);
+
     private final JvmInstructionGen jvmInstructionGen;
     private final Types types;
     private final MethodVisitor mv;
@@ -80,8 +85,8 @@ public class JvmTypeTestGen {
         jvmInstructionGen.loadVar(sourceValue);
         jvmTypeGen.loadType(this.mv, targetType);
 
-        this.mv.visitMethodInsn(INVOKESTATIC, TYPE_CHECKER, "checkIsType",
-                                CHECK_IS_TYPE, false);
+        // Each type test site is linked to its own inline cache of the results for the types of the values tested.
+        this.mv.visitInvokeDynamicInsn("checkIsType", CHECK_IS_TYPE, TYPE_TEST_BOOTSTRAP);
         jvmInstructionGen.storeToVar(typeTestIns.lhsOp.variableDcl);
     }
 
@@ -43,6 +43,7 @@ import org.wso2.ballerinalang.compiler.semantics.model.types.BType;
 import org.wso2.ballerinalang.compiler.util.TypeTags;
 import org.wso2.ballerinalang.util.Flags;
 
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -57,12 +58,17 @@ import static org.objectweb.asm.Opcodes.ATHROW;
 import static org.objectweb.asm.Opcodes.CHECKCAST;
 import static org.objectweb.asm.Opcodes.DUP;
 import static org.objectweb.asm.Opcodes.GETFIELD;
-import static org.objectweb.asm.Opcodes.IFEQ;
+import static org.objectweb.asm.Opcodes.IADD;
+import static org.objectweb.asm.Opcodes.IAND;
+import static org.objectweb.asm.Opcodes.ICONST_1;
 import static org.objectweb.asm.Opcodes.ILOAD;
 import static org.objectweb.asm.Opcodes.INVOKESPECIAL;
+import static org.objectweb.asm.Opcodes.INVOKESTATIC;
 import static org.objectweb.asm.Opcodes.INVOKEVIRTUAL;
+import static org.objectweb.asm.Opcodes.IOR;
 import static org.objectweb.asm.Opcodes.IRETURN;
 import static org.objectweb.asm.Opcodes.ISTORE;
+import static org.objectweb.asm.Opcodes.IUSHR;
 import static org.objectweb.asm.Opcodes.NEW;
 import static org.objectweb.asm.Opcodes.POP;
 import static org.objectweb.asm.Opcodes.PUTFIELD;
@@ -76,6 +82,7 @@ import static org.wso2.ballerinalang.compiler.bir.codegen.JvmConstants.BAL_OPTIO
 import static org.wso2.ballerinalang.compiler.bir.codegen.JvmConstants.B_OBJECT;
 import static org.wso2.ballerinalang.compiler.bir.codegen.JvmConstants.CLASS_FILE_SUFFIX;
 import static org.wso2.ballerinalang.compiler.bir.codegen.JvmConstants.INSTANTIATE_FUNCTION;
+import static org.wso2.ballerinalang.compiler.bir.codegen.JvmConstants.INT_VALUE;
 import static org.wso2.ballerinalang.compiler.bir.codegen.JvmConstants.JVM_INIT_METHOD;
 import static org.wso2.ballerinalang.compiler.bir.codegen.JvmConstants.LOCK_VALUE;
 import static org.wso2.ballerinalang.compiler.bir.codegen.JvmConstants.MAP_VALUE;
@@ -118,10 +125,12 @@ import static org.wso2.ballerinalang.compiler.bir.codegen.interop.InteropMethodG
  */
 public class JvmValueGen {
 
+    private static final String PRESENCE_FLAGS_FIELD_PREFIX = "$presenceFlags$";
+    private static final String PRESENCE_FLAGS_DESC = "I";
+
     private final BIRNode.BIRPackage module;
     private final JvmPackageGen jvmPackageGen;
     private final MethodGen methodGen;
-    private final BType booleanType;
     private final JvmObjectGen jvmObjectGen;
     private final JvmRecordGen jvmRecordGen;
     private final TypeHashVisitor typeHashVisitor;
@@ -132,7 +141,6 @@ public class JvmValueGen {
         this.module = module;
         this.jvmPackageGen = jvmPackageGen;
         this.methodGen = methodGen;
-        this.booleanType = jvmPackageGen.symbolTable.booleanType;
         this.jvmRecordGen = new JvmRecordGen(jvmPackageGen.symbolTable);
         this.jvmObjectGen = new JvmObjectGen();
         this.typeHashVisitor = typeHashVisitor;
@@ -174,8 +182,56 @@ public class JvmValueGen {
         return packageName + VALUE_CLASS_PREFIX + typeName;
     }
 
-    public static String getFieldIsPresentFlagName(String fieldName) {
-        return "$" + fieldName + "$isPresent";
+    public static String getPresenceFlagsFieldName(int flagIndex) {
+        return PRESENCE_FLAGS_FIELD_PREFIX + flagIndex / Integer.SIZE;
+    }
+
+    /**
+     * Returns the indexes of the presence bits of the optional fields of a record type, by field name. The presence
+     * bits of all optional fields of a record are packed into int fields, {@link Integer#SIZE} fields per int.
+     *
+     * @param fields fields of the record type
+     * @return indexes of the presence bits of the optional fields
+     */
+    public static Map<String, Integer> getPresenceFlagIndexes(Map<String, BField> fields) {
+        Map<String, Integer> flagIndexes = new HashMap<>();
+        for (BField field : fields.values()) {
+            if (field != null && isOptionalRecordField(field)) {
+                flagIndexes.put(field.name.value, flagIndexes.size());
+            }
+        }
+        return flagIndexes;
+    }
+
+    /**
+     * Generates code that replaces the record value on top of the stack with 1 if the optional field is present and
+     * with 0 otherwise.
+     */
+    public static void genCheckFieldPresence(MethodVisitor mv, String className, int flagIndex) {
+        mv.visitFieldInsn(GETFIELD, className, getPresenceFlagsFieldName(flagIndex), PRESENCE_FLAGS_DESC);
+        mv.visitLdcInsn(flagIndex % Integer.SIZE);
+        mv.visitInsn(IUSHR);
+        mv.visitInsn(ICONST_1);
+        mv.visitInsn(IAND);
+    }
+
+    /**
+     * Generates code that sets or clears the presence bit of an optional field of the record value on top of the
+     * stack, consuming the record value.
+     */
+    public static void genSetFieldPresence(MethodVisitor mv, String className, int flagIndex, boolean present) {
+        String flagsFieldName = getPresenceFlagsFieldName(flagIndex);
+        int mask = 1 << (flagIndex % Integer.SIZE);
+        mv.visitInsn(DUP);
+        mv.visitFieldInsn(GETFIELD, className, flagsFieldName, PRESENCE_FLAGS_DESC);
+        if (present) {
+            mv.visitLdcInsn(mask);
+            mv.visitInsn(IOR);
+        } else {
+            mv.visitLdcInsn(~mask);
+            mv.visitInsn(IAND);
+        }
+        mv.visitFieldInsn(PUTFIELD, className, flagsFieldName, PRESENCE_FLAGS_DESC);
     }
 
     public static boolean isOptionalRecordField(BField field) {
@@ -309,16 +365,17 @@ public class JvmValueGen {
                 new String[]{MAP_VALUE});
 
         Map<String, BField> fields = recordType.fields;
-        this.createRecordFields(cw, fields);
-        jvmRecordGen.createAndSplitGetMethod(cw, fields, className, jvmCastGen);
-        jvmRecordGen.createAndSplitSetMethod(cw, fields, className, jvmCastGen);
-        jvmRecordGen.createAndSplitEntrySetMethod(cw, fields, className, jvmCastGen);
-        jvmRecordGen.createAndSplitContainsKeyMethod(cw, fields, className);
-        jvmRecordGen.createAndSplitGetValuesMethod(cw, fields, className, jvmCastGen);
-        this.createGetSizeMethod(cw, fields, className);
+        Map<String, Integer> presenceFlagIndexes = getPresenceFlagIndexes(fields);
+        this.createRecordFields(cw, fields, presenceFlagIndexes.size());
+        jvmRecordGen.createAndSplitGetMethod(cw, fields, presenceFlagIndexes, className, jvmCastGen);
+        jvmRecordGen.createAndSplitSetMethod(cw, fields, presenceFlagIndexes, className, jvmCastGen);
+        jvmRecordGen.createAndSplitEntrySetMethod(cw, fields, presenceFlagIndexes, className, jvmCastGen);
+        jvmRecordGen.createAndSplitContainsKeyMethod(cw, fields, presenceFlagIndexes, className);
+        jvmRecordGen.createAndSplitGetValuesMethod(cw, fields, presenceFlagIndexes, className, jvmCastGen);
+        this.createGetSizeMethod(cw, fields, presenceFlagIndexes.size(), className);
         this.createRecordClearMethod(cw, typeDef.name.value);
-        jvmRecordGen.createAndSplitRemoveMethod(cw, fields, className, jvmCastGen);
-        jvmRecordGen.createAndSplitGetKeysMethod(cw, fields, className);
+        jvmRecordGen.createAndSplitRemoveMethod(cw, fields, presenceFlagIndexes, className, jvmCastGen);
+        jvmRecordGen.createAndSplitGetKeysMethod(cw, fields, presenceFlagIndexes, className);
         this.createRecordPopulateInitialValuesMethod(cw, className);
 
         this.createRecordConstructor(cw, INIT_TYPEDESC, className);
@@ -388,7 +445,7 @@ public class JvmValueGen {
         mv.visitEnd();
     }
 
-    private void createRecordFields(ClassWriter cw, Map<String, BField> fields) {
+    private void createRecordFields(ClassWriter cw, Map<String, BField> fields, int optionalFieldCount) {
         for (BField field : fields.values()) {
             if (field == null) {
                 continue;
@@ -396,17 +453,19 @@ public class JvmValueGen {
             String fieldName = field.name.value;
             FieldVisitor fv = cw.visitField(0, fieldName, getTypeDesc(field.type), null, null);
             fv.visitEnd();
+        }
 
-            if (isOptionalRecordField(field)) {
-                fv = cw.visitField(0, getFieldIsPresentFlagName(fieldName), getTypeDesc(booleanType),
-                        null, null);
-                fv.visitEnd();
-            }
+        // Presence of the optional fields is tracked as bits, rather than as a boolean field per optional field.
+        for (int flagIndex = 0; flagIndex < optionalFieldCount; flagIndex += Integer.SIZE) {
+            FieldVisitor fv = cw.visitField(0, getPresenceFlagsFieldName(flagIndex), PRESENCE_FLAGS_DESC, null,
+                    null);
+            fv.visitEnd();
         }
     }
 
 
-    private void createGetSizeMethod(ClassWriter cw, Map<String, BField> fields, String className) {
+    private void createGetSizeMethod(ClassWriter cw, Map<String, BField> fields, int optionalFieldCount,
+                                     String className) {
 
         MethodVisitor mv = cw.visitMethod(ACC_PUBLIC, "size", "()I", null, null);
         mv.visitCode();
@@ -416,20 +475,16 @@ public class JvmValueGen {
         mv.visitMethodInsn(INVOKESPECIAL, MAP_VALUE_IMPL, "size", "()I", false);
         mv.visitVarInsn(ISTORE, sizeVarIndex);
 
-        int requiredFieldsCount = 0;
-        for (BField optionalField : fields.values()) {
-            String fieldName = optionalField.name.value;
-            if (isOptionalRecordField(optionalField)) {
-                mv.visitVarInsn(ALOAD, 0);
-                mv.visitFieldInsn(GETFIELD, className, getFieldIsPresentFlagName(fieldName),
-                        getTypeDesc(booleanType));
-                Label l3 = new Label();
-                mv.visitJumpInsn(IFEQ, l3);
-                mv.visitIincInsn(sizeVarIndex, 1);
-                mv.visitLabel(l3);
-            } else {
-                requiredFieldsCount += 1;
-            }
+        int requiredFieldsCount = fields.size() - optionalFieldCount;
+
+        // Each set presence bit is a present optional field.
+        for (int flagIndex = 0; flagIndex < optionalFieldCount; flagIndex += Integer.SIZE) {
+            mv.visitVarInsn(ILOAD, sizeVarIndex);
+            mv.visitVarInsn(ALOAD, 0);
+            mv.visitFieldInsn(GETFIELD, className, getPresenceFlagsFieldName(flagIndex), PRESENCE_FLAGS_DESC);
+            mv.visitMethodInsn(INVOKESTATIC, INT_VALUE, "bitCount", "(I)I", false);
+            mv.visitInsn(IADD);
+            mv.visitVarInsn(ISTORE, sizeVarIndex);
         }
 
         mv.visitIincInsn(sizeVarIndex, requiredFieldsCount);
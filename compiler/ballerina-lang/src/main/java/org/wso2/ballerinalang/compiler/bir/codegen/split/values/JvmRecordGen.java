@@ -49,8 +49,6 @@ import static org.objectweb.asm.Opcodes.CHECKCAST;
 import static org.objectweb.asm.Opcodes.DRETURN;
 import static org.objectweb.asm.Opcodes.DUP;
 import static org.objectweb.asm.Opcodes.GETFIELD;
-import static org.objectweb.asm.Opcodes.ICONST_0;
-import static org.objectweb.asm.Opcodes.ICONST_1;
 import static org.objectweb.asm.Opcodes.IFEQ;
 import static org.objectweb.asm.Opcodes.IFNE;
 import static org.objectweb.asm.Opcodes.INVOKEINTERFACE;
@@ -110,7 +108,8 @@ import static org.wso2.ballerinalang.compiler.bir.codegen.JvmSignatures.TO_ARRAY
 import static org.wso2.ballerinalang.compiler.bir.codegen.JvmSignatures.TWO_OBJECTS_ARGS;
 import static org.wso2.ballerinalang.compiler.bir.codegen.JvmSignatures.VOID_METHOD_DESC;
 import static org.wso2.ballerinalang.compiler.bir.codegen.JvmTypeGen.getTypeDesc;
-import static org.wso2.ballerinalang.compiler.bir.codegen.JvmValueGen.getFieldIsPresentFlagName;
+import static org.wso2.ballerinalang.compiler.bir.codegen.JvmValueGen.genCheckFieldPresence;
+import static org.wso2.ballerinalang.compiler.bir.codegen.JvmValueGen.genSetFieldPresence;
 import static org.wso2.ballerinalang.compiler.bir.codegen.JvmValueGen.isOptionalRecordField;
 
 /**
@@ -132,7 +131,8 @@ public class JvmRecordGen {
         this.floatType = symbolTable.floatType;
     }
 
-    public void createAndSplitGetMethod(ClassWriter cw, Map<String, BField> fields, String className,
+    public void createAndSplitGetMethod(ClassWriter cw, Map<String, BField> fields,
+                                        Map<String, Integer> presenceFlagIndexes, String className,
                                         JvmCastGen jvmCastGen) {
         MethodVisitor mv = cw.visitMethod(ACC_PUBLIC, "get", PASS_OBJECT_RETURN_OBJECT,
                 PASS_OBJECT_RETURN_SAME_TYPE, null);
@@ -157,7 +157,7 @@ public class JvmRecordGen {
         mv.visitInsn(ARETURN);
         JvmCodeGenUtil.visitMaxStackForMethod(mv, "get", className);
         mv.visitEnd();
-        splitGetMethod(cw, fields, className, jvmCastGen);
+        splitGetMethod(cw, fields, presenceFlagIndexes, className, jvmCastGen);
 
         createBasicTypeGetMethod(cw, fields, className, jvmCastGen, TypeKind.BOOLEAN, "getBooleanValue",
                 PASS_B_STRING_RETURN_BOOLEAN, true, BOOLEAN_VALUE);
@@ -176,8 +176,8 @@ public class JvmRecordGen {
                 PASS_B_STRING_RETURN_UNBOXED_LONG, false, null);
     }
 
-    private void splitGetMethod(ClassWriter cw, Map<String, BField> fields, String className,
-                                JvmCastGen jvmCastGen) {
+    private void splitGetMethod(ClassWriter cw, Map<String, BField> fields,
+                                Map<String, Integer> presenceFlagIndexes, String className, JvmCastGen jvmCastGen) {
         int bTypesCount = 0;
         int methodCount = 0;
         MethodVisitor mv = null;
@@ -218,8 +218,7 @@ public class JvmRecordGen {
             String fieldName = optionalField.name.value;
             if (isOptionalRecordField(optionalField)) {
                 mv.visitVarInsn(ALOAD, selfRegIndex);
-                mv.visitFieldInsn(GETFIELD, className, getFieldIsPresentFlagName(fieldName),
-                        getTypeDesc(booleanType));
+                genCheckFieldPresence(mv, className, presenceFlagIndexes.get(fieldName));
                 mv.visitJumpInsn(IFNE, ifPresentLabel);
                 mv.visitInsn(ACONST_NULL);
                 mv.visitInsn(ARETURN);
@@ -264,7 +263,8 @@ public class JvmRecordGen {
         mv.visitInsn(ARETURN);
     }
 
-    public void createAndSplitSetMethod(ClassWriter cw, Map<String, BField> fields, String className,
+    public void createAndSplitSetMethod(ClassWriter cw, Map<String, BField> fields,
+                                        Map<String, Integer> presenceFlagIndexes, String className,
                                         JvmCastGen jvmCastGen) {
         MethodVisitor mv = cw.visitMethod(ACC_PROTECTED, "putValue", MAP_PUT, "(TK;TV;)TV;", null);
         mv.visitCode();
@@ -290,11 +290,11 @@ public class JvmRecordGen {
         mv.visitInsn(ARETURN);
         JvmCodeGenUtil.visitMaxStackForMethod(mv, "putValue", className);
         mv.visitEnd();
-        splitSetMethod(cw, fields, className, jvmCastGen);
+        splitSetMethod(cw, fields, presenceFlagIndexes, className, jvmCastGen);
     }
 
-    private void splitSetMethod(ClassWriter cw, Map<String, BField> fields, String className,
-                                JvmCastGen jvmCastGen) {
+    private void splitSetMethod(ClassWriter cw, Map<String, BField> fields,
+                                Map<String, Integer> presenceFlagIndexes, String className, JvmCastGen jvmCastGen) {
         int bTypesCount = 0;
         int methodCount = 0;
         MethodVisitor mv = null;
@@ -345,9 +345,7 @@ public class JvmRecordGen {
             // if the field is an optional-field, then also set the isPresent flag of that field to true.
             if (isOptionalRecordField(optionalField)) {
                 mv.visitVarInsn(ALOAD, selfRegIndex);
-                mv.visitInsn(ICONST_1);
-                mv.visitFieldInsn(PUTFIELD, className, getFieldIsPresentFlagName(fieldName),
-                        getTypeDesc(booleanType));
+                genSetFieldPresence(mv, className, presenceFlagIndexes.get(fieldName), true);
             }
 
             mv.visitInsn(ARETURN);
@@ -387,7 +385,8 @@ public class JvmRecordGen {
         mv.visitInsn(ARETURN);
     }
 
-    public void createAndSplitEntrySetMethod(ClassWriter cw, Map<String, BField> fields, String className,
+    public void createAndSplitEntrySetMethod(ClassWriter cw, Map<String, BField> fields,
+                                             Map<String, Integer> presenceFlagIndexes, String className,
                                              JvmCastGen jvmCastGen) {
         MethodVisitor mv = cw.visitMethod(ACC_PUBLIC, "entrySet", RECORD_SET, RECORD_SET_MAP_ENTRY, null);
         mv.visitCode();
@@ -402,7 +401,7 @@ public class JvmRecordGen {
             mv.visitVarInsn(ALOAD, entrySetVarIndex);
             mv.visitMethodInsn(INVOKEVIRTUAL, className, "addEntry", LINKED_HASH_SET_OP,
                     false);
-            splitEntrySetMethod(cw, fields, className, jvmCastGen);
+            splitEntrySetMethod(cw, fields, presenceFlagIndexes, className, jvmCastGen);
         }
         // Add all from super.entrySet() to the current entry set.
         mv.visitVarInsn(ALOAD, entrySetVarIndex);
@@ -417,7 +416,8 @@ public class JvmRecordGen {
         mv.visitEnd();
     }
 
-    private void splitEntrySetMethod(ClassWriter cw, Map<String, BField> fields, String className,
+    private void splitEntrySetMethod(ClassWriter cw, Map<String, BField> fields,
+                                     Map<String, Integer> presenceFlagIndexes, String className,
                                      JvmCastGen jvmCastGen) {
 
         int selfRegIndex = 0;
@@ -439,8 +439,7 @@ public class JvmRecordGen {
             String fieldName = optionalField.name.value;
             if (isOptionalRecordField(optionalField)) {
                 mv.visitVarInsn(ALOAD, 0);
-                mv.visitFieldInsn(GETFIELD, className, getFieldIsPresentFlagName(fieldName),
-                        getTypeDesc(booleanType));
+                genCheckFieldPresence(mv, className, presenceFlagIndexes.get(fieldName));
                 mv.visitJumpInsn(IFEQ, ifNotPresent);
             }
 
@@ -482,7 +481,8 @@ public class JvmRecordGen {
         }
     }
 
-    public void createAndSplitContainsKeyMethod(ClassWriter cw, Map<String, BField> fields, String className) {
+    public void createAndSplitContainsKeyMethod(ClassWriter cw, Map<String, BField> fields,
+                                                Map<String, Integer> presenceFlagIndexes, String className) {
         MethodVisitor mv = cw.visitMethod(ACC_PUBLIC, "containsKey", ANY_TO_JBOOLEAN, null, null);
         mv.visitCode();
         int selfIndex = 0;
@@ -505,10 +505,11 @@ public class JvmRecordGen {
         mv.visitInsn(IRETURN);
         JvmCodeGenUtil.visitMaxStackForMethod(mv, "containsKey", className);
         mv.visitEnd();
-        splitContainsKeyMethod(cw, fields, className);
+        splitContainsKeyMethod(cw, fields, presenceFlagIndexes, className);
     }
 
-    private void splitContainsKeyMethod(ClassWriter cw, Map<String, BField> fields, String className) {
+    private void splitContainsKeyMethod(ClassWriter cw, Map<String, BField> fields,
+                                        Map<String, Integer> presenceFlagIndexes, String className) {
 
         int bTypesCount = 0;
         int methodCount = 0;
@@ -549,8 +550,7 @@ public class JvmRecordGen {
             if (isOptionalRecordField(optionalField)) {
                 // if the field is optional, then return the value is the 'isPresent' flag.
                 mv.visitVarInsn(ALOAD, selfRegIndex);
-                mv.visitFieldInsn(GETFIELD, className, getFieldIsPresentFlagName(fieldName),
-                        getTypeDesc(booleanType));
+                genCheckFieldPresence(mv, className, presenceFlagIndexes.get(fieldName));
             } else {
                 // else always return true.
                 mv.visitLdcInsn(true);
@@ -589,7 +589,8 @@ public class JvmRecordGen {
         mv.visitInsn(IRETURN);
     }
 
-    public void createAndSplitGetValuesMethod(ClassWriter cw, Map<String, BField> fields, String className,
+    public void createAndSplitGetValuesMethod(ClassWriter cw, Map<String, BField> fields,
+                                              Map<String, Integer> presenceFlagIndexes, String className,
                                               JvmCastGen jvmCastGen) {
 
         MethodVisitor mv = cw.visitMethod(ACC_PUBLIC, "values", MAP_VALUES, MAP_VALUES_WITH_COLLECTION, null);
@@ -605,7 +606,7 @@ public class JvmRecordGen {
             mv.visitVarInsn(ALOAD, valuesVarIndex);
             mv.visitMethodInsn(INVOKEVIRTUAL, className, "values", COLLECTION_OP,
                     false);
-            splitGetValuesMethod(cw, fields, className, jvmCastGen);
+            splitGetValuesMethod(cw, fields, presenceFlagIndexes, className, jvmCastGen);
         }
         mv.visitVarInsn(ALOAD, valuesVarIndex);
         mv.visitVarInsn(ALOAD, 0); // this
@@ -619,7 +620,8 @@ public class JvmRecordGen {
         mv.visitEnd();
     }
 
-    private void splitGetValuesMethod(ClassWriter cw, Map<String, BField> fields, String className,
+    private void splitGetValuesMethod(ClassWriter cw, Map<String, BField> fields,
+                                      Map<String, Integer> presenceFlagIndexes, String className,
                                       JvmCastGen jvmCastGen) {
         int selfRegIndex = 0;
         int valuesVarIndex = 1;
@@ -640,8 +642,7 @@ public class JvmRecordGen {
             String fieldName = optionalField.name.value;
             if (isOptionalRecordField(optionalField)) {
                 mv.visitVarInsn(ALOAD, 0); // this
-                mv.visitFieldInsn(GETFIELD, className, getFieldIsPresentFlagName(fieldName),
-                        getTypeDesc(booleanType));
+                genCheckFieldPresence(mv, className, presenceFlagIndexes.get(fieldName));
                 mv.visitJumpInsn(IFEQ, ifNotPresent);
             }
 
@@ -672,7 +673,8 @@ public class JvmRecordGen {
         }
     }
 
-    public void createAndSplitRemoveMethod(ClassWriter cw, Map<String, BField> fields, String className,
+    public void createAndSplitRemoveMethod(ClassWriter cw, Map<String, BField> fields,
+                                           Map<String, Integer> presenceFlagIndexes, String className,
                                            JvmCastGen jvmCastGen) {
         // throw an UnsupportedOperationException, since remove is not supported by for records.
         MethodVisitor mv = cw.visitMethod(ACC_PUBLIC, "remove", PASS_OBJECT_RETURN_OBJECT,
@@ -700,11 +702,11 @@ public class JvmRecordGen {
         mv.visitInsn(ARETURN);
         JvmCodeGenUtil.visitMaxStackForMethod(mv, "remove", className);
         mv.visitEnd();
-        splitRemoveMethod(cw, fields, className, jvmCastGen);
+        splitRemoveMethod(cw, fields, presenceFlagIndexes, className, jvmCastGen);
     }
 
-    private void splitRemoveMethod(ClassWriter cw, Map<String, BField> fields, String className,
-                                   JvmCastGen jvmCastGen) {
+    private void splitRemoveMethod(ClassWriter cw, Map<String, BField> fields,
+                                   Map<String, Integer> presenceFlagIndexes, String className, JvmCastGen jvmCastGen) {
         int bTypesCount = 0;
         int methodCount = 0;
         MethodVisitor mv = null;
@@ -744,9 +746,7 @@ public class JvmRecordGen {
             if (isOptionalRecordField(optionalField)) {
                 String fieldName = optionalField.name.value;
                 mv.visitVarInsn(ALOAD, 0);
-                mv.visitInsn(ICONST_0);
-                mv.visitFieldInsn(PUTFIELD, className, getFieldIsPresentFlagName(fieldName),
-                        getTypeDesc(booleanType));
+                genSetFieldPresence(mv, className, presenceFlagIndexes.get(fieldName), false);
 
                 // load the existing value to return
                 mv.visitVarInsn(ALOAD, 0);
@@ -801,7 +801,8 @@ public class JvmRecordGen {
         mv.visitInsn(ARETURN);
     }
 
-    public void createAndSplitGetKeysMethod(ClassWriter cw, Map<String, BField> fields, String className) {
+    public void createAndSplitGetKeysMethod(ClassWriter cw, Map<String, BField> fields,
+                                            Map<String, Integer> presenceFlagIndexes, String className) {
         MethodVisitor mv = cw.visitMethod(ACC_PUBLIC, "getKeys", RECORD_GET_KEYS, "()[TK;", null);
         mv.visitCode();
         int selfIndex = 0;
@@ -816,7 +817,7 @@ public class JvmRecordGen {
             mv.visitVarInsn(ALOAD, keysVarIndex);
             mv.visitMethodInsn(INVOKEVIRTUAL, className, "getKeys", LINKED_HASH_SET_OP,
                     false);
-            splitGetKeysMethod(cw, fields, className);
+            splitGetKeysMethod(cw, fields, presenceFlagIndexes, className);
         }
         mv.visitVarInsn(ALOAD, keysVarIndex);
         mv.visitVarInsn(ALOAD, selfIndex); // this
@@ -835,7 +836,8 @@ public class JvmRecordGen {
         mv.visitEnd();
     }
 
-    private void splitGetKeysMethod(ClassWriter cw, Map<String, BField> fields, String className) {
+    private void splitGetKeysMethod(ClassWriter cw, Map<String, BField> fields,
+                                    Map<String, Integer> presenceFlagIndexes, String className) {
 
         int selfRegIndex = 0;
         int keysVarIndex = 1;
@@ -856,8 +858,7 @@ public class JvmRecordGen {
             String fieldName = optionalField.name.value;
             if (isOptionalRecordField(optionalField)) {
                 mv.visitVarInsn(ALOAD, 0); // this
-                mv.visitFieldInsn(GETFIELD, className, getFieldIsPresentFlagName(fieldName),
-                        getTypeDesc(booleanType));
+                genCheckFieldPresence(mv, className, presenceFlagIndexes.get(fieldName));
                 mv.visitJumpInsn(IFEQ, ifNotPresent);
             }
 
@@ -370,6 +370,12 @@ public abstract class BIRTerminator extends BIRAbstractInstruction implements BI
 
         public Integer lockId = -1;
 
+        /**
+         * Whether the locked region only reads the state guarded by the lock, in which case the lock can be
+         * acquired in shared mode.
+         */
+        public boolean readOnly;
+
         public Lock(Location pos, BIRBasicBlock lockedBB) {
             super(pos, InstructionKind.LOCK);
             this.lockedBB = lockedBB;
@@ -18,12 +18,22 @@
 
 package org.wso2.ballerinalang.compiler.bir.optimizer;
 
+import org.ballerinalang.model.elements.PackageID;
+import org.wso2.ballerinalang.compiler.bir.model.BIRAbstractInstruction;
 import org.wso2.ballerinalang.compiler.bir.model.BIRNode;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNonTerminator;
+import org.wso2.ballerinalang.compiler.bir.model.BIROperand;
 import org.wso2.ballerinalang.compiler.bir.model.BIRTerminator;
 import org.wso2.ballerinalang.compiler.bir.model.BIRVisitor;
+import org.wso2.ballerinalang.compiler.bir.model.InstructionKind;
+import org.wso2.ballerinalang.compiler.bir.model.VarKind;
+import org.wso2.ballerinalang.compiler.util.Names;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -31,11 +41,28 @@ import java.util.Set;
 
 /**
  * Optimize Locks.
+ * <p>
+ * Locks which access a common global variable are merged into a single lock, and locks whose region only reads the
+ * guarded state are marked as read-only so that they can be acquired in shared mode.
  *
  * @since 1.2.1
  */
 public class BIRLockOptimizer extends BIRVisitor {
 
+    // Lang library modules which do not have functions that mutate their arguments.
+    private static final Set<String> IMMUTABLE_LANG_LIB_MODULES =
+            Set.of("lang.string", "lang.int", "lang.float", "lang.decimal", "lang.boolean");
+
+    // Lang library functions which do not mutate their arguments, as `module:function`.
+    private static final Set<String> NON_MUTATING_LANG_LIB_FUNCTIONS = Set.of(
+            "lang.array:length", "lang.array:indexOf", "lang.array:lastIndexOf", "lang.array:slice",
+            "lang.map:length", "lang.map:hasKey", "lang.map:get", "lang.map:keys", "lang.map:toArray",
+            "lang.map:entries",
+            "lang.table:length", "lang.table:hasKey", "lang.table:get", "lang.table:keys", "lang.table:toArray",
+            "lang.xml:length", "lang.xml:get", "lang.xml:slice",
+            "lang.value:clone", "lang.value:cloneReadOnly", "lang.value:cloneWithType", "lang.value:ensureType",
+            "lang.value:isReadOnly", "lang.value:toString", "lang.value:toBalString", "lang.value:toJsonString");
+
     private final List<BIRTerminator.Lock> lockList = new ArrayList<>();
     private final Map<BIRTerminator.Lock, Integer> lockToSetMap = new HashMap<>();
     private final Map<Integer, List<BIRTerminator.Lock>> setToLockMap = new HashMap<>();
@@ -206,6 +233,79 @@ public class BIRLockOptimizer extends BIRVisitor {
     @Override
     public void visit(BIRTerminator.Lock lock) {
         lockList.add(lock);
+        lock.readOnly = isReadOnlyRegion(lock);
+    }
+
+    /**
+     * Checks whether the basic blocks reachable from the lock, up to the related unlock, only read state. Calls
+     * are only allowed to known lang library functions which do not mutate their arguments, and nested locks are
+     * not allowed so that a strand never needs to upgrade a shared lock.
+     */
+    private boolean isReadOnlyRegion(BIRTerminator.Lock lock) {
+        Set<BIRNode.BIRBasicBlock> visited = new HashSet<>();
+        Deque<BIRNode.BIRBasicBlock> toVisit = new ArrayDeque<>();
+        toVisit.push(lock.lockedBB);
+        while (!toVisit.isEmpty()) {
+            BIRNode.BIRBasicBlock basicBlock = toVisit.pop();
+            if (!visited.add(basicBlock)) {
+                continue;
+            }
+            for (BIRNonTerminator instruction : basicBlock.instructions) {
+                if (isMutatingInstruction(instruction)) {
+                    return false;
+                }
+            }
+            BIRTerminator terminator = basicBlock.terminator;
+            if (terminator == null || writesToGlobalVar(terminator)) {
+                return false;
+            }
+            if (terminator.kind == InstructionKind.UNLOCK) {
+                if (((BIRTerminator.Unlock) terminator).relatedLock != lock) {
+                    return false;
+                }
+                continue;
+            }
+            if (!isNonMutatingTerminator(terminator)) {
+                return false;
+            }
+            for (BIRNode.BIRBasicBlock nextBB : terminator.getNextBasicBlocks()) {
+                toVisit.push(nextBB);
+            }
+        }
+        return true;
+    }
+
+    private boolean isMutatingInstruction(BIRNonTerminator instruction) {
+        InstructionKind kind = instruction.getKind();
+        return switch (kind) {
+            case MAP_STORE, ARRAY_STORE, OBJECT_STORE, XML_SEQ_STORE, XML_ATTRIBUTE_STORE, TABLE_STORE -> true;
+            default -> writesToGlobalVar(instruction);
+        };
+    }
+
+    private boolean isNonMutatingTerminator(BIRTerminator terminator) {
+        return switch (terminator.kind) {
+            case GOTO, BRANCH, PANIC -> true;
+            case CALL -> isNonMutatingLangLibCall((BIRTerminator.Call) terminator);
+            default -> false;
+        };
+    }
+
+    private boolean writesToGlobalVar(BIRAbstractInstruction instruction) {
+        BIROperand lhsOp = instruction.lhsOp;
+        return lhsOp != null && lhsOp.variableDcl != null && lhsOp.variableDcl.kind == VarKind.GLOBAL;
+    }
+
+    private boolean isNonMutatingLangLibCall(BIRTerminator.Call call) {
+        PackageID calleePkg = call.calleePkg;
+        if (call.isVirtual || calleePkg == null || !Names.BALLERINA_ORG.equals(calleePkg.orgName)) {
+            return false;
+        }
+        String moduleName = calleePkg.name.value;
+        if (IMMUTABLE_LANG_LIB_MODULES.contains(moduleName)) {
+            return true;
+        }
+        return NON_MUTATING_LANG_LIB_FUNCTIONS.contains(moduleName + ":" + call.name.value);
     }
 
     @Override
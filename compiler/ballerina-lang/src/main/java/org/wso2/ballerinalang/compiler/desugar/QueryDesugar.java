@@ -16,6 +16,7 @@
  */
 package org.wso2.ballerinalang.compiler.desugar;
 
+import io.ballerina.identifier.Utils;
 import io.ballerina.tools.diagnostics.Location;
 import org.ballerinalang.model.TreeBuilder;
 import org.ballerinalang.model.clauses.OrderKeyNode;
@@ -32,6 +33,7 @@ import org.wso2.ballerinalang.compiler.semantics.analyzer.SymbolResolver;
 import org.wso2.ballerinalang.compiler.semantics.analyzer.Types;
 import org.wso2.ballerinalang.compiler.semantics.model.SymbolEnv;
 import org.wso2.ballerinalang.compiler.semantics.model.SymbolTable;
+import org.wso2.ballerinalang.compiler.semantics.model.symbols.BConstantSymbol;
 import org.wso2.ballerinalang.compiler.semantics.model.symbols.BInvokableSymbol;
 import org.wso2.ballerinalang.compiler.semantics.model.symbols.BSymbol;
 import org.wso2.ballerinalang.compiler.semantics.model.symbols.BVarSymbol;
@@ -45,12 +47,14 @@ import org.wso2.ballerinalang.compiler.semantics.model.types.BRecordType;
 import org.wso2.ballerinalang.compiler.semantics.model.types.BSequenceType;
 import org.wso2.ballerinalang.compiler.semantics.model.types.BStreamType;
 import org.wso2.ballerinalang.compiler.semantics.model.types.BStructureType;
+import org.wso2.ballerinalang.compiler.semantics.model.types.BTableType;
 import org.wso2.ballerinalang.compiler.semantics.model.types.BTupleMember;
 import org.wso2.ballerinalang.compiler.semantics.model.types.BTupleType;
 import org.wso2.ballerinalang.compiler.semantics.model.types.BType;
 import org.wso2.ballerinalang.compiler.semantics.model.types.BTypedescType;
 import org.wso2.ballerinalang.compiler.semantics.model.types.BUnionType;
 import org.wso2.ballerinalang.compiler.tree.BLangBlockFunctionBody;
+import org.wso2.ballerinalang.compiler.tree.BLangConstantValue;
 import org.wso2.ballerinalang.compiler.tree.BLangErrorVariable;
 import org.wso2.ballerinalang.compiler.tree.BLangExprFunctionBody;
 import org.wso2.ballerinalang.compiler.tree.BLangFunction;
@@ -59,12 +63,14 @@ import org.wso2.ballerinalang.compiler.tree.BLangIdentifier;
 import org.wso2.ballerinalang.compiler.tree.BLangMarkdownReferenceDocumentation;
 import org.wso2.ballerinalang.compiler.tree.BLangNode;
 import org.wso2.ballerinalang.compiler.tree.BLangNodeVisitor;
+import org.wso2.ballerinalang.compiler.tree.BLangPackage;
 import org.wso2.ballerinalang.compiler.tree.BLangRecordVariable;
 import org.wso2.ballerinalang.compiler.tree.BLangSimpleVariable;
 import org.wso2.ballerinalang.compiler.tree.BLangTableKeySpecifier;
 import org.wso2.ballerinalang.compiler.tree.BLangTupleVariable;
 import org.wso2.ballerinalang.compiler.tree.BLangVariable;
 import org.wso2.ballerinalang.compiler.tree.BLangXMLNS;
+import org.wso2.ballerinalang.compiler.tree.SimpleBLangNodeAnalyzer;
 import org.wso2.ballerinalang.compiler.tree.clauses.BLangCollectClause;
 import org.wso2.ballerinalang.compiler.tree.clauses.BLangDoClause;
 import org.wso2.ballerinalang.compiler.tree.clauses.BLangFromClause;
@@ -186,7 +192,9 @@ import org.wso2.ballerinalang.compiler.tree.types.BLangLetVariable;
 import org.wso2.ballerinalang.compiler.tree.types.BLangRecordTypeNode;
 import org.wso2.ballerinalang.compiler.tree.types.BLangUnionTypeNode;
 import org.wso2.ballerinalang.compiler.tree.types.BLangValueType;
+import org.wso2.ballerinalang.compiler.util.BArrayState;
 import org.wso2.ballerinalang.compiler.util.CompilerContext;
+import org.wso2.ballerinalang.compiler.util.FieldKind;
 import org.wso2.ballerinalang.compiler.util.Name;
 import org.wso2.ballerinalang.compiler.util.Names;
 import org.wso2.ballerinalang.compiler.util.TypeTags;
@@ -195,10 +203,12 @@ import org.wso2.ballerinalang.util.Lists;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import static io.ballerina.runtime.api.constants.RuntimeConstants.UNDERSCORE;
 import static org.ballerinalang.model.symbols.SymbolOrigin.VIRTUAL;
@@ -215,8 +225,11 @@ public class QueryDesugar extends BLangNodeVisitor {
     private static final Name QUERY_CREATE_LET_FUNCTION = new Name("createLetFunction");
     private static final Name QUERY_CREATE_INNER_JOIN_FUNCTION = new Name("createInnerJoinFunction");
     private static final Name QUERY_CREATE_OUTER_JOIN_FUNCTION = new Name("createOuterJoinFunction");
+    private static final Name QUERY_CREATE_TABLE_KEY_JOIN_FUNCTION = new Name("createTableKeyJoinFunction");
     private static final Name QUERY_CREATE_FILTER_FUNCTION = new Name("createFilterFunction");
     private static final Name QUERY_CREATE_ORDER_BY_FUNCTION = new Name("createOrderByFunction");
+    private static final Name QUERY_CREATE_TOP_K_ORDER_BY_FUNCTION = new Name("createTopKOrderByFunction");
+    private static final Name QUERY_CREATE_EXTERNAL_ORDER_BY_FUNCTION = new Name("createExternalOrderByFunction");
     private static final Name QUERY_CREATE_GROUP_BY_FUNCTION = new Name("createGroupByFunction");
     private static final Name QUERY_CREATE_COLLECT_FUNCTION = new Name("createCollectFunction");
     private static final Name QUERY_CREATE_SELECT_FUNCTION = new Name("createSelectFunction");
@@ -287,6 +300,9 @@ public class QueryDesugar extends BLangNodeVisitor {
      */
     BLangStatementExpression desugar(BLangQueryExpr queryExpr, SymbolEnv env,
                                      List<BLangStatement> stmtsToBePropagated) {
+        if (canDesugarToLoop(queryExpr, env)) {
+            return desugarToLoop(queryExpr, env);
+        }
         containsCheckExpr = false;
         HashSet<BType> prevCheckedErrorList = this.checkedErrorList;
         this.checkedErrorList = new HashSet<>();
@@ -354,6 +370,149 @@ public class QueryDesugar extends BLangNodeVisitor {
         return streamStmtExpr;
     }
 
+    /**
+     * Checks whether the query expression can be desugared into nested loops over its input collections instead of a
+     * stream pipeline. This is done for queries that construct a list using only from, let and where clauses followed
+     * by a select clause, where the from clauses iterate over lists or integer ranges.
+     *
+     * @param queryExpr query expression to be desugared.
+     * @param env       symbol env.
+     * @return whether the query can be desugared into loops.
+     */
+    private boolean canDesugarToLoop(BLangQueryExpr queryExpr, SymbolEnv env) {
+        if (env.enclInvokable == null || queryExpr.isStream || queryExpr.isTable || queryExpr.isMap) {
+            return false;
+        }
+        BType queryType = queryExpr.getBType();
+        BType refType = Types.getImpliedType(queryType);
+        if (refType.tag != TypeTags.ARRAY || ((BArrayType) refType).state != BArrayState.OPEN ||
+                Symbols.isFlagOn(queryType.flags, Flags.READONLY) || Symbols.isFlagOn(refType.flags, Flags.READONLY)) {
+            return false;
+        }
+        for (BLangNode clause : queryExpr.getQueryClauses()) {
+            switch (clause.getKind()) {
+                case FROM:
+                    BLangExpression collection = ((BLangFromClause) clause).collection;
+                    BType collectionType = Types.getImpliedType(collection.getBType());
+                    if (!isRangeExpr(collection) && collectionType.tag != TypeTags.ARRAY &&
+                            collectionType.tag != TypeTags.TUPLE) {
+                        return false;
+                    }
+                    break;
+                case LET_CLAUSE:
+                case WHERE:
+                case SELECT:
+                    break;
+                default:
+                    return false;
+            }
+        }
+        // Closures over the query variables and early completion of the query need the stream pipeline.
+        LoopQueryAnalyzer analyzer = new LoopQueryAnalyzer();
+        analyzer.visitNode(queryExpr.getQueryClauses(), null);
+        return !analyzer.needsPipeline;
+    }
+
+    private static boolean isRangeExpr(BLangExpression expr) {
+        if (expr.getKind() != NodeKind.BINARY_EXPR) {
+            return false;
+        }
+        OperatorKind opKind = ((BLangBinaryExpr) expr).opKind;
+        return opKind == OperatorKind.CLOSED_RANGE || opKind == OperatorKind.HALF_OPEN_RANGE;
+    }
+
+    /**
+     * Desugar a query expression into nested loops, which add the results of the select clause to a list.
+     * <pre>
+     *  int[] res = from var x in arr
+     *              let int y = x * 2
+     *              where y > 3
+     *              select y;
+     *
+     *  is desugared to
+     *
+     *  int[] $streamElement$_0 = [];
+     *  foreach var x in arr {
+     *      int y = x * 2;
+     *      if (y > 3) {
+     *          $streamElement$_0[$streamElement$_0.length()] = y;
+     *      }
+     *  }
+     *  int[] res = $streamElement$_0;
+     * </pre>
+     *
+     * @param queryExpr query expression to be desugared.
+     * @param env       symbol env.
+     * @return desugared query expression.
+     */
+    private BLangStatementExpression desugarToLoop(BLangQueryExpr queryExpr, SymbolEnv env) {
+        this.env = env;
+        List<BLangNode> clauses = queryExpr.getQueryClauses();
+        Location pos = clauses.get(0).pos;
+        BType queryType = queryExpr.getBType();
+        BArrayType arrayType = (BArrayType) Types.getImpliedType(queryType);
+        BLangBlockStmt queryBlock = ASTBuilderUtil.createBlockStmt(pos);
+
+        BLangArrayLiteral arr = (BLangArrayLiteral) TreeBuilder.createArrayLiteralExpressionNode();
+        arr.pos = pos;
+        arr.exprs = new ArrayList<>();
+        arr.setBType(arrayType);
+        String name = getNewVarName();
+        BVarSymbol resultSymbol = new BVarSymbol(0, Names.fromString(name), env.scope.owner.pkgID, arrayType,
+                env.scope.owner, pos, VIRTUAL);
+        BLangSimpleVariable resultVariable = ASTBuilderUtil.createVariable(pos, name, arrayType, arr, resultSymbol);
+        queryBlock.addStatement(ASTBuilderUtil.createVariableDef(pos, resultVariable));
+
+        BLangBlockStmt block = queryBlock;
+        for (BLangNode clause : clauses) {
+            switch (clause.getKind()) {
+                case FROM:
+                    BLangFromClause fromClause = (BLangFromClause) clause;
+                    BLangForeach foreach = (BLangForeach) TreeBuilder.createForeachNode();
+                    foreach.pos = fromClause.pos;
+                    foreach.collection = fromClause.collection;
+                    foreach.variableDefinitionNode = fromClause.variableDefinitionNode;
+                    foreach.isDeclaredWithVar = fromClause.isDeclaredWithVar;
+                    foreach.varType = fromClause.varType;
+                    foreach.resultType = fromClause.resultType;
+                    foreach.nillableResultType = fromClause.nillableResultType;
+                    foreach.body = ASTBuilderUtil.createBlockStmt(fromClause.pos);
+                    setSymbolOwner((BLangVariable) fromClause.variableDefinitionNode.getVariable(), env.scope.owner);
+                    block.addStatement(foreach);
+                    block = foreach.body;
+                    break;
+                case LET_CLAUSE:
+                    for (BLangLetVariable letVariable : ((BLangLetClause) clause).letVarDeclarations) {
+                        setSymbolOwner((BLangVariable) letVariable.definitionNode.getVariable(), env.scope.owner);
+                        block.addStatement((BLangStatement) letVariable.definitionNode);
+                    }
+                    break;
+                case WHERE:
+                    BLangIf ifNode = ASTBuilderUtil.createIfStmt(clause.pos, block);
+                    ifNode.expr = ((BLangWhereClause) clause).expression;
+                    ifNode.body = ASTBuilderUtil.createBlockStmt(clause.pos);
+                    block = ifNode.body;
+                    break;
+                default:
+                    // $streamElement$_n[$streamElement$_n.length()] = selectExpr;
+                    BLangSelectClause selectClause = (BLangSelectClause) clause;
+                    BLangInvocation lengthInvocation = desugar.createLangLibInvocationNode("length",
+                            ASTBuilderUtil.createVariableRef(selectClause.pos, resultSymbol), new ArrayList<>(),
+                            symTable.intType, selectClause.pos);
+                    BLangIndexBasedAccess indexAccessExpr = ASTBuilderUtil.createIndexAccessExpr(
+                            ASTBuilderUtil.createVariableRef(selectClause.pos, resultSymbol), lengthInvocation);
+                    indexAccessExpr.pos = selectClause.pos;
+                    indexAccessExpr.setBType(arrayType.eType);
+                    block.addStatement(ASTBuilderUtil.createAssignmentStmt(selectClause.pos, indexAccessExpr,
+                            types.addConversionExprIfRequired(selectClause.expression, arrayType.eType)));
+            }
+        }
+        BLangStatementExpression stmtExpr = ASTBuilderUtil.createStatementExpression(queryBlock,
+                addTypeConversionExpr(ASTBuilderUtil.createVariableRef(pos, resultSymbol), queryType));
+        stmtExpr.setBType(queryType);
+        return stmtExpr;
+    }
+
     private BMapType getMapType(BType type) {
         BMapType resultantType = (BMapType) Types.getImpliedType(types.getSafeType(type, false, true));
         return resultantType;
@@ -535,7 +694,9 @@ public class QueryDesugar extends BLangNodeVisitor {
                     addStreamFunction(block, initPipeline, whereFunc);
                     break;
                 case ORDER_BY:
-                    BLangVariableReference orderFunc = addOrderByFunction(block, (BLangOrderByClause) clause,
+                    BLangOrderByClause orderByClause = (BLangOrderByClause) clause;
+                    BLangVariableReference orderFunc = addOrderByFunction(block, orderByClause,
+                            getTopKLimit(clauses, orderByClause), isSpillable(clauses, orderByClause),
                             stmtsToBePropagated);
                     addStreamFunction(block, initPipeline, orderFunc);
                     break;
@@ -702,6 +863,8 @@ public class QueryDesugar extends BLangNodeVisitor {
     /**
      * Desugar joinClauses to below and return a reference to created join _StreamFunction.
      * _StreamFunction joinFunc = createJoinFunction(joinPipeline);
+     * When the join is on the key of an immutable table, the members are looked up in the table itself.
+     * _StreamFunction joinFunc = createTableKeyJoinFunction(joinPipeline, lhsKeyFunction, nilFrame?);
      *
      * @param blockStmt    parent block to write to.
      * @param joinClause   to be desugared.
@@ -714,6 +877,16 @@ public class QueryDesugar extends BLangNodeVisitor {
         BLangExpression lhsExpr = (BLangExpression) joinClause.onClause.getLeftExpression();
         BLangExpression rhsExpr = (BLangExpression) joinClause.onClause.getRightExpression();
         BLangLambdaFunction lhsKeyFunction = createKeyFunction(lhsExpr, stmtsToBePropagated);
+        if (isTableKeyJoin(joinClause, rhsExpr)) {
+            BLangExpression nilFrame = ASTBuilderUtil.createLiteral(rhsExpr.pos, symTable.nilType, Names.NIL_VALUE);
+            if (joinClause.isOuterJoin) {
+                List<BVarSymbol> symbols =
+                        getIntroducedSymbols((BLangVariable) joinClause.variableDefinitionNode.getVariable());
+                nilFrame = defineNilFrameForType(symbols, blockStmt, rhsExpr.pos);
+            }
+            return getStreamFunctionVariableRef(blockStmt, QUERY_CREATE_TABLE_KEY_JOIN_FUNCTION,
+                    Lists.of(joinPipeline, lhsKeyFunction, nilFrame), joinClause.pos);
+        }
         BLangLambdaFunction rhsKeyFunction = createKeyFunction(rhsExpr, stmtsToBePropagated);
         if (joinClause.isOuterJoin) {
             List<BVarSymbol> symbols =
@@ -727,6 +900,32 @@ public class QueryDesugar extends BLangNodeVisitor {
         }
     }
 
+    /**
+     * Checks whether the join clause joins on the key of an immutable table with a single key field, as in
+     * `join var y in tbl on x.id equals y.id` where `tbl` is of type `table<T> key(id) & readonly`. The table then
+     * already is an index of its members by the join key, and its members cannot change while the query runs.
+     *
+     * @param joinClause join clause.
+     * @param rhsExpr    right-hand side expression of the on clause.
+     * @return whether the members can be looked up by the key of the table.
+     */
+    private boolean isTableKeyJoin(BLangJoinClause joinClause, BLangExpression rhsExpr) {
+        BType collectionType = Types.getImpliedType(joinClause.collection.getBType());
+        BLangVariable variable = (BLangVariable) joinClause.variableDefinitionNode.getVariable();
+        if (collectionType.tag != TypeTags.TABLE || !Symbols.isFlagOn(collectionType.flags, Flags.READONLY) ||
+                variable.getKind() != NodeKind.VARIABLE || rhsExpr.getKind() != NodeKind.FIELD_BASED_ACCESS_EXPR) {
+            return false;
+        }
+        // The variable of an outer join is optional, so its fields are accessed with `?.`.
+        BLangFieldBasedAccess fieldAccess = (BLangFieldBasedAccess) rhsExpr;
+        if (fieldAccess.fieldKind != FieldKind.SINGLE || fieldAccess.expr.getKind() != NodeKind.SIMPLE_VARIABLE_REF ||
+                ((BLangSimpleVarRef) fieldAccess.expr).symbol != variable.symbol) {
+            return false;
+        }
+        List<String> keyFieldNames = ((BTableType) collectionType).fieldNameList;
+        return keyFieldNames.size() == 1 && keyFieldNames.get(0).equals(Utils.unescapeJava(fieldAccess.field.value));
+    }
+
     /**
      * Desugar letClause to below and return a reference to created let _StreamFunction.
      * _StreamFunction ysLet = createLetFunction(function(_Frame frame) returns _Frame|error? {
@@ -793,14 +992,20 @@ public class QueryDesugar extends BLangNodeVisitor {
      * _StreamFunction orderByFunc = createOrderByFunction(function(_Frame frame) {
      * _Frame frame = {"orderKey": frame["x2"] + frame["y2"], $orderDirection$: true + false"};
      * });
+     * If the limit of the limit clause that follows is known, only that many frames are retained while ordering.
+     * _StreamFunction orderByFunc = createTopKOrderByFunction(function(_Frame frame) {...}, 10);
+     * Otherwise, if all the frame values are anydata, the frames may be spilled to disk while ordering.
+     * _StreamFunction orderByFunc = createExternalOrderByFunction(function(_Frame frame) {...});
      *
      * @param blockStmt           parent block to write to.
      * @param orderByClause       to be desugared.
+     * @param limit               limit of the limit clause that follows, or null if it is not known.
+     * @param spillable           whether all the frame values are anydata.
      * @param stmtsToBePropagated list of statements to be propagated.
      * @return variableReference to created orderBy _StreamFunction.
      */
-    BLangVariableReference addOrderByFunction(BLangBlockStmt blockStmt, BLangOrderByClause orderByClause,
-                                              List<BLangStatement> stmtsToBePropagated) {
+    BLangVariableReference addOrderByFunction(BLangBlockStmt blockStmt, BLangOrderByClause orderByClause, Long limit,
+                                              boolean spillable, List<BLangStatement> stmtsToBePropagated) {
         Location pos = orderByClause.pos;
         BLangLambdaFunction lambda = createActionLambda(pos);
         BLangBlockFunctionBody body = (BLangBlockFunctionBody) lambda.function.body;
@@ -833,9 +1038,100 @@ public class QueryDesugar extends BLangNodeVisitor {
         BLangStatement orderDirectionStmt = getAddToFrameStmt(pos, frame, "$orderDirection$", sortModesArrayExpr);
         body.stmts.add(orderDirectionStmt);
         lambda.accept(this);
+        if (limit != null) {
+            return getStreamFunctionVariableRef(blockStmt, QUERY_CREATE_TOP_K_ORDER_BY_FUNCTION,
+                    Lists.of(lambda, ASTBuilderUtil.createLiteral(pos, symTable.intType, limit)), pos);
+        }
+        if (spillable) {
+            return getStreamFunctionVariableRef(blockStmt, QUERY_CREATE_EXTERNAL_ORDER_BY_FUNCTION, Lists.of(lambda),
+                    pos);
+        }
         return getStreamFunctionVariableRef(blockStmt, QUERY_CREATE_ORDER_BY_FUNCTION, Lists.of(lambda), pos);
     }
 
+    /**
+     * Returns whether all the values of the frames an order by clause orders are anydata, so that the frames can be
+     * spilled to disk while ordering. These are the values of the variables introduced by the clauses preceding the
+     * order by clause, and the order keys.
+     *
+     * @param clauses       list of query clauses.
+     * @param orderByClause order by clause.
+     * @return whether the frames can be spilled to disk.
+     */
+    private boolean isSpillable(List<BLangNode> clauses, BLangOrderByClause orderByClause) {
+        for (BLangNode clause : clauses.subList(0, clauses.indexOf(orderByClause))) {
+            switch (clause.getKind()) {
+                case FROM:
+                case JOIN:
+                    // The frame holds the member as well as the variables bound to it.
+                    if (!types.isAnydata(((BLangInputClause) clause).varType)) {
+                        return false;
+                    }
+                    break;
+                case LET_CLAUSE:
+                    for (BLangLetVariable letVariable : ((BLangLetClause) clause).letVarDeclarations) {
+                        if (!types.isAnydata(((BLangVariable) letVariable.definitionNode.getVariable()).getBType())) {
+                            return false;
+                        }
+                    }
+                    break;
+                case GROUP_BY:
+                    // Other variables are grouped into lists of their values, which are anydata if the values are.
+                    for (BLangGroupingKey groupingKey : ((BLangGroupByClause) clause).groupingKeyList) {
+                        if (groupingKey.variableDef != null &&
+                                !types.isAnydata(groupingKey.variableDef.var.getBType())) {
+                            return false;
+                        }
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+        for (OrderKeyNode orderKeyNode : orderByClause.getOrderKeyList()) {
+            if (!types.isAnydata(((BLangOrderKey) orderKeyNode).expression.getBType())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the limit of the limit clause immediately following an order by clause, if the limit is an int literal
+     * or constant and all the order keys are of a basic type the order by function sorts. Only that many frames need
+     * to be retained while ordering, since the limit clause drops the rest.
+     *
+     * @param clauses       list of query clauses.
+     * @param orderByClause order by clause.
+     * @return limit of the limit clause, or null if there is no such limit.
+     */
+    private Long getTopKLimit(List<BLangNode> clauses, BLangOrderByClause orderByClause) {
+        int nextIndex = clauses.indexOf(orderByClause) + 1;
+        if (nextIndex == clauses.size() || clauses.get(nextIndex).getKind() != NodeKind.LIMIT) {
+            return null;
+        }
+        for (OrderKeyNode orderKeyNode : orderByClause.getOrderKeyList()) {
+            BType keyType = Types.getImpliedType(types.getSafeType(((BLangOrderKey) orderKeyNode).expression.getBType(),
+                    true, false));
+            int tag = keyType.tag;
+            if (!TypeTags.isIntegerTypeTag(tag) && !TypeTags.isStringTypeTag(tag) && tag != TypeTags.BYTE &&
+                    tag != TypeTags.FLOAT && tag != TypeTags.DECIMAL && tag != TypeTags.BOOLEAN) {
+                return null;
+            }
+        }
+        BLangExpression limitExpr = ((BLangLimitClause) clauses.get(nextIndex)).expression;
+        Object limit = null;
+        if (limitExpr instanceof BLangLiteral literal) {
+            limit = literal.value;
+        } else if (limitExpr instanceof BLangSimpleVarRef varRef && varRef.symbol != null &&
+                (varRef.symbol.tag & SymTag.CONSTANT) == SymTag.CONSTANT) {
+            BLangConstantValue constantValue = ((BConstantSymbol) varRef.symbol).value;
+            limit = constantValue == null ? null : constantValue.value;
+        }
+        // A limit < 1 is left to the limit clause, which panics.
+        return limit instanceof Long longLimit && longLimit >= 1 ? longLimit : null;
+    }
+
     BLangVariableReference addGroupByFunction(BLangBlockStmt blockStmt, BLangGroupByClause groupByClause,
                                               List<BLangStatement> stmtsToBePropagated,
                                               BLangVariableReference initPipeline) {
@@ -2796,6 +3092,30 @@ public class QueryDesugar extends BLangNodeVisitor {
         node.accept(this);
     }
 
+    /**
+     * Finds the expressions of a query which need the stream pipeline of the query, since they capture the variables
+     * of the query as closures or complete the query early.
+     */
+    private static class LoopQueryAnalyzer extends SimpleBLangNodeAnalyzer<Object> {
+
+        private static final Set<NodeKind> PIPELINE_NODE_KINDS = EnumSet.of(NodeKind.LAMBDA, NodeKind.ARROW_EXPR,
+                NodeKind.QUERY_EXPR, NodeKind.DO_ACTION, NodeKind.OBJECT_CTOR_EXPRESSION, NodeKind.CHECK_EXPR,
+                NodeKind.FAIL);
+
+        private boolean needsPipeline = false;
+
+        @Override
+        public void analyzeNode(BLangNode node, Object data) {
+            if (PIPELINE_NODE_KINDS.contains(node.getKind())) {
+                needsPipeline = true;
+            }
+        }
+
+        @Override
+        public void visit(BLangPackage node, Object data) {
+        }
+    }
+
     <E extends BLangNode> E rewrite(E node) {
         if (node == null) {
             return null;
@@ -54,6 +54,12 @@ function createOuterJoinFunction(
     return new _OuterJoinFunction(joinedPipeline, lhsKeyFunction, rhsKeyFunction, nilFrame);
 }
 
+function createTableKeyJoinFunction(
+        _StreamPipeline joinedPipeline,
+        function (_Frame _frame) returns any lhsKeyFunction, _Frame? nilFrame) returns _StreamFunction {
+    return new _TableKeyJoinFunction(joinedPipeline, lhsKeyFunction, nilFrame);
+}
+
 function createFilterFunction(function(_Frame _frame) returns boolean|error filterFunc)
         returns _StreamFunction {
     return new _FilterFunction(filterFunc);
@@ -64,6 +70,16 @@ function createOrderByFunction(function(_Frame _frame) returns error? orderFunc)
     return new _OrderByFunction(orderFunc);
 }
 
+function createTopKOrderByFunction(function(_Frame _frame) returns error? orderFunc, int lmt)
+        returns _StreamFunction {
+    return new _OrderByFunction(orderFunc, lmt);
+}
+
+function createExternalOrderByFunction(function(_Frame _frame) returns error? orderFunc)
+        returns _StreamFunction {
+    return new _OrderByFunction(orderFunc, spillable = true);
+}
+
 function createGroupByFunction(string[] keys, string[] nonGroupingKeys) returns _StreamFunction {
     return new _GroupByFunction(keys, nonGroupingKeys);
 }
@@ -328,6 +344,71 @@ function createImmutableValue(any mutableValue) = @java:Method {
     name: "createImmutableValue"
 } external;
 
+function createJoinKeyIndex() returns handle = @java:Method {
+    'class: "org.ballerinalang.langlib.query.JoinKeyIndex",
+    name: "createJoinKeyIndex"
+} external;
+
+# Returns the position of the bucket of key `k` in `keyIndex`, where keys are equal if they are `==`. A key without a
+# bucket is given the next position if `create` is true, and -1 is returned for it otherwise.
+function getJoinKeyBucket(handle keyIndex, any k, boolean create) returns int = @java:Method {
+    'class: "org.ballerinalang.langlib.query.JoinKeyIndex",
+    name: "getJoinKeyBucket"
+} external;
+
+function getTableMember(table<map<Type>> tbl, any k) returns map<Type>? = @java:Method {
+    'class: "org.ballerinalang.langlib.query.JoinKeyIndex",
+    name: "getTableMember"
+} external;
+
+function createTopKFrames(int lmt) returns handle = @java:Method {
+    'class: "org.ballerinalang.langlib.query.TopKFrames",
+    name: "createTopKFrames"
+} external;
+
+# Adds frame `f` with order keys `keys` to `topK`, dropping the last frame in order if there are more than the limit.
+function addToTopKFrames(handle topK, _Frame f, any[] directions, any[] keys) = @java:Method {
+    'class: "org.ballerinalang.langlib.query.TopKFrames",
+    name: "addToTopKFrames"
+} external;
+
+function getTopKFrames(handle topK, _Frame[] orderedFrames) = @java:Method {
+    'class: "org.ballerinalang.langlib.query.TopKFrames",
+    name: "getTopKFrames"
+} external;
+
+# Returns a handle to order frames spilling them to disk, or nil if no memory limit is configured for ordering.
+function createExternalSortFrames() returns handle? = @java:Method {
+    'class: "org.ballerinalang.langlib.query.ExternalSortFrames",
+    name: "createExternalSortFrames"
+} external;
+
+# Adds frame `f` with order keys `keys` to `sortFrames`, spilling the frames added so far to disk if they exceed the
+# memory limit.
+function addToExternalSortFrames(handle sortFrames, _Frame f, any[] directions, any[] keys) = @java:Method {
+    'class: "org.ballerinalang.langlib.query.ExternalSortFrames",
+    name: "addToExternalSortFrames"
+} external;
+
+# Returns the next frame of `sortFrames` in order, or nil if all the frames have been returned.
+isolated function getNextExternalSortFrame(handle sortFrames) returns _Frame? = @java:Method {
+    'class: "org.ballerinalang.langlib.query.ExternalSortFrames",
+    name: "getNextExternalSortFrame"
+} external;
+
+function closeExternalSortFrames(handle sortFrames) = @java:Method {
+    'class: "org.ballerinalang.langlib.query.ExternalSortFrames",
+    name: "closeExternalSortFrames"
+} external;
+
+function joinFrames(_Frame lhsFrame, _Frame rhsFrame) returns _Frame {
+    _Frame joinedFrame = {...lhsFrame};
+    foreach var [k, val] in rhsFrame.entries() {
+        joinedFrame[k] = val;
+    }
+    return joinedFrame;
+}
+
 # Prepare `error` as a distinct `Error`.
 #
 # + err - `error` instance
@@ -346,7 +346,9 @@ class _InnerJoinFunction {
     function (_Frame _frame) returns any|error rhsKeyFunction;
     _FrameMultiMap rhsFramesMap = new;
     error? failureAtJoin = ();
-    stream<_Frame>? joinedFramesStream;
+    _Frame? lhsFrame;
+    _Frame[] rhsCandidates;
+    int rhsCandidateIndex;
 
     function init(
             _StreamPipeline pipelineToJoin,
@@ -355,7 +357,9 @@ class _InnerJoinFunction {
         self.lhsKeyFunction = lhsKeyFunction;
         self.rhsKeyFunction = rhsKeyFunction;
         self.prevFunc = ();
-        self.joinedFramesStream = ();
+        self.lhsFrame = ();
+        self.rhsCandidates = [];
+        self.rhsCandidateIndex = 0;
 
         _Frame|error? f = pipelineToJoin.next();
         while (f is _Frame) {
@@ -364,7 +368,7 @@ class _InnerJoinFunction {
                 self.failureAtJoin = prepareQueryBodyError(rhsKeyFuncResult);
                 return;
             } else {
-                self.rhsFramesMap.put(rhsKeyFuncResult.toString(), f);
+                self.rhsFramesMap.put(rhsKeyFuncResult, f);
                 f = pipelineToJoin.next();
             }
         }
@@ -378,48 +382,38 @@ class _InnerJoinFunction {
     # join var ... in streamA join var ... in streamB
     # + return - merged two frames { ...frameA, ...frameB }
     public function process() returns _Frame|error? {
-        if (self.joinedFramesStream is ()) {
-            function (_Frame _frame) returns any|error lhsKF = self.lhsKeyFunction;
-            _FrameMultiMap rhsFramesMap = self.rhsFramesMap;
-            _StreamFunction pf = <_StreamFunction>self.prevFunc;
-            _Frame|error? lhsFrame = pf.process();
-            _Frame[] joinedFrames = [];
-            error? failureAtJoin = self.failureAtJoin;
+        function (_Frame _frame) returns any|error lhsKF = self.lhsKeyFunction;
+        _StreamFunction pf = <_StreamFunction>self.prevFunc;
+        error? failureAtJoin = self.failureAtJoin;
 
-            if (failureAtJoin is error) {
-                fail failureAtJoin;
-            }
+        if (failureAtJoin is error) {
+            fail failureAtJoin;
+        }
 
-            while (lhsFrame is _Frame) {
-                any|error lhsKFRes = lhsKF(lhsFrame);
-                if (lhsKFRes is error) {
-                    return prepareQueryBodyError(lhsKFRes);
-                }
-                string lhsKey = (lhsKFRes).toString();
-
-                _Frame[]? rhsCandidates = rhsFramesMap.get(lhsKey);
-                while (rhsCandidates is _Frame[] && rhsCandidates.length() > 0) {
-                    _Frame rhsFrame = rhsCandidates.shift();
-                    _Frame joinedFrame = {...lhsFrame};
-                    foreach var [k, val] in rhsFrame.entries() {
-                        joinedFrame[k] = val;
-                    }
-                    joinedFrames.push(joinedFrame);
-                }
-                lhsFrame = pf.process();
+        // Each lhs frame is joined with its candidates before the next lhs frame is processed.
+        while (self.rhsCandidateIndex == self.rhsCandidates.length()) {
+            _Frame|error? lhsFrame = pf.process();
+            if !(lhsFrame is _Frame) {
+                self.lhsFrame = ();
+                return lhsFrame;
             }
-            self.joinedFramesStream = joinedFrames.toStream();
-        }
-        stream<_Frame> s = <stream<_Frame>>self.joinedFramesStream;
-        record {|_Frame value;|}|error? f = s.next();
-        if (f is record {|_Frame value;|}) {
-            return f.value;
+            any|error lhsKFRes = lhsKF(lhsFrame);
+            if (lhsKFRes is error) {
+                return prepareQueryBodyError(lhsKFRes);
+            }
+            self.lhsFrame = lhsFrame;
+            self.rhsCandidates = self.rhsFramesMap.get(lhsKFRes) ?: [];
+            self.rhsCandidateIndex = 0;
         }
-        return f;
+        _Frame rhsFrame = self.rhsCandidates[self.rhsCandidateIndex];
+        self.rhsCandidateIndex += 1;
+        return joinFrames(<_Frame>self.lhsFrame, rhsFrame);
     }
 
     public function reset() {
-        self.joinedFramesStream = ();
+        self.lhsFrame = ();
+        self.rhsCandidates = [];
+        self.rhsCandidateIndex = 0;
         _StreamFunction? pf = self.prevFunc;
         if (pf is _StreamFunction) {
             pf.reset();
@@ -432,8 +426,9 @@ class _OuterJoinFunction {
     function (_Frame _frame) returns any|error lhsKeyFunction;
     function (_Frame _frame) returns any|error rhsKeyFunction;
     _FrameMultiMap rhsFramesMap = new;
-    _Frame[]? rhsCandidates;
-    _Frame|error? lhsFrame;
+    _Frame[] rhsCandidates;
+    int rhsCandidateIndex;
+    _Frame? lhsFrame;
     _Frame nilFrame;
     error? failureAtJoin = ();
 
@@ -443,7 +438,8 @@ class _OuterJoinFunction {
             function (_Frame _frame) returns any|error rhsKeyFunction, _Frame nilFrame) {
         self.lhsKeyFunction = lhsKeyFunction;
         self.rhsKeyFunction = rhsKeyFunction;
-        self.rhsCandidates = ();
+        self.rhsCandidates = [];
+        self.rhsCandidateIndex = 0;
         self.prevFunc = ();
         self.lhsFrame = ();
         self.nilFrame = nilFrame;
@@ -454,7 +450,7 @@ class _OuterJoinFunction {
                 self.failureAtJoin = prepareQueryBodyError(rhsKeyFuncResult);
                 return;
             } else {
-                self.rhsFramesMap.put(rhsKeyFuncResult.toString(), f);
+                self.rhsFramesMap.put(rhsKeyFuncResult, f);
                 f = pipelineToJoin.next();
             }
         }
@@ -470,64 +466,107 @@ class _OuterJoinFunction {
     public function process() returns _Frame|error? {
         function (_Frame _frame) returns any|error lhsKF = self.lhsKeyFunction;
         _StreamFunction pf = <_StreamFunction>self.prevFunc;
-        _FrameMultiMap rhsFramesMap = self.rhsFramesMap;
-        _Frame[]? rhsCandidates = self.rhsCandidates;
-        _Frame|error? lhsFrame = self.lhsFrame;
-        _Frame nilFrame = self.nilFrame;
+        _Frame? lhsFrame = self.lhsFrame;
         error? failureAtJoin = self.failureAtJoin;
-        string lhsKey = "";
 
         if(failureAtJoin is error) {
             fail failureAtJoin;
         }
 
         if (lhsFrame is ()) {
-            lhsFrame = pf.process();
-            self.lhsFrame = lhsFrame;
-        }
-
-        if (lhsFrame is _Frame) {
-            any|error lhsKFRes = lhsKF(lhsFrame);
+            _Frame|error? nextFrame = pf.process();
+            if !(nextFrame is _Frame) {
+                return nextFrame;
+            }
+            any|error lhsKFRes = lhsKF(nextFrame);
             if (lhsKFRes is error) {
                 return prepareQueryBodyError(lhsKFRes);
             }
-            lhsKey = (lhsKFRes).toString();
+            _Frame[]? rhsCandidates = self.rhsFramesMap.get(lhsKFRes);
             if (rhsCandidates is ()) {
-                rhsCandidates = rhsFramesMap.get(lhsKey);
-                self.rhsCandidates = rhsCandidates;
+                // rhsCandidates is nil, move to next lhs frame in next iteration.
+                return joinFrames(nextFrame, self.nilFrame);
             }
+            lhsFrame = nextFrame;
+            self.lhsFrame = nextFrame;
+            self.rhsCandidates = rhsCandidates;
+            self.rhsCandidateIndex = 0;
+        }
 
-            if (rhsCandidates is _Frame[]) {
-                _Frame rhsFrame = rhsCandidates.shift();
-                if (rhsCandidates.length() > 0) {
-                    self.rhsCandidates = rhsCandidates;
-                } else {
-                    // Move to next lhs frame in next iteration.
-                    self.rhsCandidates = ();
-                    self.lhsFrame = ();
-                }
-                _Frame joinedFrame = {...lhsFrame};
-                foreach var [k, val] in rhsFrame.entries() {
-                    joinedFrame[k] = val;
+        _Frame rhsFrame = self.rhsCandidates[self.rhsCandidateIndex];
+        self.rhsCandidateIndex += 1;
+        if (self.rhsCandidateIndex == self.rhsCandidates.length()) {
+            // Move to next lhs frame in next iteration.
+            self.lhsFrame = ();
+        }
+        return joinFrames(lhsFrame, rhsFrame);
+    }
+
+    public function reset() {
+        // Reset the state of lhsFrame
+        self.lhsFrame = ();
+        self.rhsCandidates = [];
+        self.rhsCandidateIndex = 0;
+        _StreamFunction? pf = self.prevFunc;
+        if (pf is _StreamFunction) {
+            pf.reset();
+        }
+    }
+}
+
+class _TableKeyJoinFunction {
+    *_StreamFunction;
+    function (_Frame _frame) returns any|error lhsKeyFunction;
+    function (_Frame _frame) returns _Frame|error? rhsInputFunction;
+    table<map<Type>> rhsTable;
+    _Frame? nilFrame;
+
+    function init(
+            _StreamPipeline pipelineToJoin,
+            function (_Frame _frame) returns any|error lhsKeyFunction, _Frame? nilFrame) {
+        self.lhsKeyFunction = lhsKeyFunction;
+        self.nilFrame = nilFrame;
+        self.prevFunc = ();
+        // The pipeline to join is not run. Its input function is applied to the members looked up by key instead.
+        _InputFunction inputFunction = <_InputFunction>pipelineToJoin.streamFunction;
+        _InitFunction initFunction = <_InitFunction>inputFunction.prevFunc;
+        self.rhsInputFunction = inputFunction.inputFunc;
+        self.rhsTable = <table<map<Type>>>initFunction.collection;
+    }
+
+    # Desugared function to do;
+    # from var ... in listA
+    # join var ... in tableA on ... equals tableA.key
+    # + return - merged two frames { ...frameA, ...frameB }
+    public function process() returns _Frame|error? {
+        function (_Frame _frame) returns any|error lhsKF = self.lhsKeyFunction;
+        function (_Frame _frame) returns _Frame|error? rhsInputFunc = self.rhsInputFunction;
+        _StreamFunction pf = <_StreamFunction>self.prevFunc;
+        _Frame? nilFrame = self.nilFrame;
+        _Frame|error? lhsFrame = pf.process();
+        while (lhsFrame is _Frame) {
+            any|error lhsKFRes = lhsKF(lhsFrame);
+            if (lhsKFRes is error) {
+                return prepareQueryBodyError(lhsKFRes);
+            }
+            map<Type>? rhsMember = getTableMember(self.rhsTable, lhsKFRes);
+            if (rhsMember is map<Type>) {
+                _Frame|error? rhsFrame = rhsInputFunc({"value": rhsMember});
+                if (rhsFrame is error) {
+                    return prepareQueryBodyError(rhsFrame);
                 }
-                return joinedFrame;
-            } else {
-                // rhsCandidates is nil, move to next lhs frame in next iteration.
-                _Frame joinedFrame = {...lhsFrame};
-                foreach var [k, val] in nilFrame.entries() {
-                    joinedFrame[k] = val;
+                if (rhsFrame is _Frame) {
+                    return joinFrames(lhsFrame, rhsFrame);
                 }
-                self.lhsFrame = ();
-                return joinedFrame;
+            } else if (nilFrame is _Frame) {
+                return joinFrames(lhsFrame, nilFrame);
             }
+            lhsFrame = pf.process();
         }
         return lhsFrame;
     }
 
     public function reset() {
-        // Reset the state of lhsFrame
-        self.lhsFrame = ();
-        self.rhsCandidates = ();
         _StreamFunction? pf = self.prevFunc;
         if (pf is _StreamFunction) {
             pf.reset();
@@ -581,10 +620,19 @@ class _OrderByFunction {
     # Desugared function to do;
     # order by person.fname true, person.age false
     function (_Frame _frame) returns error? orderKeyFunc;
+    # Limit of the limit clause that follows, if only the first frames in order are required
+    int? lmt;
+    # Whether all the frame values are anydata, so that the frames can be spilled to disk while ordering
+    boolean spillable;
+    # Frames being ordered by spilling them to disk, if any
+    handle? sortFrames;
     stream<_Frame>? orderedStream;
 
-    function init(function (_Frame _frame) returns error? orderKeyFunc) {
+    function init(function (_Frame _frame) returns error? orderKeyFunc, int? lmt = (), boolean spillable = false) {
         self.orderKeyFunc = orderKeyFunc;
+        self.lmt = lmt;
+        self.spillable = spillable;
+        self.sortFrames = ();
         self.orderedStream = ();
         self.prevFunc = ();
     }
@@ -592,23 +640,26 @@ class _OrderByFunction {
     public function process() returns _Frame|error? {
         if (self.orderedStream is ()) {
             _StreamFunction pf = <_StreamFunction>self.prevFunc;
-            function (_Frame _frame) returns error? orderKeyFunc = self.orderKeyFunc;
             _Frame|error? f = pf.process();
-            boolean[] directions = [];
-            _OrderTreeNode oTree = new;
-            // consume all events for ordering.
-            while (f is _Frame) {
-                error? res = orderKeyFunc(f);
-                if(res is error) {
-                    return prepareQueryBodyError(res);
+            int? lmt = self.lmt;
+            // Frames are spilled to disk only if a memory limit is configured for ordering.
+            handle? sortFrames = lmt is () && self.spillable ? createExternalSortFrames() : ();
+            if (sortFrames !is ()) {
+                error? res = self.orderExternally(pf, f, sortFrames);
+                if (res is error) {
+                    closeExternalSortFrames(sortFrames);
+                    return res;
                 }
-                oTree.add(f, <any[]>(checkpanic f["$orderDirection$"]), <any[]>(checkpanic f["$orderKey$"]));
-                f = pf.process();
-            }
-            if (f is error) {
-                return f;
+                self.sortFrames = sortFrames;
+                _ExternalSortFramesIterator itr = new (sortFrames);
+                self.orderedStream = new stream<_Frame>(itr);
+            } else {
+                _Frame[]|error orderedFrames = lmt is () ? self.orderAll(pf, f) : self.orderTopK(pf, f, lmt);
+                if (orderedFrames is error) {
+                    return orderedFrames;
+                }
+                self.orderedStream = orderedFrames.toStream();
             }
-            self.orderedStream = oTree.get().toStream();
         }
 
         stream<_Frame> s = <stream<_Frame>>self.orderedStream;
@@ -619,7 +670,75 @@ class _OrderByFunction {
         return f;
     }
 
+    # Orders all the frames starting from `firstFrame`.
+    # + return - ordered frames.
+    function orderAll(_StreamFunction pf, _Frame|error? firstFrame) returns _Frame[]|error {
+        function (_Frame _frame) returns error? orderKeyFunc = self.orderKeyFunc;
+        _Frame|error? f = firstFrame;
+        _OrderTreeNode oTree = new;
+        // consume all events for ordering.
+        while (f is _Frame) {
+            error? res = orderKeyFunc(f);
+            if(res is error) {
+                return prepareQueryBodyError(res);
+            }
+            oTree.add(f, <any[]>(checkpanic f["$orderDirection$"]), <any[]>(checkpanic f["$orderKey$"]));
+            f = pf.process();
+        }
+        if (f is error) {
+            return f;
+        }
+        return oTree.get();
+    }
+
+    # Orders the frames starting from `firstFrame`, retaining only the first `lmt` frames in order.
+    # + return - first `lmt` ordered frames.
+    function orderTopK(_StreamFunction pf, _Frame|error? firstFrame, int lmt) returns _Frame[]|error {
+        function (_Frame _frame) returns error? orderKeyFunc = self.orderKeyFunc;
+        _Frame|error? f = firstFrame;
+        handle topK = createTopKFrames(lmt);
+        while (f is _Frame) {
+            error? res = orderKeyFunc(f);
+            if(res is error) {
+                return prepareQueryBodyError(res);
+            }
+            addToTopKFrames(topK, f, <any[]>(checkpanic f["$orderDirection$"]), <any[]>(checkpanic f["$orderKey$"]));
+            f = pf.process();
+        }
+        if (f is error) {
+            return f;
+        }
+        _Frame[] orderedFrames = [];
+        getTopKFrames(topK, orderedFrames);
+        return orderedFrames;
+    }
+
+    # Adds the frames starting from `firstFrame` to `sortFrames`, which spills them to disk in ordered runs as the
+    # memory limit is exceeded and merges the runs as the frames are read.
+    # + return - error, if any.
+    function orderExternally(_StreamFunction pf, _Frame|error? firstFrame, handle sortFrames) returns error? {
+        function (_Frame _frame) returns error? orderKeyFunc = self.orderKeyFunc;
+        _Frame|error? f = firstFrame;
+        while (f is _Frame) {
+            error? res = orderKeyFunc(f);
+            if(res is error) {
+                return prepareQueryBodyError(res);
+            }
+            addToExternalSortFrames(sortFrames, f, <any[]>(checkpanic f["$orderDirection$"]),
+                    <any[]>(checkpanic f["$orderKey$"]));
+            f = pf.process();
+        }
+        if (f is error) {
+            return f;
+        }
+    }
+
     public function reset() {
+        handle? sortFrames = self.sortFrames;
+        if (sortFrames !is ()) {
+            closeExternalSortFrames(sortFrames);
+            self.sortFrames = ();
+        }
         self.orderedStream = ();
         _StreamFunction? pf = self.prevFunc;
         if (pf is _StreamFunction) {
@@ -628,6 +747,20 @@ class _OrderByFunction {
     }
 }
 
+# Iterator over the frames of an order by clause that are spilled to disk while ordering.
+class _ExternalSortFramesIterator {
+    private final handle sortFrames;
+
+    function init(handle sortFrames) {
+        self.sortFrames = sortFrames;
+    }
+
+    public isolated function next() returns record {|_Frame value;|}? {
+        _Frame? f = getNextExternalSortFrame(self.sortFrames);
+        return f is () ? () : {value: f};
+    }
+}
+
 type RowGroupedData record {|
     readonly anydata groupingKey;
     _Frame[] frames;
@@ -918,35 +1051,30 @@ class _LimitFunction {
 // ---- helper types ----
 
 class _FrameMultiMap {
-    map<_Frame[]> m;
+    handle keyIndex;
+    _Frame[][] buckets;
 
     function init() {
-        self.m = {};
+        self.keyIndex = createJoinKeyIndex();
+        self.buckets = [];
     }
 
-    function put(string k, _Frame v) {
-        _Frame[]? vals = self.m[k];
-        if (vals is _Frame[]) {
-            vals.push(v);
+    function put(any k, _Frame v) {
+        int bucket = getJoinKeyBucket(self.keyIndex, k, true);
+        if (bucket < self.buckets.length()) {
+            self.buckets[bucket].push(v);
         } else {
-            self.m[k] = [v];
+            self.buckets.push([v]);
         }
     }
 
-    function get(string k) returns _Frame[]? {
-        _Frame[]? vals = self.m[k];
-        if (vals is _Frame[]) {
-            _Frame[] frames = [];
-            int l = vals.length();
-            int i = 0;
-            while (i < l) {
-                frames.push(vals[i]);
-                i += 1;
-            }
-            return frames;
+    # Returns the frames with the given key, which must not be modified.
+    function get(any k) returns _Frame[]? {
+        int bucket = getJoinKeyBucket(self.keyIndex, k, false);
+        if (bucket >= 0) {
+            return self.buckets[bucket];
         }
     }
-
 }
 
 class IterHelper {
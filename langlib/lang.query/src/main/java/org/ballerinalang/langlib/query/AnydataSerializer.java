@@ -0,0 +1,337 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.langlib.query;
+
+import io.ballerina.runtime.api.TypeTags;
+import io.ballerina.runtime.api.creators.ErrorCreator;
+import io.ballerina.runtime.api.creators.TypeCreator;
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.types.ArrayType;
+import io.ballerina.runtime.api.types.IntersectionType;
+import io.ballerina.runtime.api.types.RecordType;
+import io.ballerina.runtime.api.types.TableType;
+import io.ballerina.runtime.api.types.TupleType;
+import io.ballerina.runtime.api.types.Type;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.utils.TypeUtils;
+import io.ballerina.runtime.api.utils.XmlUtils;
+import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BDecimal;
+import io.ballerina.runtime.api.values.BError;
+import io.ballerina.runtime.api.values.BListInitialValueEntry;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BRegexpValue;
+import io.ballerina.runtime.api.values.BString;
+import io.ballerina.runtime.api.values.BTable;
+import io.ballerina.runtime.api.values.BXml;
+import io.ballerina.runtime.internal.ValueUtils;
+import io.ballerina.runtime.internal.regexp.RegExpFactory;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Writes anydata values to a binary stream and reads them back with their types, so that the frames of an order by
+ * clause can be spilled to disk. Types are written as indexes to a table kept in memory, since they are shared by all
+ * the values. Structured values that are reachable more than once from a value are written once and referred to by
+ * their position afterwards, so that the values read back have the same shape, cycles included. A value read back is
+ * a copy of the value written, and is frozen if the value written was.
+ *
+ * @since 2201.10.0
+ */
+final class AnydataSerializer {
+
+    private static final byte NIL = 0;
+    private static final byte BOOLEAN = 1;
+    private static final byte INT = 2;
+    private static final byte BYTE = 3;
+    private static final byte FLOAT = 4;
+    private static final byte DECIMAL = 5;
+    private static final byte STRING = 6;
+    private static final byte LIST = 7;
+    private static final byte MAP = 8;
+    private static final byte TABLE = 9;
+    private static final byte XML = 10;
+    private static final byte REGEXP = 11;
+    private static final byte REFERENCE = 12;
+
+    private final List<Type> types = new ArrayList<>();
+    private final Map<Type, Integer> typeIndexes = new IdentityHashMap<>();
+
+    void write(DataOutputStream out, Object value) throws IOException {
+        writeValue(out, value, new IdentityHashMap<>());
+    }
+
+    Object read(DataInputStream in) throws IOException {
+        return readValue(in, new ArrayList<>());
+    }
+
+    private void writeValue(DataOutputStream out, Object value, Map<Object, Integer> refs) throws IOException {
+        if (value == null) {
+            out.writeByte(NIL);
+        } else if (value instanceof Boolean booleanValue) {
+            out.writeByte(BOOLEAN);
+            out.writeBoolean(booleanValue);
+        } else if (value instanceof Long intValue) {
+            out.writeByte(INT);
+            out.writeLong(intValue);
+        } else if (value instanceof Integer byteValue) {
+            out.writeByte(BYTE);
+            out.writeByte(byteValue);
+        } else if (value instanceof Double floatValue) {
+            out.writeByte(FLOAT);
+            out.writeDouble(floatValue);
+        } else if (value instanceof BDecimal decimalValue) {
+            out.writeByte(DECIMAL);
+            writeString(out, decimalValue.value().toString());
+        } else if (value instanceof BString stringValue) {
+            out.writeByte(STRING);
+            writeString(out, stringValue.getValue());
+        } else {
+            Integer ref = refs.get(value);
+            if (ref != null) {
+                out.writeByte(REFERENCE);
+                out.writeInt(ref);
+                return;
+            }
+            refs.put(value, refs.size());
+            writeStructuredValue(out, value, refs);
+        }
+    }
+
+    private void writeStructuredValue(DataOutputStream out, Object value, Map<Object, Integer> refs)
+            throws IOException {
+        if (value instanceof BRegexpValue) {
+            out.writeByte(REGEXP);
+            writeString(out, value.toString());
+        } else if (value instanceof BXml xml) {
+            out.writeByte(XML);
+            out.writeBoolean(xml.isFrozen());
+            writeString(out, xml.toString());
+        } else if (value instanceof BArray list) {
+            out.writeByte(LIST);
+            writeType(out, list.getType());
+            out.writeBoolean(list.isFrozen());
+            int size = list.size();
+            out.writeInt(size);
+            for (int i = 0; i < size; i++) {
+                writeValue(out, list.get(i), refs);
+            }
+        } else if (value instanceof BMap<?, ?> map) {
+            out.writeByte(MAP);
+            writeType(out, map.getType());
+            out.writeBoolean(map.isFrozen());
+            List<? extends Map.Entry<?, ?>> entries = new ArrayList<>(map.entrySet());
+            out.writeInt(entries.size());
+            // Keys come first, since a record is created with the fields it has.
+            for (Map.Entry<?, ?> entry : entries) {
+                writeString(out, entry.getKey().toString());
+            }
+            for (Map.Entry<?, ?> entry : entries) {
+                writeValue(out, entry.getValue(), refs);
+            }
+        } else if (value instanceof BTable<?, ?> table) {
+            out.writeByte(TABLE);
+            writeType(out, table.getType());
+            out.writeBoolean(table.isFrozen());
+            out.writeInt(table.size());
+            for (Object member : table.values()) {
+                writeValue(out, member, refs);
+            }
+        } else {
+            throw ErrorCreator.createError(StringUtils.fromString("cannot spill a value of type '" +
+                    TypeUtils.getType(value) + "' while ordering"));
+        }
+    }
+
+    private Object readValue(DataInputStream in, List<Object> refs) throws IOException {
+        byte tag = in.readByte();
+        switch (tag) {
+            case NIL:
+                return null;
+            case BOOLEAN:
+                return in.readBoolean();
+            case INT:
+                return in.readLong();
+            case BYTE:
+                return in.readUnsignedByte();
+            case FLOAT:
+                return in.readDouble();
+            case DECIMAL:
+                return ValueCreator.createDecimalValue(new BigDecimal(readString(in)));
+            case STRING:
+                return StringUtils.fromString(readString(in));
+            case REFERENCE:
+                return refs.get(in.readInt());
+            case REGEXP:
+                BRegexpValue regexp = RegExpFactory.parse(readString(in));
+                refs.add(regexp);
+                return regexp;
+            case XML:
+                boolean frozen = in.readBoolean();
+                BXml xml = XmlUtils.parse(readString(in));
+                if (frozen) {
+                    xml.freezeDirect();
+                }
+                refs.add(xml);
+                return xml;
+            case LIST:
+                return readList(in, refs);
+            case MAP:
+                return readMap(in, refs);
+            case TABLE:
+                return readTable(in, refs);
+            default:
+                throw new IllegalStateException("invalid value tag: " + tag);
+        }
+    }
+
+    private BArray readList(DataInputStream in, List<Object> refs) throws IOException {
+        Type type = TypeUtils.getImpliedType(types.get(in.readInt()));
+        boolean frozen = in.readBoolean();
+        int size = in.readInt();
+        boolean isTuple = type.getTag() == TypeTags.TUPLE_TAG;
+        if (!frozen) {
+            BArray list = isTuple ? ValueCreator.createTupleValue((TupleType) type) :
+                    ValueCreator.createArrayValue((ArrayType) type);
+            refs.add(list);
+            for (int i = 0; i < size; i++) {
+                list.add(i, readValue(in, refs));
+            }
+            return list;
+        }
+
+        // An immutable list cannot be updated, so it is created with its members. It cannot be reachable from its
+        // members either, as an immutable value cannot have cycles.
+        int index = refs.size();
+        refs.add(null);
+        BListInitialValueEntry[] members = new BListInitialValueEntry[size];
+        for (int i = 0; i < size; i++) {
+            members[i] = ValueCreator.createListInitialValueEntry(readValue(in, refs));
+        }
+        BArray list = isTuple ? ValueCreator.createTupleValue((TupleType) type, members) :
+                ValueCreator.createArrayValue((ArrayType) type, members);
+        list.freezeDirect();
+        refs.set(index, list);
+        return list;
+    }
+
+    private BMap<BString, Object> readMap(DataInputStream in, List<Object> refs) throws IOException {
+        Type type = TypeUtils.getImpliedType(types.get(in.readInt()));
+        boolean frozen = in.readBoolean();
+        int size = in.readInt();
+        BString[] keys = new BString[size];
+        for (int i = 0; i < size; i++) {
+            keys[i] = StringUtils.fromString(readString(in));
+        }
+        BMap<BString, Object> map = type.getTag() == TypeTags.RECORD_TYPE_TAG ?
+                createRecordValue((RecordType) type, keys) : ValueCreator.createMapValue(type);
+        refs.add(map);
+        for (BString key : keys) {
+            map.populateInitialValue(key, readValue(in, refs));
+        }
+        if (frozen) {
+            map.freezeDirect();
+        }
+        return map;
+    }
+
+    private static BMap<BString, Object> createRecordValue(RecordType recordType, BString[] keys) {
+        // An immutable record is created as a value of the mutable record type it was constructed from and then frozen.
+        Type namedType = recordType;
+        Optional<IntersectionType> intersectionType = recordType.getIntersectionType();
+        if (recordType.isReadOnly() && intersectionType.isPresent()) {
+            for (Type constituentType : intersectionType.get().getConstituentTypes()) {
+                if (TypeUtils.getImpliedType(constituentType).getTag() == TypeTags.RECORD_TYPE_TAG) {
+                    namedType = TypeUtils.getImpliedType(constituentType);
+                    break;
+                }
+            }
+        }
+        Set<String> providedFields = new HashSet<>();
+        for (BString key : keys) {
+            providedFields.add(key.getValue());
+        }
+        try {
+            return ValueUtils.createRecordValue(namedType.getPackage(), namedType.getName(), providedFields);
+        } catch (BError e) {
+            // The record type is not a named type of its module.
+            return ValueCreator.createRecordValue(recordType);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private BTable<?, ?> readTable(DataInputStream in, List<Object> refs) throws IOException {
+        TableType type = (TableType) TypeUtils.getImpliedType(types.get(in.readInt()));
+        boolean frozen = in.readBoolean();
+        int size = in.readInt();
+        if (!frozen) {
+            BTable<Object, Object> table = (BTable<Object, Object>) ValueCreator.createTableValue(type);
+            refs.add(table);
+            for (int i = 0; i < size; i++) {
+                table.add(readValue(in, refs));
+            }
+            return table;
+        }
+
+        int index = refs.size();
+        refs.add(null);
+        Object[] members = new Object[size];
+        for (int i = 0; i < size; i++) {
+            members[i] = readValue(in, refs);
+        }
+        BTable<?, ?> table = ValueCreator.createTableValue(type,
+                ValueCreator.createArrayValue(members, TypeCreator.createArrayType(type.getConstrainedType())),
+                StringUtils.fromStringArray(type.getFieldNames()));
+        table.freezeDirect();
+        refs.set(index, table);
+        return table;
+    }
+
+    private void writeType(DataOutputStream out, Type type) throws IOException {
+        Integer index = typeIndexes.get(type);
+        if (index == null) {
+            index = types.size();
+            types.add(type);
+            typeIndexes.put(type, index);
+        }
+        out.writeInt(index);
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,399 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.langlib.query;
+
+import io.ballerina.runtime.api.constants.RuntimeConstants;
+import io.ballerina.runtime.api.creators.ErrorCreator;
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BHandle;
+import io.ballerina.runtime.api.values.BMap;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+
+/**
+ * Frames of an order by clause that are ordered within a memory limit, by spilling them to disk. Frames are kept in
+ * memory in serialized form until they exceed the limit, and are then sorted and written to a temporary file as an
+ * ordered run. Once all the frames are added, the runs are merged as the frames are read, so that only one frame of
+ * each run is in memory at a time. Frames with equal keys are read in the order in which they were added, as a stable
+ * sort would.
+ * <p>
+ * Frames can be spilled only if all their values are anydata, and the frames read back are copies of the frames
+ * added. The memory limit is set in bytes with the BALLERINA_QUERY_SORT_MEMORY_LIMIT environment variable, without
+ * which frames are ordered in memory.
+ *
+ * @since 2201.10.0
+ */
+public class ExternalSortFrames {
+
+    private static final PrintStream ERR = System.err;
+    private static final long MEMORY_LIMIT = getMemoryLimit();
+    // Memory taken by a buffered frame apart from its serialized form.
+    private static final int FRAME_OVERHEAD = 64;
+    // Runs are merged into one once there are this many, so that only as many files are open at a time.
+    private static final int MAX_RUNS = 64;
+    private static final String RUN_FILE_PREFIX = "ballerina-query-sort";
+
+    private final AnydataSerializer serializer = new AnydataSerializer();
+    private final Comparator<SortedFrame> comparator;
+    private final List<SortedFrame> buffer = new ArrayList<>();
+    private final List<Path> runs = new ArrayList<>();
+    private final List<RunReader> readers = new ArrayList<>();
+    private PriorityQueue<RunCursor> cursors;
+    private boolean[] ascending;
+    private long bufferedBytes = 0;
+    private long frameCount = 0;
+
+    private ExternalSortFrames() {
+        this.comparator = (frame, other) -> {
+            int result = TopKFrames.compareKeys(frame.keys, other.keys, ascending);
+            return result != 0 ? result : Long.compare(frame.position, other.position);
+        };
+    }
+
+    /**
+     * Returns a handle to order frames by spilling them to disk, or null if no memory limit is set for ordering.
+     *
+     * @return frames to add, or null
+     */
+    public static Object createExternalSortFrames() {
+        return MEMORY_LIMIT > 0 ? ValueCreator.createHandleValue(new ExternalSortFrames()) : null;
+    }
+
+    /**
+     * Adds a frame with the given order keys, spilling the buffered frames to disk if they exceed the memory limit.
+     *
+     * @param sortFrames frames being ordered
+     * @param frame      frame to add
+     * @param directions order directions of the keys, which are true for ascending keys
+     * @param keys       order keys of the frame
+     */
+    public static void addToExternalSortFrames(BHandle sortFrames, BMap<?, ?> frame, BArray directions, BArray keys) {
+        ExternalSortFrames externalSortFrames = (ExternalSortFrames) sortFrames.getValue();
+        int keyCount = keys.size();
+        Object[] orderKeys = new Object[keyCount];
+        for (int i = 0; i < keyCount; i++) {
+            orderKeys[i] = keys.get(i);
+        }
+        if (externalSortFrames.ascending == null) {
+            // Order directions are given by the clause, so they are the same for all the frames.
+            boolean[] ascending = new boolean[keyCount];
+            for (int i = 0; i < keyCount; i++) {
+                ascending[i] = (Boolean) directions.get(i);
+            }
+            externalSortFrames.ascending = ascending;
+        }
+        try {
+            externalSortFrames.add(orderKeys, frame);
+        } catch (IOException | UncheckedIOException e) {
+            externalSortFrames.close();
+            throw createSpillError(e);
+        }
+    }
+
+    /**
+     * Returns the next frame in order, or null if all the frames have been returned.
+     *
+     * @param sortFrames frames being ordered
+     * @return next frame, or null
+     */
+    public static Object getNextExternalSortFrame(BHandle sortFrames) {
+        ExternalSortFrames externalSortFrames = (ExternalSortFrames) sortFrames.getValue();
+        try {
+            return externalSortFrames.next();
+        } catch (IOException | UncheckedIOException e) {
+            externalSortFrames.close();
+            throw createSpillError(e);
+        }
+    }
+
+    /**
+     * Deletes the files the frames are spilled to, if the frames are not all read.
+     *
+     * @param sortFrames frames being ordered
+     */
+    public static void closeExternalSortFrames(BHandle sortFrames) {
+        ((ExternalSortFrames) sortFrames.getValue()).close();
+    }
+
+    private void add(Object[] keys, BMap<?, ?> frame) throws IOException {
+        byte[] serializedFrame = serialize(frame);
+        buffer.add(new SortedFrame(keys, serializedFrame, frameCount++));
+        bufferedBytes += serializedFrame.length + FRAME_OVERHEAD;
+        if (bufferedBytes > MEMORY_LIMIT) {
+            spill();
+        }
+    }
+
+    private Object next() throws IOException {
+        if (cursors == null) {
+            startMerge();
+        }
+        RunCursor cursor = cursors.poll();
+        if (cursor == null) {
+            close();
+            return null;
+        }
+        SortedFrame frame = cursor.current;
+        if (cursor.advance()) {
+            cursors.add(cursor);
+        }
+        return serializer.read(new DataInputStream(new ByteArrayInputStream(frame.serializedFrame)));
+    }
+
+    private void startMerge() throws IOException {
+        buffer.sort(comparator);
+        cursors = new PriorityQueue<>((cursor, other) -> comparator.compare(cursor.current, other.current));
+        addCursor(buffer.iterator());
+        for (Path run : runs) {
+            RunReader reader = new RunReader(run);
+            readers.add(reader);
+            addCursor(reader);
+        }
+    }
+
+    private void addCursor(Iterator<SortedFrame> frames) {
+        RunCursor cursor = new RunCursor(frames);
+        if (cursor.advance()) {
+            cursors.add(cursor);
+        }
+    }
+
+    private void spill() throws IOException {
+        buffer.sort(comparator);
+        runs.add(writeRun(buffer.iterator()));
+        buffer.clear();
+        bufferedBytes = 0;
+        if (runs.size() == MAX_RUNS) {
+            mergeRuns();
+        }
+    }
+
+    private void mergeRuns() throws IOException {
+        PriorityQueue<RunCursor> runCursors =
+                new PriorityQueue<>((cursor, other) -> comparator.compare(cursor.current, other.current));
+        List<RunReader> runReaders = new ArrayList<>();
+        try {
+            for (Path run : runs) {
+                RunReader reader = new RunReader(run);
+                runReaders.add(reader);
+                RunCursor cursor = new RunCursor(reader);
+                if (cursor.advance()) {
+                    runCursors.add(cursor);
+                }
+            }
+            Path mergedRun = writeRun(new Iterator<>() {
+                @Override
+                public boolean hasNext() {
+                    return !runCursors.isEmpty();
+                }
+
+                @Override
+                public SortedFrame next() {
+                    RunCursor cursor = runCursors.poll();
+                    if (cursor == null) {
+                        throw new NoSuchElementException();
+                    }
+                    SortedFrame frame = cursor.current;
+                    if (cursor.advance()) {
+                        runCursors.add(cursor);
+                    }
+                    return frame;
+                }
+            });
+            closeReaders(runReaders);
+            deleteRuns();
+            runs.add(mergedRun);
+        } finally {
+            closeReaders(runReaders);
+        }
+    }
+
+    private Path writeRun(Iterator<SortedFrame> frames) throws IOException {
+        Path run = Files.createTempFile(RUN_FILE_PREFIX, null);
+        run.toFile().deleteOnExit();
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(run)))) {
+            while (frames.hasNext()) {
+                SortedFrame frame = frames.next();
+                out.writeLong(frame.position);
+                out.writeInt(frame.keys.length);
+                for (Object key : frame.keys) {
+                    serializer.write(out, key);
+                }
+                out.writeInt(frame.serializedFrame.length);
+                out.write(frame.serializedFrame);
+            }
+        }
+        return run;
+    }
+
+    private byte[] serialize(Object value) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            serializer.write(out, value);
+        }
+        return bytes.toByteArray();
+    }
+
+    private void close() {
+        closeReaders(readers);
+        deleteRuns();
+        buffer.clear();
+        cursors = new PriorityQueue<>();
+    }
+
+    private static void closeReaders(List<RunReader> runReaders) {
+        for (RunReader reader : runReaders) {
+            reader.close();
+        }
+        runReaders.clear();
+    }
+
+    private void deleteRuns() {
+        for (Path run : runs) {
+            try {
+                Files.deleteIfExists(run);
+            } catch (IOException e) {
+                // The file is deleted on exit.
+            }
+        }
+        runs.clear();
+    }
+
+    private static long getMemoryLimit() {
+        String memoryLimit = System.getenv(RuntimeConstants.BALLERINA_QUERY_SORT_MEMORY_LIMIT_ENV_VAR);
+        if (memoryLimit == null) {
+            return 0;
+        }
+        try {
+            return Long.parseLong(memoryLimit.trim());
+        } catch (NumberFormatException e) {
+            // Log and continue ordering in memory
+            ERR.println("ballerina: error occurred while reading system variable:" +
+                    RuntimeConstants.BALLERINA_QUERY_SORT_MEMORY_LIMIT_ENV_VAR + ", " + e.getMessage());
+            return 0;
+        }
+    }
+
+    private static RuntimeException createSpillError(Exception e) {
+        return ErrorCreator.createError(StringUtils.fromString("failed to spill frames to disk while ordering: " +
+                e.getMessage()));
+    }
+
+    private record SortedFrame(Object[] keys, byte[] serializedFrame, long position) {
+    }
+
+    /**
+     * Frame of a run that is next in order, which is the least frame of the runs being merged.
+     */
+    private static class RunCursor {
+
+        private final Iterator<SortedFrame> frames;
+        private SortedFrame current;
+
+        RunCursor(Iterator<SortedFrame> frames) {
+            this.frames = frames;
+        }
+
+        boolean advance() {
+            if (!frames.hasNext()) {
+                return false;
+            }
+            current = frames.next();
+            return true;
+        }
+    }
+
+    /**
+     * Reads the frames of a run from its file, one frame at a time.
+     */
+    private class RunReader implements Iterator<SortedFrame> {
+
+        private final DataInputStream in;
+        private SortedFrame next;
+
+        RunReader(Path run) throws IOException {
+            this.in = new DataInputStream(new BufferedInputStream(Files.newInputStream(run)));
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next == null) {
+                next = read();
+            }
+            return next != null;
+        }
+
+        @Override
+        public SortedFrame next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            SortedFrame frame = next;
+            next = null;
+            return frame;
+        }
+
+        private SortedFrame read() {
+            try {
+                long position;
+                try {
+                    position = in.readLong();
+                } catch (EOFException e) {
+                    close();
+                    return null;
+                }
+                Object[] keys = new Object[in.readInt()];
+                for (int i = 0; i < keys.length; i++) {
+                    keys[i] = serializer.read(in);
+                }
+                byte[] serializedFrame = new byte[in.readInt()];
+                in.readFully(serializedFrame);
+                return new SortedFrame(keys, serializedFrame, position);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        void close() {
+            try {
+                in.close();
+            } catch (IOException e) {
+                // Nothing to do, as the file is deleted after the frames are read.
+            }
+        }
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.langlib.query;
+
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BHandle;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BString;
+import io.ballerina.runtime.api.values.BTable;
+import io.ballerina.runtime.internal.DecimalValueKind;
+import io.ballerina.runtime.internal.TypeChecker;
+import io.ballerina.runtime.internal.values.DecimalValue;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Hash index of the join keys of the frames on the right-hand side of a join clause, which maps each key to the
+ * position of the bucket holding the frames with that key. Keys are equal when they are equal with `==`. Simple
+ * values are used as the hash keys themselves, so that looking them up does not convert them to strings.
+ *
+ * @since 2201.10.0
+ */
+public class JoinKeyIndex {
+
+    private static final int MAX_HASH_DEPTH = 8;
+    private static final Object NOT_SIMPLE = new Object();
+
+    private final Map<Object, Long> buckets = new HashMap<>();
+
+    public static BHandle createJoinKeyIndex() {
+        return ValueCreator.createHandleValue(new JoinKeyIndex());
+    }
+
+    /**
+     * Returns the position of the bucket of the given key. If the key has no bucket, a new bucket is added at the
+     * next position if `create` is true, and -1 is returned otherwise.
+     *
+     * @param index  join key index
+     * @param key    join key
+     * @param create whether to add a bucket for a new key
+     * @return position of the bucket
+     */
+    public static long getJoinKeyBucket(BHandle index, Object key, boolean create) {
+        Map<Object, Long> buckets = ((JoinKeyIndex) index.getValue()).buckets;
+        Object hashKey = toHashKey(key);
+        Long bucket = buckets.get(hashKey);
+        if (bucket != null) {
+            return bucket;
+        }
+        if (!create) {
+            return -1;
+        }
+        long newBucket = buckets.size();
+        buckets.put(hashKey, newBucket);
+        return newBucket;
+    }
+
+    /**
+     * Returns the member of a keyed table with the given key, so that a join on the key of an immutable table can
+     * look up the table itself instead of building an index.
+     *
+     * @param tbl keyed table
+     * @param key key of the member
+     * @return member with the key, or nil if there is none
+     */
+    public static Object getTableMember(BTable<?, ?> tbl, Object key) {
+        return tbl.get(key);
+    }
+
+    private static Object toHashKey(Object key) {
+        Object simpleKey = toSimpleKey(key);
+        return simpleKey == NOT_SIMPLE ? new StructuredKey(key) : simpleKey;
+    }
+
+    private static Object toSimpleKey(Object key) {
+        if (key == null || key instanceof Long || key instanceof Boolean) {
+            return key;
+        }
+        if (key instanceof Integer byteValue) {
+            // Bytes are equal to ints of the same value.
+            return byteValue.longValue();
+        }
+        if (key instanceof BString stringValue) {
+            return stringValue.getValue();
+        }
+        if (key instanceof Double floatValue) {
+            // Double.equals treats all NaNs as equal, as `==` does, but not -0.0 and 0.0.
+            return floatValue == 0.0 ? 0.0 : floatValue;
+        }
+        if (key instanceof DecimalValue decimalValue) {
+            return isRealNumber(decimalValue) ? decimalValue.decimalValue().stripTrailingZeros() : new Object();
+        }
+        return NOT_SIMPLE;
+    }
+
+    private static boolean isRealNumber(DecimalValue decimalValue) {
+        return decimalValue.valueKind == DecimalValueKind.ZERO || decimalValue.valueKind == DecimalValueKind.OTHER;
+    }
+
+    /**
+     * Key of a structured value, whose hash code does not depend on the order of the fields of mappings.
+     */
+    private static final class StructuredKey {
+
+        private final Object value;
+        private final int hash;
+
+        StructuredKey(Object value) {
+            this.value = value;
+            this.hash = hash(value, 0);
+        }
+
+        private static int hash(Object value, int depth) {
+            if (value instanceof BArray arrayValue) {
+                if (depth == MAX_HASH_DEPTH) {
+                    return 1;
+                }
+                int result = 1;
+                for (long i = 0; i < arrayValue.size(); i++) {
+                    result = 31 * result + hash(arrayValue.get(i), depth + 1);
+                }
+                return result;
+            }
+            if (value instanceof BMap<?, ?> mapValue) {
+                if (depth == MAX_HASH_DEPTH) {
+                    return 2;
+                }
+                int result = 2;
+                for (Map.Entry<?, ?> entry : mapValue.entrySet()) {
+                    result += hash(entry.getKey(), depth + 1) ^ hash(entry.getValue(), depth + 1);
+                }
+                return result;
+            }
+            Object simpleKey = toSimpleKey(value);
+            // Other values are compared with `==` only.
+            return simpleKey == NOT_SIMPLE || simpleKey == null ? 0 : simpleKey.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof StructuredKey other && hash == other.hash && TypeChecker.isEqual(value, other.value);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
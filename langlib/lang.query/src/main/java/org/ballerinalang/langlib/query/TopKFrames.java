@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.langlib.query;
+
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BHandle;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.internal.ValueComparisonUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Frames of an order by clause followed by a limit clause, of which only the first `limit` frames in the order of
+ * their keys are retained. The frames are kept in a bounded heap with the last retained frame at the top, so that
+ * ordering n frames takes O(n log limit) time and O(limit) space. Frames with equal keys are kept in the order in
+ * which they were added, as a stable sort would.
+ *
+ * @since 2201.10.0
+ */
+public class TopKFrames {
+
+    private static final String ASCENDING = "ascending";
+    private static final String DESCENDING = "descending";
+
+    private final long limit;
+    private final PriorityQueue<OrderedFrame> frames = new PriorityQueue<>(Collections.reverseOrder());
+    private long frameCount = 0;
+
+    private TopKFrames(long limit) {
+        this.limit = limit;
+    }
+
+    public static BHandle createTopKFrames(long limit) {
+        return ValueCreator.createHandleValue(new TopKFrames(limit));
+    }
+
+    /**
+     * Adds a frame with the given order keys, dropping the last retained frame if there are more than `limit`.
+     *
+     * @param topK       top frames
+     * @param frame      frame to add
+     * @param directions order directions of the keys, which are true for ascending keys
+     * @param keys       order keys of the frame
+     */
+    public static void addToTopKFrames(BHandle topK, BMap<?, ?> frame, BArray directions, BArray keys) {
+        TopKFrames topKFrames = (TopKFrames) topK.getValue();
+        int keyCount = keys.size();
+        Object[] orderKeys = new Object[keyCount];
+        boolean[] ascending = new boolean[keyCount];
+        for (int i = 0; i < keyCount; i++) {
+            orderKeys[i] = keys.get(i);
+            ascending[i] = (Boolean) directions.get(i);
+        }
+        OrderedFrame orderedFrame = new OrderedFrame(frame, orderKeys, ascending, topKFrames.frameCount++);
+        PriorityQueue<OrderedFrame> frames = topKFrames.frames;
+        if (frames.size() < topKFrames.limit) {
+            frames.add(orderedFrame);
+        } else if (orderedFrame.compareTo(frames.peek()) < 0) {
+            frames.poll();
+            frames.add(orderedFrame);
+        }
+    }
+
+    /**
+     * Appends the retained frames to the given array in order.
+     *
+     * @param topK          top frames
+     * @param orderedFrames array to append the frames to
+     */
+    public static void getTopKFrames(BHandle topK, BArray orderedFrames) {
+        List<OrderedFrame> frames = new ArrayList<>(((TopKFrames) topK.getValue()).frames);
+        Collections.sort(frames);
+        for (OrderedFrame orderedFrame : frames) {
+            orderedFrames.append(orderedFrame.frame);
+        }
+    }
+
+    /**
+     * Compares two frames by their order keys, in the order of the keys.
+     *
+     * @param keys       order keys of the first frame
+     * @param otherKeys  order keys of the second frame
+     * @param ascending  order directions of the keys, which are true for ascending keys
+     * @return a negative integer, zero, or a positive integer as the first frame is ordered before, with, or after the
+     * second frame
+     */
+    static int compareKeys(Object[] keys, Object[] otherKeys, boolean[] ascending) {
+        for (int i = 0; i < keys.length; i++) {
+            // Nil keys are placed last in both directions, as `sort` places them.
+            int result = ascending[i] ? ValueComparisonUtils.compareValues(keys[i], otherKeys[i], ASCENDING) :
+                    ValueComparisonUtils.compareValues(otherKeys[i], keys[i], DESCENDING);
+            if (result != 0) {
+                return result;
+            }
+        }
+        return 0;
+    }
+
+    private record OrderedFrame(BMap<?, ?> frame, Object[] keys, boolean[] ascending, long position)
+            implements Comparable<OrderedFrame> {
+
+        @Override
+        public int compareTo(OrderedFrame other) {
+            int result = compareKeys(keys, other.keys, ascending);
+            return result != 0 ? result : Long.compare(position, other.position);
+        }
+    }
+}
@@ -22,8 +22,7 @@ import io.ballerina.runtime.api.creators.ValueCreator;
 import io.ballerina.runtime.api.values.BArray;
 import io.ballerina.runtime.api.values.BRegexpValue;
 import io.ballerina.runtime.api.values.BString;
-
-import java.util.regex.Matcher;
+import io.ballerina.runtime.internal.regexp.RegExpMatcher;
 
 import static org.ballerinalang.langlib.regexp.RegexUtil.GROUPS_AS_SPAN_ARRAY_TYPE;
 import static org.ballerinalang.langlib.regexp.RegexUtil.checkIndexWithinRange;
@@ -41,7 +40,7 @@ public class Find {
         checkIndexWithinRange(str, startIndex);
         int[] surrogates = getSurrogatePositions(str);
         int adjustedStartIndex = getSurrogateAdjustedStartIndex((int) startIndex, surrogates);
-        Matcher matcher = RegexUtil.getMatcher(regExp, str);
+        RegExpMatcher matcher = RegexUtil.getMatcher(regExp, str);
         if (matcher.find(adjustedStartIndex)) {
             return RegexUtil.getGroupZeroAsSpan(str, matcher, surrogates);
         }
@@ -52,7 +51,7 @@ public class Find {
         checkIndexWithinRange(str, startIndex);
         int[] surrogates = getSurrogatePositions(str);
         int adjustedStartIndex = getSurrogateAdjustedStartIndex((int) startIndex, surrogates);
-        Matcher matcher = RegexUtil.getMatcher(regExp, str);
+        RegExpMatcher matcher = RegexUtil.getMatcher(regExp, str);
         BArray resultArray = ValueCreator.createArrayValue(GROUPS_AS_SPAN_ARRAY_TYPE);
         matcher.region(adjustedStartIndex, str.getValue().length());
         if (matcher.find()) {
@@ -73,7 +72,7 @@ public class Find {
 
     public static BArray findAll(BRegexpValue regExp, BString str, long startIndex) {
         checkIndexWithinRange(str, startIndex);
-        Matcher matcher = RegexUtil.getMatcher(regExp, str);
+        RegExpMatcher matcher = RegexUtil.getMatcher(regExp, str);
         int[] surrogates = getSurrogatePositions(str);
         int adjustedStartIndex = getSurrogateAdjustedStartIndex((int) startIndex, surrogates);
         BArray resultArray = ValueCreator.createArrayValue(GROUPS_AS_SPAN_ARRAY_TYPE);
@@ -89,7 +88,7 @@ public class Find {
 
     public static BArray findAllGroups(BRegexpValue regExp, BString str, long startIndex) {
         checkIndexWithinRange(str, startIndex);
-        Matcher matcher = RegexUtil.getMatcher(regExp, str);
+        RegExpMatcher matcher = RegexUtil.getMatcher(regExp, str);
         int[] surrogates = getSurrogatePositions(str);
         int adjustedStartIndex = getSurrogateAdjustedStartIndex((int) startIndex, surrogates);
         matcher.region(adjustedStartIndex, str.getValue().length());
@@ -28,13 +28,13 @@ import io.ballerina.runtime.internal.errors.ErrorCodes;
 import io.ballerina.runtime.internal.errors.ErrorHelper;
 import io.ballerina.runtime.internal.errors.ErrorReasons;
 import io.ballerina.runtime.internal.regexp.RegExpFactory;
+import io.ballerina.runtime.internal.regexp.RegExpMatcher;
 import io.ballerina.runtime.internal.types.BArrayType;
 import io.ballerina.runtime.internal.types.BTupleType;
 import io.ballerina.runtime.internal.values.NonBmpStringValue;
 import io.ballerina.runtime.internal.values.RegExpValue;
 
 import java.util.List;
-import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.regex.PatternSyntaxException;
 
@@ -50,7 +50,7 @@ public class RegexUtil {
     static final BArrayType GROUPS_AS_SPAN_ARRAY_TYPE = new BArrayType(SPAN_AS_TUPLE_TYPE);
 
     static final BArrayType GROUPS_ARRAY_TYPE = new BArrayType(GROUPS_AS_SPAN_ARRAY_TYPE);
-    static Matcher getMatcher(BRegexpValue regexpVal, BString inputStr) {
+    static RegExpMatcher getMatcher(BRegexpValue regexpVal, BString inputStr) {
         try {
             return getMatcher(regexpVal, inputStr.getValue());
         } catch (PatternSyntaxException e) {
@@ -78,15 +78,11 @@ public class RegexUtil {
         return newStartIndex;
     }
 
-    static Matcher getMatcher(BRegexpValue regexpVal, String inputStr) {
-        // Map the required ballerina regexp constructs to java.
-        RegExpValue translatedRegExpVal = RegExpFactory.translateRegExpConstructs((RegExpValue) regexpVal);
-        String patternStr = StringUtils.getStringValue(translatedRegExpVal);
-        Pattern pattern = Pattern.compile(patternStr, Pattern.UNICODE_CHARACTER_CLASS);
-        return pattern.matcher(inputStr);
+    static RegExpMatcher getMatcher(BRegexpValue regexpVal, String inputStr) {
+        return RegExpFactory.getMatcher((RegExpValue) regexpVal, Pattern.UNICODE_CHARACTER_CLASS, inputStr);
     }
 
-    static BArray getGroupZeroAsSpan(BString str, Matcher matcher, int[] surrogates) {
+    static BArray getGroupZeroAsSpan(BString str, RegExpMatcher matcher, int[] surrogates) {
         BArray resultTuple = ValueCreator.createTupleValue(SPAN_AS_TUPLE_TYPE);
         int[] adjustedPositions = getAdjustedPositions(str, matcher, surrogates);
         resultTuple.add(0, adjustedPositions[0]);
@@ -95,7 +91,7 @@ public class RegexUtil {
         return resultTuple;
     }
 
-    static int[] getAdjustedPositions(BString str, Matcher matcher, int[] surrogates) {
+    static int[] getAdjustedPositions(BString str, RegExpMatcher matcher, int[] surrogates) {
         BString subString = StringUtils.fromString(matcher.group());
         return getAdjustedPositions(str, matcher.start(), subString, surrogates);
     }
@@ -116,7 +112,7 @@ public class RegexUtil {
         return new int[]{newStartIndex, newEndIndex};
     }
 
-    static BArray getMatcherGroupsAsSpanArr(BString str, Matcher matcher, int[] surrogates) {
+    static BArray getMatcherGroupsAsSpanArr(BString str, RegExpMatcher matcher, int[] surrogates) {
         BArray group = ValueCreator.createArrayValue(GROUPS_AS_SPAN_ARRAY_TYPE);
         BArray span = getGroupZeroAsSpan(str, matcher, surrogates);
         group.append(span);
@@ -23,8 +23,12 @@ import io.ballerina.runtime.api.values.BArray;
 import io.ballerina.runtime.api.values.BRegexpValue;
 import io.ballerina.runtime.api.values.BString;
 import io.ballerina.runtime.internal.regexp.RegExpFactory;
+import io.ballerina.runtime.internal.regexp.RegExpMatcher;
 import io.ballerina.runtime.internal.values.RegExpValue;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Native implementation of lang.regexp:split(string).
  *
@@ -34,9 +38,27 @@ public class Split {
 
     public static BArray split(BRegexpValue regExp, BString str) {
         String originalString = str.getValue();
-        RegExpValue translatedRegExpVal = RegExpFactory.translateRegExpConstructs((RegExpValue) regExp);
-        String regex = StringUtils.getStringValue(translatedRegExpVal);
-        String[] splitStrArr = originalString.split(regex, -1);
-        return StringUtils.fromStringArray(splitStrArr);
+        RegExpMatcher matcher = RegExpFactory.getMatcher((RegExpValue) regExp, 0, originalString);
+        return StringUtils.fromStringArray(split(matcher, originalString));
+    }
+
+    // Splits the string around the matches as java.util.regex.Pattern#split(CharSequence, int) does with a negative
+    // limit, which keeps the trailing empty strings.
+    private static String[] split(RegExpMatcher matcher, String originalString) {
+        int index = 0;
+        List<String> substrings = new ArrayList<>();
+        while (matcher.find()) {
+            // A zero-width match at the beginning does not produce a leading empty substring.
+            if (index == 0 && matcher.start() == 0 && matcher.end() == 0) {
+                continue;
+            }
+            substrings.add(originalString.substring(index, matcher.start()));
+            index = matcher.end();
+        }
+        if (index == 0) {
+            return new String[]{originalString};
+        }
+        substrings.add(originalString.substring(index));
+        return substrings.toArray(new String[0]);
     }
 }
@@ -17,6 +17,9 @@
  */
 package io.ballerina.semtype;
 
+import io.ballerina.semtype.subtypedata.BddNode;
+import io.ballerina.semtype.typeops.BddCommonOps.BddOpKind;
+
 import java.util.ArrayList;
 import java.util.HashMap;
 
@@ -30,6 +33,9 @@ public class Env {
     private final ArrayList<ListAtomicType> recListAtoms;
     private final ArrayList<MappingAtomicType> recMappingAtoms;
     private final ArrayList<FunctionAtomicType> recFunctionAtoms;
+    // Unique table of the BDD nodes, and the results of the operations on them
+    private final HashMap<BddNode, BddNode> bddNodes;
+    private final HashMap<BddOpKey, Bdd> bddOpResults;
 
     public Env() {
         this.atomTable = new HashMap<>();
@@ -40,7 +46,71 @@ public class Env {
         this.recMappingAtoms = new ArrayList<>();
         // todo: add MAPPING_SUBTYPE_RO
         this.recFunctionAtoms = new ArrayList<>();
+        this.bddNodes = new HashMap<>();
+        this.bddOpResults = new HashMap<>();
+    }
+
+    /**
+     * Returns the node of this environment that is equal to the given node, adding the given node if there is none.
+     *
+     * @param node the BDD node
+     * @return the unique node equal to the given node
+     */
+    public BddNode internBddNode(BddNode node) {
+        BddNode existing = bddNodes.putIfAbsent(node, node);
+        return existing == null ? node : existing;
+    }
+
+    /**
+     * Returns the cached result of an operation on the given BDDs.
+     *
+     * @param kind the kind of the operation
+     * @param b1   the first operand
+     * @param b2   the second operand
+     * @return the result of the operation, or {@code null} if it is not cached
+     */
+    public Bdd getBddOpResult(BddOpKind kind, Bdd b1, Bdd b2) {
+        return bddOpResults.get(new BddOpKey(kind, b1, b2));
     }
 
+    /**
+     * Caches the result of an operation on the given BDDs.
+     *
+     * @param kind   the kind of the operation
+     * @param b1     the first operand
+     * @param b2     the second operand
+     * @param result the result of the operation
+     */
+    public void putBddOpResult(BddOpKind kind, Bdd b1, Bdd b2, Bdd result) {
+        bddOpResults.put(new BddOpKey(kind, b1, b2), result);
+    }
+
+    /**
+     * Key of the result of an operation on BDDs, whose nodes are compared by identity as they are unique.
+     */
+    private static final class BddOpKey {
+        private final BddOpKind kind;
+        private final Bdd b1;
+        private final Bdd b2;
+
+        BddOpKey(BddOpKind kind, Bdd b1, Bdd b2) {
+            this.kind = kind;
+            this.b1 = b1;
+            this.b2 = b2;
+        }
 
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof BddOpKey)) {
+                return false;
+            }
+            BddOpKey that = (BddOpKey) o;
+            return kind == that.kind && b1 == that.b1 && b2 == that.b2;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * (31 * kind.hashCode() + System.identityHashCode(b1)) + System.identityHashCode(b2);
+        }
+    }
 }
@@ -23,7 +23,7 @@ package io.ballerina.semtype;
  * @since 2.0.0
  */
 public class RecAtom implements Atom {
-    int index;
+    public final int index;
 
     public RecAtom(int index) {
         this.index = index;
@@ -32,4 +32,14 @@ public class RecAtom implements Atom {
     public static RecAtom createRecAtom(int index) {
         return new RecAtom(index);
     }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof RecAtom && ((RecAtom) o).index == index;
+    }
+
+    @Override
+    public int hashCode() {
+        return index;
+    }
 }
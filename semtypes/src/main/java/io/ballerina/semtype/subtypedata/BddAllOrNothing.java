@@ -0,0 +1,48 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.ballerina.semtype.subtypedata;
+
+import io.ballerina.semtype.Bdd;
+
+/**
+ * Leaf of a BDD, representing either all the subtypes or nothing.
+ *
+ * @since 2201.10.0
+ */
+public class BddAllOrNothing implements Bdd {
+    public static final BddAllOrNothing ALL = new BddAllOrNothing(true);
+    public static final BddAllOrNothing NOTHING = new BddAllOrNothing(false);
+
+    private final boolean isAll;
+
+    private BddAllOrNothing(boolean isAll) {
+        this.isAll = isAll;
+    }
+
+    public static BddAllOrNothing of(boolean isAll) {
+        return isAll ? ALL : NOTHING;
+    }
+
+    public boolean isAll() {
+        return this.isAll;
+    }
+
+    public BddAllOrNothing complement() {
+        return of(!this.isAll);
+    }
+}
@@ -19,15 +19,50 @@ package io.ballerina.semtype.subtypedata;
 
 import io.ballerina.semtype.Atom;
 import io.ballerina.semtype.Bdd;
+import io.ballerina.semtype.Env;
 
 /**
  * Bdd node.
+ * <p>
+ * Nodes are hash-consed by the {@link Env} they are created in, so equal BDDs of an environment are the same object
+ * and the children of a node can be compared by identity.
  *
  * @since 2.0.0
  */
 public class BddNode implements Bdd {
-    Atom atom;
-    BddNode left;
-    BddNode middle;
-    BddNode right;
+    public final Atom atom;
+    public final Bdd left;
+    public final Bdd middle;
+    public final Bdd right;
+
+    private BddNode(Atom atom, Bdd left, Bdd middle, Bdd right) {
+        this.atom = atom;
+        this.left = left;
+        this.middle = middle;
+        this.right = right;
+    }
+
+    public static BddNode create(Env env, Atom atom, Bdd left, Bdd middle, Bdd right) {
+        return env.internBddNode(new BddNode(atom, left, middle, right));
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof BddNode)) {
+            return false;
+        }
+        BddNode that = (BddNode) o;
+        return atom.equals(that.atom) && left == that.left && middle == that.middle && right == that.right;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = atom.hashCode();
+        result = 31 * result + System.identityHashCode(left);
+        result = 31 * result + System.identityHashCode(middle);
+        return 31 * result + System.identityHashCode(right);
+    }
 }
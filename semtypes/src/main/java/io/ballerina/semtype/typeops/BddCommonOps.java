@@ -0,0 +1,200 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.ballerina.semtype.typeops;
+
+import io.ballerina.semtype.Atom;
+import io.ballerina.semtype.Bdd;
+import io.ballerina.semtype.Env;
+import io.ballerina.semtype.RecAtom;
+import io.ballerina.semtype.TypeAtom;
+import io.ballerina.semtype.subtypedata.BddAllOrNothing;
+import io.ballerina.semtype.subtypedata.BddNode;
+
+/**
+ * Operations on BDDs.
+ * <p>
+ * The nodes are hash-consed and the results of the operations on nodes are cached by the given {@link Env}, so an
+ * operation repeated on the same BDDs of an environment returns the result of the first one.
+ *
+ * @since 2201.10.0
+ */
+public class BddCommonOps {
+
+    /**
+     * Kinds of the operations whose results are cached.
+     */
+    public enum BddOpKind {
+        UNION, INTERSECT, DIFF, COMPLEMENT
+    }
+
+    private BddCommonOps() {
+    }
+
+    public static BddNode bddAtom(Env env, Atom atom) {
+        return BddNode.create(env, atom, BddAllOrNothing.ALL, BddAllOrNothing.NOTHING, BddAllOrNothing.NOTHING);
+    }
+
+    public static Bdd bddUnion(Env env, Bdd b1, Bdd b2) {
+        if (b1 == b2) {
+            return b1;
+        } else if (b1 instanceof BddAllOrNothing) {
+            return ((BddAllOrNothing) b1).isAll() ? BddAllOrNothing.ALL : b2;
+        } else if (b2 instanceof BddAllOrNothing) {
+            return ((BddAllOrNothing) b2).isAll() ? BddAllOrNothing.ALL : b1;
+        }
+
+        Bdd cached = env.getBddOpResult(BddOpKind.UNION, b1, b2);
+        if (cached != null) {
+            return cached;
+        }
+        BddNode n1 = (BddNode) b1;
+        BddNode n2 = (BddNode) b2;
+        long cmp = atomCmp(n1.atom, n2.atom);
+        Bdd result;
+        if (cmp < 0L) {
+            result = bddCreate(env, n1.atom, n1.left, bddUnion(env, n1.middle, b2), n1.right);
+        } else if (cmp > 0L) {
+            result = bddCreate(env, n2.atom, n2.left, bddUnion(env, b1, n2.middle), n2.right);
+        } else {
+            result = bddCreate(env, n1.atom, bddUnion(env, n1.left, n2.left), bddUnion(env, n1.middle, n2.middle),
+                    bddUnion(env, n1.right, n2.right));
+        }
+        env.putBddOpResult(BddOpKind.UNION, b1, b2, result);
+        return result;
+    }
+
+    public static Bdd bddIntersect(Env env, Bdd b1, Bdd b2) {
+        if (b1 == b2) {
+            return b1;
+        } else if (b1 instanceof BddAllOrNothing) {
+            return ((BddAllOrNothing) b1).isAll() ? b2 : BddAllOrNothing.NOTHING;
+        } else if (b2 instanceof BddAllOrNothing) {
+            return ((BddAllOrNothing) b2).isAll() ? b1 : BddAllOrNothing.NOTHING;
+        }
+
+        Bdd cached = env.getBddOpResult(BddOpKind.INTERSECT, b1, b2);
+        if (cached != null) {
+            return cached;
+        }
+        BddNode n1 = (BddNode) b1;
+        BddNode n2 = (BddNode) b2;
+        long cmp = atomCmp(n1.atom, n2.atom);
+        Bdd result;
+        if (cmp < 0L) {
+            result = bddCreate(env, n1.atom, bddIntersect(env, n1.left, b2), bddIntersect(env, n1.middle, b2),
+                    bddIntersect(env, n1.right, b2));
+        } else if (cmp > 0L) {
+            result = bddCreate(env, n2.atom, bddIntersect(env, b1, n2.left), bddIntersect(env, b1, n2.middle),
+                    bddIntersect(env, b1, n2.right));
+        } else {
+            result = bddCreate(env, n1.atom,
+                    bddIntersect(env, bddUnion(env, n1.left, n1.middle), bddUnion(env, n2.left, n2.middle)),
+                    BddAllOrNothing.NOTHING,
+                    bddIntersect(env, bddUnion(env, n1.right, n1.middle), bddUnion(env, n2.right, n2.middle)));
+        }
+        env.putBddOpResult(BddOpKind.INTERSECT, b1, b2, result);
+        return result;
+    }
+
+    public static Bdd bddDiff(Env env, Bdd b1, Bdd b2) {
+        if (b1 == b2) {
+            return BddAllOrNothing.NOTHING;
+        } else if (b2 instanceof BddAllOrNothing) {
+            return ((BddAllOrNothing) b2).isAll() ? BddAllOrNothing.NOTHING : b1;
+        } else if (b1 instanceof BddAllOrNothing) {
+            return ((BddAllOrNothing) b1).isAll() ? bddComplement(env, b2) : BddAllOrNothing.NOTHING;
+        }
+
+        Bdd cached = env.getBddOpResult(BddOpKind.DIFF, b1, b2);
+        if (cached != null) {
+            return cached;
+        }
+        BddNode n1 = (BddNode) b1;
+        BddNode n2 = (BddNode) b2;
+        long cmp = atomCmp(n1.atom, n2.atom);
+        Bdd result;
+        if (cmp < 0L) {
+            result = bddCreate(env, n1.atom, bddDiff(env, bddUnion(env, n1.left, n1.middle), b2),
+                    BddAllOrNothing.NOTHING, bddDiff(env, bddUnion(env, n1.right, n1.middle), b2));
+        } else if (cmp > 0L) {
+            result = bddCreate(env, n2.atom, bddDiff(env, b1, bddUnion(env, n2.left, n2.middle)),
+                    BddAllOrNothing.NOTHING, bddDiff(env, b1, bddUnion(env, n2.right, n2.middle)));
+        } else {
+            result = bddCreate(env, n1.atom,
+                    bddDiff(env, bddUnion(env, n1.left, n1.middle), bddUnion(env, n2.left, n2.middle)),
+                    BddAllOrNothing.NOTHING,
+                    bddDiff(env, bddUnion(env, n1.right, n1.middle), bddUnion(env, n2.right, n2.middle)));
+        }
+        env.putBddOpResult(BddOpKind.DIFF, b1, b2, result);
+        return result;
+    }
+
+    public static Bdd bddComplement(Env env, Bdd b) {
+        if (b instanceof BddAllOrNothing) {
+            return ((BddAllOrNothing) b).complement();
+        }
+
+        Bdd cached = env.getBddOpResult(BddOpKind.COMPLEMENT, b, b);
+        if (cached != null) {
+            return cached;
+        }
+        Bdd result = bddNodeComplement(env, (BddNode) b);
+        env.putBddOpResult(BddOpKind.COMPLEMENT, b, b, result);
+        return result;
+    }
+
+    private static Bdd bddNodeComplement(Env env, BddNode b) {
+        BddAllOrNothing nothing = BddAllOrNothing.NOTHING;
+        if (b.right == nothing) {
+            return bddCreate(env, b.atom, nothing, bddComplement(env, bddUnion(env, b.left, b.middle)),
+                    bddComplement(env, b.middle));
+        } else if (b.left == nothing) {
+            return bddCreate(env, b.atom, bddComplement(env, b.middle),
+                    bddComplement(env, bddUnion(env, b.right, b.middle)), nothing);
+        } else if (b.middle == nothing) {
+            return bddCreate(env, b.atom, bddComplement(env, b.left),
+                    bddComplement(env, bddUnion(env, b.left, b.right)), bddComplement(env, b.right));
+        } else {
+            return bddCreate(env, b.atom, bddComplement(env, bddUnion(env, b.left, b.middle)), nothing,
+                    bddComplement(env, bddUnion(env, b.right, b.middle)));
+        }
+    }
+
+    private static Bdd bddCreate(Env env, Atom atom, Bdd left, Bdd middle, Bdd right) {
+        if (middle == BddAllOrNothing.ALL) {
+            return middle;
+        }
+        if (left == right) {
+            return bddUnion(env, left, middle);
+        }
+        return BddNode.create(env, atom, left, middle, right);
+    }
+
+    // Orders the recursive atoms before the type atoms, and the atoms of each kind by their indexes.
+    private static long atomCmp(Atom a1, Atom a2) {
+        if (a1 instanceof RecAtom) {
+            if (a2 instanceof RecAtom) {
+                return (long) ((RecAtom) a1).index - ((RecAtom) a2).index;
+            }
+            return -1L;
+        } else if (a2 instanceof RecAtom) {
+            return 1L;
+        }
+        return Long.compare(((TypeAtom) a1).index, ((TypeAtom) a2).index);
+    }
+}
@@ -17,7 +17,9 @@
  */
 package io.ballerina.semtype.typeops;
 
+import io.ballerina.semtype.Bdd;
 import io.ballerina.semtype.CommonUniformTypeOps;
+import io.ballerina.semtype.Env;
 import io.ballerina.semtype.SubtypeData;
 
 /**
@@ -26,23 +28,30 @@ import io.ballerina.semtype.SubtypeData;
  * @since 2.0.0
  */
 public abstract class CommonOps implements CommonUniformTypeOps {
+    // Environment whose BDD nodes and operation results are shared by the operations
+    protected final Env env;
+
+    protected CommonOps(Env env) {
+        this.env = env;
+    }
+
     @Override
     public SubtypeData union(SubtypeData t1, SubtypeData t2) {
-        throw new AssertionError();
+        return BddCommonOps.bddUnion(env, (Bdd) t1, (Bdd) t2);
     }
 
     @Override
     public SubtypeData intersect(SubtypeData t1, SubtypeData t2) {
-        throw new AssertionError();
+        return BddCommonOps.bddIntersect(env, (Bdd) t1, (Bdd) t2);
     }
 
     @Override
     public SubtypeData diff(SubtypeData t1, SubtypeData t2) {
-        throw new AssertionError();
+        return BddCommonOps.bddDiff(env, (Bdd) t1, (Bdd) t2);
     }
 
     @Override
     public SubtypeData complement(SubtypeData t) {
-        throw new AssertionError();
+        return BddCommonOps.bddComplement(env, (Bdd) t);
     }
 }
@@ -17,6 +17,7 @@
  */
 package io.ballerina.semtype.typeops;
 
+import io.ballerina.semtype.Env;
 import io.ballerina.semtype.SubtypeData;
 import io.ballerina.semtype.TypeCheckContext;
 import io.ballerina.semtype.UniformTypeOps;
@@ -27,6 +28,10 @@ import io.ballerina.semtype.UniformTypeOps;
  * @since 2.0.0
  */
 public class FunctionOps extends CommonOps implements UniformTypeOps {
+    public FunctionOps(Env env) {
+        super(env);
+    }
+
     @Override
     public boolean isEmpty(TypeCheckContext tc, SubtypeData t) {
         throw new AssertionError();
@@ -17,6 +17,7 @@
  */
 package io.ballerina.semtype.typeops;
 
+import io.ballerina.semtype.Env;
 import io.ballerina.semtype.UniformTypeOps;
 
 // todo: use this to place common things between Ro and RW, if there are non; delete this.
@@ -26,5 +27,7 @@ import io.ballerina.semtype.UniformTypeOps;
  * @since 2.0.0
  */
 public abstract class MappingCommonOps extends CommonOps implements UniformTypeOps {
-
+    protected MappingCommonOps(Env env) {
+        super(env);
+    }
 }
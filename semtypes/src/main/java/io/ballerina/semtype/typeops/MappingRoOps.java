@@ -17,6 +17,7 @@
  */
 package io.ballerina.semtype.typeops;
 
+import io.ballerina.semtype.Env;
 import io.ballerina.semtype.SubtypeData;
 import io.ballerina.semtype.TypeCheckContext;
 
@@ -26,6 +27,10 @@ import io.ballerina.semtype.TypeCheckContext;
  * @since 2.0.0
  */
 public class MappingRoOps extends MappingCommonOps {
+    public MappingRoOps(Env env) {
+        super(env);
+    }
+
     @Override
     public boolean isEmpty(TypeCheckContext tc, SubtypeData t) {
         throw new AssertionError();
@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.ballerina.semtype;
+
+import io.ballerina.semtype.subtypedata.BddAllOrNothing;
+import io.ballerina.semtype.subtypedata.BddNode;
+import io.ballerina.semtype.typeops.BddCommonOps;
+import io.ballerina.semtype.typeops.BddCommonOps.BddOpKind;
+import io.ballerina.semtype.typeops.CommonOps;
+import io.ballerina.semtype.typeops.ListTypeRWOps;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tests the operations on BDDs.
+ */
+public class BddTest {
+
+    private static final int ATOM_COUNT = 3;
+
+    // Evaluates the BDD for the atoms whose bits are set in the given assignment.
+    private static boolean eval(Bdd bdd, int assignment) {
+        if (bdd instanceof BddAllOrNothing) {
+            return ((BddAllOrNothing) bdd).isAll();
+        }
+        BddNode node = (BddNode) bdd;
+        boolean atomValue = (assignment & (1 << ((RecAtom) node.atom).index)) != 0;
+        return (atomValue && eval(node.left, assignment)) || eval(node.middle, assignment) ||
+                (!atomValue && eval(node.right, assignment));
+    }
+
+    private static List<Bdd> createBdds(Env env) {
+        List<Bdd> bdds = new ArrayList<>();
+        bdds.add(BddAllOrNothing.ALL);
+        bdds.add(BddAllOrNothing.NOTHING);
+        for (int i = 0; i < ATOM_COUNT; i++) {
+            bdds.add(BddCommonOps.bddAtom(env, RecAtom.createRecAtom(i)));
+        }
+        int atomBdds = bdds.size();
+        for (int i = 2; i < atomBdds; i++) {
+            for (int j = i + 1; j < atomBdds; j++) {
+                bdds.add(BddCommonOps.bddUnion(env, bdds.get(i), bdds.get(j)));
+                bdds.add(BddCommonOps.bddDiff(env, bdds.get(i), bdds.get(j)));
+            }
+            bdds.add(BddCommonOps.bddComplement(env, bdds.get(i)));
+        }
+        return bdds;
+    }
+
+    @Test
+    public void testOperations() {
+        Env env = new Env();
+        List<Bdd> bdds = createBdds(env);
+        for (Bdd b1 : bdds) {
+            Bdd complement = BddCommonOps.bddComplement(env, b1);
+            for (Bdd b2 : bdds) {
+                Bdd union = BddCommonOps.bddUnion(env, b1, b2);
+                Bdd intersection = BddCommonOps.bddIntersect(env, b1, b2);
+                Bdd diff = BddCommonOps.bddDiff(env, b1, b2);
+                for (int assignment = 0; assignment < 1 << ATOM_COUNT; assignment++) {
+                    boolean v1 = eval(b1, assignment);
+                    boolean v2 = eval(b2, assignment);
+                    Assert.assertEquals(eval(union, assignment), v1 || v2);
+                    Assert.assertEquals(eval(intersection, assignment), v1 && v2);
+                    Assert.assertEquals(eval(diff, assignment), v1 && !v2);
+                    Assert.assertEquals(eval(complement, assignment), !v1);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testNodesAreShared() {
+        Env env = new Env();
+        Bdd a = BddCommonOps.bddAtom(env, RecAtom.createRecAtom(0));
+        Bdd b = BddCommonOps.bddAtom(env, RecAtom.createRecAtom(1));
+        Assert.assertSame(BddCommonOps.bddAtom(env, RecAtom.createRecAtom(0)), a);
+        Assert.assertSame(BddCommonOps.bddUnion(env, a, b), BddCommonOps.bddUnion(env, b, a));
+        Assert.assertSame(BddCommonOps.bddIntersect(env, a, b), BddCommonOps.bddIntersect(env, b, a));
+        Assert.assertSame(BddCommonOps.bddComplement(env, BddCommonOps.bddComplement(env, a)), a);
+        Assert.assertSame(BddCommonOps.bddDiff(env, BddCommonOps.bddUnion(env, a, b), b),
+                BddCommonOps.bddDiff(env, a, b));
+    }
+
+    @Test
+    public void testCommonOpsShareNodes() {
+        Env env = new Env();
+        CommonOps ops = new ListTypeRWOps(env);
+        Bdd a = BddCommonOps.bddAtom(env, RecAtom.createRecAtom(0));
+        Bdd b = BddCommonOps.bddAtom(env, RecAtom.createRecAtom(1));
+        Bdd union = (Bdd) ops.union(a, b);
+        Assert.assertSame(ops.union(a, b), union);
+        Assert.assertSame(env.getBddOpResult(BddOpKind.UNION, a, b), union);
+        Assert.assertSame(ops.union(b, a), union);
+        Assert.assertSame(ops.intersect(a, b), ops.intersect(a, b));
+        Assert.assertSame(ops.diff(union, b), ops.diff(a, b));
+        Assert.assertSame(ops.complement(ops.complement(a)), a);
+    }
+
+    @Test
+    public void testCommonOpsUseCachedResults() {
+        Env env = new Env();
+        CommonOps ops = new ListTypeRWOps(env);
+        Bdd a = BddCommonOps.bddAtom(env, RecAtom.createRecAtom(0));
+        Bdd b = BddCommonOps.bddAtom(env, RecAtom.createRecAtom(1));
+        // Results that an operation cannot compute show that equal operations are looked up instead of computed.
+        Bdd cached = BddCommonOps.bddAtom(env, RecAtom.createRecAtom(2));
+        env.putBddOpResult(BddOpKind.UNION, a, b, cached);
+        env.putBddOpResult(BddOpKind.INTERSECT, a, b, cached);
+        env.putBddOpResult(BddOpKind.DIFF, a, b, cached);
+        env.putBddOpResult(BddOpKind.COMPLEMENT, a, a, cached);
+        Assert.assertSame(ops.union(a, b), cached);
+        Assert.assertSame(ops.intersect(a, b), cached);
+        Assert.assertSame(ops.diff(a, b), cached);
+        Assert.assertSame(ops.complement(a), cached);
+        Assert.assertNotSame(ops.union(b, a), cached);
+    }
+}
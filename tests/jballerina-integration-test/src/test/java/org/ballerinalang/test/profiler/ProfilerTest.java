@@ -23,16 +23,19 @@ import org.ballerinalang.test.context.BMainInstance;
 import org.ballerinalang.test.context.BallerinaTestException;
 import org.ballerinalang.test.context.LogLeecher;
 import org.ballerinalang.test.context.ServerLogReader;
+import org.testng.Assert;
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Test;
 import org.wso2.ballerinalang.util.Lists;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.regex.Pattern;
 
 
 /**
@@ -111,6 +114,53 @@ public class ProfilerTest extends BaseTest {
         }
     }
 
+    @Test
+    public void testProfilerAllocationView() throws BallerinaTestException, IOException {
+        String sourceRoot = testFileLocation + File.separator;
+        String fileName = "profiler_allocations.bal";
+        Map<String, String> envProperties = new HashMap<>();
+        envProperties.put(BALLERINA_HOME, bMainInstance.getBalServerHome());
+        String htmlFilePath = sourceRoot + "profiler" + File.separator + outputFile;
+        List<LogLeecher> leechers = getProfilerLogLeechers(htmlFilePath);
+        leechers.add(new LogLeecher("Group count: 10"));
+        bMainInstance.runMain("profile", new String[]{fileName}, envProperties,
+                null, leechers.toArray(new LogLeecher[0]), sourceRoot);
+        for (LogLeecher leecher : leechers) {
+            leecher.waitForText(5000);
+        }
+
+        // The values created by each function are counted against it, including records, strings and decimals
+        // created through runtime calls.
+        String report = Files.readString(Paths.get(htmlFilePath));
+        Assert.assertTrue(report.contains("var allocationData = "));
+        for (String valueClassName : List.of("MapValueImpl", "ArrayValueImpl", "BString", "DecimalValue")) {
+            Assert.assertTrue(Pattern.compile("\"" + valueClassName + "\":[1-9]").matcher(report).find(),
+                    valueClassName);
+        }
+    }
+
+    @Test
+    public void testProfilerSamplingMode() throws BallerinaTestException, IOException {
+        String sourceRoot = testFileLocation + File.separator;
+        String fileName = "profiler_sampling.bal";
+        Map<String, String> envProperties = new HashMap<>();
+        envProperties.put(BALLERINA_HOME, bMainInstance.getBalServerHome());
+        String htmlFilePath = sourceRoot + "profiler" + File.separator + outputFile;
+        List<LogLeecher> leechers = getProfilerLogLeechers(htmlFilePath);
+        leechers.add(new LogLeecher("Total: 1500500"));
+        bMainInstance.runMain("profile", new String[]{"--sampling-interval", "5", fileName}, envProperties,
+                null, leechers.toArray(new LogLeecher[0]), sourceRoot);
+        for (LogLeecher leecher : leechers) {
+            leecher.waitForText(5000);
+        }
+
+        // The samples are attributed to the call paths of the busy functions.
+        String report = Files.readString(Paths.get(htmlFilePath));
+        Assert.assertTrue(report.contains("var data = "));
+        Assert.assertTrue(report.contains("busyWork"));
+        Assert.assertTrue(report.contains("fibonacci"));
+    }
+
     @Test
     public void testProfilerExecutionWithKillSignal() throws BallerinaTestException {
         String sourceRoot = testFileLocation + File.separator;
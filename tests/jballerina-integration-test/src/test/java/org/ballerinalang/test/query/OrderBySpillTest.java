@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.test.query;
+
+import org.ballerinalang.test.BaseTest;
+import org.ballerinalang.test.context.BMainInstance;
+import org.ballerinalang.test.context.BallerinaTestException;
+import org.ballerinalang.test.context.LogLeecher;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Tests order by clauses that spill their frames to disk when a memory limit is set for ordering.
+ *
+ * @since 2201.10.0
+ */
+public class OrderBySpillTest extends BaseTest {
+
+    private static final String testFileLocation = Paths.get("src", "test", "resources", "query")
+            .toAbsolutePath().toString();
+    private static final String SORT_MEMORY_LIMIT_ENV_VAR = "BALLERINA_QUERY_SORT_MEMORY_LIMIT";
+    private BMainInstance bMainInstance;
+
+    @BeforeClass
+    public void setup() throws BallerinaTestException {
+        bMainInstance = new BMainInstance(balServer);
+    }
+
+    @Test(description = "Test order by clauses with frames spilled to disk in many runs")
+    public void testOrderByWithSpilledFrames() throws BallerinaTestException {
+        // Only a few frames fit in the limit, so that the frames are spilled to more runs than are merged at once.
+        runAndVerifyOrder("4096");
+    }
+
+    @Test(description = "Test order by clauses with frames that fit in the memory limit")
+    public void testOrderByWithinMemoryLimit() throws BallerinaTestException {
+        runAndVerifyOrder("1073741824");
+    }
+
+    private void runAndVerifyOrder(String memoryLimit) throws BallerinaTestException {
+        Map<String, String> envProperties = new HashMap<>();
+        envProperties.put(SORT_MEMORY_LIMIT_ENV_VAR, memoryLimit);
+        LogLeecher leecher = new LogLeecher("ordered: true, grouped: true, readonly: true");
+        String balFile = Paths.get(testFileLocation, "order_by_spill.bal").toString();
+        bMainInstance.runMain("run", new String[]{balFile}, envProperties, null, new LogLeecher[]{leecher},
+                testFileLocation);
+        leecher.waitForText(10000);
+    }
+}
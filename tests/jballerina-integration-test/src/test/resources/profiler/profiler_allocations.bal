@@ -0,0 +1,49 @@
+// Copyright (c) 2024 WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/io;
+
+type Item record {|
+    string name;
+    decimal price;
+|};
+
+function createItems(int count) returns Item[] {
+    Item[] items = [];
+    foreach int i in 0 ..< count {
+        items.push({name: "item" + i.toString(), price: <decimal>i});
+    }
+    return items;
+}
+
+function groupItems(Item[] items) returns map<Item[]> {
+    map<Item[]> groups = {};
+    foreach Item item in items {
+        string key = item.name.substring(0, 5);
+        Item[]? group = groups[key];
+        if group is () {
+            groups[key] = [item];
+        } else {
+            group.push(item);
+        }
+    }
+    return groups;
+}
+
+public function main() {
+    map<Item[]> groups = groupItems(createItems(1000));
+    io:println("Group count: ", groups.length());
+}
@@ -0,0 +1,86 @@
+// Copyright (c) 2024, WSO2 LLC. (https://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+//    http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied. See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/io;
+
+type Address record {|
+    string city;
+    int zip;
+|};
+
+type Person record {|
+    readonly int id;
+    string name;
+    decimal salary;
+    Address address;
+    int[] scores;
+    string note?;
+|};
+
+type CityTotal record {|
+    string city;
+    int total;
+|};
+
+// An object in the frames keeps them in memory while ordering.
+class Marker {
+}
+
+public function main() {
+    Person[] people = [];
+    foreach int i in 0 ..< 5000 {
+        Person person = {id: i, name: string `person${(i * 7919) % 101}`, salary: <decimal>((i * 31) % 17),
+            address: {city: string `city${i % 13}`, zip: i}, scores: [i, i % 3]};
+        if i % 2 == 0 {
+            person.note = "even";
+        }
+        people.push(person);
+    }
+
+    Person[] ordered = from Person person in people
+        order by person.name descending, person.salary
+        select person;
+    Person[] inMemory = from Person person in people
+        let Marker marker = new
+        order by person.name descending, person.salary
+        select person;
+    boolean isOrdered = ordered == inMemory && ordered == people.sort("ascending", p => p.salary)
+        .sort("descending", p => p.name);
+
+    table<Person> key(id) personTable = table key(id) from Person person in people select person;
+    CityTotal[] totals = from Person person in people
+        join Person other in personTable on person.id equals other.id
+        let int zip = other.address.zip
+        group by string city = person.address.city
+        order by city descending
+        select {city, total: sum(zip)};
+    CityTotal[] inMemoryTotals = from Person person in people
+        join Person other in personTable on person.id equals other.id
+        let int zip = other.address.zip, Marker marker = new
+        group by string city = person.address.city
+        order by city descending
+        select {city, total: sum(zip)};
+    boolean isGrouped = totals.length() == 13 && totals == inMemoryTotals;
+
+    (Person & readonly)[] readonlyPeople = from Person person in people select person.cloneReadOnly();
+    (Person & readonly)[] orderedReadonly = from var person in readonlyPeople
+        order by person.address.zip descending
+        select person;
+    boolean isReadonly = orderedReadonly == readonlyPeople.reverse() &&
+        orderedReadonly.every(person => person.isReadOnly() && person.scores.isReadOnly());
+
+    io:println(string `ordered: ${isOrdered}, grouped: ${isGrouped}, readonly: ${isReadonly}`);
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.test.bir;
+
+import org.ballerinalang.test.BCompileUtil;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode;
+import org.wso2.ballerinalang.compiler.bir.model.BIRTerminator;
+import org.wso2.ballerinalang.compiler.bir.model.InstructionKind;
+import org.wso2.ballerinalang.compiler.bir.optimizer.BIRLockOptimizer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Test cases for the lock statements that {@link BIRLockOptimizer} identifies as read-only.
+ *
+ * @since 2201.10.0
+ */
+public class BirLockOptimizationTest {
+
+    private BCompileUtil.BIRCompileResult result;
+
+    @BeforeClass
+    public void setup() {
+        result = BCompileUtil.generateBIR("test-src/bir/lock_optimizer.bal");
+    }
+
+    @DataProvider
+    public Object[][] lockFunctions() {
+        return new Object[][]{
+                {"readMap", List.of(true)},
+                {"readArray", List.of(true)},
+                {"storeToMap", List.of(false)},
+                {"removeFromMap", List.of(false)},
+                {"pushToArray", List.of(false)},
+                {"writeToModuleVar", List.of(false)},
+                {"callModuleFunction", List.of(false)},
+                {"nestedLock", List.of(false, true)}
+        };
+    }
+
+    @Test(dataProvider = "lockFunctions")
+    public void testReadOnlyLocks(String functionName, List<Boolean> readOnly) {
+        Assert.assertEquals(getLocks(functionName).stream().map(lock -> lock.readOnly).toList(), readOnly);
+    }
+
+    @Test
+    public void testReadOnlyAndMutatingLocksOfSameVariable() {
+        // Read-only locks are acquired in shared mode, but on the same lock as the locks that mutate the variable.
+        BIRTerminator.Lock readLock = getLocks("readMap").get(0);
+        BIRTerminator.Lock writeLock = getLocks("storeToMap").get(0);
+        Assert.assertEquals(readLock.lockId, writeLock.lockId);
+    }
+
+    private List<BIRTerminator.Lock> getLocks(String functionName) {
+        BIRNode.BIRFunction function = result.getExpectedBIR().functions.stream()
+                .filter(birFunction -> birFunction.name.value.equals(functionName)).findFirst().orElseThrow();
+        List<BIRTerminator.Lock> locks = new ArrayList<>();
+        for (BIRNode.BIRBasicBlock basicBlock : function.basicBlocks) {
+            if (basicBlock.terminator.kind == InstructionKind.LOCK) {
+                locks.add((BIRTerminator.Lock) basicBlock.terminator);
+            }
+        }
+        return locks;
+    }
+
+    @AfterClass
+    public void tearDown() {
+        result = null;
+    }
+}
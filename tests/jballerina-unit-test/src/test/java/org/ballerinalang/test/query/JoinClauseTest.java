@@ -120,6 +120,16 @@ public class JoinClauseTest {
         BRunUtil.invoke(result, "testOuterJoin");
     }
 
+    @Test(description = "Test join on the key of a readonly table")
+    public void testJoinOnKeyOfReadonlyTable() {
+        BRunUtil.invoke(result, "testJoinOnKeyOfReadonlyTable");
+    }
+
+    @Test(description = "Test join on structured keys")
+    public void testJoinOnStructuredKeys() {
+        BRunUtil.invoke(result, "testJoinOnStructuredKeys");
+    }
+
     @Test(description = "Test join clause with a large list")
     public void testJoinClauseWithLargeList() {
         BRunUtil.invoke(result, "testJoinClauseWithLargeList");
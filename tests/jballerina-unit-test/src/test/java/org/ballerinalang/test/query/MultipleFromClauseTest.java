@@ -382,6 +382,18 @@ public class MultipleFromClauseTest {
                 "\"deptAccess\":\"Operations\",\"address\":{\"city\":\"NY\",\"country\":\"America\"}}");
     }
 
+    @Test(description = "Test multiple from clauses over lists and integer ranges")
+    public void testMultipleFromClausesWithListsAndRanges() {
+        Object returnValues = BRunUtil.invoke(result, "testMultipleFromClausesWithListsAndRanges");
+        Assert.assertTrue((Boolean) returnValues);
+    }
+
+    @Test(description = "Test where clauses narrowing the types of variables used by later clauses")
+    public void testMultipleFromClausesWithNarrowingWhereClauses() {
+        Object returnValues = BRunUtil.invoke(result, "testMultipleFromClausesWithNarrowingWhereClauses");
+        Assert.assertTrue((Boolean) returnValues);
+    }
+
     @AfterClass
     public void tearDown() {
         result = null;
@@ -214,6 +214,14 @@ public class OrderByClauseTest {
         Assert.assertTrue((Boolean) returnValues);
     }
 
+    @Test(description = "Test query expr with order by clause followed by a limit clause")
+    public void testQueryExprWithOrderByAndLimitClauses() {
+        Object returnValues = BRunUtil.invoke(result, "testQueryExprWithOrderByAndLimitClauses");
+        Assert.assertNotNull(returnValues);
+
+        Assert.assertTrue((Boolean) returnValues);
+    }
+
     @Test(description = "Test query expr with order by clause return string")
     public void testQueryExprWithOrderByClauseReturnString() {
         Object returnValues = BRunUtil.invoke(result, "testQueryExprWithOrderByClauseReturnString");
@@ -155,6 +155,11 @@ public class OpenRecordOptionalFieldsTest {
         Assert.assertNull(person.get(StringUtils.fromString("adrs")));
     }
 
+    @Test(description = "Test the presence of optional fields of a record with more than 32 optional fields")
+    public void testManyOptionalFields() {
+        BRunUtil.invoke(compileResult, "testManyOptionalFields");
+    }
+
     @AfterClass
     public void tearDown() {
         compileResult = null;
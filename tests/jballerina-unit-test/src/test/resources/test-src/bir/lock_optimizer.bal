@@ -0,0 +1,67 @@
+map<int> cache = {};
+int[] values = [1, 2, 3];
+int count = 0;
+
+function readMap(string key) returns int {
+    int value = 0;
+    lock {
+        if cache.hasKey(key) {
+            value = cache.get(key) + cache.length();
+        }
+    }
+    return value;
+}
+
+function readArray() returns int[] {
+    int[] result = [];
+    lock {
+        result = values.slice(1).clone();
+    }
+    return result;
+}
+
+function storeToMap(string key) {
+    lock {
+        cache[key] = 1;
+    }
+}
+
+function removeFromMap(string key) {
+    lock {
+        _ = cache.removeIfHasKey(key);
+    }
+}
+
+function pushToArray() {
+    lock {
+        values.push(count);
+    }
+}
+
+function writeToModuleVar() {
+    lock {
+        count += 1;
+    }
+}
+
+function callModuleFunction() {
+    int n = 0;
+    lock {
+        n = length(values);
+    }
+}
+
+function nestedLock() {
+    int n = 0;
+    lock {
+        n = values.length();
+        lock {
+            n += count;
+        }
+    }
+}
+
+function length(int[] arr) returns int {
+    arr.push(0);
+    return arr.length();
+}
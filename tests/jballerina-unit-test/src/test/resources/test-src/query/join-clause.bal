@@ -509,6 +509,53 @@ public function testOuterJoin() {
     assertEquality(null, ordered_names[2]);
 }
 
+public function testJoinOnKeyOfReadonlyTable() {
+    table<User> key(id) & readonly users = table [
+            {id: 1234, name: "Keith"},
+            {id: 6789, name: "Anne"}
+        ];
+
+    Login[] logins = [
+        {userId: 6789, time: "20:10:23"},
+        {userId: 1234, time: "10:30:02"},
+        {userId: 3987, time: "12:05:00"},
+        {userId: 6789, time: "21:00:00"}
+    ];
+
+    string[] joined = from var login in logins
+        join var user in users on login.userId equals user.id
+        select user.name + "@" + login.time;
+
+    string?[] outerJoined = from var login in logins
+        outer join var user in users on login.userId equals user?.id
+        select user?.name;
+
+    record {|int id; string name;|}[] destructured = from var login in logins
+        join var {id, name} in users on login.userId equals id
+        select {id, name};
+
+    assertEquality(["Anne@20:10:23", "Keith@10:30:02", "Anne@21:00:00"], joined);
+    assertEquality(["Anne", "Keith", (), "Anne"], outerJoined);
+    assertEquality([{id: 6789, name: "Anne"}, {id: 1234, name: "Keith"}, {id: 6789, name: "Anne"}], destructured);
+}
+
+public function testJoinOnStructuredKeys() {
+    map<int>[] lhs = [{a: 1, b: 2}, {a: 2}, {b: 2, a: 1}];
+    record {|map<int> k; int v;|}[] rhs = [{k: {b: 2, a: 1}, v: 10}, {k: {a: 2}, v: 20}, {k: {a: 1, b: 2}, v: 30}];
+
+    int[] values = from var l in lhs
+        join var r in rhs on l equals r.k
+        select r.v;
+
+    float[] floats = [0.0, -0.0, 1.5];
+    int[] floatMatches = from float f in floats
+        join float g in [-0.0, 1.5] on f equals g
+        select 1;
+
+    assertEquality([10, 30, 20, 10, 30], values);
+    assertEquality(3, floatMatches.length());
+}
+
 public function testJoinClauseWithLargeList() {
     assertEquality(0, getCommonList("t"));
     assertEquality(10000, getCommonList("a"));
@@ -258,3 +258,48 @@ function testQueryExprRecordTypedBinding() returns Person1[]{
 
     return  outputPersonList;
 }
+
+function testMultipleFromClausesWithListsAndRanges() returns boolean {
+    [int, string, int] tuple = [1, "A", 2];
+    int[] numbers = [1, 2, 3, 4];
+
+    int[][] pairs =
+        from int i in 0 ..< 3
+        from var j in numbers
+        let int sum = i + j
+        where sum % 2 == 0
+        let int product = i * j
+        where product > 0
+        select [sum, product];
+
+    (int|string)[] members =
+        from var member in tuple
+        where member != "A"
+        select member;
+
+    int[] sums =
+        from int i in 1 ... 3
+        from int j in 1 ... i
+        select i + j;
+
+    return pairs == [[2, 1], [4, 3], [4, 4], [6, 8]] && members == [1, 2] && sums == [2, 3, 4, 4, 5, 6];
+}
+
+function testMultipleFromClausesWithNarrowingWhereClauses() returns boolean {
+    (int|string?)[] values = [1, "A", (), 3];
+
+    int[] incremented =
+        from var value in values
+        where value is int
+        select value + 1;
+
+    int[] products =
+        from int i in 0 ..< 4
+        let int|string member = i % 2 == 0 ? i : "odd"
+        where member is int
+        from var value in values
+        where value is int
+        select member * value;
+
+    return incremented == [2, 4] && products == [0, 0, 2, 6];
+}
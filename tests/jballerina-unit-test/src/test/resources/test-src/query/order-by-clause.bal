@@ -385,6 +385,46 @@ function testQueryExprWithOrderByClauseHavingNaNNilValues() returns boolean {
     return testPassed;
 }
 
+const TOP_COUNT = 3;
+
+function testQueryExprWithOrderByAndLimitClauses() returns boolean {
+    Student s1 = {id: 1, fname: "John", fee: 2000.56, impact: 0.4, isUndergrad: true};
+    Student s2 = {id: 2, fname: (), fee: 3000.0, impact: 0.5, isUndergrad: false};
+    Student s3 = {id: 3, fname: "Alex", fee: 3000.0, impact: 0.4, isUndergrad: true};
+    Student s4 = {id: 4, fname: "Alex", fee: 3000.0, impact: 0.3, isUndergrad: false};
+    Student s5 = {id: 5, fname: "Ranjan", fee: 0.0/0.0, impact: 0.2, isUndergrad: true};
+    Student s6 = {id: 6, fname: "Zoe", fee: 1000.0, impact: 0.4, isUndergrad: false};
+    Student[] studentList = [s1, s2, s3, s4, s5, s6];
+
+    int[] topThree = from var student in studentList
+        order by student.fee descending, student.fname
+        limit TOP_COUNT
+        select student.id;
+    int[] byImpact = from var student in studentList
+        order by student.impact, student.isUndergrad descending
+        limit 2
+        select student.id;
+    int[] all = from var student in studentList
+        order by student.fee descending, student.fname
+        limit 10
+        select student.id;
+
+    // Limits that are not constants are applied after ordering all the students.
+    int count = TOP_COUNT;
+    int[] expectedTopThree = from var student in studentList
+        order by student.fee descending, student.fname
+        limit count
+        select student.id;
+    int allCount = 10;
+    int[] expectedAll = from var student in studentList
+        order by student.fee descending, student.fname
+        limit allCount
+        select student.id;
+
+    return topThree == [3, 4, 2] && topThree == expectedTopThree && byImpact == [5, 4] && all.length() == 6 &&
+        all == expectedAll;
+}
+
 function testQueryExprWithOrderByClauseReturnString() returns string {
     Person p1 = {firstName: "Amy", lastName: "Melina", age: 34};
     Person p2 = {firstName: "Frank", lastName: "James", age: 30};
@@ -109,3 +109,84 @@ function testOptionalDefaultableField() returns Person4 {
     Person4 p = {};
     return p;
 }
+
+// Presence of the optional fields of a record is tracked as bits of int fields, so the fields span two of them.
+type ManyOptionalFields record {
+    string name;
+    int f0?;
+    int f1?;
+    int f2?;
+    int f3?;
+    int f4?;
+    int f5?;
+    int f6?;
+    int f7?;
+    int f8?;
+    int f9?;
+    int f10?;
+    int f11?;
+    int f12?;
+    int f13?;
+    int f14?;
+    int f15?;
+    int f16?;
+    int f17?;
+    int f18?;
+    int f19?;
+    int f20?;
+    int f21?;
+    int f22?;
+    int f23?;
+    int f24?;
+    int f25?;
+    int f26?;
+    int f27?;
+    int f28?;
+    int f29?;
+    int f30?;
+    int f31?;
+    int f32?;
+    int f33?;
+};
+
+function testManyOptionalFields() {
+    ManyOptionalFields r = {name: "r", f0: 0, f31: 31, f32: 32, f33: 33};
+    assertEquality(5, r.length());
+    assertEquality(true, r.hasKey("f31"));
+    assertEquality(true, r.hasKey("f32"));
+    assertEquality(false, r.hasKey("f30"));
+    assertEquality(32, r?.f32);
+    assertEquality((), r?.f1);
+    assertEquality(["f0", "f31", "f32", "f33", "name"], r.keys().sort());
+    assertEquality(5, r.toArray().length());
+
+    r.f30 = 30;
+    r["extra"] = 1;
+    assertEquality(7, r.length());
+    assertEquality(true, r.hasKey("f30"));
+    assertEquality(30, r["f30"]);
+
+    assertEquality(31, r.remove("f31"));
+    assertEquality((), r.removeIfHasKey("f1"));
+    assertEquality(6, r.length());
+    assertEquality(false, r.hasKey("f31"));
+    assertEquality((), r?.f31);
+    assertEquality(["extra", "f0", "f30", "f32", "f33", "name"], r.keys().sort());
+
+    ManyOptionalFields clone = r.clone();
+    assertEquality(r, clone);
+    clone.f31 = 31;
+    _ = clone.remove("f32");
+    assertEquality(6, clone.length());
+    assertEquality(true, clone.hasKey("f31"));
+    assertEquality(false, clone.hasKey("f32"));
+    assertEquality(false, r.hasKey("f31"));
+}
+
+function assertEquality(anydata expected, anydata actual) {
+    if expected == actual {
+        return;
+    }
+
+    panic error(string `expected ${expected.toBalString()}, found ${actual.toBalString()}`);
+}